@@ -0,0 +1,63 @@
+package com.systemdesign.chain_of_responsibility.benchmark;
+
+import com.systemdesign.chain_of_responsibility.logging.AbstractLogger;
+import com.systemdesign.chain_of_responsibility.logging.ConsoleLogger;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.io.OutputStream;
+
+/**
+ * Builds logger chains for the benchmarks. The loggers run the same encoding
+ * path as InfoLogger, DebugLogger and ErrorLogger but write to a null stream,
+ * so the benchmarks measure the chain and encoding rather than the terminal.
+ */
+final class BenchmarkChains {
+    /** Levels assigned to chain nodes, cycling in the production chain's order */
+    private static final LogLevel[] NODE_LEVELS = {LogLevel.ERROR, LogLevel.DEBUG, LogLevel.INFO};
+
+    private BenchmarkChains() {
+    }
+
+    /**
+     * Console logger writing to a null stream.
+     */
+    static final class NullSinkLogger extends ConsoleLogger {
+        NullSinkLogger(LogLevel level) {
+            super(level, OutputStream.nullOutputStream());
+        }
+    }
+
+    /**
+     * Builds a chain of null-sink loggers whose levels cycle ERROR, DEBUG, INFO.
+     *
+     * @param depth The number of loggers in the chain
+     * @return The head of the chain
+     */
+    static AbstractLogger nullSinkChain(int depth) {
+        AbstractLogger head = new NullSinkLogger(NODE_LEVELS[0]);
+        AbstractLogger tail = head;
+        for (int i = 1; i < depth; i++) {
+            AbstractLogger next = new NullSinkLogger(NODE_LEVELS[i % NODE_LEVELS.length]);
+            tail.setNextLogger(next);
+            tail = next;
+        }
+        return head;
+    }
+
+    /**
+     * Returns the sequence of levels to log for a named mix.
+     *
+     * @param mix INFO, DEBUG or ERROR for a single level, or MIXED for 70% INFO, 20% DEBUG, 10% ERROR
+     * @return The levels to cycle through
+     */
+    static LogLevel[] levelMix(String mix) {
+        if (!"MIXED".equals(mix)) {
+            return new LogLevel[] {LogLevel.valueOf(mix)};
+        }
+        LogLevel[] levels = new LogLevel[10];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = i < 7 ? LogLevel.INFO : i < 9 ? LogLevel.DEBUG : LogLevel.ERROR;
+        }
+        return levels;
+    }
+}
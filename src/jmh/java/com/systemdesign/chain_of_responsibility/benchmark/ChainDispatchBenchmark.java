@@ -0,0 +1,65 @@
+package com.systemdesign.chain_of_responsibility.benchmark;
+
+import com.systemdesign.chain_of_responsibility.logging.AbstractLogger;
+import com.systemdesign.chain_of_responsibility.logging.DispatchTable;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatching one message through the chain, comparing the recursive
+ * {@link AbstractLogger#logMessage} walk with the compiled {@link DispatchTable},
+ * at several chain depths and level mixes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChainDispatchBenchmark {
+    @Param({"3", "8", "16"})
+    int depth;
+
+    @Param({"INFO", "ERROR", "MIXED"})
+    String levelMix;
+
+    private AbstractLogger chain;
+    private DispatchTable table;
+    private LogLevel[] levels;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        chain = BenchmarkChains.nullSinkChain(depth);
+        table = DispatchTable.compile(chain);
+        levels = BenchmarkChains.levelMix(levelMix);
+    }
+
+    private LogLevel nextLevel() {
+        LogLevel level = levels[next];
+        next = next + 1 == levels.length ? 0 : next + 1;
+        return level;
+    }
+
+    @Benchmark
+    public void chainWalk() {
+        chain.logMessage(nextLevel(), "Processing request ID: 123");
+    }
+
+    @Benchmark
+    public void compiledTable() {
+        table.dispatch(nextLevel(), "Processing request ID: 123");
+    }
+}
@@ -0,0 +1,55 @@
+package com.systemdesign.chain_of_responsibility.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.systemdesign.chain_of_responsibility.model.LogMessageRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures binding a {@link LogMessageRequest} from a JSON request body, as
+ * Spring MVC does for every single-message call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBindingBenchmark {
+    @Param({"32", "1024"})
+    int messageLength;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        reader = objectMapper.readerFor(LogMessageRequest.class);
+        body = objectMapper.writeValueAsBytes(new LogMessageRequest("m".repeat(messageLength)));
+    }
+
+    @Benchmark
+    public LogMessageRequest objectMapper() throws IOException {
+        return objectMapper.readValue(body, LogMessageRequest.class);
+    }
+
+    @Benchmark
+    public LogMessageRequest objectReader() throws IOException {
+        return reader.readValue(body);
+    }
+}
@@ -0,0 +1,73 @@
+package com.systemdesign.chain_of_responsibility.benchmark;
+
+import com.systemdesign.chain_of_responsibility.dispatch.AsyncLogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.LogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.OverflowPolicy;
+import com.systemdesign.chain_of_responsibility.dispatch.StripedLogDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.ChainDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+import com.systemdesign.chain_of_responsibility.service.LoggingServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LoggingServiceImpl} under contention from several threads,
+ * with synchronous dispatch, the asynchronous ring buffer and per-thread
+ * striped capture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LoggingServiceBenchmark {
+    @Param({"sync", "async", "striped"})
+    String mode;
+
+    private LogDispatcher dispatcher;
+    private LoggingService service;
+
+    @Setup
+    public void setUp() {
+        ChainDispatcher chain = new ChainDispatcher(BenchmarkChains.nullSinkChain(3));
+        LogDispatcher sync = chain::dispatch;
+        dispatcher = switch (mode) {
+            case "async" -> new AsyncLogDispatcher(sync, 65_536, 2, OverflowPolicy.BLOCK, LogLevel.ERROR);
+            case "striped" -> new StripedLogDispatcher(sync, 8_192, Duration.ofMillis(2), 256);
+            default -> sync;
+        };
+        service = new LoggingServiceImpl(dispatcher, chain);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public void logInfo() {
+        service.logInfo("Processing request ID: 123");
+    }
+
+    @Benchmark
+    public void logError() {
+        service.logError("Database connection failed");
+    }
+}
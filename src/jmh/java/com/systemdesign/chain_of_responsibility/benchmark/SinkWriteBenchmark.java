@@ -0,0 +1,80 @@
+package com.systemdesign.chain_of_responsibility.benchmark;
+
+import com.systemdesign.chain_of_responsibility.logging.AbstractLogger;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.logging.RollingFileLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures a single logger's write for each level, against a null sink and
+ * against the memory-mapped file sink, for short and long messages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SinkWriteBenchmark {
+    @Param({"INFO", "DEBUG", "ERROR"})
+    LogLevel level;
+
+    @Param({"null", "file"})
+    String sink;
+
+    @Param({"32", "512"})
+    int messageLength;
+
+    private AbstractLogger logger;
+    private Path directory;
+    private String message;
+
+    @Setup
+    public void setUp() throws IOException {
+        message = "x".repeat(messageLength);
+        if ("file".equals(sink)) {
+            directory = Files.createTempDirectory("sink-benchmark");
+            logger = new RollingFileLogger(level, directory, "bench", 64 * 1024 * 1024,
+                    Duration.ofHours(1), 10_000, Duration.ofSeconds(1));
+        } else {
+            logger = new BenchmarkChains.NullSinkLogger(level);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (logger instanceof RollingFileLogger fileLogger) {
+            fileLogger.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void write() {
+        // A single logger with no successor: logMessage is exactly one write
+        logger.logMessage(level, message);
+    }
+}
@@ -0,0 +1,254 @@
+package com.systemdesign.chain_of_responsibility.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator for the {@code /api/logs} endpoints.
+ *
+ * Requests are started on a fixed schedule at the target rate, whether or not
+ * earlier requests have been answered, so a slow server faces the same arrival
+ * rate as in production instead of being given time to recover. Latency is
+ * measured from each request's scheduled start, which corrects for coordinated
+ * omission (see {@link LoadReport}). Level choices and message texts come from
+ * a seeded generator, so runs with the same options send the same requests.
+ *
+ * Run it against a locally started instance:
+ * {@code mvn -Ploadgen test-compile exec:exec -Dloadgen.args="--rate 5000 --duration 60s"}
+ */
+public final class LoadGenerator {
+    /** Options accepted on the command line */
+    private static final String USAGE = """
+            Options:
+              --url URL               instance under test (http://localhost:8080)
+              --rate N                requests started per second (1000)
+              --duration D            measured run length (30s)
+              --warmup D              unmeasured run length before it (5s)
+              --mix L=W,...           level weights (INFO=70,DEBUG=20,ERROR=10)
+              --message-size N        characters per message (128)
+              --batch-size N          entries per /batch request, 0 for single requests (0)
+              --max-in-flight N       requests awaiting a response at most (1024)
+              --request-timeout D     time after which a request fails (30s)
+              --seed N                seed of the level and message choices (42)
+              --output FILE           also write the report as JSON""";
+
+    /** Number of distinct prepared requests cycled through */
+    private static final int POOL_SIZE = 256;
+
+    /** Sends later than this after their scheduled time are counted as late */
+    private static final long LATE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** The run's options */
+    private final LoadOptions options;
+
+    /** Serializes request bodies */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Constructs a new LoadGenerator.
+     *
+     * @param options The run's options
+     */
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Runs the load and prints the report.
+     *
+     * @param args The options, see {@link #USAGE}
+     * @throws Exception if the run is interrupted or the report cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = new LoadOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadReport report = new LoadGenerator(options).run();
+        report.print(System.out);
+        if (options.output != null) {
+            report.write(options.output);
+            System.out.println("Report written to " + options.output);
+        }
+    }
+
+    /**
+     * Sends requests on schedule for the warm-up and the measured window, then
+     * waits for the outstanding responses.
+     *
+     * @return The results of the measured window
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IOException if a request body cannot be built
+     */
+    LoadReport run() throws InterruptedException, IOException {
+        List<HttpRequest> requests = prepareRequests();
+        LatencyHistogram corrected = new LatencyHistogram();
+        LatencyHistogram uncorrected = new LatencyHistogram();
+        LongAdder completed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        Semaphore inFlight = new Semaphore(options.maxInFlight);
+        SplittableRandom random = new SplittableRandom(options.seed);
+        long sent = 0;
+        long lateSends = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(options.requestTimeout)
+                     .executor(executor)
+                     .build()) {
+            double intervalNanos = 1e9 / options.rate;
+            long start = System.nanoTime();
+            long measureFrom = start + options.warmup.toNanos();
+            long end = measureFrom + options.duration.toNanos();
+            for (long i = 0; ; i++) {
+                long intended = start + (long) (i * intervalNanos);
+                if (intended - end >= 0) {
+                    break;
+                }
+                waitUntil(intended);
+                inFlight.acquire();
+                long sentAt = System.nanoTime();
+                boolean measured = intended - measureFrom >= 0;
+                if (measured) {
+                    sent++;
+                    if (sentAt - intended > LATE_NANOS) {
+                        lateSends++;
+                    }
+                }
+                client.sendAsync(requests.get(random.nextInt(requests.size())), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            long now = System.nanoTime();
+                            inFlight.release();
+                            if (measured) {
+                                completed.increment();
+                                if (failure != null || response.statusCode() / 100 != 2) {
+                                    errors.increment();
+                                }
+                                corrected.record(now - intended);
+                                uncorrected.record(now - sentAt);
+                            }
+                        });
+            }
+            long timeoutMillis = options.requestTimeout.toMillis() + 1_000;
+            if (inFlight.tryAcquire(options.maxInFlight, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                inFlight.release(options.maxInFlight);
+            }
+            return new LoadReport(options, sent, completed.sum(), errors.sum(), lateSends,
+                    end - measureFrom, corrected.snapshot(), uncorrected.snapshot());
+        }
+    }
+
+    /**
+     * Parks the scheduling thread until the given time.
+     *
+     * @param deadline The time to wait for, from {@link System#nanoTime()}
+     */
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Builds the requests cycled through during the run. Single requests go to
+     * the endpoint of their level; batches mix levels entry by entry.
+     *
+     * @return The prepared requests
+     * @throws IOException if a body cannot be serialized
+     */
+    private List<HttpRequest> prepareRequests() throws IOException {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        LogLevel[] levels = weightedLevels();
+        List<HttpRequest> requests = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (options.batchSize == 0) {
+                LogLevel level = levels[random.nextInt(levels.length)];
+                String body = objectMapper.writeValueAsString(Map.of("message", message(level, i, random)));
+                requests.add(request("/api/logs/" + level.name().toLowerCase(), "application/json", body));
+            } else {
+                StringBuilder body = new StringBuilder();
+                for (int j = 0; j < options.batchSize; j++) {
+                    LogLevel level = levels[random.nextInt(levels.length)];
+                    body.append(objectMapper.writeValueAsString(
+                            Map.of("level", level.name(), "message", message(level, i, random)))).append('\n');
+                }
+                requests.add(request("/api/logs/batch", "application/x-ndjson", body.toString()));
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Builds one POST request.
+     *
+     * @param path The endpoint's path
+     * @param contentType The body's media type
+     * @param body The body
+     * @return The request
+     */
+    private HttpRequest request(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(URI.create(options.url.toString().replaceAll("/$", "") + path))
+                .timeout(options.requestTimeout)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Expands the level mix into an array in which each level occurs as often as its weight.
+     *
+     * @return The levels to draw from
+     */
+    private LogLevel[] weightedLevels() {
+        List<LogLevel> levels = new ArrayList<>();
+        options.mix.forEach((level, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                levels.add(level);
+            }
+        });
+        return levels.toArray(LogLevel[]::new);
+    }
+
+    /**
+     * Builds a message of the configured size.
+     *
+     * @param level The message's level
+     * @param index The request it belongs to
+     * @param random Source of the message's varying part
+     * @return The message
+     */
+    private String message(LogLevel level, int index, SplittableRandom random) {
+        StringBuilder message = new StringBuilder(options.messageSize)
+                .append("loadgen ").append(level).append(" request ").append(index)
+                .append(" id ").append(Long.toHexString(random.nextLong())).append(' ');
+        while (message.length() < options.messageSize) {
+            message.append((char) ('a' + random.nextInt(26)));
+        }
+        message.setLength(options.messageSize);
+        return message.toString();
+    }
+}
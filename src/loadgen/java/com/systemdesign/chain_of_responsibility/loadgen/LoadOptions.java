@@ -0,0 +1,134 @@
+package com.systemdesign.chain_of_responsibility.loadgen;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options of the {@link LoadGenerator}, given as {@code --name value}
+ * or {@code --name=value}.
+ */
+final class LoadOptions {
+    /** Base URL of the instance under test */
+    final URI url;
+
+    /** Requests started per second, regardless of how fast responses arrive */
+    final double rate;
+
+    /** Length of the measured run */
+    final Duration duration;
+
+    /** Length of the unmeasured run before it */
+    final Duration warmup;
+
+    /** Relative weight of each level */
+    final Map<LogLevel, Integer> mix;
+
+    /** Length of each message, in characters */
+    final int messageSize;
+
+    /** Entries per request on {@code /batch}, or 0 to use the single-message endpoints */
+    final int batchSize;
+
+    /** Largest number of requests awaiting a response */
+    final int maxInFlight;
+
+    /** How long a request may take before it counts as failed */
+    final Duration requestTimeout;
+
+    /** Seed of the level and message choices, so runs are reproducible */
+    final long seed;
+
+    /** File the JSON report is written to, or null */
+    final Path output;
+
+    /**
+     * Parses the options.
+     *
+     * @param args The command-line arguments
+     * @throws IllegalArgumentException if an option is unknown or malformed
+     */
+    LoadOptions(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals > 0) {
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            } else if (i + 1 < args.length) {
+                values.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+        url = URI.create(take(values, "url", "http://localhost:8080"));
+        rate = Double.parseDouble(take(values, "rate", "1000"));
+        duration = DurationStyle.detectAndParse(take(values, "duration", "30s"));
+        warmup = DurationStyle.detectAndParse(take(values, "warmup", "5s"));
+        mix = parseMix(take(values, "mix", "INFO=70,DEBUG=20,ERROR=10"));
+        messageSize = Integer.parseInt(take(values, "message-size", "128"));
+        batchSize = Integer.parseInt(take(values, "batch-size", "0"));
+        maxInFlight = Integer.parseInt(take(values, "max-in-flight", "1024"));
+        requestTimeout = DurationStyle.detectAndParse(take(values, "request-timeout", "30s"));
+        seed = Long.parseLong(take(values, "seed", "42"));
+        String outputValue = take(values, "output", null);
+        output = outputValue == null ? null : Path.of(outputValue);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        if (rate <= 0 || messageSize < 1 || batchSize < 0 || maxInFlight < 1) {
+            throw new IllegalArgumentException("rate, message-size and max-in-flight must be positive");
+        }
+    }
+
+    /**
+     * Removes an option from the parsed values.
+     *
+     * @param values The parsed values
+     * @param name The option's name
+     * @param defaultValue The value if the option was not given
+     * @return The option's value
+     */
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Parses a level mix such as {@code INFO=70,DEBUG=20,ERROR=10}.
+     *
+     * @param text The mix
+     * @return The weight of each level
+     */
+    private static Map<LogLevel, Integer> parseMix(String text) {
+        Map<LogLevel, Integer> weights = new EnumMap<>(LogLevel.class);
+        for (String part : text.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(LogLevel.valueOf(pair[0].trim().toUpperCase()),
+                    pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Level mix has no weight: " + text);
+        }
+        return weights;
+    }
+
+    /**
+     * Describes the options for the report.
+     *
+     * @return A one-line summary
+     */
+    String describe() {
+        return String.format("%s, %s, message size %d, mix %s",
+                url, batchSize == 0 ? "single requests" : "batches of " + batchSize, messageSize, mix);
+    }
+}
@@ -0,0 +1,157 @@
+package com.systemdesign.chain_of_responsibility.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.systemdesign.chain_of_responsibility.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of one load run: counts, throughput and two latency distributions.
+ *
+ * The corrected distribution measures each request from the time the schedule
+ * intended to send it, so a stall that delays later sends is charged to every
+ * request it delayed. This is the correction for coordinated omission. The
+ * uncorrected distribution measures from the actual send and shows what a
+ * closed-loop client would have reported.
+ */
+final class LoadReport {
+    /** Percentiles reported */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    /** The options of the run */
+    private final LoadOptions options;
+
+    /** Requests scheduled in the measured window */
+    private final long sent;
+
+    /** Requests of the measured window that received any response */
+    private final long completed;
+
+    /** Requests that failed or got a status other than 2xx */
+    private final long errors;
+
+    /** Requests sent more than a millisecond after their scheduled time */
+    private final long lateSends;
+
+    /** Length of the measured window, in nanoseconds */
+    private final long windowNanos;
+
+    /** Latencies from the scheduled send time */
+    private final LatencyHistogram.Snapshot corrected;
+
+    /** Latencies from the actual send time */
+    private final LatencyHistogram.Snapshot uncorrected;
+
+    /**
+     * Constructs a new LoadReport.
+     *
+     * @param options The options of the run
+     * @param sent Requests scheduled in the measured window
+     * @param completed Requests of the measured window that received any response
+     * @param errors Requests that failed or got a status other than 2xx
+     * @param lateSends Requests sent more than a millisecond after their scheduled time
+     * @param windowNanos Length of the measured window, in nanoseconds
+     * @param corrected Latencies from the scheduled send time
+     * @param uncorrected Latencies from the actual send time
+     */
+    LoadReport(LoadOptions options, long sent, long completed, long errors, long lateSends, long windowNanos,
+               LatencyHistogram.Snapshot corrected, LatencyHistogram.Snapshot uncorrected) {
+        this.options = options;
+        this.sent = sent;
+        this.completed = completed;
+        this.errors = errors;
+        this.lateSends = lateSends;
+        this.windowNanos = windowNanos;
+        this.corrected = corrected;
+        this.uncorrected = uncorrected;
+    }
+
+    /**
+     * Prints the report as a table.
+     *
+     * @param out The stream to print to
+     */
+    void print(PrintStream out) {
+        double seconds = windowNanos / 1e9;
+        int messagesPerRequest = Math.max(1, options.batchSize);
+        out.printf("Target          %.1f req/s against %s%n", options.rate, options.describe());
+        out.printf("Window          %.1f s after %s warm-up%n", seconds, options.warmup);
+        out.printf("Requests        %d sent, %d completed, %d errors, %d not completed, %d sent late%n",
+                sent, completed, errors, sent - completed, lateSends);
+        out.printf("Throughput      %.1f req/s, %.1f messages/s%n",
+                (completed - errors) / seconds, (completed - errors) * messagesPerRequest / seconds);
+        out.printf("Latency (ms)    %12s %12s%n", "corrected", "uncorrected");
+        for (double percentile : PERCENTILES) {
+            out.printf("  p%-12s  %12.3f %12.3f%n", format(percentile),
+                    millis(corrected.getValueAtPercentile(percentile)),
+                    millis(uncorrected.getValueAtPercentile(percentile)));
+        }
+        out.printf("  %-13s  %12.3f %12.3f%n", "max", millis(corrected.getMax()), millis(uncorrected.getMax()));
+        out.printf("  %-13s  %12.3f %12.3f%n", "mean", corrected.getMean() / 1e6, uncorrected.getMean() / 1e6);
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param path The file to write
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path path) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("url", options.url.toString());
+        report.put("targetRate", options.rate);
+        report.put("batchSize", options.batchSize);
+        report.put("messageSize", options.messageSize);
+        report.put("mix", options.mix);
+        report.put("windowSeconds", windowNanos / 1e9);
+        report.put("sent", sent);
+        report.put("completed", completed);
+        report.put("errors", errors);
+        report.put("lateSends", lateSends);
+        report.put("throughput", (completed - errors) / (windowNanos / 1e9));
+        report.put("correctedLatencyMillis", latencies(corrected));
+        report.put("uncorrectedLatencyMillis", latencies(uncorrected));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    /**
+     * Lists a distribution's percentiles, maximum and mean.
+     *
+     * @param latencies The distribution in nanoseconds
+     * @return The values in milliseconds, by name
+     */
+    private static Map<String, Double> latencies(LatencyHistogram.Snapshot latencies) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            values.put("p" + format(percentile), millis(latencies.getValueAtPercentile(percentile)));
+        }
+        values.put("max", millis(latencies.getMax()));
+        values.put("mean", latencies.getMean() / 1e6);
+        return values;
+    }
+
+    /**
+     * Formats a percentile without a trailing ".0".
+     *
+     * @param percentile The percentile
+     * @return The formatted percentile
+     */
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos The value in nanoseconds
+     * @return The value in milliseconds
+     */
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -1,8 +1,31 @@
 package com.systemdesign.chain_of_responsibility.config;
 
+import com.systemdesign.chain_of_responsibility.dispatch.AdaptiveConcurrencyLimiter;
+import com.systemdesign.chain_of_responsibility.dispatch.AsyncLogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.LogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.OverflowPolicy;
+import com.systemdesign.chain_of_responsibility.dispatch.StripedLogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.TimedLogDispatcher;
 import com.systemdesign.chain_of_responsibility.logging.*;
+import com.systemdesign.chain_of_responsibility.metrics.ChainMetrics;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+import com.systemdesign.chain_of_responsibility.stream.SocketIngestListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 /**
  * Configuration class for setting up the logger chain.
@@ -15,14 +38,41 @@ public class LoggerConfig {
     /**
      * Creates and configures the chain of loggers.
      * The chain is set up in the following order:
-     * 1. ErrorLogger (highest priority)
-     * 2. DebugLogger
-     * 3. InfoLogger (lowest priority)
+     * 1. LogAggregator, if enabled
+     * 2. DeduplicatingFilter, if enabled
+     * 3. RateLimitingFilter, if enabled
+     * 4. ErrorLogger (highest priority)
+     * 5. DebugLogger
+     * 6. InfoLogger (lowest priority)
+     * 7. RollingFileLogger, if enabled
+     * 8. BlockFileLogger, if enabled
+     * 9. ForwardingLogger, if enabled
+     * 10. RecentLogStore, if enabled
+     * 11. LogTap feeding live tails, if enabled
+     * In fan-out mode each logger that is not a filter is then put behind its own queue.
      *
-     * @return The configured chain of loggers, with ErrorLogger as the head
+     * @param logAggregator The rate and heavy-hitter aggregator, if {@code logger.chain.aggregate.enabled} is true
+     * @param deduplicatingFilter The duplicate suppressor, if {@code logger.chain.dedup.enabled} is true
+     * @param rateLimitingFilter The rate limiter, if {@code logger.chain.rate-limit.enabled} is true
+     * @param rollingFileLogger The file logger, if {@code logger.chain.file.enabled} is true
+     * @param blockFileLogger The compressed block logger, if {@code logger.chain.block.enabled} is true
+     * @param forwardingLogger The collector sink, if {@code logger.chain.forward.enabled} is true
+     * @param recentLogStore The searchable in-memory store, if {@code logger.chain.store.enabled} is true
+     * @param logTap The live-tail tap, if {@code logger.chain.tail.enabled} is true
+     * @param sinkQueues The per-sink queues, if {@code logger.chain.fanout.enabled} is true
+     * @return The configured chain of loggers, with the first enabled filter or ErrorLogger as the head
      */
     @Bean
-    public AbstractLogger loggerChain() {
+    @Primary
+    public AbstractLogger loggerChain(ObjectProvider<LogAggregator> logAggregator,
+                                      ObjectProvider<DeduplicatingFilter> deduplicatingFilter,
+                                      ObjectProvider<RateLimitingFilter> rateLimitingFilter,
+                                      ObjectProvider<RollingFileLogger> rollingFileLogger,
+                                      ObjectProvider<BlockFileLogger> blockFileLogger,
+                                      ObjectProvider<ForwardingLogger> forwardingLogger,
+                                      ObjectProvider<RecentLogStore> recentLogStore,
+                                      ObjectProvider<LogTap> logTap,
+                                      ObjectProvider<SinkQueues> sinkQueues) {
         AbstractLogger errorLogger = new ErrorLogger();
         AbstractLogger debugLogger = new DebugLogger();
         AbstractLogger infoLogger = new InfoLogger();
@@ -30,7 +80,437 @@ public class LoggerConfig {
         // Set up the chain
         errorLogger.setNextLogger(debugLogger);
         debugLogger.setNextLogger(infoLogger);
+        AbstractLogger tail = infoLogger;
+        RollingFileLogger fileLogger = rollingFileLogger.getIfAvailable();
+        if (fileLogger != null) {
+            tail.setNextLogger(fileLogger);
+            tail = fileLogger;
+        }
+        BlockFileLogger blockLogger = blockFileLogger.getIfAvailable();
+        if (blockLogger != null) {
+            tail.setNextLogger(blockLogger);
+            tail = blockLogger;
+        }
+        ForwardingLogger forwarder = forwardingLogger.getIfAvailable();
+        if (forwarder != null) {
+            tail.setNextLogger(forwarder);
+            tail = forwarder;
+        }
+        RecentLogStore store = recentLogStore.getIfAvailable();
+        if (store != null) {
+            tail.setNextLogger(store);
+            tail = store;
+        }
+        logTap.ifAvailable(tail::setNextLogger);
+
+        AbstractLogger head = errorLogger;
+        RateLimitingFilter rateLimiter = rateLimitingFilter.getIfAvailable();
+        if (rateLimiter != null) {
+            rateLimiter.setNextLogger(head);
+            head = rateLimiter;
+        }
+        DeduplicatingFilter deduplicator = deduplicatingFilter.getIfAvailable();
+        if (deduplicator != null) {
+            deduplicator.setNextLogger(head);
+            head = deduplicator;
+        }
+        LogAggregator aggregator = logAggregator.getIfAvailable();
+        if (aggregator != null) {
+            aggregator.setNextLogger(head);
+            head = aggregator;
+        }
+        SinkQueues queues = sinkQueues.getIfAvailable();
+        return queues == null ? head : queues.wrap(head);
+    }
+
+    /**
+     * Creates the per-sink queues used in fan-out mode. Each sink of the chain
+     * gets its own bounded queue and worker, so a sink that blocks only delays
+     * its own messages. A sink's overflow policy is read from
+     * {@code logger.chain.fanout.sinks.<name>.overflow-policy}, where the name
+     * is the sink's class name, and defaults to {@code logger.chain.fanout.overflow-policy}.
+     *
+     * @param capacity The minimum number of messages each sink queues
+     * @param defaultPolicy The overflow policy of sinks without their own
+     * @param dropBelowLevel The level below which {@code DROP_BELOW_LEVEL} drops messages
+     * @param environment The environment holding the per-sink overrides
+     * @return The per-sink queues
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.fanout.enabled", havingValue = "true")
+    public SinkQueues sinkQueues(
+            @Value("${logger.chain.fanout.capacity:4096}") int capacity,
+            @Value("${logger.chain.fanout.overflow-policy:DROP_OLDEST}") OverflowPolicy defaultPolicy,
+            @Value("${logger.chain.fanout.drop-below-level:ERROR}") LogLevel dropBelowLevel,
+            Environment environment) {
+        return new SinkQueues(capacity, name -> environment.getProperty(
+                "logger.chain.fanout.sinks." + name + ".overflow-policy", OverflowPolicy.class, defaultPolicy),
+                dropBelowLevel);
+    }
+
+    /**
+     * Creates the node that counts messages per level and finds the heaviest
+     * message shapes. It runs first, so it sees the volume before duplicates
+     * and rate limits are taken out.
+     *
+     * @param depth Number of rows of the count-min sketch
+     * @param width Number of cells per row of the count-min sketch
+     * @param topK Number of heavy hitters tracked
+     * @return The aggregator
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.aggregate.enabled", havingValue = "true")
+    public LogAggregator logAggregator(
+            @Value("${logger.chain.aggregate.depth:4}") int depth,
+            @Value("${logger.chain.aggregate.width:2048}") int width,
+            @Value("${logger.chain.aggregate.top-k:20}") int topK) {
+        return new LogAggregator(depth, width, topK);
+    }
+
+    /**
+     * Creates the filter that collapses repeated messages into summary lines.
+     * It runs first, so repeats do not use up rate-limit tokens. It is a bean of
+     * its own so Spring flushes its open windows on shutdown.
+     *
+     * @param window How long repeats are collapsed after a message's first occurrence
+     * @param slotsPerLevel Number of distinct messages tracked per level
+     * @return The deduplicating filter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.dedup.enabled", havingValue = "true")
+    public DeduplicatingFilter deduplicatingFilter(
+            @Value("${logger.chain.dedup.window:1s}") Duration window,
+            @Value("${logger.chain.dedup.slots:1024}") int slotsPerLevel) {
+        return new DeduplicatingFilter(window, slotsPerLevel);
+    }
+
+    /**
+     * Creates the filter that samples and rate-limits each level ahead of the
+     * concrete loggers. A rate of zero leaves a level unlimited and a sample
+     * rate of 1 keeps every message. It is a bean of its own so Spring stops
+     * its reporting timer on shutdown.
+     *
+     * @param infoRate Sustained INFO messages per second
+     * @param infoBurst INFO messages admitted back to back
+     * @param infoSample Fraction of INFO messages kept
+     * @param debugRate Sustained DEBUG messages per second
+     * @param debugBurst DEBUG messages admitted back to back
+     * @param debugSample Fraction of DEBUG messages kept
+     * @param errorRate Sustained ERROR messages per second
+     * @param errorBurst ERROR messages admitted back to back
+     * @param errorSample Fraction of ERROR messages kept
+     * @param reportInterval How often suppressed counts are reported
+     * @return The rate-limiting filter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.rate-limit.enabled", havingValue = "true")
+    public RateLimitingFilter rateLimitingFilter(
+            @Value("${logger.chain.rate-limit.info.rate:0}") double infoRate,
+            @Value("${logger.chain.rate-limit.info.burst:1}") int infoBurst,
+            @Value("${logger.chain.rate-limit.info.sample-rate:1.0}") double infoSample,
+            @Value("${logger.chain.rate-limit.debug.rate:0}") double debugRate,
+            @Value("${logger.chain.rate-limit.debug.burst:1}") int debugBurst,
+            @Value("${logger.chain.rate-limit.debug.sample-rate:1.0}") double debugSample,
+            @Value("${logger.chain.rate-limit.error.rate:0}") double errorRate,
+            @Value("${logger.chain.rate-limit.error.burst:1}") int errorBurst,
+            @Value("${logger.chain.rate-limit.error.sample-rate:1.0}") double errorSample,
+            @Value("${logger.chain.rate-limit.report-interval:10s}") Duration reportInterval) {
+        Map<LogLevel, RateLimitingFilter.Limit> limits = new EnumMap<>(LogLevel.class);
+        limits.put(LogLevel.INFO, new RateLimitingFilter.Limit(infoRate, infoBurst, infoSample));
+        limits.put(LogLevel.DEBUG, new RateLimitingFilter.Limit(debugRate, debugBurst, debugSample));
+        limits.put(LogLevel.ERROR, new RateLimitingFilter.Limit(errorRate, errorBurst, errorSample));
+        return new RateLimitingFilter(limits, reportInterval);
+    }
+
+    /**
+     * Creates the memory-mapped rolling file logger.
+     * It is a bean of its own so Spring closes it, sealing the current segment,
+     * on shutdown.
+     *
+     * @param level The minimum level written to file
+     * @param directory The directory holding the segment files
+     * @param baseName The common prefix of the segment file names
+     * @param segmentSize The size of each segment
+     * @param rollInterval The maximum time a segment stays open
+     * @param syncEvery The number of writes after which data is forced to disk
+     * @param syncInterval The maximum time written data stays unsynced
+     * @return The file logger
+     * @throws IOException if the segment directory or file cannot be opened
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.file.enabled", havingValue = "true")
+    public RollingFileLogger rollingFileLogger(
+            @Value("${logger.chain.file.level:INFO}") LogLevel level,
+            @Value("${logger.chain.file.directory:logs}") Path directory,
+            @Value("${logger.chain.file.base-name:chain}") String baseName,
+            @Value("${logger.chain.file.segment-size:64MB}") DataSize segmentSize,
+            @Value("${logger.chain.file.roll-interval:1h}") Duration rollInterval,
+            @Value("${logger.chain.file.sync-every:1000}") int syncEvery,
+            @Value("${logger.chain.file.sync-interval:1s}") Duration syncInterval) throws IOException {
+        return new RollingFileLogger(level, directory, baseName, Math.toIntExact(segmentSize.toBytes()),
+                rollInterval, syncEvery, syncInterval);
+    }
+
+    /**
+     * Creates the logger that stores messages in compressed binary blocks with
+     * a per-file time index, served by {@code /api/logs/history}. It is a bean
+     * of its own so Spring writes its last block and seals its file on shutdown.
+     *
+     * @param level The minimum level stored
+     * @param directory The directory holding the files
+     * @param baseName The common prefix of the file names
+     * @param blockSize The uncompressed size at which a block is written
+     * @param fileSize The size at which a file is sealed and the next one started
+     * @param compressionLevel The Deflate level, from 1 to 9
+     * @param flushInterval The longest time a message waits in memory before its block is written
+     * @return The block logger
+     * @throws IOException if the directory or file cannot be created
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.block.enabled", havingValue = "true")
+    public BlockFileLogger blockFileLogger(
+            @Value("${logger.chain.block.level:INFO}") LogLevel level,
+            @Value("${logger.chain.block.directory:logs/blocks}") Path directory,
+            @Value("${logger.chain.block.base-name:chain}") String baseName,
+            @Value("${logger.chain.block.block-size:64KB}") DataSize blockSize,
+            @Value("${logger.chain.block.file-size:64MB}") DataSize fileSize,
+            @Value("${logger.chain.block.compression-level:6}") int compressionLevel,
+            @Value("${logger.chain.block.flush-interval:1s}") Duration flushInterval) throws IOException {
+        return new BlockFileLogger(level, directory, baseName, Math.toIntExact(blockSize.toBytes()),
+                fileSize.toBytes(), compressionLevel, flushInterval);
+    }
 
-        return errorLogger;
+    /**
+     * Creates the sink that ships batches to a remote collector, spooling them
+     * to disk while the collector is unreachable. It is a bean of its own so
+     * Spring hands its last batch to the collector or the spool on shutdown.
+     *
+     * @param level The minimum level forwarded
+     * @param host The collector's host
+     * @param port The collector's port
+     * @param batchSize Uncompressed size at which a batch is sent
+     * @param linger Longest time a message waits for its batch to fill
+     * @param bufferSize Largest uncompressed size held in memory
+     * @param initialBackoff First retry delay after a failure
+     * @param maxBackoff Longest retry delay
+     * @param ioTimeout Connect and acknowledgement timeout
+     * @param spoolDirectory Directory of the spool
+     * @param maxSpoolSize Largest size of the spool
+     * @return The forwarding logger
+     * @throws IOException if the spool cannot be opened
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.forward.enabled", havingValue = "true")
+    public ForwardingLogger forwardingLogger(
+            @Value("${logger.chain.forward.level:INFO}") LogLevel level,
+            @Value("${logger.chain.forward.host:localhost}") String host,
+            @Value("${logger.chain.forward.port:5170}") int port,
+            @Value("${logger.chain.forward.batch-size:256KB}") DataSize batchSize,
+            @Value("${logger.chain.forward.linger:200ms}") Duration linger,
+            @Value("${logger.chain.forward.buffer-size:8MB}") DataSize bufferSize,
+            @Value("${logger.chain.forward.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${logger.chain.forward.max-backoff:30s}") Duration maxBackoff,
+            @Value("${logger.chain.forward.io-timeout:5s}") Duration ioTimeout,
+            @Value("${logger.chain.forward.spool-directory:logs/spool}") Path spoolDirectory,
+            @Value("${logger.chain.forward.max-spool-size:256MB}") DataSize maxSpoolSize) throws IOException {
+        return new ForwardingLogger(level, InetSocketAddress.createUnresolved(host, port),
+                Math.toIntExact(batchSize.toBytes()), linger, Math.toIntExact(bufferSize.toBytes()),
+                initialBackoff, maxBackoff, ioTimeout, spoolDirectory, maxSpoolSize.toBytes());
+    }
+
+    /**
+     * Creates the in-memory store of recent messages served by {@code /api/logs/search}.
+     *
+     * @param level The minimum level stored
+     * @param maxEntries Maximum number of messages held
+     * @param maxBytes Maximum size of the stored message text
+     * @return The recent-log store
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.store.enabled", havingValue = "true")
+    public RecentLogStore recentLogStore(
+            @Value("${logger.chain.store.level:INFO}") LogLevel level,
+            @Value("${logger.chain.store.max-entries:100000}") int maxEntries,
+            @Value("${logger.chain.store.max-bytes:16MB}") DataSize maxBytes) {
+        return new RecentLogStore(level, maxEntries, Math.toIntExact(maxBytes.toBytes()));
+    }
+
+    /**
+     * Creates the tap at the end of the chain that feeds {@code /api/logs/tail}.
+     * With no one tailing it passes messages on at the cost of one volatile read.
+     *
+     * @param maxSubscribers Largest number of concurrent tails
+     * @param buffer Number of messages each tail may have waiting before it drops
+     * @return The live-tail tap
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.tail.enabled", havingValue = "true", matchIfMissing = true)
+    public LogTap logTap(
+            @Value("${logger.chain.tail.max-subscribers:500}") int maxSubscribers,
+            @Value("${logger.chain.tail.buffer:1024}") int buffer) {
+        return new LogTap(maxSubscribers, buffer);
+    }
+
+    /**
+     * Creates the adaptive concurrency limit in front of the logging endpoints.
+     * The limit follows the time messages take to reach the sinks, which the
+     * dispatcher reports to it; INFO requests are shed first, then DEBUG, and
+     * ERROR never.
+     *
+     * @param initialLimit The limit before any latency has been measured
+     * @param minLimit The smallest limit
+     * @param maxLimit The largest limit
+     * @param tolerance How far recent latency may exceed the baseline before the limit shrinks
+     * @param infoShare Fraction of the limit INFO requests may use
+     * @param window Length of a sampling window
+     * @return The limiter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.admission.enabled", havingValue = "true")
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${logger.chain.admission.initial-limit:64}") int initialLimit,
+            @Value("${logger.chain.admission.min-limit:8}") int minLimit,
+            @Value("${logger.chain.admission.max-limit:1024}") int maxLimit,
+            @Value("${logger.chain.admission.tolerance:2.0}") double tolerance,
+            @Value("${logger.chain.admission.info-share:0.75}") double infoShare,
+            @Value("${logger.chain.admission.window:100ms}") Duration window) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, infoShare,
+                window.toNanos());
+    }
+
+    /**
+     * Creates the listener that takes binary frames from local agents over TCP
+     * and UDP and logs them through the service, next to the HTTP endpoints.
+     * It is a bean of its own so Spring closes its sockets on shutdown.
+     *
+     * @param loggingService The service that logs each message
+     * @param bindAddress The address both sockets are bound to
+     * @param tcpPort The TCP port; negative to disable TCP
+     * @param udpPort The UDP port; negative to disable UDP
+     * @param maxFrameLength Largest frame accepted
+     * @param pooledBuffers Largest number of idle partial-frame buffers kept
+     * @return The socket listener
+     * @throws IOException if a socket cannot be bound
+     */
+    @Bean
+    @ConditionalOnProperty(name = "logger.chain.ingest.enabled", havingValue = "true")
+    public SocketIngestListener socketIngestListener(
+            LoggingService loggingService,
+            @Value("${logger.chain.ingest.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${logger.chain.ingest.tcp-port:5171}") int tcpPort,
+            @Value("${logger.chain.ingest.udp-port:5172}") int udpPort,
+            @Value("${logger.chain.ingest.max-frame-length:64KB}") DataSize maxFrameLength,
+            @Value("${logger.chain.ingest.pooled-buffers:64}") int pooledBuffers) throws IOException {
+        return new SocketIngestListener(loggingService,
+                tcpPort < 0 ? null : new InetSocketAddress(bindAddress, tcpPort),
+                udpPort < 0 ? null : new InetSocketAddress(bindAddress, udpPort),
+                Math.toIntExact(maxFrameLength.toBytes()), pooledBuffers);
+    }
+
+    /**
+     * Compiles the logger chain into per-level dispatch tables.
+     * Messages dispatched through this bean loop over a flat array of the
+     * loggers that accept their level instead of walking the linked chain.
+     * When {@code logger.chain.metrics.enabled} is true, the compiled chain
+     * also records per-node counters and write latencies.
+     *
+     * @param loggerChain The head of the logger chain
+     * @param metricsEnabled Whether to instrument the compiled chain
+     * @return The dispatcher holding the compiled chain
+     */
+    @Bean
+    public ChainDispatcher chainDispatcher(
+            AbstractLogger loggerChain,
+            @Value("${logger.chain.metrics.enabled:false}") boolean metricsEnabled) {
+        return new ChainDispatcher(loggerChain, metricsEnabled ? new ChainMetrics() : null);
+    }
+
+    /**
+     * Creates the dispatcher that hands messages from the service to the chain.
+     * By default the chain runs on the caller's thread. When
+     * {@code logger.chain.async.enabled} is true, messages are queued in a bounded
+     * ring buffer and the chain runs on dedicated drainer threads instead. When
+     * {@code logger.chain.striped.enabled} is true, which takes precedence, each
+     * producer thread appends to its own buffer and a merger thread feeds the
+     * chain in timestamp order.
+     * The chain's filters send their summary lines through the returned dispatcher.
+     * When admission control is on, the dispatcher and the per-sink queues
+     * report each message's delivery latency and their queue depths to the limiter.
+     *
+     * @param chainDispatcher The compiled logger chain
+     * @param admissionLimiter The limiter, if {@code logger.chain.admission.enabled} is true
+     * @param asyncEnabled Whether to run the chain asynchronously
+     * @param capacity The ring buffer capacity in events
+     * @param drainers The number of drainer threads
+     * @param overflowPolicy What callers do when the ring buffer is full
+     * @param dropBelowLevel The level below which DROP_BELOW_LEVEL drops messages
+     * @param stripedEnabled Whether to capture into per-thread buffers
+     * @param stripeCapacity The capacity of each per-thread buffer in events
+     * @param reorderWindow How long the merger waits for older events from other threads
+     * @param maxStripes The most threads given a buffer of their own
+     * @return The configured dispatcher
+     */
+    @Bean
+    public LogDispatcher logDispatcher(
+            ChainDispatcher chainDispatcher,
+            ObjectProvider<AdaptiveConcurrencyLimiter> admissionLimiter,
+            @Value("${logger.chain.async.enabled:false}") boolean asyncEnabled,
+            @Value("${logger.chain.async.capacity:8192}") int capacity,
+            @Value("${logger.chain.async.drainers:1}") int drainers,
+            @Value("${logger.chain.async.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+            @Value("${logger.chain.async.drop-below-level:ERROR}") LogLevel dropBelowLevel,
+            @Value("${logger.chain.striped.enabled:false}") boolean stripedEnabled,
+            @Value("${logger.chain.striped.capacity:1024}") int stripeCapacity,
+            @Value("${logger.chain.striped.window:2ms}") Duration reorderWindow,
+            @Value("${logger.chain.striped.max-stripes:256}") int maxStripes) {
+        AdaptiveConcurrencyLimiter limiter = admissionLimiter.getIfAvailable();
+        LogDispatcher syncDispatcher = chainDispatcher.asLogDispatcher();
+        LogDispatcher dispatcher;
+        LongSupplier queued;
+        if (stripedEnabled) {
+            StripedLogDispatcher striped = new StripedLogDispatcher(syncDispatcher, stripeCapacity, reorderWindow,
+                    maxStripes);
+            dispatcher = striped;
+            queued = striped::getPendingCount;
+            if (limiter != null) {
+                striped.setLatencyListener(limiter::recordLatency);
+            }
+        } else if (asyncEnabled) {
+            AsyncLogDispatcher async = new AsyncLogDispatcher(syncDispatcher, capacity, drainers, overflowPolicy,
+                    dropBelowLevel);
+            dispatcher = async;
+            queued = async::getQueueDepth;
+            if (limiter != null) {
+                async.setLatencyListener(limiter::recordLatency);
+            }
+        } else {
+            dispatcher = limiter == null ? syncDispatcher
+                    : new TimedLogDispatcher(syncDispatcher, limiter::recordLatency);
+            queued = () -> 0;
+        }
+        if (limiter != null) {
+            // Messages waiting in front of a sink are work the chain has not finished either
+            for (AbstractLogger node : chainDispatcher.getTable().getNodes()) {
+                if (node instanceof QueuedLogger sink) {
+                    sink.getQueue().setLatencyListener(limiter::recordLatency);
+                }
+            }
+            limiter.setBacklog(() -> {
+                long waiting = queued.getAsLong();
+                for (AbstractLogger node : chainDispatcher.getTable().getNodes()) {
+                    if (node instanceof QueuedLogger sink) {
+                        waiting += sink.getQueue().getQueueDepth();
+                    }
+                }
+                return waiting;
+            });
+        }
+        // Summary lines of the filters go through the same path as every other message
+        for (AbstractLogger node : chainDispatcher.getTable().getNodes()) {
+            if (node instanceof ChainFilter filter) {
+                filter.setEmitTarget(dispatcher);
+            }
+        }
+        return dispatcher;
     }
-} 
\ No newline at end of file
+}
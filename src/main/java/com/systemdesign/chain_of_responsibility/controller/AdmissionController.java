@@ -0,0 +1,51 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.model.AdmissionStatsResponse;
+import com.systemdesign.chain_of_responsibility.service.AdmissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the state of admission control.
+ */
+@RestController
+@RequestMapping("/api/logs/admission")
+@Tag(name = "Admission Controller", description = "APIs for reading the adaptive concurrency limit and shedding")
+public class AdmissionController {
+    /** The service that admits logging requests */
+    private final AdmissionService admissionService;
+
+    /**
+     * Constructs a new AdmissionController with the provided admission service.
+     *
+     * @param admissionService The service that admits logging requests
+     */
+    public AdmissionController(AdmissionService admissionService) {
+        this.admissionService = admissionService;
+    }
+
+    /**
+     * Returns the current limit, latencies and per-level shedding counts.
+     *
+     * @return The admission statistics
+     */
+    @Operation(summary = "Get admission control statistics",
+               description = "Returns the adaptive concurrency limit, requests in flight, the backlog, the latencies driving "
+                       + "the limit, and admitted and shed requests per level")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics returned"),
+        @ApiResponse(responseCode = "404", description = "Admission control is not enabled")
+    })
+    @GetMapping
+    public ResponseEntity<AdmissionStatsResponse> getStats() {
+        return admissionService.stats()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
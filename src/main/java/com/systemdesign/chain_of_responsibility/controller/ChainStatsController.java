@@ -0,0 +1,63 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.model.ChainStatsResponse;
+import com.systemdesign.chain_of_responsibility.service.ChainStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing per-node statistics of the logger chain.
+ */
+@RestController
+@RequestMapping("/api/logs/stats")
+@Tag(name = "Chain Statistics Controller", description = "APIs for reading per-node chain statistics")
+public class ChainStatsController {
+    /** The service that reads the chain's metrics */
+    private final ChainStatsService chainStatsService;
+
+    /**
+     * Constructs a new ChainStatsController with the provided statistics service.
+     *
+     * @param chainStatsService The service that reads the chain's metrics
+     */
+    public ChainStatsController(ChainStatsService chainStatsService) {
+        this.chainStatsService = chainStatsService;
+    }
+
+    /**
+     * Returns the statistics accumulated since startup or the last reset.
+     *
+     * @return The per-node counters and write latencies
+     */
+    @Operation(summary = "Get chain statistics",
+               description = "Returns accepted/skipped/filtered/failed counts and write latency percentiles per node and level")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics returned")
+    })
+    @GetMapping
+    public ResponseEntity<ChainStatsResponse> getStats() {
+        return ResponseEntity.ok(chainStatsService.snapshot());
+    }
+
+    /**
+     * Returns the statistics of the current interval and starts a new one.
+     *
+     * @return The per-node counters and write latencies before the reset
+     */
+    @Operation(summary = "Snapshot and reset chain statistics",
+               description = "Returns the statistics accumulated since the last reset, then clears them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics returned and cleared")
+    })
+    @PostMapping("/reset")
+    public ResponseEntity<ChainStatsResponse> resetStats() {
+        return ResponseEntity.ok(chainStatsService.snapshotAndReset());
+    }
+}
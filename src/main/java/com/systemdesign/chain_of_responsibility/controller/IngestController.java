@@ -0,0 +1,51 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.model.IngestStatsResponse;
+import com.systemdesign.chain_of_responsibility.service.IngestStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the metrics of the raw TCP and UDP listener.
+ */
+@RestController
+@RequestMapping("/api/logs/ingest")
+@Tag(name = "Ingest Controller", description = "APIs for reading the throughput and errors of the socket listener")
+public class IngestController {
+    /** The service that reads the socket listener */
+    private final IngestStatsService ingestStatsService;
+
+    /**
+     * Constructs a new IngestController with the provided service.
+     *
+     * @param ingestStatsService The service that reads the socket listener
+     */
+    public IngestController(IngestStatsService ingestStatsService) {
+        this.ingestStatsService = ingestStatsService;
+    }
+
+    /**
+     * Returns the listener's connections, throughput and error counts.
+     *
+     * @return The listener statistics
+     */
+    @Operation(summary = "Get socket listener statistics",
+               description = "Returns the ports, open and dropped connections, bytes, frames per level and "
+                       + "malformed frames of the raw TCP and UDP listener")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics returned"),
+        @ApiResponse(responseCode = "404", description = "The socket listener is not enabled")
+    })
+    @GetMapping
+    public ResponseEntity<IngestStatsResponse> getStats() {
+        return ingestStatsService.stats()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,79 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.model.LogAggregatesResponse;
+import com.systemdesign.chain_of_responsibility.service.LogAggregateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing message rates by level and the heaviest message shapes.
+ */
+@RestController
+@RequestMapping("/api/logs/aggregates")
+@Tag(name = "Log Aggregates Controller", description = "APIs for reading message rates and heavy hitters")
+public class LogAggregateController {
+    /** The service that reads the aggregator */
+    private final LogAggregateService logAggregateService;
+
+    /**
+     * Constructs a new LogAggregateController with the provided aggregate service.
+     *
+     * @param logAggregateService The service that reads the aggregator
+     */
+    public LogAggregateController(LogAggregateService logAggregateService) {
+        this.logAggregateService = logAggregateService;
+    }
+
+    /**
+     * Returns the current rates and heavy hitters.
+     *
+     * @param limit Maximum number of heavy hitters returned
+     * @return The per-level rates and the heaviest message shapes
+     */
+    @Operation(summary = "Get message rates and heavy hitters",
+               description = "Returns per-level counts for the last 60 seconds and 60 minutes and the "
+                       + "message shapes with the highest estimated counts")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Aggregates returned"),
+        @ApiResponse(responseCode = "404", description = "Aggregation is not enabled")
+    })
+    @GetMapping
+    public ResponseEntity<LogAggregatesResponse> getAggregates(
+            @Parameter(description = "Maximum number of heavy hitters returned")
+            @RequestParam(defaultValue = "20") int limit) {
+        return logAggregateService.snapshot(Math.max(0, limit))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Returns the current rates and heavy hitters, then forgets the heavy hitters.
+     *
+     * @param limit Maximum number of heavy hitters returned
+     * @return The aggregates before the reset
+     */
+    @Operation(summary = "Snapshot and reset heavy hitters",
+               description = "Returns the aggregates, then clears the heavy hitters and their counts. "
+                       + "Rates age out on their own and are not cleared")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Aggregates returned and heavy hitters cleared"),
+        @ApiResponse(responseCode = "404", description = "Aggregation is not enabled")
+    })
+    @PostMapping("/reset")
+    public ResponseEntity<LogAggregatesResponse> resetAggregates(
+            @Parameter(description = "Maximum number of heavy hitters returned")
+            @RequestParam(defaultValue = "20") int limit) {
+        return logAggregateService.snapshotAndReset(Math.max(0, limit))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,80 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.LogHistoryResponse;
+import com.systemdesign.chain_of_responsibility.service.LogHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for querying the stored log history by time range.
+ */
+@RestController
+@RequestMapping("/api/logs/history")
+@Tag(name = "Log History Controller", description = "APIs for querying stored messages by time range")
+public class LogHistoryController {
+    /** Largest number of messages a single query returns */
+    private static final int MAX_LIMIT = 1000;
+
+    /** The service that reads the block log files */
+    private final LogHistoryService logHistoryService;
+
+    /**
+     * Constructs a new LogHistoryController with the provided history service.
+     *
+     * @param logHistoryService The service that reads the block log files
+     */
+    public LogHistoryController(LogHistoryService logHistoryService) {
+        this.logHistoryService = logHistoryService;
+    }
+
+    /**
+     * Queries the block log files.
+     *
+     * @param from Earliest timestamp included, in epoch milliseconds
+     * @param to Timestamp before which messages are included, in epoch milliseconds
+     * @param level Levels to include
+     * @param q Terms that must all occur in the message
+     * @param limit Maximum number of messages returned
+     * @return The matching messages, oldest first
+     */
+    @Operation(summary = "Query stored messages by time range",
+               description = "Returns the earliest stored messages in a time range, optionally restricted to some "
+                       + "levels and query terms. Only the blocks the time index places in the range are read")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Query completed"),
+        @ApiResponse(responseCode = "400", description = "The time range is empty"),
+        @ApiResponse(responseCode = "404", description = "The block log is not enabled")
+    })
+    @GetMapping
+    public ResponseEntity<LogHistoryResponse> query(
+            @Parameter(description = "Earliest timestamp included, in epoch milliseconds")
+            @RequestParam(defaultValue = "0") long from,
+            @Parameter(description = "Timestamp before which messages are included, in epoch milliseconds")
+            @RequestParam(required = false) Long to,
+            @Parameter(description = "Levels to include; repeat for several. All levels if absent")
+            @RequestParam(required = false) List<LogLevel> level,
+            @Parameter(description = "Terms that must all occur in the message, case-insensitive")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Maximum number of messages returned (at most 1000)")
+            @RequestParam(defaultValue = "100") int limit) {
+        long end = to == null ? Long.MAX_VALUE : to;
+        if (end <= from) {
+            return ResponseEntity.badRequest().build();
+        }
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return logHistoryService.query(from, end, level, q, boundedLimit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
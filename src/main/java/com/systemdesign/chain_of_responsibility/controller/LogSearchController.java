@@ -0,0 +1,75 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.LogSearchResponse;
+import com.systemdesign.chain_of_responsibility.service.LogSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for searching recently logged messages.
+ */
+@RestController
+@RequestMapping("/api/logs/search")
+@Tag(name = "Log Search Controller", description = "APIs for searching recently logged messages")
+public class LogSearchController {
+    /** Largest number of messages a single search returns */
+    private static final int MAX_LIMIT = 1000;
+
+    /** The service that searches the recent-log store */
+    private final LogSearchService logSearchService;
+
+    /**
+     * Constructs a new LogSearchController with the provided search service.
+     *
+     * @param logSearchService The service that searches the recent-log store
+     */
+    public LogSearchController(LogSearchService logSearchService) {
+        this.logSearchService = logSearchService;
+    }
+
+    /**
+     * Searches the recent-log store.
+     *
+     * @param q Terms that must all occur in the message
+     * @param level Levels to include
+     * @param from Earliest timestamp included, in epoch milliseconds
+     * @param to Timestamp before which messages are included, in epoch milliseconds
+     * @param limit Maximum number of messages returned
+     * @return The matching messages, newest first
+     */
+    @Operation(summary = "Search recent messages",
+               description = "Returns the newest stored messages containing every query term, "
+                       + "optionally restricted to some levels and a time range")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed"),
+        @ApiResponse(responseCode = "404", description = "The recent-log store is not enabled")
+    })
+    @GetMapping
+    public ResponseEntity<LogSearchResponse> search(
+            @Parameter(description = "Terms that must all occur in the message, case-insensitive")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Levels to include; repeat for several. All levels if absent")
+            @RequestParam(required = false) List<LogLevel> level,
+            @Parameter(description = "Earliest timestamp included, in epoch milliseconds")
+            @RequestParam(required = false) Long from,
+            @Parameter(description = "Timestamp before which messages are included, in epoch milliseconds")
+            @RequestParam(required = false) Long to,
+            @Parameter(description = "Maximum number of messages returned (at most 1000)")
+            @RequestParam(defaultValue = "100") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return logSearchService.search(q, level, from, to, boundedLimit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
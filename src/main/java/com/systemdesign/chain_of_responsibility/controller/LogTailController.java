@@ -0,0 +1,144 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.logging.TailSubscription;
+import com.systemdesign.chain_of_responsibility.model.LogTailEvent;
+import com.systemdesign.chain_of_responsibility.service.LogTailService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller for following the chain live as Server-Sent Events.
+ * Each tail has its own bounded buffer filled by the chain without blocking;
+ * a virtual thread per tail drains it to the client. A tail that cannot keep
+ * up loses messages instead of slowing the chain, and is told how many with a
+ * {@code dropped} event.
+ */
+@RestController
+@RequestMapping("/api/logs/tail")
+@Tag(name = "Log Tail Controller", description = "Live tail of the messages passing through the chain")
+public class LogTailController implements AutoCloseable {
+    /** The service that subscribes to the chain */
+    private final LogTailService logTailService;
+
+    /** Sends each tail's messages; one cheap virtual thread per open tail */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** How long a tail may stay open */
+    private final Duration timeout;
+
+    /** How long an idle tail waits before sending a keep-alive comment */
+    private final Duration heartbeat;
+
+    /**
+     * Constructs a new LogTailController.
+     *
+     * @param logTailService The service that subscribes to the chain
+     * @param timeout How long a tail may stay open
+     * @param heartbeat How long an idle tail waits before sending a keep-alive comment
+     */
+    public LogTailController(LogTailService logTailService,
+                             @Value("${logger.chain.tail.timeout:30m}") Duration timeout,
+                             @Value("${logger.chain.tail.heartbeat:15s}") Duration heartbeat) {
+        this.logTailService = logTailService;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+     * Opens a live tail of the chain.
+     *
+     * @param level Levels to receive
+     * @param contains Text the message must contain
+     * @return The event stream, or 503 if tailing is disabled or too many tails are open
+     */
+    @Operation(summary = "Tail the chain live",
+               description = "Streams matching messages as Server-Sent Events named 'log'. A client that "
+                       + "falls behind loses messages and receives a 'dropped' event with their number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tail opened"),
+        @ApiResponse(responseCode = "503", description = "Tailing is disabled or the subscriber limit has been reached")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> tail(
+            @Parameter(description = "Levels to receive; repeat for several. All levels if absent")
+            @RequestParam(required = false) List<LogLevel> level,
+            @Parameter(description = "Text the message must contain, case-sensitive")
+            @RequestParam(required = false) String contains) {
+        Optional<TailSubscription> subscribed = logTailService.subscribe(level, contains);
+        if (subscribed.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        TailSubscription subscription = subscribed.get();
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        executor.execute(() -> pump(subscription, emitter));
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Sends a tail's messages until it is closed. Drops are reported once the
+     * buffer has been drained, so the marker follows the messages that were
+     * queued before the drops happened.
+     *
+     * @param subscription The tail's subscription
+     * @param emitter The tail's event stream
+     */
+    private void pump(TailSubscription subscription, SseEmitter emitter) {
+        try {
+            while (!subscription.isClosed()) {
+                TailSubscription.Entry entry = subscription.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (entry == null) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    emitter.send(SseEmitter.event().name("log").data(
+                            new LogTailEvent(entry.getTimestamp(), entry.getLevel(), entry.getMessage()),
+                            MediaType.APPLICATION_JSON));
+                }
+                if (subscription.isEmpty()) {
+                    long dropped = subscription.takeDropped();
+                    if (dropped > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(dropped));
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client has gone away or the stream has already ended
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscription.close();
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Stops the tails' threads on shutdown.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,18 +1,31 @@
 package com.systemdesign.chain_of_responsibility.controller;
 
+import com.systemdesign.chain_of_responsibility.dispatch.AdaptiveConcurrencyLimiter;
 import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.BatchLogResponse;
+import com.systemdesign.chain_of_responsibility.model.LogEntryRequest;
 import com.systemdesign.chain_of_responsibility.model.LogMessageRequest;
+import com.systemdesign.chain_of_responsibility.service.AdmissionService;
+import com.systemdesign.chain_of_responsibility.service.BatchIngestionService;
 import com.systemdesign.chain_of_responsibility.service.LoggingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
 /**
  * REST controller for handling logging operations.
  * This controller provides endpoints for logging messages at different levels
@@ -25,14 +38,25 @@ public class LoggingController {
     /** The logging service that processes the log messages */
     private final LoggingService loggingService;
 
+    /** The service that streams batches of entries into the chain */
+    private final BatchIngestionService batchIngestionService;
+
+    /** The service that sheds requests while the chain is behind */
+    private final AdmissionService admissionService;
+
     /**
-     * Constructs a new LoggingController with the provided logging service.
-     * The logging service is injected by Spring's dependency injection.
+     * Constructs a new LoggingController with the provided services.
+     * The services are injected by Spring's dependency injection.
      *
      * @param loggingService The service that handles logging operations
+     * @param batchIngestionService The service that handles batch requests
+     * @param admissionService The service that sheds requests while the chain is behind
      */
-    public LoggingController(LoggingService loggingService) {
+    public LoggingController(LoggingService loggingService, BatchIngestionService batchIngestionService,
+                             AdmissionService admissionService) {
         this.loggingService = loggingService;
+        this.batchIngestionService = batchIngestionService;
+        this.admissionService = admissionService;
     }
 
     /**
@@ -48,7 +72,8 @@ public class LoggingController {
                description = "Logs a message with the specified log level (INFO, DEBUG, or ERROR)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Message logged successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid log level or message")
+        @ApiResponse(responseCode = "400", description = "Invalid log level or message"),
+        @ApiResponse(responseCode = "429", description = "Shed because the chain is behind; retry after the Retry-After delay")
     })
     @PostMapping("/{level}")
     public ResponseEntity<String> logMessage(
@@ -56,8 +81,7 @@ public class LoggingController {
             @PathVariable LogLevel level,
             @Parameter(description = "Message to be logged", required = true)
             @RequestBody LogMessageRequest request) {
-        loggingService.logMessage(level, request.getMessage());
-        return ResponseEntity.ok("Message logged successfully");
+        return admitted(level, () -> log(level, request, "Message logged successfully"));
     }
 
     /**
@@ -71,14 +95,14 @@ public class LoggingController {
                description = "Logs a message with INFO level")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Info message logged successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid message")
+        @ApiResponse(responseCode = "400", description = "Invalid message"),
+        @ApiResponse(responseCode = "429", description = "Shed because the chain is behind; retry after the Retry-After delay")
     })
     @PostMapping("/info")
     public ResponseEntity<String> logInfo(
             @Parameter(description = "Message to be logged", required = true)
             @RequestBody LogMessageRequest request) {
-        loggingService.logInfo(request.getMessage());
-        return ResponseEntity.ok("Info message logged successfully");
+        return admitted(LogLevel.INFO, () -> log(LogLevel.INFO, request, "Info message logged successfully"));
     }
 
     /**
@@ -92,14 +116,14 @@ public class LoggingController {
                description = "Logs a message with DEBUG level")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Debug message logged successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid message")
+        @ApiResponse(responseCode = "400", description = "Invalid message"),
+        @ApiResponse(responseCode = "429", description = "Shed because the chain is behind; retry after the Retry-After delay")
     })
     @PostMapping("/debug")
     public ResponseEntity<String> logDebug(
             @Parameter(description = "Message to be logged", required = true)
             @RequestBody LogMessageRequest request) {
-        loggingService.logDebug(request.getMessage());
-        return ResponseEntity.ok("Debug message logged successfully");
+        return admitted(LogLevel.DEBUG, () -> log(LogLevel.DEBUG, request, "Debug message logged successfully"));
     }
 
     /**
@@ -113,13 +137,101 @@ public class LoggingController {
                description = "Logs a message with ERROR level")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Error message logged successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid message")
+        @ApiResponse(responseCode = "400", description = "Invalid message"),
+        @ApiResponse(responseCode = "429", description = "Shed because the chain is behind; retry after the Retry-After delay")
     })
     @PostMapping("/error")
     public ResponseEntity<String> logError(
             @Parameter(description = "Message to be logged", required = true)
             @RequestBody LogMessageRequest request) {
-        loggingService.logError(request.getMessage());
-        return ResponseEntity.ok("Error message logged successfully");
+        return admitted(LogLevel.ERROR, () -> log(LogLevel.ERROR, request, "Error message logged successfully"));
+    }
+
+    /**
+     * Logs a batch of entries with mixed levels.
+     * The body is either newline-delimited JSON objects or a JSON array of
+     * objects, each carrying a level and a message. Entries are parsed and
+     * logged one at a time while the body is still being read. A batch is
+     * bulk traffic, so admission control treats it like an INFO request.
+     *
+     * @param body The request body stream
+     * @return The number of accepted and rejected entries
+     * @throws IOException if the request body cannot be read
+     */
+    @Operation(summary = "Log a batch of messages",
+               description = "Logs newline-delimited JSON entries or a JSON array of entries, each with its own level",
+               requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                   @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = LogEntryRequest.class)),
+                   @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = LogEntryRequest.class)))
+               }))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch read completely"),
+        @ApiResponse(responseCode = "400", description = "Malformed JSON; entries before it were logged"),
+        @ApiResponse(responseCode = "429", description = "Shed because the chain is behind; retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/batch",
+                 consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BatchLogResponse> logBatch(InputStream body) throws IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = admissionService.tryAcquire(LogLevel.INFO);
+        if (permit == null) {
+            return tooManyRequests();
+        }
+        try (permit) {
+            BatchLogResponse response = batchIngestionService.ingest(body);
+            if (response.getError() != null) {
+                return ResponseEntity.badRequest().body(response);
+            }
+            return ResponseEntity.ok(response);
+        }
+    }
+
+    /**
+     * Logs a single-message request at the given level: as a structured event
+     * if it carries a template, otherwise as plain text.
+     *
+     * @param level The log level
+     * @param request The request containing the message or template
+     * @param confirmation The text of the success response
+     * @return A response indicating the success of the operation
+     */
+    private ResponseEntity<String> log(LogLevel level, LogMessageRequest request, String confirmation) {
+        if (request.isStructured()) {
+            loggingService.logEvent(level, request.toEvent());
+        } else {
+            loggingService.logMessage(level, request.getMessage());
+        }
+        return ResponseEntity.ok(confirmation);
+    }
+
+    /**
+     * Handles a request under admission control.
+     *
+     * @param level The level the request is admitted at
+     * @param handler Handles the request once admitted
+     * @param <T> The response body type
+     * @return The handler's response, or 429 if the request was shed
+     */
+    private <T> ResponseEntity<T> admitted(LogLevel level, Supplier<ResponseEntity<T>> handler) {
+        AdaptiveConcurrencyLimiter.Permit permit = admissionService.tryAcquire(level);
+        if (permit == null) {
+            return tooManyRequests();
+        }
+        try (permit) {
+            return handler.get();
+        }
+    }
+
+    /**
+     * Builds the answer to a shed request.
+     *
+     * @param <T> The response body type
+     * @return 429 with a Retry-After header
+     */
+    private <T> ResponseEntity<T> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionService.getRetryAfterSeconds()))
+                .build();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
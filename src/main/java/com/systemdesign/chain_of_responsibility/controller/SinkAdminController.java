@@ -0,0 +1,102 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.SinkStatus;
+import com.systemdesign.chain_of_responsibility.service.SinkAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for inspecting and managing the sinks of the logger chain.
+ */
+@RestController
+@RequestMapping("/api/logs/sinks")
+@Tag(name = "Sink Admin Controller", description = "APIs for inspecting and managing the chain's sinks")
+public class SinkAdminController {
+    /** The service that manages the sinks */
+    private final SinkAdminService sinkAdminService;
+
+    /**
+     * Constructs a new SinkAdminController with the provided admin service.
+     *
+     * @param sinkAdminService The service that manages the sinks
+     */
+    public SinkAdminController(SinkAdminService sinkAdminService) {
+        this.sinkAdminService = sinkAdminService;
+    }
+
+    /**
+     * Lists the sinks of the chain.
+     *
+     * @return The status of every sink, in chain order
+     */
+    @Operation(summary = "List sinks",
+               description = "Returns every sink of the chain with its level and, in fan-out mode, its queue counters")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sinks listed")
+    })
+    @GetMapping
+    public ResponseEntity<List<SinkStatus>> listSinks() {
+        return ResponseEntity.ok(sinkAdminService.listSinks());
+    }
+
+    /**
+     * Marks a queued sink as degraded, or clears the mark.
+     *
+     * @param name The sink's name
+     * @param value Whether messages for the sink should be dropped
+     * @return The sink's new status
+     */
+    @Operation(summary = "Mark a sink as degraded",
+               description = "While degraded, a queued sink drops its messages instead of queueing them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Mark updated"),
+        @ApiResponse(responseCode = "404", description = "No queued sink has that name")
+    })
+    @PutMapping("/{name}/degraded")
+    public ResponseEntity<SinkStatus> setDegraded(
+            @Parameter(description = "Sink name, e.g. ErrorLogger", required = true)
+            @PathVariable String name,
+            @Parameter(description = "true to drop the sink's messages, false to resume", required = true)
+            @RequestParam boolean value) {
+        return sinkAdminService.setDegraded(name, value)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Changes a sink's minimum level at runtime.
+     *
+     * @param name The sink's name
+     * @param value The new minimum level
+     * @return The sink's new status
+     */
+    @Operation(summary = "Change a sink's level",
+               description = "Sets the minimum level a sink writes; the recompiled chain is published atomically")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Level changed"),
+        @ApiResponse(responseCode = "404", description = "No sink has that name")
+    })
+    @PutMapping("/{name}/level")
+    public ResponseEntity<SinkStatus> setLevel(
+            @Parameter(description = "Sink name, e.g. InfoLogger", required = true)
+            @PathVariable String name,
+            @Parameter(description = "New minimum level (INFO, DEBUG, ERROR)", required = true)
+            @RequestParam LogLevel value) {
+        return sinkAdminService.setLevel(name, value)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,195 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.systemdesign.chain_of_responsibility.dispatch.AdaptiveConcurrencyLimiter;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.BatchLogResponse;
+import com.systemdesign.chain_of_responsibility.model.LogEntryRequest;
+import com.systemdesign.chain_of_responsibility.service.AdmissionService;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+import com.systemdesign.chain_of_responsibility.stream.ChainSubscriber;
+import com.systemdesign.chain_of_responsibility.stream.NdjsonRequestPublisher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * REST controller for non-blocking, backpressured log ingestion.
+ * A stream of newline-delimited entries is read with Servlet non-blocking I/O
+ * and flows into the chain through a {@link java.util.concurrent.Flow} pipeline.
+ * No servlet thread is held while the client sends or the chain runs, and the
+ * body is read only as fast as the chain drains entries. Like a batch, a
+ * stream is bulk traffic, so admission control treats it as one INFO request
+ * that holds its permit until the stream ends.
+ */
+@RestController
+@RequestMapping("/api/logs")
+@Tag(name = "Streaming Logging Controller", description = "Backpressured ingestion of newline-delimited log entries")
+public class StreamingLogController implements AutoCloseable {
+    /** The logging service that processes each entry */
+    private final LoggingService loggingService;
+
+    /** The service that sheds requests while the chain is behind */
+    private final AdmissionService admissionService;
+
+    /** Binds each line of the stream */
+    private final ObjectMapper objectMapper;
+
+    /** Runs the chain for streamed entries; one cheap virtual thread per active stream */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Maximum number of entries read ahead of the chain per stream */
+    private final int window;
+
+    /** Longest accepted line, in bytes */
+    private final int maxLineLength;
+
+    /** How long a stream may stay open */
+    private final Duration timeout;
+
+    /**
+     * Constructs a new StreamingLogController.
+     *
+     * @param loggingService The service that handles logging operations
+     * @param admissionService The service that sheds requests while the chain is behind
+     * @param objectMapper Binds each line of the stream
+     * @param window Maximum number of entries read ahead of the chain per stream
+     * @param maxLineLength Longest accepted line, in bytes
+     * @param timeout How long a stream may stay open
+     */
+    public StreamingLogController(LoggingService loggingService, AdmissionService admissionService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${logger.chain.stream.window:256}") int window,
+                                  @Value("${logger.chain.stream.max-line-length:1048576}") int maxLineLength,
+                                  @Value("${logger.chain.stream.timeout:5m}") Duration timeout) {
+        this.loggingService = loggingService;
+        this.admissionService = admissionService;
+        this.objectMapper = objectMapper;
+        this.window = window;
+        this.maxLineLength = maxLineLength;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Streams newline-delimited entries into the chain with backpressure.
+     * The request switches to asynchronous mode and this method returns at once;
+     * the response, carrying the accepted and rejected counts, is written when
+     * the stream ends. A stream shed by admission control is answered with 429
+     * before any of its body is read.
+     *
+     * @param request The HTTP request whose body holds the entries
+     * @param response The HTTP response the counts are written to
+     * @throws IOException if the request body cannot be opened
+     */
+    @Operation(summary = "Stream log entries with backpressure",
+               description = "Reads newline-delimited entries without blocking a servlet thread, "
+                       + "only as fast as the chain logs them",
+               requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content =
+                   @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = LogEntryRequest.class))))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream read completely",
+                     content = @Content(schema = @Schema(implementation = BatchLogResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Stream ended with an error; entries before it were logged"),
+        @ApiResponse(responseCode = "429", description = "Shed because the chain is behind; retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void stream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = admissionService.tryAcquire(LogLevel.INFO);
+        if (permit == null) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admissionService.getRetryAfterSeconds()));
+            return;
+        }
+        AsyncContext asyncContext;
+        try {
+            asyncContext = request.startAsync(request, response);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        asyncContext.setTimeout(timeout.toMillis());
+
+        AtomicBoolean completed = new AtomicBoolean();
+        ChainSubscriber subscriber = new ChainSubscriber(loggingService, executor, window, result -> {
+            if (completed.compareAndSet(false, true)) {
+                permit.close();
+                writeResult(asyncContext, result);
+            }
+        });
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                subscriber.abort("Stream timed out after " + timeout);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                subscriber.abort("Stream failed: " + event.getThrowable());
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                permit.close();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        new NdjsonRequestPublisher(request.getInputStream(), objectMapper, maxLineLength).subscribe(subscriber);
+    }
+
+    /**
+     * Writes the counts as the JSON response body and completes the request.
+     *
+     * @param asyncContext The asynchronous context of the request
+     * @param result The accepted and rejected counts
+     */
+    private void writeResult(AsyncContext asyncContext, BatchLogResponse result) {
+        try {
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            response.setStatus(result.getError() == null ? HttpStatus.OK.value() : HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), result);
+        } catch (IOException | IllegalStateException e) {
+            // The client has gone away or the container already ended the request
+        } finally {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new stream tasks on shutdown.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
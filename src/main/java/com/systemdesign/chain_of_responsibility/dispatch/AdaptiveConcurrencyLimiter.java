@@ -0,0 +1,353 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for logging requests: a concurrency limit that adapts to
+ * the latency of the work behind it, and sheds low-priority levels first.
+ *
+ * Every admitted request holds a {@link Permit} while it is handled. The
+ * latency the limit follows is not that of the request, which may only queue
+ * its messages, but that of the messages themselves: whatever delivers them
+ * to the sinks reports, through {@link #recordLatency(long)}, how long each
+ * one took from being handed over until it was written. Messages handed over
+ * but not yet written are reported through {@link #setBacklog(LongSupplier)}
+ * and count against the limit next to the requests in flight, so queues in
+ * front of the chain or its sinks cannot hide that the sinks fall behind.
+ *
+ * Once per window, the limit is compared against two averages of the latency
+ * samples: the window's own average, and a long-term baseline that moves
+ * slowly. The limit changes as
+ * {@code limit * min(1, tolerance * baseline / recent) + sqrt(limit)}, smoothed
+ * and clamped. While latency stays near the baseline, the limit grows by about
+ * its square root. When queueing makes latency climb, it shrinks by up to half
+ * per window. It does not grow while less than half of it is in use, since
+ * latency then says nothing about capacity.
+ *
+ * INFO requests are only admitted while less than {@code infoShare} of the
+ * limit is in use, and DEBUG requests while less than the limit is. ERROR
+ * requests are never shed, though they count as in flight. So as the chain
+ * falls behind, INFO is shed first, then DEBUG.
+ *
+ * Acquiring and releasing permits is a compare-and-set on one counter plus a
+ * few striped adders. The backlog is read and the limit recomputed by
+ * whichever thread closes the window, including a request about to be shed.
+ */
+public class AdaptiveConcurrencyLimiter {
+    /** Number of windows the baseline averages over */
+    private static final double BASELINE_WINDOWS = 100;
+
+    /** Weight of a newly computed limit against the previous one */
+    private static final double SMOOTHING = 0.2;
+
+    /** Smallest limit */
+    private final int minLimit;
+
+    /** Largest limit */
+    private final int maxLimit;
+
+    /** How far recent latency may exceed the baseline before the limit shrinks */
+    private final double tolerance;
+
+    /** Fraction of the limit INFO requests may use */
+    private final double infoShare;
+
+    /** Length of a sampling window, in nanoseconds */
+    private final long windowNanos;
+
+    /** The current limit */
+    private volatile double limit;
+
+    /** Requests holding a permit */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Most requests in flight at once during the current window, plus the backlog */
+    private final AtomicInteger windowPeak = new AtomicInteger();
+
+    /** Reports the messages handed over but not yet written; none by default */
+    private volatile LongSupplier backlogSource = () -> 0;
+
+    /** Backlog read when the last window closed */
+    private volatile int backlog;
+
+    /** Start of the current window, from {@link System#nanoTime()} */
+    private final AtomicLong windowStart;
+
+    /** Sum of the current window's delivery latencies, in nanoseconds */
+    private final LongAdder windowLatency = new LongAdder();
+
+    /** Number of delivery latencies sampled in the current window */
+    private final LongAdder windowSamples = new LongAdder();
+
+    /** Long-term average delivery latency, in nanoseconds; 0 until the first window */
+    private volatile double baselineNanos;
+
+    /** Average delivery latency of the last complete window, in nanoseconds */
+    private volatile double recentNanos;
+
+    /** Admitted requests, by level ordinal */
+    private final LongAdder[] admitted = newAdders();
+
+    /** Shed requests, by level ordinal */
+    private final LongAdder[] shed = newAdders();
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter.
+     *
+     * @param initialLimit The limit before any latency has been measured
+     * @param minLimit The smallest limit
+     * @param maxLimit The largest limit
+     * @param tolerance How far recent latency may exceed the baseline before the limit shrinks, e.g. 2.0
+     * @param infoShare Fraction of the limit INFO requests may use, between 0 and 1
+     * @param windowNanos Length of a sampling window, in nanoseconds
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double infoShare, long windowNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.infoShare = Math.min(1.0, Math.max(0.0, infoShare));
+        this.windowNanos = Math.max(1, windowNanos);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Creates one counter per level.
+     *
+     * @return The counters, indexed by level ordinal
+     */
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[LogLevel.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Sets where the backlog of messages handed over but not yet written is
+     * read from. It is read once per window.
+     *
+     * @param backlogSource Returns the number of messages waiting in front of the chain or its sinks
+     */
+    public void setBacklog(LongSupplier backlogSource) {
+        this.backlogSource = backlogSource;
+    }
+
+    /**
+     * Admits a request of the given level if the limit allows it. A request
+     * that would be shed first closes the window if it is due, so a backlog
+     * that has drained since the last window stops shedding even when no
+     * permit is released and no latency is recorded.
+     *
+     * @param level The level of the request
+     * @return A permit to close once the request has been handled, or null if the request is shed
+     */
+    public Permit tryAcquire(LogLevel level) {
+        if (admit(level) || (closeWindowIfDue() && admit(level))) {
+            admitted[level.ordinal()].increment();
+            return new Permit(this);
+        }
+        shed[level.ordinal()].increment();
+        return null;
+    }
+
+    /**
+     * Takes a slot for a request of the given level if the limit and the last
+     * backlog read allow it.
+     *
+     * @param level The level of the request
+     * @return true if the request holds a slot
+     */
+    private boolean admit(LogLevel level) {
+        double threshold = switch (level) {
+            case INFO -> limit * infoShare;
+            case DEBUG -> limit;
+            case ERROR -> Double.POSITIVE_INFINITY;
+        };
+        int waiting = backlog;
+        int current;
+        do {
+            current = inFlight.get();
+            if (current + waiting >= threshold) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        windowPeak.accumulateAndGet(current + 1 + waiting, Math::max);
+        return true;
+    }
+
+    /**
+     * Records how long a message took from being handed over until a sink
+     * wrote it and, if the window is over, adjusts the limit.
+     *
+     * @param nanos The message's delivery latency, in nanoseconds
+     */
+    public void recordLatency(long nanos) {
+        windowLatency.add(nanos);
+        windowSamples.increment();
+        closeWindowIfDue();
+    }
+
+    /**
+     * Records a finished request and, if the window is over, adjusts the limit.
+     */
+    private void release() {
+        inFlight.decrementAndGet();
+        closeWindowIfDue();
+    }
+
+    /**
+     * Adjusts the limit if the current window is over and no other thread has closed it yet.
+     *
+     * @return true if this call closed the window
+     */
+    private boolean closeWindowIfDue() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            adjust();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the backlog and recomputes the limit from the window that just closed.
+     */
+    private synchronized void adjust() {
+        int waiting = (int) Math.min(Integer.MAX_VALUE, Math.max(0, backlogSource.getAsLong()));
+        backlog = waiting;
+        long samples = windowSamples.sumThenReset();
+        long latency = windowLatency.sumThenReset();
+        int inUse = inFlight.get() + waiting;
+        int peak = Math.max(windowPeak.getAndSet(inUse), inUse);
+        if (samples == 0) {
+            return;
+        }
+        double recent = (double) latency / samples;
+        double baseline = baselineNanos == 0 ? recent : baselineNanos + (recent - baselineNanos) / BASELINE_WINDOWS;
+        if (baseline / recent > 2) {
+            baseline *= 0.95;
+        }
+        recentNanos = recent;
+        baselineNanos = baseline;
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / recent));
+        if (gradient == 1.0 && peak < current / 2) {
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.min(maxLimit, Math.max(minLimit, smoothed));
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return The number of requests that may be in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of requests holding a permit.
+     *
+     * @return The in-flight count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of messages handed over but not yet written, as read
+     * when the last window closed.
+     *
+     * @return The backlog
+     */
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Returns the average delivery latency of the last complete window.
+     *
+     * @return The latency in nanoseconds, or 0 before the first window
+     */
+    public long getRecentLatencyNanos() {
+        return (long) recentNanos;
+    }
+
+    /**
+     * Returns the long-term average delivery latency the recent latency is compared against.
+     *
+     * @return The latency in nanoseconds, or 0 before the first window
+     */
+    public long getBaselineLatencyNanos() {
+        return (long) baselineNanos;
+    }
+
+    /**
+     * Returns the number of admitted requests of a level.
+     *
+     * @param level The level
+     * @return The admitted count
+     */
+    public long getAdmitted(LogLevel level) {
+        return admitted[level.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of shed requests of a level.
+     *
+     * @param level The level
+     * @return The shed count
+     */
+    public long getShed(LogLevel level) {
+        return shed[level.ordinal()].sum();
+    }
+
+    /**
+     * Held by an admitted request while it is handled.
+     */
+    public static final class Permit implements AutoCloseable {
+        /** A permit that limits nothing, for use when admission control is off */
+        public static final Permit UNLIMITED = new Permit(null);
+
+        /** The limiter that issued the permit, or null for {@link #UNLIMITED} */
+        private final AdaptiveConcurrencyLimiter limiter;
+
+        /** Set once the permit has been released */
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Constructs a new Permit.
+         *
+         * @param limiter The limiter that issued the permit, or null
+         */
+        private Permit(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        /**
+         * Releases the permit. Only the first call has an effect, even when
+         * calls race, as they may for a stream ended by the client and the
+         * container at once.
+         */
+        @Override
+        public void close() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Dispatcher that decouples callers from the logger chain.
+ * Callers publish events into a {@link LogEventRingBuffer} and return immediately,
+ * while one or more drainer threads take events off the buffer and hand them to
+ * the target dispatcher. When the buffer is full the configured
+ * {@link OverflowPolicy} decides whether the caller waits or an event is dropped.
+ */
+public class AsyncLogDispatcher implements LogDispatcher {
+    /** Longest time an idle drainer or a blocked producer parks before re-checking */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** How long {@link #close()} waits for each drainer to finish */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /** The dispatcher that runs the chain on the drainer threads */
+    private final LogDispatcher target;
+
+    /** The queue between producers and drainers */
+    private final LogEventRingBuffer buffer;
+
+    /** What producers do when the buffer is full */
+    private final OverflowPolicy overflowPolicy;
+
+    /** Messages below this level are dropped under {@link OverflowPolicy#DROP_BELOW_LEVEL} */
+    private final LogLevel dropBelowLevel;
+
+    /** Number of events dropped, by the policy that dropped them */
+    private final Map<OverflowPolicy, LongAdder> droppedCounts = new EnumMap<>(OverflowPolicy.class);
+
+    /** Number of events whose dispatch threw an exception on a drainer thread */
+    private final LongAdder failedCount = new LongAdder();
+
+    /** Receives each drained event's delivery latency, or null */
+    private volatile LongConsumer latencyListener;
+
+    /** The drainer threads */
+    private final List<Thread> drainers = new ArrayList<>();
+
+    /** Cleared by {@link #close()} to stop the drainers */
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new AsyncLogDispatcher and starts its drainer threads.
+     *
+     * @param target The dispatcher that runs the chain
+     * @param capacity The minimum number of buffered events
+     * @param drainerCount The number of drainer threads
+     * @param overflowPolicy What producers do when the buffer is full
+     * @param dropBelowLevel The level below which {@link OverflowPolicy#DROP_BELOW_LEVEL} drops events
+     */
+    public AsyncLogDispatcher(LogDispatcher target, int capacity, int drainerCount,
+                              OverflowPolicy overflowPolicy, LogLevel dropBelowLevel) {
+        this(target, capacity, drainerCount, overflowPolicy, dropBelowLevel, "log-drainer-");
+    }
+
+    /**
+     * Constructs a new AsyncLogDispatcher whose drainer threads carry the given name prefix.
+     *
+     * @param target The dispatcher that runs the chain
+     * @param capacity The minimum number of buffered events
+     * @param drainerCount The number of drainer threads
+     * @param overflowPolicy What producers do when the buffer is full
+     * @param dropBelowLevel The level below which {@link OverflowPolicy#DROP_BELOW_LEVEL} drops events
+     * @param threadNamePrefix Prefix of the drainer thread names, followed by the drainer's index
+     */
+    public AsyncLogDispatcher(LogDispatcher target, int capacity, int drainerCount,
+                              OverflowPolicy overflowPolicy, LogLevel dropBelowLevel, String threadNamePrefix) {
+        if (drainerCount < 1) {
+            throw new IllegalArgumentException("At least one drainer is required: " + drainerCount);
+        }
+        this.target = target;
+        this.buffer = new LogEventRingBuffer(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.dropBelowLevel = dropBelowLevel;
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            droppedCounts.put(policy, new LongAdder());
+        }
+        for (int i = 0; i < drainerCount; i++) {
+            Thread drainer = new Thread(this::drain, threadNamePrefix + i);
+            drainer.setDaemon(true);
+            drainers.add(drainer);
+            drainer.start();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Publishes the message to the ring buffer, applying the overflow policy if
+     * the buffer is full. Once the dispatcher is closed, messages are dispatched
+     * on the calling thread so nothing is lost during shutdown.
+     */
+    @Override
+    public void dispatch(LogLevel level, String message) {
+        publish(level, message);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The event itself is queued, so it is formatted on a drainer thread, and
+     * only if a logger writes it.
+     */
+    @Override
+    public void dispatch(LogLevel level, LogEvent event) {
+        publish(level, event);
+    }
+
+    /**
+     * Publishes a message or event to the ring buffer, applying the overflow
+     * policy if the buffer is full.
+     *
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void publish(LogLevel level, Object payload) {
+        if (!running) {
+            dispatchToTarget(level, payload);
+            return;
+        }
+        if (buffer.offer(level, payload)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> droppedCounts.get(OverflowPolicy.DROP_NEWEST).increment();
+            case DROP_OLDEST -> {
+                while (!buffer.offer(level, payload)) {
+                    if (buffer.poll((droppedLevel, droppedPayload) -> { })) {
+                        droppedCounts.get(OverflowPolicy.DROP_OLDEST).increment();
+                    }
+                }
+            }
+            case DROP_BELOW_LEVEL -> {
+                if (level.ordinal() < dropBelowLevel.ordinal()) {
+                    droppedCounts.get(OverflowPolicy.DROP_BELOW_LEVEL).increment();
+                } else {
+                    offerBlocking(level, payload);
+                }
+            }
+            case BLOCK -> offerBlocking(level, payload);
+        }
+    }
+
+    /**
+     * Retries publishing with a spin, yield and park backoff until a slot frees up.
+     *
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void offerBlocking(LogLevel level, Object payload) {
+        int attempts = 0;
+        while (!buffer.offer(level, payload)) {
+            if (!running) {
+                dispatchToTarget(level, payload);
+                return;
+            }
+            attempts = backoff(attempts);
+        }
+    }
+
+    /**
+     * Drainer loop: hands events to the target until the dispatcher is closed
+     * and the buffer is empty.
+     */
+    private void drain() {
+        int idle = 0;
+        while (running || buffer.size() > 0) {
+            if (buffer.poll(this::deliver)) {
+                idle = 0;
+            } else {
+                idle = backoff(idle);
+            }
+        }
+    }
+
+    /**
+     * Hands a drained event to the target and reports how long it took from
+     * being published until the target was done with it.
+     *
+     * @param timestamp When the event was published
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void deliver(long timestamp, LogLevel level, Object payload) {
+        dispatchToTarget(level, payload);
+        LongConsumer listener = latencyListener;
+        if (listener != null) {
+            listener.accept(System.nanoTime() - timestamp);
+        }
+    }
+
+    /**
+     * Runs the target dispatcher for one event, counting failures so a single
+     * bad event cannot kill a drainer thread.
+     *
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void dispatchToTarget(LogLevel level, Object payload) {
+        try {
+            if (payload instanceof LogEvent event) {
+                target.dispatch(level, event);
+            } else {
+                target.dispatch(level, (String) payload);
+            }
+        } catch (RuntimeException e) {
+            failedCount.increment();
+        }
+    }
+
+    /**
+     * Waits a little longer on each call: spin first, then yield, then park.
+     *
+     * @param attempts The number of consecutive unsuccessful attempts so far
+     * @return The attempt count to pass on the next call
+     */
+    private static int backoff(int attempts) {
+        if (attempts < 100) {
+            Thread.onSpinWait();
+        } else if (attempts < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1_000L << Math.min(attempts - 200, 10)));
+        }
+        return attempts + 1;
+    }
+
+    /**
+     * Sets what receives the delivery latency of each drained event: the time
+     * from publication until the target was done with it, in nanoseconds.
+     *
+     * @param latencyListener The receiver, or null to stop reporting
+     */
+    public void setLatencyListener(LongConsumer latencyListener) {
+        this.latencyListener = latencyListener;
+    }
+
+    /**
+     * Returns the number of events dropped by the given policy.
+     *
+     * @param policy The overflow policy
+     * @return The number of events that policy has dropped
+     */
+    public long getDroppedCount(OverflowPolicy policy) {
+        return droppedCounts.get(policy).sum();
+    }
+
+    /**
+     * Returns the number of events dropped by each policy.
+     *
+     * @return A snapshot of the drop counters
+     */
+    public Map<OverflowPolicy, Long> getDroppedCounts() {
+        Map<OverflowPolicy, Long> snapshot = new EnumMap<>(OverflowPolicy.class);
+        droppedCounts.forEach((policy, count) -> snapshot.put(policy, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Returns the number of events whose dispatch failed on a drainer thread.
+     *
+     * @return The failure count
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the approximate number of events waiting to be drained.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    /**
+     * Stops accepting new events into the buffer, lets the drainers empty it and
+     * waits for them to exit.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread drainer : drainers) {
+            try {
+                drainer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        while (buffer.poll(this::dispatchToTarget)) {
+            // Drain anything left behind by a drainer that did not finish in time
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+/**
+ * Hands log messages over to the logger chain.
+ * The synchronous implementation runs the chain on the calling thread, while
+ * other implementations may queue the message and run the chain elsewhere.
+ */
+@FunctionalInterface
+public interface LogDispatcher extends AutoCloseable {
+    /**
+     * Dispatches a message to the logger chain.
+     *
+     * @param level The log level of the message
+     * @param message The message to be logged
+     */
+    void dispatch(LogLevel level, String message);
+
+    /**
+     * Dispatches a structured event to the logger chain.
+     * The default implementation renders the event and dispatches the text;
+     * implementations that can carry the event itself override this so the
+     * event is only formatted by the loggers that write it.
+     *
+     * @param level The log level of the event
+     * @param event The event to be logged
+     */
+    default void dispatch(LogLevel level, LogEvent event) {
+        dispatch(level, event.render());
+    }
+
+    /**
+     * Releases any threads or buffers held by this dispatcher.
+     * The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
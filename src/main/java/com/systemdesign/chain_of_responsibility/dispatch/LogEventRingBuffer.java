@@ -0,0 +1,155 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded, preallocated multi-producer multi-consumer ring buffer of log events.
+ * An event's payload is either a plain message or a structured
+ * {@link com.systemdesign.chain_of_responsibility.logging.LogEvent}; the buffer
+ * only stores the reference.
+ * Every slot carries a sequence number that tells producers and consumers whether
+ * the slot is free or published, so neither side takes a lock. Each event is
+ * stamped with the {@link System#nanoTime()} it was published at, so the time
+ * it spent queued can be measured. The slot arrays are allocated once and
+ * reused for the lifetime of the buffer.
+ */
+public class LogEventRingBuffer {
+    /** Index mask; the capacity is always a power of two */
+    private final int mask;
+
+    /** Per-slot sequence numbers used to hand slots between producers and consumers */
+    private final AtomicLongArray sequences;
+
+    /** Preallocated publication time slots */
+    private final long[] timestamps;
+
+    /** Preallocated level slots */
+    private final LogLevel[] levels;
+
+    /** Preallocated payload slots */
+    private final Object[] payloads;
+
+    /** Next position a producer will claim */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Next position a consumer will claim */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Constructs a new ring buffer.
+     *
+     * @param requestedCapacity The minimum number of slots; rounded up to a power of two
+     */
+    public LogEventRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2: " + requestedCapacity);
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.timestamps = new long[capacity];
+        this.levels = new LogLevel[capacity];
+        this.payloads = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Tries to publish an event without waiting.
+     *
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     * @return true if the event was published, false if the buffer was full
+     */
+    public boolean offer(LogLevel level, Object payload) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                long witness = tail.compareAndExchange(position, position + 1);
+                if (witness == position) {
+                    timestamps[index] = System.nanoTime();
+                    levels[index] = level;
+                    payloads[index] = payload;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = witness;
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest event, if any, and hands it to the consumer.
+     * The slot is released before the consumer runs so producers are not held up
+     * by a slow consumer.
+     *
+     * @param consumer Receives the level and payload of the removed event
+     * @return true if an event was removed, false if the buffer was empty
+     */
+    public boolean poll(BiConsumer<LogLevel, Object> consumer) {
+        return poll((timestamp, level, payload) -> consumer.accept(level, payload));
+    }
+
+    /**
+     * Removes the oldest event, if any, and hands it to the consumer together
+     * with the time it was published at.
+     *
+     * @param consumer Receives the publication time, level and payload of the removed event
+     * @return true if an event was removed, false if the buffer was empty
+     */
+    boolean poll(ThreadStripe.EventConsumer consumer) {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                long witness = head.compareAndExchange(position, position + 1);
+                if (witness == position) {
+                    long timestamp = timestamps[index];
+                    LogLevel level = levels[index];
+                    Object payload = payloads[index];
+                    levels[index] = null;
+                    payloads[index] = null;
+                    sequences.setRelease(index, position + mask + 1);
+                    consumer.accept(timestamp, level, payload);
+                    return true;
+                }
+                position = witness;
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Returns an estimate of the number of queued events.
+     *
+     * @return The approximate number of events waiting in the buffer
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * Returns the number of slots in this buffer.
+     *
+     * @return The capacity of the buffer
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,18 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+/**
+ * Enum describing what a bounded log queue does when a producer finds it full.
+ */
+public enum OverflowPolicy {
+    /** Wait until a slot becomes free; no message is lost */
+    BLOCK,
+
+    /** Discard the message being offered */
+    DROP_NEWEST,
+
+    /** Discard the oldest queued message to make room for the new one */
+    DROP_OLDEST,
+
+    /** Discard the message if it is below the configured level, otherwise wait */
+    DROP_BELOW_LEVEL
+}
@@ -0,0 +1,472 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Dispatcher that gives every producer thread its own buffer and merges the
+ * buffers back into one timestamp-ordered stream in front of the chain.
+ *
+ * Each platform thread appends to a {@link ThreadStripe} nobody else writes,
+ * so producers never contend on a shared tail. Every event is stamped with
+ * {@link System#nanoTime()} when it is captured. A single merger thread
+ * repeatedly takes the oldest event across all stripes, but only once it is
+ * older than the reordering window: an event captured earlier on another
+ * thread may still be on its way into that thread's stripe, and the window is
+ * how long the merger waits for it. An event that arrives later than that is
+ * still delivered, and counted as out of order. The time an event spent
+ * between capture and delivery is recorded as the merger's lag.
+ *
+ * Virtual threads, which come and go too fast for a stripe each, and platform
+ * threads beyond the stripe limit share one stripe whose writers take a lock.
+ * The stripe of a thread that has exited is dropped once it is empty.
+ * The chain runs on the merger thread only, so chain throughput is that of one
+ * thread; the gain is on the producer side.
+ */
+public class StripedLogDispatcher implements LogDispatcher {
+    /** Longest time an idle merger or a stalled producer parks before re-checking */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** How often the merger looks for stripes of exited threads */
+    private static final long RETIRE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** How long {@link #close()} waits for the merger to finish */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /** Orders stripes by the capture time of their oldest event */
+    private static final Comparator<ThreadStripe> BY_HEAD_TIMESTAMP =
+            (a, b) -> Long.compare(a.headTimestamp() - b.headTimestamp(), 0);
+
+    /** The dispatcher that runs the chain on the merger thread */
+    private final LogDispatcher target;
+
+    /** Slots per stripe */
+    private final int capacity;
+
+    /** How long an event waits for older events from other threads */
+    private final long windowNanos;
+
+    /** Most stripes created for individual threads */
+    private final int maxStripes;
+
+    /** Stripe written by virtual threads and threads beyond the stripe limit */
+    private final ThreadStripe sharedStripe;
+
+    /** Serializes writers of the shared stripe; a lock rather than a monitor so virtual threads do not pin */
+    private final ReentrantLock sharedLock = new ReentrantLock();
+
+    /** Guards changes to {@link #stripes} */
+    private final Object registryLock = new Object();
+
+    /** The calling thread's stripe */
+    private final ThreadLocal<ThreadStripe> localStripe = ThreadLocal.withInitial(this::register);
+
+    /** Events delivered to the target */
+    private final LongAdder mergedCount = new LongAdder();
+
+    /** Events delivered after a younger event had already been delivered */
+    private final LongAdder outOfOrderCount = new LongAdder();
+
+    /** Events whose producer found its stripe full and had to wait */
+    private final LongAdder stallCount = new LongAdder();
+
+    /** Number of events whose dispatch threw an exception on the merger thread */
+    private final LongAdder failedCount = new LongAdder();
+
+    /** Time from capture to delivery, in nanoseconds */
+    private final LatencyHistogram lag = new LatencyHistogram();
+
+    /** Receives each delivered event's delivery latency, or null */
+    private volatile LongConsumer latencyListener;
+
+    /** The merger thread */
+    private final Thread merger;
+
+    /** All stripes, the shared one first; replaced whole under {@link #registryLock} */
+    private volatile ThreadStripe[] stripes;
+
+    /** Capture time of the youngest event delivered so far; touched only by the merger */
+    private long lastTimestamp = System.nanoTime();
+
+    /** Cleared by {@link #close()} to stop the merger */
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new StripedLogDispatcher and starts its merger thread.
+     *
+     * @param target The dispatcher that runs the chain
+     * @param capacity The minimum number of buffered events per stripe
+     * @param window How long an event waits for older events from other threads
+     * @param maxStripes The most stripes created for individual threads
+     */
+    public StripedLogDispatcher(LogDispatcher target, int capacity, Duration window, int maxStripes) {
+        if (maxStripes < 0) {
+            throw new IllegalArgumentException("Stripe limit must not be negative: " + maxStripes);
+        }
+        this.target = target;
+        this.capacity = capacity;
+        this.windowNanos = Math.max(0, window.toNanos());
+        this.maxStripes = maxStripes;
+        this.sharedStripe = new ThreadStripe(capacity, null);
+        this.stripes = new ThreadStripe[] {sharedStripe};
+        this.merger = new Thread(this::merge, "log-merger");
+        merger.setDaemon(true);
+        merger.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Appends the message to the calling thread's stripe. Once the dispatcher
+     * is closed, messages are dispatched on the calling thread so nothing is
+     * lost during shutdown.
+     */
+    @Override
+    public void dispatch(LogLevel level, String message) {
+        publish(level, message);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The event itself is buffered, so it is formatted on the merger thread,
+     * and only if a logger writes it.
+     */
+    @Override
+    public void dispatch(LogLevel level, LogEvent event) {
+        publish(level, event);
+    }
+
+    /**
+     * Appends a message or event to the calling thread's stripe, waiting while it is full.
+     *
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void publish(LogLevel level, Object payload) {
+        if (!running) {
+            dispatchToTarget(level, payload);
+            return;
+        }
+        ThreadStripe stripe = Thread.currentThread().isVirtual() ? sharedStripe : localStripe.get();
+        if (stripe == sharedStripe) {
+            publishShared(level, payload);
+            return;
+        }
+        long timestamp = System.nanoTime();
+        if (stripe.offer(timestamp, level, payload)) {
+            return;
+        }
+        stallCount.increment();
+        int attempts = 0;
+        while (!stripe.offer(timestamp, level, payload)) {
+            if (!running) {
+                dispatchToTarget(level, payload);
+                return;
+            }
+            attempts = backoff(attempts);
+        }
+    }
+
+    /**
+     * Appends a message or event to the shared stripe. The timestamp is taken
+     * under the lock so the stripe stays in capture order.
+     *
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void publishShared(LogLevel level, Object payload) {
+        int attempts = 0;
+        while (true) {
+            sharedLock.lock();
+            try {
+                if (sharedStripe.offer(System.nanoTime(), level, payload)) {
+                    return;
+                }
+            } finally {
+                sharedLock.unlock();
+            }
+            if (attempts == 0) {
+                stallCount.increment();
+            }
+            if (!running) {
+                dispatchToTarget(level, payload);
+                return;
+            }
+            attempts = backoff(attempts);
+        }
+    }
+
+    /**
+     * Creates and registers a stripe for the calling thread, or hands out the
+     * shared stripe once the limit is reached.
+     *
+     * @return The calling thread's stripe
+     */
+    private ThreadStripe register() {
+        synchronized (registryLock) {
+            ThreadStripe[] current = stripes;
+            if (current.length - 1 >= maxStripes) {
+                return sharedStripe;
+            }
+            ThreadStripe stripe = new ThreadStripe(capacity, Thread.currentThread());
+            ThreadStripe[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = stripe;
+            stripes = grown;
+            return stripe;
+        }
+    }
+
+    /**
+     * Merger loop: delivers events older than the window in timestamp order
+     * until the dispatcher is closed, then delivers everything left.
+     */
+    private void merge() {
+        PriorityQueue<ThreadStripe> heap = new PriorityQueue<>(BY_HEAD_TIMESTAMP);
+        long nextRetire = System.nanoTime() + RETIRE_INTERVAL_NANOS;
+        int idle = 0;
+        while (running) {
+            long now = System.nanoTime();
+            if (mergeUpTo(heap, now - windowNanos, false) > 0) {
+                idle = 0;
+            } else {
+                idle = backoff(idle);
+            }
+            if (now - nextRetire >= 0) {
+                retireStripes();
+                nextRetire = now + RETIRE_INTERVAL_NANOS;
+            }
+        }
+        mergeUpTo(heap, 0, true);
+    }
+
+    /**
+     * Runs one k-way merge over the stripes, delivering events captured at or
+     * before the horizon in timestamp order. A stripe's events are already in
+     * order, so only each stripe's oldest event is compared.
+     *
+     * @param heap Reusable heap of stripes by oldest event
+     * @param horizon Capture time up to which events are delivered
+     * @param all Whether to ignore the horizon and deliver every event
+     * @return The number of events delivered
+     */
+    private int mergeUpTo(PriorityQueue<ThreadStripe> heap, long horizon, boolean all) {
+        heap.clear();
+        for (ThreadStripe stripe : stripes) {
+            if (stripe.hasNext()) {
+                heap.add(stripe);
+            }
+        }
+        int delivered = 0;
+        while (!heap.isEmpty()) {
+            ThreadStripe stripe = heap.peek();
+            if (!all && stripe.headTimestamp() - horizon > 0) {
+                break;
+            }
+            heap.poll();
+            stripe.poll(this::deliver);
+            delivered++;
+            if (stripe.hasNext()) {
+                heap.add(stripe);
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Records an event's lag and order, hands it to the target, then reports
+     * its delivery latency.
+     *
+     * @param timestamp The event's capture time
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void deliver(long timestamp, LogLevel level, Object payload) {
+        if (timestamp - lastTimestamp < 0) {
+            outOfOrderCount.increment();
+        } else {
+            lastTimestamp = timestamp;
+        }
+        lag.record(System.nanoTime() - timestamp);
+        mergedCount.increment();
+        dispatchToTarget(level, payload);
+        LongConsumer listener = latencyListener;
+        if (listener != null) {
+            listener.accept(System.nanoTime() - timestamp);
+        }
+    }
+
+    /**
+     * Drops the stripes of exited threads once they are empty.
+     */
+    private void retireStripes() {
+        ThreadStripe[] current = stripes;
+        if (Arrays.stream(current).noneMatch(this::isRetired)) {
+            return;
+        }
+        synchronized (registryLock) {
+            stripes = Arrays.stream(stripes).filter(stripe -> !isRetired(stripe)).toArray(ThreadStripe[]::new);
+        }
+    }
+
+    /**
+     * Checks whether a stripe's owner has exited and the stripe is empty.
+     *
+     * @param stripe The stripe
+     * @return true if the stripe can be dropped
+     */
+    private boolean isRetired(ThreadStripe stripe) {
+        return stripe.isOwnerGone() && !stripe.hasNext();
+    }
+
+    /**
+     * Runs the target dispatcher for one event, counting failures so a single
+     * bad event cannot kill the merger thread.
+     *
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     */
+    private void dispatchToTarget(LogLevel level, Object payload) {
+        try {
+            if (payload instanceof LogEvent event) {
+                target.dispatch(level, event);
+            } else {
+                target.dispatch(level, (String) payload);
+            }
+        } catch (RuntimeException e) {
+            failedCount.increment();
+        }
+    }
+
+    /**
+     * Waits a little longer on each call: spin first, then yield, then park.
+     *
+     * @param attempts The number of consecutive unsuccessful attempts so far
+     * @return The attempt count to pass on the next call
+     */
+    private static int backoff(int attempts) {
+        if (attempts < 100) {
+            Thread.onSpinWait();
+        } else if (attempts < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1_000L << Math.min(attempts - 200, 10)));
+        }
+        return attempts + 1;
+    }
+
+    /**
+     * Returns the number of stripes, including the shared one.
+     *
+     * @return The stripe count
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns the approximate number of events waiting in all stripes.
+     *
+     * @return The pending event count
+     */
+    public long getPendingCount() {
+        long pending = 0;
+        for (ThreadStripe stripe : stripes) {
+            pending += stripe.size();
+        }
+        return pending;
+    }
+
+    /**
+     * Sets what receives the delivery latency of each event: the time from
+     * capture until the target was done with it, in nanoseconds.
+     *
+     * @param latencyListener The receiver, or null to stop reporting
+     */
+    public void setLatencyListener(LongConsumer latencyListener) {
+        this.latencyListener = latencyListener;
+    }
+
+    /**
+     * Returns the number of events delivered to the target.
+     *
+     * @return The merged count
+     */
+    public long getMergedCount() {
+        return mergedCount.sum();
+    }
+
+    /**
+     * Returns the number of events delivered after a younger event, because
+     * they reached their stripe later than the window allows.
+     *
+     * @return The out-of-order count
+     */
+    public long getOutOfOrderCount() {
+        return outOfOrderCount.sum();
+    }
+
+    /**
+     * Returns the number of events whose producer found its stripe full.
+     *
+     * @return The stall count
+     */
+    public long getStallCount() {
+        return stallCount.sum();
+    }
+
+    /**
+     * Returns the number of events whose dispatch failed on the merger thread.
+     *
+     * @return The failure count
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Returns the histogram of the time from capture to delivery, in nanoseconds.
+     *
+     * @return The lag histogram
+     */
+    public LatencyHistogram getLag() {
+        return lag;
+    }
+
+    /**
+     * Returns how long an event waits for older events from other threads.
+     *
+     * @return The reordering window in nanoseconds
+     */
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    /**
+     * Stops buffering new events, lets the merger deliver everything buffered
+     * and waits for it to exit.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            merger.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!merger.isAlive()) {
+            // Deliver events appended by producers that saw the dispatcher still running
+            mergeUpTo(new PriorityQueue<>(BY_HEAD_TIMESTAMP), 0, true);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer single-consumer ring buffer of log events, each
+ * stamped with the {@link System#nanoTime()} it was captured at.
+ * One producer thread owns a stripe and the merger thread is its only consumer,
+ * so publishing is a plain write of the slot followed by a release store of the
+ * tail, with no compare-and-swap. A stripe shared by several producers is only
+ * written while holding its monitor.
+ */
+final class ThreadStripe {
+    /** Index mask; the capacity is always a power of two */
+    private final int mask;
+
+    /** Capture times of the buffered events */
+    private final long[] timestamps;
+
+    /** Levels of the buffered events */
+    private final LogLevel[] levels;
+
+    /** Messages or structured events */
+    private final Object[] payloads;
+
+    /** Next position the producer writes; advanced with release stores */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Next position the merger reads; advanced with release stores */
+    private final AtomicLong head = new AtomicLong();
+
+    /** The owning thread, or null for the shared stripe */
+    private final WeakReference<Thread> owner;
+
+    /**
+     * Constructs a new ThreadStripe.
+     *
+     * @param requestedCapacity The minimum number of slots; rounded up to a power of two
+     * @param owner The producing thread, or null for a stripe shared by several threads
+     */
+    ThreadStripe(int requestedCapacity, Thread owner) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.levels = new LogLevel[capacity];
+        this.payloads = new Object[capacity];
+        this.owner = owner == null ? null : new WeakReference<>(owner);
+    }
+
+    /**
+     * Tries to append an event without waiting. Called only by the producer.
+     *
+     * @param timestamp The event's capture time from {@link System#nanoTime()}
+     * @param level The log level of the event
+     * @param payload The message or structured event
+     * @return true if the event was appended, false if the stripe was full
+     */
+    boolean offer(long timestamp, LogLevel level, Object payload) {
+        long position = tail.getPlain();
+        if (position - head.getAcquire() > mask) {
+            return false;
+        }
+        int index = (int) position & mask;
+        timestamps[index] = timestamp;
+        levels[index] = level;
+        payloads[index] = payload;
+        tail.setRelease(position + 1);
+        return true;
+    }
+
+    /**
+     * Checks whether an event is waiting. Called only by the merger.
+     *
+     * @return true if {@link #headTimestamp()} and {@link #poll} may be called
+     */
+    boolean hasNext() {
+        return head.getPlain() != tail.getAcquire();
+    }
+
+    /**
+     * Returns the capture time of the oldest waiting event. Called only by the
+     * merger, after {@link #hasNext()} returned true.
+     *
+     * @return The capture time
+     */
+    long headTimestamp() {
+        return timestamps[(int) head.getPlain() & mask];
+    }
+
+    /**
+     * Removes the oldest waiting event and hands it to the consumer. Called only
+     * by the merger, after {@link #hasNext()} returned true.
+     *
+     * @param consumer Receives the event
+     */
+    void poll(EventConsumer consumer) {
+        long position = head.getPlain();
+        int index = (int) position & mask;
+        long timestamp = timestamps[index];
+        LogLevel level = levels[index];
+        Object payload = payloads[index];
+        levels[index] = null;
+        payloads[index] = null;
+        head.setRelease(position + 1);
+        consumer.accept(timestamp, level, payload);
+    }
+
+    /**
+     * Returns the approximate number of waiting events.
+     *
+     * @return The stripe's depth
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Checks whether the stripe's owner has exited, so no more events can
+     * arrive. The shared stripe never retires.
+     *
+     * @return true if the owner is gone
+     */
+    boolean isOwnerGone() {
+        if (owner == null) {
+            return false;
+        }
+        Thread thread = owner.get();
+        return thread == null || !thread.isAlive();
+    }
+
+    /**
+     * Receives events taken off a stripe.
+     */
+    @FunctionalInterface
+    interface EventConsumer {
+        /**
+         * Accepts one event.
+         *
+         * @param timestamp The event's capture time
+         * @param level The log level of the event
+         * @param payload The message or structured event
+         */
+        void accept(long timestamp, LogLevel level, Object payload);
+    }
+}
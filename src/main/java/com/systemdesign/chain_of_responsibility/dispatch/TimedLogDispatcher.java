@@ -0,0 +1,66 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Dispatcher that runs its target on the calling thread and reports how long
+ * each message took. With nothing queued in front of the chain, that time is
+ * the message's delivery latency.
+ */
+public class TimedLogDispatcher implements LogDispatcher {
+    /** The dispatcher that runs the chain */
+    private final LogDispatcher target;
+
+    /** Receives each message's latency, in nanoseconds */
+    private final LongConsumer latencyListener;
+
+    /**
+     * Constructs a new TimedLogDispatcher.
+     *
+     * @param target The dispatcher that runs the chain
+     * @param latencyListener Receives each message's latency, in nanoseconds
+     */
+    public TimedLogDispatcher(LogDispatcher target, LongConsumer latencyListener) {
+        this.target = target;
+        this.latencyListener = latencyListener;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reports the time the target took, even if it threw.
+     */
+    @Override
+    public void dispatch(LogLevel level, String message) {
+        long start = System.nanoTime();
+        try {
+            target.dispatch(level, message);
+        } finally {
+            latencyListener.accept(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reports the time the target took, even if it threw.
+     */
+    @Override
+    public void dispatch(LogLevel level, LogEvent event) {
+        long start = System.nanoTime();
+        try {
+            target.dispatch(level, event);
+        } finally {
+            latencyListener.accept(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Closes the target.
+     */
+    @Override
+    public void close() {
+        target.close();
+    }
+}
@@ -22,23 +22,98 @@ public abstract class AbstractLogger {
         this.nextLogger = nextLogger;
     }
 
+    /**
+     * Returns the minimum level this logger handles.
+     *
+     * @return The logger's level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Changes the minimum level this logger handles. A compiled
+     * {@link DispatchTable} picks the change up only when the chain is compiled
+     * again, so running code should go through {@link ChainDispatcher#setLevel(String, LogLevel)}.
+     *
+     * @param level The new minimum level
+     */
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Returns the name this logger is reported under in statistics and admin APIs.
+     * Defaults to the simple class name.
+     *
+     * @return The logger's display name
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
     /**
      * Processes a log message through the chain of responsibility.
-     * If this logger can handle the message (based on log level), it writes the message.
-     * Then, it passes the message to the next logger in the chain.
+     * If this logger can handle the message (based on log level), it handles the message.
+     * Then, unless handling stopped the message, it passes the message to the next logger in the chain.
+     * The application itself dispatches through a compiled {@link DispatchTable},
+     * which produces the same writes in the same order without walking the chain.
      *
      * @param level The log level of the message
      * @param message The message to be logged
      */
     public void logMessage(LogLevel level, String message) {
-        if (shouldLog(level)) {
-            write(message);
+        if (shouldLog(level) && !handle(level, message)) {
+            return;
         }
         if (nextLogger != null) {
             nextLogger.logMessage(level, message);
         }
     }
 
+    /**
+     * Processes a structured event through the chain of responsibility, like
+     * {@link #logMessage(LogLevel, String)}. The event is only formatted by the
+     * loggers that write it.
+     *
+     * @param level The log level of the event
+     * @param event The event to be logged
+     */
+    public void logEvent(LogLevel level, LogEvent event) {
+        if (shouldLog(level) && !handle(level, event)) {
+            return;
+        }
+        if (nextLogger != null) {
+            nextLogger.logEvent(level, event);
+        }
+    }
+
+    /**
+     * Handles a message this logger accepts. Concrete loggers write it and let
+     * it continue down the chain; filters may instead stop it here.
+     *
+     * @param level The log level of the message
+     * @param message The message to be handled
+     * @return true if the message should continue to the next logger, false to stop it
+     */
+    protected boolean handle(LogLevel level, String message) {
+        write(message);
+        return true;
+    }
+
+    /**
+     * Handles a structured event this logger accepts. By default the event is
+     * rendered and handled like a plain message; loggers that can use the
+     * event's parts directly, or do not need its text, override this.
+     *
+     * @param level The log level of the event
+     * @param event The event to be handled
+     * @return true if the event should continue to the next logger, false to stop it
+     */
+    protected boolean handle(LogLevel level, LogEvent event) {
+        return handle(level, event.render());
+    }
+
     /**
      * Determines if this logger should process the given log level.
      * A logger should process a message if the requested level is greater than or equal to its level.
@@ -78,11 +153,12 @@ public abstract class AbstractLogger {
     }
 
     /**
-     * Abstract method that concrete loggers must implement to write the log message.
-     * Each concrete logger can implement its own way of writing the message
-     * (e.g., to console, file, database, etc.).
+     * Writes the log message. Each concrete logger overrides this with its own
+     * way of writing the message (e.g., to console, file, database, etc.).
+     * Nodes that never write, such as filters, keep this default, which does nothing.
      *
      * @param message The message to be written
      */
-    protected abstract void write(String message);
+    protected void write(String message) {
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,541 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Concrete logger that stores messages in compressed binary blocks, in the
+ * format described by {@link BlockLogFormat}, for later queries through
+ * {@link BlockLogReader}.
+ *
+ * Records are encoded into an in-memory block without building intermediate
+ * strings or arrays. Once the block reaches the block size, or the flush
+ * interval passes, the block is sealed and handed to the flush thread, and
+ * logging continues in a spare block. The flush thread compresses each sealed
+ * block with a reused {@link Deflater}, appends it to the current file in one
+ * write, and adds an entry to the file's time index, so compression and disk
+ * writes never run on the logging thread. The spare blocks are a small fixed
+ * pool; a logging thread waits for one only when the flush thread has fallen
+ * that many blocks behind. A file is sealed with its time index once it
+ * reaches the file size, and on close. Each start begins a new file, so files
+ * left by a crash stay readable through their block headers.
+ */
+public class BlockFileLogger extends AbstractLogger implements Closeable {
+    /** Room a record needs besides its text: level byte and two varints */
+    private static final int RECORD_OVERHEAD = 1 + 10 + 5;
+
+    /** Blocks that may be sealed and waiting for the flush thread at once */
+    private static final int SPARE_BLOCKS = 3;
+
+    /** How long {@link #close()} waits between checks that the flush thread has written the sealed blocks */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /** Directory holding the files */
+    private final Path directory;
+
+    /** Common prefix of the file names */
+    private final String baseName;
+
+    /** Uncompressed size at which a block is written */
+    private final int blockSize;
+
+    /** Size at which a file is sealed and the next one started */
+    private final long maxFileSize;
+
+    /** Compressor reused for every block; used by the flush thread only */
+    private final Deflater deflater;
+
+    /** Checksum reused for every block; used by the flush thread only */
+    private final CRC32 crc = new CRC32();
+
+    /** Header of the block being written */
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BlockLogFormat.BLOCK_HEADER_LENGTH);
+
+    /** Writes the sealed blocks, and seals partial blocks once the flush interval has passed */
+    private final ScheduledExecutorService flushScheduler;
+
+    /**
+     * Guards the block being built. The flush timer only tries it, since the
+     * flush thread must never wait for a logging thread that may itself be
+     * waiting for the flush thread to free a spare block.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Empty blocks of the standard size, ready to replace a sealed block */
+    private final BlockingQueue<ByteBuffer> spareBlocks = new ArrayBlockingQueue<>(SPARE_BLOCKS);
+
+    /** First write failure of the flush thread not yet reported to a caller */
+    private volatile IOException writeFailure;
+
+    /** Records of the block being built */
+    private ByteBuffer block;
+
+    /** Compressed bytes of the block being written; grown as needed; used by the flush thread only */
+    private byte[] compressed;
+
+    /** Records in the block being built */
+    private int blockCount;
+
+    /** Smallest timestamp in the block being built */
+    private long blockMin;
+
+    /** Largest timestamp in the block being built */
+    private long blockMax;
+
+    /** Bit mask of the level ordinals in the block being built */
+    private int blockLevels;
+
+    /** Timestamp of the previous record in the block */
+    private long previousTimestamp;
+
+    /** Time index of the current file; this and the rest of the file state belong to the flush thread */
+    private ByteBuffer index;
+
+    /** Entries in the time index of the current file */
+    private int indexEntries;
+
+    /** Channel of the current file */
+    private FileChannel channel;
+
+    /** Index of the current file */
+    private int fileIndex;
+
+    /** Write position in the current file */
+    private long filePosition;
+
+    /** Set once the logger has been closed; guarded by the lock */
+    private boolean closed;
+
+    /**
+     * Constructs a new BlockFileLogger and starts a new file.
+     *
+     * @param level The minimum level this logger writes
+     * @param directory The directory holding the files
+     * @param baseName The common prefix of the file names
+     * @param blockSize The uncompressed size at which a block is written
+     * @param maxFileSize The size at which a file is sealed and the next one started
+     * @param compressionLevel The Deflate level, from 1 (fastest) to 9 (smallest)
+     * @param flushInterval The longest time a message waits in memory before its block is written
+     * @throws IOException if the directory or file cannot be created
+     */
+    public BlockFileLogger(LogLevel level, Path directory, String baseName, int blockSize, long maxFileSize,
+                           int compressionLevel, Duration flushInterval) throws IOException {
+        this.level = level;
+        this.directory = directory;
+        this.baseName = baseName;
+        this.blockSize = Math.max(1024, blockSize);
+        this.maxFileSize = Math.max(this.blockSize, maxFileSize);
+        this.deflater = new Deflater(Math.max(1, Math.min(9, compressionLevel)));
+        this.block = ByteBuffer.allocate(this.blockSize + RECORD_OVERHEAD);
+        for (int i = 0; i < SPARE_BLOCKS; i++) {
+            spareBlocks.add(ByteBuffer.allocate(this.blockSize + RECORD_OVERHEAD));
+        }
+        this.compressed = new byte[this.blockSize / 2];
+        this.index = ByteBuffer.allocate(64 * BlockLogFormat.INDEX_ENTRY_LENGTH);
+
+        Files.createDirectories(directory);
+        List<Integer> existing = BlockLogFormat.listFiles(directory, baseName);
+        openFile(existing.isEmpty() ? 0 : existing.get(existing.size() - 1) + 1);
+
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-block-flush-" + baseName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushMillis = Math.max(1, flushInterval.toMillis());
+        flushScheduler.scheduleWithFixedDelay(this::flushOnTimer, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stores the message with the current time.
+     *
+     * @param level The log level of the message
+     * @param message The message to be stored
+     * @return true, so the message continues down the chain
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        append(level, System.currentTimeMillis(), message);
+        return true;
+    }
+
+    /**
+     * Stores the event's text with the time the event was created.
+     *
+     * @param level The log level of the event
+     * @param event The event to be stored
+     * @return true, so the event continues down the chain
+     */
+    @Override
+    protected boolean handle(LogLevel level, LogEvent event) {
+        append(level, event.getTimestamp(), event.render());
+        return true;
+    }
+
+    /**
+     * Stores the message at this logger's own level.
+     *
+     * @param message The message to be written
+     */
+    @Override
+    protected void write(String message) {
+        append(level, System.currentTimeMillis(), message);
+    }
+
+    /**
+     * Encodes a record into the current block, sealing the block first if the
+     * record does not fit and afterwards if the block is full. Reports a write
+     * failure of the flush thread that no caller has seen yet.
+     *
+     * @param level The message's level
+     * @param timestamp When the message was logged, in epoch milliseconds
+     * @param message The message text
+     */
+    void append(LogLevel level, long timestamp, String message) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            reportWriteFailure();
+            int textLength = Utf8.encodedLength(message);
+            if (blockCount > 0 && block.position() + RECORD_OVERHEAD + textLength > block.capacity()) {
+                sealBlock(takeSpareBlock());
+            }
+            if (RECORD_OVERHEAD + textLength > block.capacity()) {
+                // The empty standard block goes back to the pool; the oversized one is dropped once written
+                spareBlocks.offer(block);
+                block = ByteBuffer.allocate(RECORD_OVERHEAD + textLength);
+            }
+            if (blockCount == 0) {
+                blockMin = timestamp;
+                blockMax = timestamp;
+                previousTimestamp = 0;
+            }
+            block.put((byte) level.ordinal());
+            BlockLogFormat.putVarLong(block, BlockLogFormat.zigzag(timestamp - previousTimestamp));
+            BlockLogFormat.putVarLong(block, textLength);
+            Utf8.encode(message, block);
+            previousTimestamp = timestamp;
+            blockMin = Math.min(blockMin, timestamp);
+            blockMax = Math.max(blockMax, timestamp);
+            blockLevels |= 1 << level.ordinal();
+            blockCount++;
+            if (block.position() >= blockSize) {
+                sealBlock(takeSpareBlock());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes an empty block from the pool, waiting for the flush thread to free
+     * one if every spare block is sealed and waiting to be written.
+     *
+     * @return The empty block
+     */
+    private ByteBuffer takeSpareBlock() {
+        try {
+            return spareBlocks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ByteBuffer.allocate(blockSize + RECORD_OVERHEAD);
+        }
+    }
+
+    /**
+     * Hands the current block to the flush thread and continues in the given
+     * empty block. The caller holds the lock.
+     *
+     * @param spare The empty block to continue in
+     */
+    private void sealBlock(ByteBuffer spare) {
+        SealedBlock sealed = new SealedBlock(block, blockCount, blockMin, blockMax, blockLevels);
+        block = spare;
+        blockCount = 0;
+        blockLevels = 0;
+        flushScheduler.execute(() -> writeBlock(sealed));
+    }
+
+    /**
+     * Writes the current block, even if it is not full, and waits until every
+     * block sealed so far is in the file, so that it can be queried.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (blockCount > 0) {
+                sealBlock(takeSpareBlock());
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flushScheduler.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            // Closed meanwhile; close() writes the remaining blocks
+        }
+        lock.lock();
+        try {
+            reportWriteFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Seals the current block on the flush timer, which runs on the flush
+     * thread. Waiting there for the lock or a spare block could mean waiting
+     * for the flush thread itself, so the block is left for the next tick if
+     * either is taken.
+     */
+    private void flushOnTimer() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            if (closed || blockCount == 0) {
+                return;
+            }
+            ByteBuffer spare = spareBlocks.poll();
+            if (spare != null) {
+                sealBlock(spare);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Throws the first write failure of the flush thread that no caller has
+     * seen yet. The caller holds the lock.
+     */
+    private void reportWriteFailure() {
+        IOException failure = writeFailure;
+        if (failure != null) {
+            writeFailure = null;
+            throw new UncheckedIOException("Failed to write log block in " + directory, failure);
+        }
+    }
+
+    /**
+     * Compresses a sealed block, appends it to the file and adds it to the
+     * time index. Seals the file and starts the next one once it is full.
+     * Runs on the flush thread, or on the closing thread once that has stopped.
+     * A failure is kept for the next caller of {@link #append} or {@link #flush()}.
+     *
+     * @param sealed The block to write
+     */
+    private void writeBlock(SealedBlock sealed) {
+        ByteBuffer records = sealed.records;
+        int uncompressedLength = records.position();
+        deflater.setInput(records.array(), 0, uncompressedLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        deflater.reset();
+        crc.reset();
+        crc.update(compressed, 0, compressedLength);
+
+        blockHeader.clear();
+        blockHeader.putInt(compressedLength).putInt(uncompressedLength).putInt(sealed.count)
+                .putLong(sealed.minTimestamp).putLong(sealed.maxTimestamp).put((byte) sealed.levels)
+                .putInt((int) crc.getValue()).flip();
+        try {
+            writeFully(blockHeader, ByteBuffer.wrap(compressed, 0, compressedLength));
+            if (index.remaining() < BlockLogFormat.INDEX_ENTRY_LENGTH) {
+                index = ByteBuffer.allocate(index.capacity() * 2).put(index.flip());
+            }
+            index.putLong(filePosition).putLong(sealed.minTimestamp).putLong(sealed.maxTimestamp)
+                    .putInt(sealed.count).put((byte) sealed.levels);
+            indexEntries++;
+            filePosition += BlockLogFormat.BLOCK_HEADER_LENGTH + compressedLength;
+            if (filePosition >= maxFileSize) {
+                sealFile();
+                openFile(fileIndex + 1);
+            }
+        } catch (IOException e) {
+            if (writeFailure == null) {
+                writeFailure = e;
+            }
+        } finally {
+            if (records.capacity() == blockSize + RECORD_OVERHEAD) {
+                spareBlocks.offer(records.clear());
+            }
+        }
+    }
+
+    /**
+     * Creates a file and writes its header.
+     *
+     * @param index The file's index
+     * @throws IOException if the file cannot be created
+     */
+    private void openFile(int index) throws IOException {
+        channel = FileChannel.open(BlockLogFormat.filePath(directory, baseName, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        fileIndex = index;
+        writeFully(ByteBuffer.allocate(BlockLogFormat.FILE_HEADER_LENGTH)
+                .putInt(BlockLogFormat.FILE_MAGIC).put(BlockLogFormat.VERSION).flip());
+        filePosition = BlockLogFormat.FILE_HEADER_LENGTH;
+        this.index.clear();
+        indexEntries = 0;
+    }
+
+    /**
+     * Appends the time index and trailer to the current file, forces it to disk and closes it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void sealFile() throws IOException {
+        ByteBuffer trailer = ByteBuffer.allocate(BlockLogFormat.TRAILER_LENGTH)
+                .putLong(filePosition).putInt(indexEntries).putInt(BlockLogFormat.INDEX_MAGIC).flip();
+        writeFully(index.flip(), trailer);
+        channel.force(true);
+        channel.close();
+    }
+
+    /**
+     * Writes buffers to the end of the current file.
+     *
+     * @param buffers The bytes to write, in order
+     * @throws IOException if writing fails
+     */
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        while (buffers[buffers.length - 1].hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    /**
+     * Returns the directory holding the files.
+     *
+     * @return The directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the common prefix of the file names.
+     *
+     * @return The base name
+     */
+    public String getBaseName() {
+        return baseName;
+    }
+
+    /**
+     * Lets the flush thread write the sealed blocks, then writes the last
+     * block and seals the current file with its time index.
+     *
+     * @throws IOException if the file cannot be sealed
+     */
+    @Override
+    public void close() throws IOException {
+        SealedBlock last;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            last = blockCount > 0 ? new SealedBlock(block, blockCount, blockMin, blockMax, blockLevels) : null;
+        } finally {
+            lock.unlock();
+        }
+        flushScheduler.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (flushScheduler.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                // The file state belongs to the flush thread until it has stopped
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (last != null) {
+            writeBlock(last);
+        }
+        sealFile();
+        deflater.end();
+        IOException failure = writeFailure;
+        if (failure != null) {
+            writeFailure = null;
+            throw failure;
+        }
+    }
+
+    /**
+     * A block handed to the flush thread, with the summary its header and
+     * index entry need.
+     */
+    private static final class SealedBlock {
+        /** The encoded records; position marks their end */
+        private final ByteBuffer records;
+
+        /** Number of records */
+        private final int count;
+
+        /** Smallest timestamp */
+        private final long minTimestamp;
+
+        /** Largest timestamp */
+        private final long maxTimestamp;
+
+        /** Bit mask of the level ordinals */
+        private final int levels;
+
+        /**
+         * Constructs a new SealedBlock.
+         *
+         * @param records The encoded records
+         * @param count Number of records
+         * @param minTimestamp Smallest timestamp
+         * @param maxTimestamp Largest timestamp
+         * @param levels Bit mask of the level ordinals
+         */
+        private SealedBlock(ByteBuffer records, int count, long minTimestamp, long maxTimestamp, int levels) {
+            this.records = records;
+            this.count = count;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+            this.levels = levels;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * On-disk layout shared by {@link BlockFileLogger} and {@link BlockLogReader}.
+ *
+ * A file starts with {@link #FILE_MAGIC} and a version byte, followed by
+ * blocks. Each block is a fixed header and a Deflate-compressed run of
+ * records. The header holds the compressed and uncompressed lengths, the
+ * record count, the smallest and largest timestamp, a bit mask of the levels
+ * present and a CRC-32 of the compressed bytes. Each record is a level ordinal
+ * byte, the zigzag varint difference of its timestamp from the previous
+ * record's (the first from zero), and a varint-length UTF-8 message.
+ *
+ * A file closed cleanly ends with the time index: one entry per block holding
+ * its offset and the header's timestamps, count and level mask, then a trailer
+ * with the index offset, the entry count and {@link #INDEX_MAGIC}. A file
+ * without a trailer, still being written or cut short by a crash, is indexed by
+ * walking the block headers instead.
+ */
+final class BlockLogFormat {
+    /** First four bytes of every file */
+    static final int FILE_MAGIC = 0x4C4F4742;
+
+    /** Format version following the magic */
+    static final byte VERSION = 1;
+
+    /** Size of the file header: magic and version */
+    static final int FILE_HEADER_LENGTH = 5;
+
+    /** Size of a block header */
+    static final int BLOCK_HEADER_LENGTH = 4 + 4 + 4 + 8 + 8 + 1 + 4;
+
+    /** Size of one time-index entry */
+    static final int INDEX_ENTRY_LENGTH = 8 + 8 + 8 + 4 + 1;
+
+    /** Last four bytes of a file that carries a time index */
+    static final int INDEX_MAGIC = 0x49445831;
+
+    /** Size of the trailer: index offset, entry count and magic */
+    static final int TRAILER_LENGTH = 8 + 4 + 4;
+
+    /** Format of file names: base name and zero-padded index */
+    private static final String FILE_NAME_FORMAT = "%s-%06d.blk";
+
+    private BlockLogFormat() {
+    }
+
+    /**
+     * Returns the path of a file.
+     *
+     * @param directory The directory holding the files
+     * @param baseName The common prefix of the file names
+     * @param index The file's index
+     * @return The file's path
+     */
+    static Path filePath(Path directory, String baseName, int index) {
+        return directory.resolve(String.format(FILE_NAME_FORMAT, baseName, index));
+    }
+
+    /**
+     * Lists the indexes of the existing files, in ascending order.
+     *
+     * @param directory The directory holding the files
+     * @param baseName The common prefix of the file names
+     * @return The file indexes; empty if the directory does not exist
+     * @throws IOException if the directory cannot be listed
+     */
+    static List<Integer> listFiles(Path directory, String baseName) throws IOException {
+        List<Integer> indexes = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return indexes;
+        }
+        Pattern pattern = Pattern.compile(Pattern.quote(baseName) + "-(\\d+)\\.blk");
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    indexes.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    /**
+     * Reads the time index of a file, from its trailer if it has one and
+     * otherwise by walking the block headers. Walking stops at the first
+     * header that is incomplete or implausible.
+     *
+     * @param channel The file
+     * @return The index, and whether it came from a trailer; empty for a file whose header is not written yet
+     * @throws IOException if the file cannot be read or is not a block log
+     */
+    static FileIndex readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < FILE_HEADER_LENGTH) {
+            return new FileIndex(List.of(), false);
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_LENGTH);
+        if (readFully(channel, header, 0) < FILE_HEADER_LENGTH || header.getInt(0) != FILE_MAGIC) {
+            throw new IOException("Not a block log file");
+        }
+        if (size >= FILE_HEADER_LENGTH + TRAILER_LENGTH) {
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_LENGTH);
+            readFully(channel, trailer, size - TRAILER_LENGTH);
+            long indexOffset = trailer.getLong(0);
+            int entries = trailer.getInt(8);
+            if (trailer.getInt(12) == INDEX_MAGIC && entries >= 0
+                    && indexOffset + (long) entries * INDEX_ENTRY_LENGTH == size - TRAILER_LENGTH) {
+                ByteBuffer index = ByteBuffer.allocate(entries * INDEX_ENTRY_LENGTH);
+                readFully(channel, index, indexOffset);
+                index.flip();
+                List<BlockRef> blocks = new ArrayList<>(entries);
+                for (int i = 0; i < entries; i++) {
+                    blocks.add(new BlockRef(index.getLong(), index.getLong(), index.getLong(), index.getInt(),
+                            index.get()));
+                }
+                return new FileIndex(blocks, true);
+            }
+        }
+        List<BlockRef> blocks = new ArrayList<>();
+        ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_LENGTH);
+        long position = FILE_HEADER_LENGTH;
+        while (position + BLOCK_HEADER_LENGTH <= size) {
+            blockHeader.clear();
+            readFully(channel, blockHeader, position);
+            int compressed = blockHeader.getInt(0);
+            int count = blockHeader.getInt(8);
+            long min = blockHeader.getLong(12);
+            long max = blockHeader.getLong(20);
+            byte levels = blockHeader.get(28);
+            if (compressed <= 0 || count <= 0 || min > max || levels == 0
+                    || position + BLOCK_HEADER_LENGTH + compressed > size) {
+                break;
+            }
+            blocks.add(new BlockRef(position, min, max, count, levels));
+            position += BLOCK_HEADER_LENGTH + compressed;
+        }
+        return new FileIndex(blocks, false);
+    }
+
+    /**
+     * Reads from a file position until the buffer is full or the file ends.
+     *
+     * @param channel The file
+     * @param buffer The buffer to fill
+     * @param position Where to start reading
+     * @return The number of bytes read
+     * @throws IOException if reading fails
+     */
+    static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Writes an unsigned varint.
+     *
+     * @param target The buffer, with at least 10 bytes remaining
+     * @param value The value
+     */
+    static void putVarLong(ByteBuffer target, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @param source The buffer positioned at the varint
+     * @return The value
+     */
+    static long getVarLong(ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = source.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Maps a signed value to an unsigned one so small magnitudes stay small.
+     *
+     * @param value The signed value
+     * @return The zigzag-encoded value
+     */
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigzag(long)}.
+     *
+     * @param value The zigzag-encoded value
+     * @return The signed value
+     */
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Location and summary of one block, as held in the time index.
+     */
+    static final class BlockRef {
+        /** Offset of the block header in the file */
+        final long offset;
+
+        /** Smallest timestamp in the block */
+        final long minTimestamp;
+
+        /** Largest timestamp in the block */
+        final long maxTimestamp;
+
+        /** Number of records in the block */
+        final int count;
+
+        /** Bit mask of the level ordinals present in the block */
+        final byte levels;
+
+        /**
+         * Constructs a new BlockRef.
+         *
+         * @param offset Offset of the block header in the file
+         * @param minTimestamp Smallest timestamp in the block
+         * @param maxTimestamp Largest timestamp in the block
+         * @param count Number of records in the block
+         * @param levels Bit mask of the level ordinals present in the block
+         */
+        BlockRef(long offset, long minTimestamp, long maxTimestamp, int count, byte levels) {
+            this.offset = offset;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+            this.count = count;
+            this.levels = levels;
+        }
+
+        /**
+         * Checks whether the block may hold records in a time range at one of some levels.
+         *
+         * @param from Earliest timestamp wanted
+         * @param to Timestamp before which records are wanted
+         * @param levelMask Bit mask of the level ordinals wanted
+         * @return false if the block certainly holds no such record
+         */
+        boolean overlaps(long from, long to, int levelMask) {
+            return maxTimestamp >= from && minTimestamp < to && (levels & levelMask) != 0;
+        }
+    }
+
+    /**
+     * The time index of one file.
+     */
+    static final class FileIndex {
+        /** The file's blocks, in file order */
+        final List<BlockRef> blocks;
+
+        /** Whether the index was read from the trailer, so the file is complete and will not change */
+        final boolean sealed;
+
+        /**
+         * Constructs a new FileIndex.
+         *
+         * @param blocks The file's blocks, in file order
+         * @param sealed Whether the index was read from the trailer
+         */
+        FileIndex(List<BlockRef> blocks, boolean sealed) {
+            this.blocks = blocks;
+            this.sealed = sealed;
+        }
+    }
+}
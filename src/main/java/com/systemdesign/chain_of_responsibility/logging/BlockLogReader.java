@@ -0,0 +1,389 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Queries the files written by {@link BlockFileLogger} by time range.
+ *
+ * The time index of each file says which blocks may hold records in the
+ * range and at the wanted levels. Only those blocks are read and
+ * decompressed; the rest of the file is never touched. The index of a sealed
+ * file is read once and cached, since sealed files do not change. Files still
+ * being written, or left unsealed by a crash, are indexed by walking their
+ * block headers on every query.
+ *
+ * Records come back in the order they were written, which is time order
+ * except for events whose timestamp was taken well before they were logged.
+ * A block that fails its checksum or cannot be decompressed is left out and
+ * counted, so one damaged block does not hide the rest of the history.
+ */
+public class BlockLogReader {
+    /** Log levels by ordinal */
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    /**
+     * Most bytes DEFLATE can expand one compressed byte into. The uncompressed
+     * length in a block header is not covered by the checksum, so it is only
+     * trusted up to this multiple of the checked compressed length.
+     */
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    /** Directory holding the files */
+    private final Path directory;
+
+    /** Common prefix of the file names */
+    private final String baseName;
+
+    /** Time indexes of sealed files, by path */
+    private final Map<Path, BlockLogFormat.FileIndex> sealedIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new BlockLogReader.
+     *
+     * @param directory The directory holding the files
+     * @param baseName The common prefix of the file names
+     */
+    public BlockLogReader(Path directory, String baseName) {
+        this.directory = directory;
+        this.baseName = baseName;
+    }
+
+    /**
+     * Returns the earliest stored records in a time range.
+     *
+     * @param fromMillis Earliest timestamp included, in epoch milliseconds
+     * @param toMillis Timestamp before which records are included, in epoch milliseconds
+     * @param levels Levels to include, or null or empty for all levels
+     * @param query Terms that must all occur in the message, case-insensitive, or null to match every message
+     * @param limit Maximum number of records returned
+     * @return The matching records, oldest first, and how many blocks were read, skipped and corrupt
+     * @throws IOException if a file cannot be read
+     */
+    public QueryResult query(long fromMillis, long toMillis, Collection<LogLevel> levels, String query, int limit)
+            throws IOException {
+        int levelMask = 0;
+        if (levels == null || levels.isEmpty()) {
+            levelMask = (1 << LEVELS.length) - 1;
+        } else {
+            for (LogLevel level : levels) {
+                levelMask |= 1 << level.ordinal();
+            }
+        }
+        String[] terms = query == null || query.isBlank()
+                ? new String[0]
+                : query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+
+        List<Entry> entries = new ArrayList<>();
+        Inflater inflater = new Inflater();
+        int blocksRead = 0;
+        int blocksSkipped = 0;
+        int blocksCorrupt = 0;
+        try {
+            for (int fileIndex : BlockLogFormat.listFiles(directory, baseName)) {
+                if (entries.size() > limit) {
+                    break;
+                }
+                Path path = BlockLogFormat.filePath(directory, baseName, fileIndex);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    for (BlockLogFormat.BlockRef block : index(path, channel).blocks) {
+                        if (entries.size() > limit) {
+                            break;
+                        }
+                        if (!block.overlaps(fromMillis, toMillis, levelMask)) {
+                            blocksSkipped++;
+                            continue;
+                        }
+                        blocksRead++;
+                        ByteBuffer records = readBlock(channel, block, inflater);
+                        if (records == null) {
+                            blocksCorrupt++;
+                            continue;
+                        }
+                        collect(records, fromMillis, toMillis, levelMask, terms, limit, entries);
+                    }
+                } catch (NoSuchFileException e) {
+                    // Removed since the directory was listed
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+        boolean truncated = entries.size() > limit;
+        if (truncated) {
+            entries.remove(entries.size() - 1);
+        }
+        return new QueryResult(entries, truncated, blocksRead, blocksSkipped, blocksCorrupt);
+    }
+
+    /**
+     * Returns the time index of a file, from the cache if the file is sealed.
+     *
+     * @param path The file's path
+     * @param channel The open file
+     * @return The file's time index
+     * @throws IOException if the file cannot be read
+     */
+    private BlockLogFormat.FileIndex index(Path path, FileChannel channel) throws IOException {
+        BlockLogFormat.FileIndex cached = sealedIndexes.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        BlockLogFormat.FileIndex index = BlockLogFormat.readIndex(channel);
+        if (index.sealed) {
+            sealedIndexes.put(path, index);
+        }
+        return index;
+    }
+
+    /**
+     * Reads, checks and decompresses one block.
+     *
+     * @param channel The open file
+     * @param block The block's index entry
+     * @param inflater The decompressor to use
+     * @return The block's records, or null if the block is corrupt or truncated
+     * @throws IOException if the file cannot be read
+     */
+    private static ByteBuffer readBlock(FileChannel channel, BlockLogFormat.BlockRef block, Inflater inflater)
+            throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BlockLogFormat.BLOCK_HEADER_LENGTH);
+        BlockLogFormat.readFully(channel, header, block.offset);
+        int compressedLength = header.getInt(0);
+        int uncompressedLength = header.getInt(4);
+        int checksum = header.getInt(29);
+        if (compressedLength < 0 || uncompressedLength < 0
+                || compressedLength > channel.size() - block.offset - BlockLogFormat.BLOCK_HEADER_LENGTH
+                || uncompressedLength > (long) compressedLength * MAX_DEFLATE_RATIO) {
+            return null;
+        }
+        byte[] compressed = new byte[compressedLength];
+        int read = BlockLogFormat.readFully(channel, ByteBuffer.wrap(compressed),
+                block.offset + BlockLogFormat.BLOCK_HEADER_LENGTH);
+        CRC32 crc = new CRC32();
+        crc.update(compressed, 0, read);
+        if (read < compressedLength || (int) crc.getValue() != checksum) {
+            return null;
+        }
+        byte[] records = new byte[uncompressedLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int inflated = 0;
+            while (inflated < uncompressedLength && !inflater.finished()) {
+                int n = inflater.inflate(records, inflated, uncompressedLength - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != uncompressedLength) {
+                return null;
+            }
+        } catch (DataFormatException e) {
+            return null;
+        }
+        return ByteBuffer.wrap(records);
+    }
+
+    /**
+     * Decodes a block's records and adds those that match, stopping once one
+     * more than the limit has been found. A record's text is only decoded if
+     * its time and level match.
+     *
+     * @param records The decompressed records
+     * @param fromMillis Earliest timestamp included
+     * @param toMillis Timestamp before which records are included
+     * @param levelMask Bit mask of the level ordinals included
+     * @param terms Lower-case terms that must all occur in the message
+     * @param limit Maximum number of records returned
+     * @param entries The matches so far
+     */
+    private static void collect(ByteBuffer records, long fromMillis, long toMillis, int levelMask, String[] terms,
+                                int limit, List<Entry> entries) {
+        byte[] array = records.array();
+        long timestamp = 0;
+        while (records.hasRemaining() && entries.size() <= limit) {
+            int ordinal = records.get() & 0xFF;
+            timestamp += BlockLogFormat.unzigzag(BlockLogFormat.getVarLong(records));
+            int length = (int) BlockLogFormat.getVarLong(records);
+            int start = records.position();
+            records.position(start + length);
+            if (ordinal >= LEVELS.length || (levelMask & (1 << ordinal)) == 0
+                    || timestamp < fromMillis || timestamp >= toMillis) {
+                continue;
+            }
+            String message = new String(array, start, length, StandardCharsets.UTF_8);
+            if (matches(message, terms)) {
+                entries.add(new Entry(LEVELS[ordinal], timestamp, message));
+            }
+        }
+    }
+
+    /**
+     * Checks whether a message contains every term, ignoring case.
+     *
+     * @param message The message text
+     * @param terms Lower-case terms
+     * @return true if every term occurs
+     */
+    private static boolean matches(String message, String[] terms) {
+        if (terms.length == 0) {
+            return true;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        return Arrays.stream(terms).allMatch(lower::contains);
+    }
+
+    /**
+     * One stored record.
+     */
+    public static final class Entry {
+        /** The message's level */
+        private final LogLevel level;
+
+        /** When the message was logged, in epoch milliseconds */
+        private final long timestamp;
+
+        /** The message text */
+        private final String message;
+
+        /**
+         * Constructs a new Entry.
+         *
+         * @param level The message's level
+         * @param timestamp When the message was logged, in epoch milliseconds
+         * @param message The message text
+         */
+        public Entry(LogLevel level, long timestamp, String message) {
+            this.level = level;
+            this.timestamp = timestamp;
+            this.message = message;
+        }
+
+        /**
+         * Gets the message's level.
+         *
+         * @return The level
+         */
+        public LogLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets when the message was logged.
+         *
+         * @return The timestamp in epoch milliseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the message text.
+         *
+         * @return The message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Result of a query: the matching records and how much of the files was read.
+     */
+    public static final class QueryResult {
+        /** The matching records, oldest first */
+        private final List<Entry> entries;
+
+        /** Whether more records matched than were returned */
+        private final boolean truncated;
+
+        /** Blocks read and decompressed */
+        private final int blocksRead;
+
+        /** Blocks skipped using the time index */
+        private final int blocksSkipped;
+
+        /** Blocks left out because they are corrupt */
+        private final int blocksCorrupt;
+
+        /**
+         * Constructs a new QueryResult.
+         *
+         * @param entries The matching records, oldest first
+         * @param truncated Whether more records matched than were returned
+         * @param blocksRead Blocks read and decompressed
+         * @param blocksSkipped Blocks skipped using the time index
+         * @param blocksCorrupt Blocks left out because they are corrupt
+         */
+        public QueryResult(List<Entry> entries, boolean truncated, int blocksRead, int blocksSkipped,
+                           int blocksCorrupt) {
+            this.entries = entries;
+            this.truncated = truncated;
+            this.blocksRead = blocksRead;
+            this.blocksSkipped = blocksSkipped;
+            this.blocksCorrupt = blocksCorrupt;
+        }
+
+        /**
+         * Gets the matching records.
+         *
+         * @return The records, oldest first
+         */
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * Gets whether more records matched than were returned.
+         *
+         * @return true if the result was cut at the limit
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Gets the number of blocks read.
+         *
+         * @return The blocks read and decompressed
+         */
+        public int getBlocksRead() {
+            return blocksRead;
+        }
+
+        /**
+         * Gets the number of blocks skipped.
+         *
+         * @return The blocks skipped using the time index
+         */
+        public int getBlocksSkipped() {
+            return blocksSkipped;
+        }
+
+        /**
+         * Gets the number of corrupt blocks.
+         *
+         * @return The blocks left out because they are corrupt
+         */
+        public int getBlocksCorrupt() {
+            return blocksCorrupt;
+        }
+    }
+}
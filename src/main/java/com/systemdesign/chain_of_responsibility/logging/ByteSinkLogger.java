@@ -0,0 +1,70 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base class for loggers whose output is a stream of bytes.
+ * Each line is the logger's level prefix, the UTF-8 encoded message and a line
+ * feed. The prefix is encoded once at construction and the message is encoded
+ * with {@link Utf8} straight into the subclass's buffer, so writing a line
+ * creates no intermediate strings or arrays.
+ */
+public abstract class ByteSinkLogger extends AbstractLogger {
+    /** The line terminator written after every message */
+    protected static final byte LINE_FEED = '\n';
+
+    /** Level prefix, encoded once */
+    private final byte[] prefix;
+
+    /**
+     * Constructs a new ByteSinkLogger for the given level.
+     *
+     * @param level The minimum level this logger writes, also used as the line prefix
+     */
+    protected ByteSinkLogger(LogLevel level) {
+        this.level = level;
+        this.prefix = (level.name() + ": ").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Measures the encoded line and hands the message to {@link #writeLine(String, int)}.
+     *
+     * @param message The message to be written
+     */
+    @Override
+    protected final void write(String message) {
+        writeLine(message, prefix.length + Utf8.encodedLength(message) + 1);
+    }
+
+    /**
+     * Writes one line. Implementations obtain a buffer with at least
+     * {@code lineLength} bytes remaining and fill it with {@link #encodeLine(String, ByteBuffer)}.
+     *
+     * @param message The message to be written
+     * @param lineLength The number of bytes the encoded line occupies
+     */
+    protected abstract void writeLine(String message, int lineLength);
+
+    /**
+     * Encodes the prefix, the message and a line feed into the buffer at its
+     * current position.
+     *
+     * @param message The message to encode
+     * @param target The buffer receiving the line
+     */
+    protected final void encodeLine(String message, ByteBuffer target) {
+        target.put(prefix);
+        Utf8.encode(message, target);
+        target.put(LINE_FEED);
+    }
+
+    /**
+     * Returns the encoded level prefix.
+     *
+     * @return The prefix bytes; callers must not modify them
+     */
+    protected final byte[] prefix() {
+        return prefix;
+    }
+}
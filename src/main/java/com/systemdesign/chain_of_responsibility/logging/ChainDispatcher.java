@@ -0,0 +1,174 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.dispatch.LogDispatcher;
+import com.systemdesign.chain_of_responsibility.metrics.ChainMetrics;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs messages through the current compiled snapshot of the logger chain.
+ * Readers only perform a volatile read of the published {@link DispatchTable}
+ * and never take a lock. Edits are serialized, compiled off to the side and
+ * then published in a single write, so a reader sees either the old chain or
+ * the new one, never a half-edited one.
+ */
+public class ChainDispatcher {
+    /** Registry the tables are instrumented with, or null for uninstrumented tables */
+    private final ChainMetrics metrics;
+
+    /** The head of the chain the current table was compiled from */
+    private AbstractLogger head;
+
+    /** The published dispatch table */
+    private volatile DispatchTable table;
+
+    /**
+     * Constructs a new ChainDispatcher and compiles the given chain.
+     *
+     * @param head The first logger of the chain
+     */
+    public ChainDispatcher(AbstractLogger head) {
+        this(head, null);
+    }
+
+    /**
+     * Constructs a new ChainDispatcher that instruments the compiled chain.
+     *
+     * @param head The first logger of the chain
+     * @param metrics The registry to record per-node metrics in, or null to disable instrumentation
+     */
+    public ChainDispatcher(AbstractLogger head, ChainMetrics metrics) {
+        this.metrics = metrics;
+        this.head = head;
+        this.table = DispatchTable.compile(head, metrics);
+    }
+
+    /**
+     * Hands the message to every logger in the current snapshot that accepts its level.
+     *
+     * @param level The log level of the message
+     * @param message The message to be logged
+     */
+    public void dispatch(LogLevel level, String message) {
+        table.dispatch(level, message);
+    }
+
+    /**
+     * Hands a structured event to every logger in the current snapshot that accepts its level.
+     *
+     * @param level The log level of the event
+     * @param event The event to be logged
+     */
+    public void dispatch(LogLevel level, LogEvent event) {
+        table.dispatch(level, event);
+    }
+
+    /**
+     * Returns this chain as a {@link LogDispatcher} that passes both plain
+     * messages and structured events straight to the current snapshot.
+     *
+     * @return A dispatcher running the chain on the caller's thread
+     */
+    public LogDispatcher asLogDispatcher() {
+        return new LogDispatcher() {
+            @Override
+            public void dispatch(LogLevel level, String message) {
+                ChainDispatcher.this.dispatch(level, message);
+            }
+
+            @Override
+            public void dispatch(LogLevel level, LogEvent event) {
+                ChainDispatcher.this.dispatch(level, event);
+            }
+        };
+    }
+
+    /**
+     * Checks whether any logger of the current snapshot would write a message at the given level.
+     * This is a single array read, cheap enough to guard building a message.
+     *
+     * @param level The log level to check
+     * @return true if a message at this level would be written somewhere
+     */
+    public boolean isEnabled(LogLevel level) {
+        return table.hasHandlers(level);
+    }
+
+    /**
+     * Returns the currently published dispatch table.
+     *
+     * @return The current compiled snapshot
+     */
+    public DispatchTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the registry the chain is instrumented with.
+     *
+     * @return The chain metrics, or null if instrumentation is disabled
+     */
+    public ChainMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the head of the chain the current snapshot was compiled from.
+     *
+     * @return The first logger of the chain
+     */
+    public synchronized AbstractLogger getHead() {
+        return head;
+    }
+
+    /**
+     * Replaces the whole chain and publishes its compiled snapshot.
+     *
+     * @param newHead The first logger of the new chain
+     */
+    public void setChain(AbstractLogger newHead) {
+        edit(current -> newHead);
+    }
+
+    /**
+     * Edits the chain and publishes the result. The editor receives the current
+     * head, may relink or reconfigure nodes, and returns the head of the edited
+     * chain. Messages dispatched while the editor runs keep using the previous
+     * snapshot.
+     *
+     * @param editor Function that edits the chain and returns its new head
+     */
+    public synchronized void edit(UnaryOperator<AbstractLogger> editor) {
+        AbstractLogger newHead = editor.apply(head);
+        DispatchTable compiled = DispatchTable.compile(newHead, metrics);
+        head = newHead;
+        table = compiled;
+    }
+
+    /**
+     * Changes the minimum level of the chain's node with the given name and
+     * publishes the recompiled chain. Messages already being dispatched finish
+     * with the previous thresholds.
+     *
+     * @param name The node's name
+     * @param level The new minimum level
+     * @return true if a node with that name was found
+     */
+    public synchronized boolean setLevel(String name, LogLevel level) {
+        for (AbstractLogger node : table.getNodes()) {
+            if (node.getName().equals(name)) {
+                node.setLevel(level);
+                recompile();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recompiles the current chain, picking up changes made to its nodes in place.
+     */
+    public void recompile() {
+        edit(UnaryOperator.identity());
+    }
+}
@@ -0,0 +1,78 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.dispatch.LogDispatcher;
+
+import java.util.Arrays;
+
+/**
+ * Base class for chain nodes that decide whether a message travels further
+ * down the chain instead of writing it themselves. A filter sees messages of
+ * every level and stops a message by returning false from
+ * {@link #handle(LogLevel, String)}.
+ *
+ * Lines a filter generates itself, such as summaries of the messages it
+ * stopped, are sent through the application's {@link LogDispatcher}, so they
+ * reach the compiled chain, its metrics and any queueing in front of it like
+ * every other message. They should be emitted from the filter's own timer
+ * rather than from inside {@link #handle(LogLevel, String)}, since a
+ * dispatcher that queues may be waiting for the very thread that is handling.
+ */
+public abstract class ChainFilter extends AbstractLogger {
+    /** Where generated lines are sent; null until the application's dispatcher is set */
+    private volatile LogDispatcher emitTarget;
+
+    /**
+     * Constructs a new ChainFilter that sees messages of every level.
+     */
+    protected ChainFilter() {
+        this.level = LogLevel.INFO;
+    }
+
+    /**
+     * Decides whether the message continues to the next logger.
+     *
+     * @param level The log level of the message
+     * @param message The message to be filtered
+     * @return true to pass the message on, false to stop it here
+     */
+    @Override
+    protected abstract boolean handle(LogLevel level, String message);
+
+    /**
+     * Sets the dispatcher generated lines are sent through.
+     *
+     * @param emitTarget The dispatcher in front of the chain
+     */
+    public void setEmitTarget(LogDispatcher emitTarget) {
+        this.emitTarget = emitTarget;
+    }
+
+    /**
+     * Sends a line generated by the filter itself to the chain through the
+     * emit target. The line is a structured event marked as this filter's own,
+     * which {@link #isOwnLine(LogEvent)} recognizes, so the filter can let it
+     * pass instead of counting it again. Lines emitted before an emit target
+     * is set are dropped.
+     *
+     * @param level The log level to emit the line at
+     * @param template The line's template
+     * @param arguments The arguments for the template's placeholders
+     */
+    protected void emit(LogLevel level, String template, Object... arguments) {
+        LogDispatcher target = emitTarget;
+        if (target != null) {
+            target.dispatch(level, new LogEvent(template, Arrays.asList(arguments), null,
+                    System.currentTimeMillis(), this));
+        }
+    }
+
+    /**
+     * Checks whether an event is a line this filter emitted.
+     *
+     * @param event The event
+     * @return true if this filter generated the event
+     */
+    protected boolean isOwnLine(LogEvent event) {
+        return event.getOrigin() == this;
+    }
+}
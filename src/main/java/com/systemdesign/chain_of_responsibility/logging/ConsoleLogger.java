@@ -0,0 +1,67 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Base class for loggers that write to a console stream.
+ * Lines are encoded into a per-thread buffer and handed to the underlying file
+ * descriptor in a single write, bypassing {@link java.io.PrintStream} and its
+ * lock and second encoding pass. Output written this way does not go through
+ * {@link System#out} or {@link System#err}, so it is not captured by
+ * {@link System#setOut}.
+ */
+public abstract class ConsoleLogger extends ByteSinkLogger {
+    /** Unbuffered standard output stream */
+    protected static final OutputStream STANDARD_OUT = new FileOutputStream(FileDescriptor.out);
+
+    /** Unbuffered standard error stream */
+    protected static final OutputStream STANDARD_ERR = new FileOutputStream(FileDescriptor.err);
+
+    /** Initial size of each thread's line buffer; it grows for longer lines */
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    /** Per-thread line buffer, reused for every line the thread writes */
+    private static final ThreadLocal<ByteBuffer> LINE_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+    /** The stream lines are written to */
+    private final OutputStream out;
+
+    /**
+     * Constructs a new ConsoleLogger.
+     *
+     * @param level The minimum level this logger writes, also used as the line prefix
+     * @param out The stream lines are written to
+     */
+    protected ConsoleLogger(LogLevel level, OutputStream out) {
+        super(level);
+        this.out = out;
+    }
+
+    /**
+     * Encodes the line into the calling thread's buffer and writes it in one call.
+     *
+     * @param message The message to be written
+     * @param lineLength The number of bytes the encoded line occupies
+     */
+    @Override
+    protected void writeLine(String message, int lineLength) {
+        ByteBuffer buffer = LINE_BUFFER.get();
+        if (buffer.capacity() < lineLength) {
+            buffer = ByteBuffer.allocate(Integer.highestOneBit(lineLength - 1) << 1);
+            LINE_BUFFER.set(buffer);
+        }
+        buffer.clear();
+        encodeLine(message, buffer);
+        try {
+            out.write(buffer.array(), 0, buffer.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write log line", e);
+        }
+    }
+}
@@ -3,24 +3,13 @@ package com.systemdesign.chain_of_responsibility.logging;
 /**
  * Concrete logger implementation for DEBUG level messages.
  * This logger handles debug messages used for development and troubleshooting.
- * It writes messages to the standard output stream.
+ * It writes messages to the standard output stream, prefixed with "DEBUG: ".
  */
-public class DebugLogger extends AbstractLogger {
+public class DebugLogger extends ConsoleLogger {
     /**
      * Constructs a new DebugLogger and sets its log level to DEBUG.
      */
     public DebugLogger() {
-        this.level = LogLevel.DEBUG;
+        super(LogLevel.DEBUG, STANDARD_OUT);
     }
-
-    /**
-     * Writes a debug message to the standard output stream.
-     * The message is prefixed with "DEBUG: " to indicate its level.
-     *
-     * @param message The debug message to be written
-     */
-    @Override
-    protected void write(String message) {
-        System.out.println("DEBUG: " + message);
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,325 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter that collapses repeats of the same message into one summary line.
+ *
+ * The first occurrence of a message passes through and opens a window. Further
+ * occurrences of the same message at the same level inside that window are
+ * only counted. When the window ends, the filter sends one line such as
+ * {@code "Repeated 4999 times in 980 ms: Database connection failed"} to the
+ * rest of the chain, giving the time from the first occurrence to the last
+ * repeat.
+ *
+ * Recent messages are tracked per level in a fixed number of slots, chosen by
+ * the message's hash. A message whose slot holds a different message evicts it,
+ * and the evicted message's count is reported on the next timer tick. Evicted
+ * counts wait in a queue as large as the slot table; counts that do not fit
+ * are folded into one line per level. Memory use therefore depends only on the
+ * slot count, however many distinct messages arrive. Slots are replaced by
+ * compare-and-set and counts are updated without locks.
+ *
+ * Summary lines are only emitted from the timer and on close, never from the
+ * thread dispatching a message.
+ */
+public class DeduplicatingFilter extends ChainFilter implements Closeable {
+    /** Recently seen messages of each level, indexed by level ordinal and then by hash */
+    private final AtomicReferenceArray<Entry>[] slots;
+
+    /** Mask applied to a hash to select a slot */
+    private final int mask;
+
+    /** Length of a deduplication window in nanoseconds */
+    private final long windowNanos;
+
+    /** Evicted entries whose counts are reported on the next timer tick */
+    private final BlockingQueue<Evicted> evicted;
+
+    /** Repeats of evicted entries that did not fit in {@link #evicted}, by level ordinal */
+    private final LongAdder[] overflowRepeats;
+
+    /** Timer that flushes the counts of expired windows */
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Constructs a new DeduplicatingFilter and starts its flush timer.
+     *
+     * @param window How long repeats of a message are collapsed after its first occurrence
+     * @param slotsPerLevel Number of messages tracked per level, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public DeduplicatingFilter(Duration window, int slotsPerLevel) {
+        int size = Integer.highestOneBit(Math.max(1, slotsPerLevel - 1) << 1);
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray[LogLevel.values().length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new AtomicReferenceArray<>(size);
+        }
+        this.evicted = new ArrayBlockingQueue<>(size * slots.length);
+        this.overflowRepeats = new LongAdder[slots.length];
+        for (int i = 0; i < overflowRepeats.length; i++) {
+            overflowRepeats[i] = new LongAdder();
+        }
+        long windowMillis = Math.max(1, window.toMillis());
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-dedup-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkMillis = Math.max(1, windowMillis / 4);
+        flusher.scheduleWithFixedDelay(() -> flushExpired(System.nanoTime()), checkMillis, checkMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Passes the first occurrence of a message in a window and counts the repeats.
+     *
+     * @param level The log level of the message
+     * @param message The message to be filtered
+     * @return true if the message opens a new window, false if it is a repeat
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        AtomicReferenceArray<Entry> levelSlots = slots[level.ordinal()];
+        int hash = spread(message.hashCode());
+        int index = hash & mask;
+        long now = System.nanoTime();
+        while (true) {
+            Entry current = levelSlots.get(index);
+            if (current != null && current.hash == hash && now - current.openedAt < windowNanos
+                    && current.message.equals(message)) {
+                if (current.addRepeat(now)) {
+                    return false;
+                }
+                // The entry was flushed concurrently; look at the slot again
+                continue;
+            }
+            if (levelSlots.compareAndSet(index, current, new Entry(message, hash, now))) {
+                if (current != null) {
+                    evict(level, current);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Passes this filter's own summary lines and handles other events by their text.
+     *
+     * @param level The log level of the event
+     * @param event The event to be filtered
+     * @return true if the event is a summary or opens a new window, false if it is a repeat
+     */
+    @Override
+    protected boolean handle(LogLevel level, LogEvent event) {
+        return isOwnLine(event) || handle(level, event.render());
+    }
+
+    /**
+     * Closes an evicted entry and queues its count for the timer.
+     *
+     * @param level The level of the entry
+     * @param entry The evicted entry
+     */
+    private void evict(LogLevel level, Entry entry) {
+        long repeats = entry.close();
+        if (repeats > 0 && !evicted.offer(new Evicted(level, entry, repeats))) {
+            overflowRepeats[level.ordinal()].add(repeats);
+        }
+    }
+
+    /**
+     * Reports the counts of evicted entries and flushes every entry whose window has ended.
+     *
+     * @param now The current {@link System#nanoTime()}
+     */
+    void flushExpired(long now) {
+        flushEvicted();
+        flushSlots(now, true);
+    }
+
+    /**
+     * Reports the counts queued by evictions, and those that did not fit in the queue.
+     */
+    private void flushEvicted() {
+        Evicted next;
+        while ((next = evicted.poll()) != null) {
+            summarize(next.level, next.entry, next.repeats);
+        }
+        for (LogLevel level : LogLevel.values()) {
+            long repeats = overflowRepeats[level.ordinal()].sumThenReset();
+            if (repeats > 0) {
+                emit(level, "Repeated {} times: messages evicted faster than they could be summarized", repeats);
+            }
+        }
+    }
+
+    /**
+     * Removes entries from their slots and flushes them.
+     *
+     * @param now The current {@link System#nanoTime()}
+     * @param expiredOnly Whether to keep entries whose window is still open
+     */
+    private void flushSlots(long now, boolean expiredOnly) {
+        for (LogLevel level : LogLevel.values()) {
+            AtomicReferenceArray<Entry> levelSlots = slots[level.ordinal()];
+            for (int i = 0; i <= mask; i++) {
+                Entry entry = levelSlots.get(i);
+                if (entry != null && (!expiredOnly || now - entry.openedAt >= windowNanos)
+                        && levelSlots.compareAndSet(i, entry, null)) {
+                    flush(level, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes an entry that has been removed from its slot and emits its summary
+     * line if the message was repeated.
+     *
+     * @param level The level of the entry
+     * @param entry The removed entry
+     */
+    private void flush(LogLevel level, Entry entry) {
+        long repeats = entry.close();
+        if (repeats > 0) {
+            summarize(level, entry, repeats);
+        }
+    }
+
+    /**
+     * Emits the summary line of a repeated message.
+     *
+     * @param level The level of the entry
+     * @param entry The closed entry
+     * @param repeats The number of repeats counted in it
+     */
+    private void summarize(LogLevel level, Entry entry, long repeats) {
+        emit(level, "Repeated {} times in {} ms: {}", repeats,
+                TimeUnit.NANOSECONDS.toMillis(entry.lastSeenAt - entry.openedAt), entry.message);
+    }
+
+    /**
+     * Spreads the higher bits of a hash into the lower bits used to pick a slot.
+     *
+     * @param hash The message's hash code
+     * @return The spread hash
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Stops the flush timer and flushes every open window.
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flushEvicted();
+        flushSlots(System.nanoTime(), false);
+    }
+
+    /**
+     * An evicted entry waiting for its count to be reported.
+     */
+    private static final class Evicted {
+        /** The level of the entry */
+        private final LogLevel level;
+
+        /** The closed entry */
+        private final Entry entry;
+
+        /** The number of repeats counted in the entry */
+        private final long repeats;
+
+        /**
+         * Constructs a new Evicted.
+         *
+         * @param level The level of the entry
+         * @param entry The closed entry
+         * @param repeats The number of repeats counted in the entry
+         */
+        private Evicted(LogLevel level, Entry entry, long repeats) {
+            this.level = level;
+            this.entry = entry;
+            this.repeats = repeats;
+        }
+    }
+
+    /**
+     * A message seen recently and the number of times it was repeated since.
+     */
+    private static final class Entry {
+        /** Marks an entry whose count has been flushed */
+        private static final long CLOSED = -1;
+
+        /** The message */
+        private final String message;
+
+        /** The spread hash of the message */
+        private final int hash;
+
+        /** When the message was first seen, in {@link System#nanoTime()} units */
+        private final long openedAt;
+
+        /** Repeats counted so far, or {@link #CLOSED} */
+        private final AtomicLong repeats = new AtomicLong();
+
+        /** When the message was last repeated, in {@link System#nanoTime()} units */
+        private volatile long lastSeenAt;
+
+        /**
+         * Constructs a new Entry for a first occurrence.
+         *
+         * @param message The message
+         * @param hash The spread hash of the message
+         * @param openedAt When the message was seen
+         */
+        private Entry(String message, int hash, long openedAt) {
+            this.message = message;
+            this.hash = hash;
+            this.openedAt = openedAt;
+            this.lastSeenAt = openedAt;
+        }
+
+        /**
+         * Counts one repeat unless the entry has been closed.
+         *
+         * @param now When the repeat was seen
+         * @return true if the repeat was counted
+         */
+        private boolean addRepeat(long now) {
+            long count;
+            do {
+                count = repeats.get();
+                if (count == CLOSED) {
+                    return false;
+                }
+            } while (!repeats.compareAndSet(count, count + 1));
+            if (now > lastSeenAt) {
+                lastSeenAt = now;
+            }
+            return true;
+        }
+
+        /**
+         * Closes the entry so no further repeats are counted in it.
+         *
+         * @return The number of repeats counted before closing
+         */
+        private long close() {
+            return repeats.getAndSet(CLOSED);
+        }
+    }
+}
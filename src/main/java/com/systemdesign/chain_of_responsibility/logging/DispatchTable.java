@@ -0,0 +1,218 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.metrics.ChainMetrics;
+import com.systemdesign.chain_of_responsibility.metrics.NodeMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, precompiled form of a logger chain.
+ * For every {@link LogLevel} the table holds a flat array of the loggers that
+ * accept that level, in chain order. Dispatching a message is then a loop over
+ * one small array, without recursion and without per-node level checks.
+ *
+ * A table compiled with {@link ChainMetrics} also times every write and counts
+ * accepted, skipped, filtered and failed messages per node. A table compiled without
+ * them takes a branch that does no measurement at all.
+ */
+public final class DispatchTable {
+    /** The loggers that accept each level, indexed by {@link LogLevel#ordinal()} */
+    private final AbstractLogger[][] handlersByLevel;
+
+    /** Whether any logger other than a filter accepts each level, indexed by level ordinal */
+    private final boolean[] writtenByLevel;
+
+    /** Every logger of the chain, in chain order */
+    private final List<AbstractLogger> nodes;
+
+    /** Metrics of the handlers of each level, parallel to {@link #handlersByLevel}; null when not instrumented */
+    private final NodeMetrics[][] acceptingMetrics;
+
+    /** Metrics of the nodes that skip each level; null when not instrumented */
+    private final NodeMetrics[][] skippingMetrics;
+
+    /**
+     * Constructs a new DispatchTable. Use {@link #compile(AbstractLogger, ChainMetrics)} instead.
+     *
+     * @param handlersByLevel The loggers that accept each level
+     * @param writtenByLevel Whether any logger other than a filter accepts each level
+     * @param nodes Every logger of the chain, in chain order
+     * @param acceptingMetrics Metrics parallel to the handlers, or null
+     * @param skippingMetrics Metrics of the nodes skipping each level, or null
+     */
+    private DispatchTable(AbstractLogger[][] handlersByLevel, boolean[] writtenByLevel, List<AbstractLogger> nodes,
+                          NodeMetrics[][] acceptingMetrics, NodeMetrics[][] skippingMetrics) {
+        this.handlersByLevel = handlersByLevel;
+        this.writtenByLevel = writtenByLevel;
+        this.nodes = nodes;
+        this.acceptingMetrics = acceptingMetrics;
+        this.skippingMetrics = skippingMetrics;
+    }
+
+    /**
+     * Compiles the chain starting at the given head into a dispatch table.
+     * Each node's level is evaluated once here, so later changes to a node only
+     * take effect once the chain is compiled again.
+     *
+     * @param head The first logger of the chain, or null for an empty chain
+     * @return The compiled dispatch table
+     * @throws IllegalStateException if the chain contains a cycle
+     */
+    public static DispatchTable compile(AbstractLogger head) {
+        return compile(head, null);
+    }
+
+    /**
+     * Compiles the chain starting at the given head into a dispatch table,
+     * optionally instrumented.
+     *
+     * @param head The first logger of the chain, or null for an empty chain
+     * @param metrics The registry to record per-node metrics in, or null to compile without instrumentation
+     * @return The compiled dispatch table
+     * @throws IllegalStateException if the chain contains a cycle
+     */
+    public static DispatchTable compile(AbstractLogger head, ChainMetrics metrics) {
+        List<AbstractLogger> nodes = new ArrayList<>();
+        Map<AbstractLogger, Boolean> visited = new IdentityHashMap<>();
+        for (AbstractLogger node = head; node != null; node = node.nextLogger) {
+            if (visited.put(node, Boolean.TRUE) != null) {
+                throw new IllegalStateException("Logger chain contains a cycle at " + node.getClass().getSimpleName());
+            }
+            nodes.add(node);
+        }
+
+        LogLevel[] levels = LogLevel.values();
+        AbstractLogger[][] handlersByLevel = new AbstractLogger[levels.length][];
+        boolean[] writtenByLevel = new boolean[levels.length];
+        for (LogLevel level : levels) {
+            handlersByLevel[level.ordinal()] = nodes.stream()
+                    .filter(node -> node.shouldLog(level))
+                    .toArray(AbstractLogger[]::new);
+            writtenByLevel[level.ordinal()] = Arrays.stream(handlersByLevel[level.ordinal()])
+                    .anyMatch(node -> !(node instanceof ChainFilter));
+        }
+        if (metrics == null) {
+            return new DispatchTable(handlersByLevel, writtenByLevel, Collections.unmodifiableList(nodes), null, null);
+        }
+
+        metrics.setChain(nodes);
+        NodeMetrics[][] acceptingMetrics = new NodeMetrics[levels.length][];
+        NodeMetrics[][] skippingMetrics = new NodeMetrics[levels.length][];
+        for (LogLevel level : levels) {
+            acceptingMetrics[level.ordinal()] = nodes.stream()
+                    .filter(node -> node.shouldLog(level))
+                    .map(metrics::forNode)
+                    .toArray(NodeMetrics[]::new);
+            skippingMetrics[level.ordinal()] = nodes.stream()
+                    .filter(node -> !node.shouldLog(level))
+                    .map(metrics::forNode)
+                    .toArray(NodeMetrics[]::new);
+        }
+        return new DispatchTable(handlersByLevel, writtenByLevel, Collections.unmodifiableList(nodes),
+                acceptingMetrics, skippingMetrics);
+    }
+
+    /**
+     * Hands the message to every logger that accepts its level, in chain order,
+     * until one of them stops it. A message that no logger would write is
+     * dropped at once, without passing through the filters.
+     *
+     * @param level The log level of the message
+     * @param message The message to be logged
+     */
+    public void dispatch(LogLevel level, String message) {
+        if (!writtenByLevel[level.ordinal()]) {
+            return;
+        }
+        if (acceptingMetrics != null) {
+            dispatchInstrumented(level, message, null);
+            return;
+        }
+        for (AbstractLogger handler : handlersByLevel[level.ordinal()]) {
+            if (!handler.handle(level, message)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hands a structured event to every logger that accepts its level, like
+     * {@link #dispatch(LogLevel, String)}. The event is formatted only if a
+     * logger writes it.
+     *
+     * @param level The log level of the event
+     * @param event The event to be logged
+     */
+    public void dispatch(LogLevel level, LogEvent event) {
+        if (!writtenByLevel[level.ordinal()]) {
+            return;
+        }
+        if (acceptingMetrics != null) {
+            dispatchInstrumented(level, null, event);
+            return;
+        }
+        for (AbstractLogger handler : handlersByLevel[level.ordinal()]) {
+            if (!handler.handle(level, event)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Dispatches a message or an event while timing each handler and counting
+     * accepted, failed and skipped messages. A message a handler stops is
+     * counted as filtered on that handler. A failing handler is recorded and
+     * then rethrown, as in the uninstrumented path.
+     *
+     * @param level The log level of the message
+     * @param message The message to be logged, or null if an event is given
+     * @param event The event to be logged, or null if a message is given
+     */
+    private void dispatchInstrumented(LogLevel level, String message, LogEvent event) {
+        AbstractLogger[] handlers = handlersByLevel[level.ordinal()];
+        NodeMetrics[] metrics = acceptingMetrics[level.ordinal()];
+        for (NodeMetrics skipping : skippingMetrics[level.ordinal()]) {
+            skipping.recordSkipped(level);
+        }
+        for (int i = 0; i < handlers.length; i++) {
+            long start = System.nanoTime();
+            boolean passed;
+            try {
+                passed = event != null ? handlers[i].handle(level, event) : handlers[i].handle(level, message);
+            } catch (RuntimeException e) {
+                metrics[i].recordFailed(level, System.nanoTime() - start);
+                throw e;
+            }
+            if (!passed) {
+                metrics[i].recordFiltered(level, System.nanoTime() - start);
+                return;
+            }
+            metrics[i].recordAccepted(level, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Checks whether any logger would write a message at the given level.
+     * Filters do not count, since they write nothing themselves.
+     *
+     * @param level The log level to check
+     * @return true if at least one logger other than a filter accepts this level
+     */
+    public boolean hasHandlers(LogLevel level) {
+        return writtenByLevel[level.ordinal()];
+    }
+
+    /**
+     * Returns every logger of the compiled chain, in chain order.
+     *
+     * @return An unmodifiable list of the chain's loggers
+     */
+    public List<AbstractLogger> getNodes() {
+        return nodes;
+    }
+}
@@ -3,24 +3,13 @@ package com.systemdesign.chain_of_responsibility.logging;
 /**
  * Concrete logger implementation for ERROR level messages.
  * This logger handles error messages for serious issues that need attention.
- * It writes messages to the standard error stream.
+ * It writes messages to the standard error stream, prefixed with "ERROR: ".
  */
-public class ErrorLogger extends AbstractLogger {
+public class ErrorLogger extends ConsoleLogger {
     /**
      * Constructs a new ErrorLogger and sets its log level to ERROR.
      */
     public ErrorLogger() {
-        this.level = LogLevel.ERROR;
+        super(LogLevel.ERROR, STANDARD_ERR);
     }
-
-    /**
-     * Writes an error message to the standard error stream.
-     * The message is prefixed with "ERROR: " to indicate its level.
-     *
-     * @param message The error message to be written
-     */
-    @Override
-    protected void write(String message) {
-        System.err.println("ERROR: " + message);
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire format shared by {@link ForwardingLogger} and the collector it sends to.
+ *
+ * A batch is a sequence of records, each a level ordinal byte, an epoch
+ * millisecond timestamp and a length-prefixed UTF-8 message, compressed as a
+ * whole with GZIP. On the connection every batch is sent as a frame: a 4-byte
+ * big-endian length followed by the compressed batch. The collector answers
+ * each frame with the single byte {@link #ACK} once it has taken the batch.
+ */
+public final class ForwardingCodec {
+    /** Byte a collector sends back for every frame it has taken */
+    public static final int ACK = 0x06;
+
+    /** Largest frame accepted when reading */
+    public static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+
+    private ForwardingCodec() {
+    }
+
+    /**
+     * Appends one record to an uncompressed batch.
+     *
+     * @param out The batch being built
+     * @param level The message's level
+     * @param timestamp When the message was logged, in epoch milliseconds
+     * @param message The message text
+     */
+    static void writeRecord(ByteArrayOutputStream out, LogLevel level, long timestamp, String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        DataOutputStream data = new DataOutputStream(out);
+        try {
+            data.writeByte(level.ordinal());
+            data.writeLong(timestamp);
+            data.writeInt(text.length);
+            data.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compresses an uncompressed batch.
+     *
+     * @param batch The records
+     * @return The compressed batch
+     */
+    static byte[] compress(byte[] batch) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(batch.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Decompresses a batch and decodes its records.
+     *
+     * @param compressed The compressed batch, as carried by a frame
+     * @return The records, in the order they were logged
+     * @throws IOException if the batch is corrupt
+     */
+    public static List<Record> decode(byte[] compressed) throws IOException {
+        List<Record> records = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(compressed)))) {
+            LogLevel[] levels = LogLevel.values();
+            while (true) {
+                int level = in.read();
+                if (level < 0) {
+                    return records;
+                }
+                if (level >= levels.length) {
+                    throw new IOException("Unknown level ordinal " + level);
+                }
+                long timestamp = in.readLong();
+                byte[] text = new byte[in.readInt()];
+                in.readFully(text);
+                records.add(new Record(levels[level], timestamp, new String(text, StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    /**
+     * Writes a compressed batch as a frame.
+     *
+     * @param out The connection's output
+     * @param compressed The compressed batch
+     * @throws IOException if writing fails
+     */
+    public static void writeFrame(DataOutputStream out, byte[] compressed) throws IOException {
+        out.writeInt(compressed.length);
+        out.write(compressed);
+        out.flush();
+    }
+
+    /**
+     * Reads the next frame.
+     *
+     * @param in The connection's input
+     * @return The compressed batch, or null if the stream ended between frames
+     * @throws IOException if the stream ends inside a frame or the frame is too long
+     */
+    public static byte[] readFrame(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid frame length " + length);
+        }
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return frame;
+    }
+
+    /**
+     * One forwarded message.
+     */
+    public static final class Record {
+        /** The message's level */
+        private final LogLevel level;
+
+        /** When the message was logged, in epoch milliseconds */
+        private final long timestamp;
+
+        /** The message text */
+        private final String message;
+
+        /**
+         * Constructs a new Record.
+         *
+         * @param level The message's level
+         * @param timestamp When the message was logged, in epoch milliseconds
+         * @param message The message text
+         */
+        public Record(LogLevel level, long timestamp, String message) {
+            this.level = level;
+            this.timestamp = timestamp;
+            this.message = message;
+        }
+
+        /**
+         * Gets the message's level.
+         *
+         * @return The level
+         */
+        public LogLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets when the message was logged.
+         *
+         * @return The timestamp in epoch milliseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the message text.
+         *
+         * @return The message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+}
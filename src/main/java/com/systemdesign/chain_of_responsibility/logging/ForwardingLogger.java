@@ -0,0 +1,484 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concrete logger that ships messages to a remote collector in compressed
+ * batches over one persistent connection.
+ *
+ * Writers only append the record to the batch being built, under a short
+ * lock, and never wait for the network. A writer that fills the batch seals it
+ * and queues it for the single sender thread, which also seals a batch that
+ * has lingered long enough. The sender compresses each batch and sends it as a
+ * frame (see {@link ForwardingCodec}), then waits for the collector's
+ * acknowledgement. Delivery is at least once:
+ * a batch whose acknowledgement is lost is sent again.
+ *
+ * If the collector cannot be reached, the sender retries with exponential
+ * backoff and jitter, and meanwhile appends batches to an on-disk
+ * {@link ForwardingSpool}. While the spool holds anything, new batches are
+ * spooled behind it, and the spool is replayed in order before anything new
+ * is sent. Messages are only dropped, and counted, when the in-memory
+ * buffer or the spool is full.
+ */
+public class ForwardingLogger extends AbstractLogger implements Closeable {
+    /** The collector's address */
+    private final InetSocketAddress collector;
+
+    /** Uncompressed size at which a batch is sealed */
+    private final int batchBytes;
+
+    /** Longest time a record waits in an unsealed batch, in nanoseconds */
+    private final long lingerNanos;
+
+    /** Largest uncompressed size waiting in memory; records beyond it are dropped */
+    private final int bufferBytes;
+
+    /** First retry delay after a failure, in milliseconds */
+    private final long initialBackoffMillis;
+
+    /** Longest retry delay, in milliseconds */
+    private final long maxBackoffMillis;
+
+    /** Connect and acknowledgement timeout, in milliseconds */
+    private final int ioTimeoutMillis;
+
+    /** Batches that could not be forwarded yet */
+    private final ForwardingSpool spool;
+
+    /** Runs {@link #sendLoop()} */
+    private final Thread sender;
+
+    /** The batch being built; guarded by this */
+    private ByteArrayOutputStream batch = new ByteArrayOutputStream();
+
+    /** Full batches waiting for the sender, oldest first; guarded by this */
+    private final ArrayDeque<byte[]> sealedBatches = new ArrayDeque<>();
+
+    /** Uncompressed size of the sealed batches; guarded by this */
+    private long sealedBytes;
+
+    /** When the first record of the current batch was added; guarded by this */
+    private long batchStartedAt;
+
+    /** Set once the logger is closing; guarded by this */
+    private boolean closed;
+
+    /** The connection, or null while disconnected; used only by the sender */
+    private Socket socket;
+
+    /** Output of the connection; used only by the sender */
+    private DataOutputStream out;
+
+    /** Input of the connection; used only by the sender */
+    private DataInputStream in;
+
+    /** Consecutive failed attempts; used only by the sender */
+    private int failures;
+
+    /** Earliest time of the next attempt, in nanoseconds; used only by the sender */
+    private long nextAttemptAt;
+
+    /** Batches the collector acknowledged */
+    private final LongAdder forwardedBatches = new LongAdder();
+
+    /** Batches written to the spool */
+    private final LongAdder spooledBatches = new LongAdder();
+
+    /** Messages dropped because the buffer was full */
+    private final LongAdder droppedMessages = new LongAdder();
+
+    /** Batches dropped because the spool was full or could not be written */
+    private final LongAdder droppedBatches = new LongAdder();
+
+    /** Spool reads and writes that failed */
+    private final LongAdder spoolErrors = new LongAdder();
+
+    /** Consecutive spool failures; used only by the sender */
+    private int spoolFailures;
+
+    /**
+     * Constructs a new ForwardingLogger, opens its spool and starts its sender.
+     * Batches left in the spool by a previous run are forwarded first.
+     *
+     * @param level The minimum level this logger forwards
+     * @param collector The collector's address, resolved on every connect
+     * @param batchBytes Uncompressed size at which a batch is sealed
+     * @param linger Longest time a record waits in an unsealed batch
+     * @param bufferBytes Largest uncompressed size waiting in memory
+     * @param initialBackoff First retry delay after a failure
+     * @param maxBackoff Longest retry delay
+     * @param ioTimeout Connect and acknowledgement timeout
+     * @param spoolDirectory Directory holding the spool
+     * @param maxSpoolBytes Largest size the spool may grow to
+     * @throws IOException if the spool cannot be opened
+     */
+    public ForwardingLogger(LogLevel level, InetSocketAddress collector, int batchBytes, Duration linger,
+                            int bufferBytes, Duration initialBackoff, Duration maxBackoff, Duration ioTimeout,
+                            Path spoolDirectory, long maxSpoolBytes) throws IOException {
+        this.level = level;
+        this.collector = collector;
+        this.batchBytes = Math.max(1, batchBytes);
+        this.lingerNanos = Math.max(1, linger.toNanos());
+        this.bufferBytes = Math.max(this.batchBytes, bufferBytes);
+        this.initialBackoffMillis = Math.max(1, initialBackoff.toMillis());
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoff.toMillis());
+        this.ioTimeoutMillis = Math.toIntExact(Math.max(1, ioTimeout.toMillis()));
+        this.spool = new ForwardingSpool(spoolDirectory, maxSpoolBytes);
+        this.sender = new Thread(this::sendLoop, "log-forward-" + collector.getHostString() + ":" + collector.getPort());
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /**
+     * Adds the message to the current batch.
+     *
+     * @param level The log level of the message
+     * @param message The message
+     * @return always true
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        append(level, System.currentTimeMillis(), message);
+        return true;
+    }
+
+    /**
+     * Adds the event to the current batch with the event's own timestamp.
+     *
+     * @param level The log level of the event
+     * @param event The event
+     * @return always true
+     */
+    @Override
+    protected boolean handle(LogLevel level, LogEvent event) {
+        append(level, event.getTimestamp(), event.render());
+        return true;
+    }
+
+    /**
+     * Adds the message to the current batch at this logger's level.
+     *
+     * @param message The message to be written
+     */
+    @Override
+    protected void write(String message) {
+        append(level, System.currentTimeMillis(), message);
+    }
+
+    /**
+     * Appends a record to the current batch, sealing it and waking the sender
+     * once it reaches the batch size.
+     *
+     * @param level The message's level
+     * @param timestamp When the message was logged, in epoch milliseconds
+     * @param message The message text
+     */
+    private synchronized void append(LogLevel level, long timestamp, String message) {
+        if (closed || sealedBytes + batch.size() >= bufferBytes) {
+            droppedMessages.increment();
+            return;
+        }
+        if (batch.size() == 0) {
+            batchStartedAt = System.nanoTime();
+        }
+        ForwardingCodec.writeRecord(batch, level, timestamp, message);
+        if (batch.size() >= batchBytes) {
+            byte[] sealed = sealCurrent();
+            sealedBatches.add(sealed);
+            sealedBytes += sealed.length;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits until a batch is full, the current batch has lingered long enough
+     * or the logger is closing, then takes the oldest batch.
+     *
+     * @return The sealed batch, or null if there was nothing to send yet
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private synchronized byte[] takeBatch() throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (sealedBatches.isEmpty() && !closed) {
+            long now = System.nanoTime();
+            if (batch.size() > 0 && now - batchStartedAt >= lingerNanos) {
+                return sealCurrent();
+            }
+            long wakeAt = batch.size() > 0 ? batchStartedAt + lingerNanos : deadline;
+            if (wakeAt - now <= 0) {
+                return null;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, wakeAt - now);
+        }
+        byte[] sealed = sealedBatches.poll();
+        if (sealed != null) {
+            sealedBytes -= sealed.length;
+            return sealed;
+        }
+        return batch.size() > 0 ? sealCurrent() : null;
+    }
+
+    /**
+     * Takes the current batch and starts a new one.
+     *
+     * @return The records of the current batch
+     */
+    private byte[] sealCurrent() {
+        byte[] sealed = batch.toByteArray();
+        batch = new ByteArrayOutputStream(Math.min(sealed.length, batchBytes) + 256);
+        return sealed;
+    }
+
+    /**
+     * Checks whether a full batch is waiting, so that a replay should pause
+     * to keep memory bounded.
+     *
+     * @return true if a sealed batch is waiting for the sender
+     */
+    private synchronized boolean batchFull() {
+        return !sealedBatches.isEmpty();
+    }
+
+    /**
+     * Checks whether the logger is closing.
+     *
+     * @return true once {@link #close()} has been called
+     */
+    private synchronized boolean isClosing() {
+        return closed;
+    }
+
+    /**
+     * The sender thread: seals, compresses and delivers batches until the
+     * logger is closed and nothing is left in memory. A spool failure is
+     * counted and followed by a backoff delay; the loop keeps running, so
+     * batches are still sent directly once the collector is reachable.
+     */
+    private void sendLoop() {
+        try {
+            while (true) {
+                byte[] sealed = takeBatch();
+                if (sealed == null && isClosing()) {
+                    break;
+                }
+                try {
+                    if (sealed != null) {
+                        deliver(ForwardingCodec.compress(sealed));
+                    }
+                    replay();
+                    spoolFailures = 0;
+                } catch (IOException e) {
+                    spoolErrors.increment();
+                    if (!isClosing()) {
+                        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(spoolFailures, 30));
+                        spoolFailures++;
+                        Thread.sleep(backoff);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            disconnect();
+        }
+    }
+
+    /**
+     * Sends a batch at once if nothing is spooled ahead of it, or spools it.
+     *
+     * @param frame The compressed batch
+     * @throws IOException if the spool cannot be written
+     */
+    private void deliver(byte[] frame) throws IOException {
+        boolean spoolEmpty;
+        try {
+            spoolEmpty = spool.isEmpty();
+        } catch (IOException e) {
+            // Order cannot be checked, but the batch can still go out directly
+            spoolEmpty = true;
+            spoolErrors.increment();
+        }
+        if (spoolEmpty && send(frame)) {
+            return;
+        }
+        boolean stored;
+        try {
+            stored = spool.append(frame);
+        } catch (IOException e) {
+            droppedBatches.increment();
+            throw e;
+        }
+        if (stored) {
+            spooledBatches.increment();
+        } else {
+            droppedBatches.increment();
+        }
+    }
+
+    /**
+     * Forwards spooled batches in order until the spool is empty, a send
+     * fails, a new batch is waiting in memory or the logger is closing.
+     *
+     * @throws IOException if the spool cannot be read
+     */
+    private void replay() throws IOException {
+        while (!spool.isEmpty() && !batchFull() && !isClosing()) {
+            byte[] frame = spool.peek();
+            if (!send(frame)) {
+                return;
+            }
+            spool.remove(frame);
+        }
+    }
+
+    /**
+     * Sends one frame and waits for its acknowledgement, connecting first if
+     * needed. Does nothing while a backoff delay is running.
+     *
+     * @param frame The compressed batch
+     * @return true if the collector acknowledged the frame
+     */
+    private boolean send(byte[] frame) {
+        if (socket == null && System.nanoTime() - nextAttemptAt < 0) {
+            return false;
+        }
+        try {
+            if (socket == null) {
+                connect();
+            }
+            ForwardingCodec.writeFrame(out, frame);
+            if (in.read() != ForwardingCodec.ACK) {
+                throw new IOException("Collector " + collector + " did not acknowledge the batch");
+            }
+            failures = 0;
+            forwardedBatches.increment();
+            return true;
+        } catch (IOException e) {
+            disconnect();
+            long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(failures, 30));
+            failures++;
+            long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            nextAttemptAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            return false;
+        }
+    }
+
+    /**
+     * Opens the connection to the collector, resolving its host again so a
+     * collector that moved is found.
+     *
+     * @throws IOException if the collector cannot be reached
+     */
+    private void connect() throws IOException {
+        Socket connection = new Socket();
+        try {
+            connection.setTcpNoDelay(true);
+            connection.connect(new InetSocketAddress(collector.getHostString(), collector.getPort()), ioTimeoutMillis);
+            connection.setSoTimeout(ioTimeoutMillis);
+            out = new DataOutputStream(connection.getOutputStream());
+            in = new DataInputStream(connection.getInputStream());
+            socket = connection;
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the connection, if open.
+     */
+    private void disconnect() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nothing left to do with a broken connection
+            }
+            socket = null;
+            out = null;
+            in = null;
+        }
+    }
+
+    /**
+     * Returns the number of batches the collector acknowledged.
+     *
+     * @return The forwarded batch count
+     */
+    public long getForwardedBatches() {
+        return forwardedBatches.sum();
+    }
+
+    /**
+     * Returns the number of batches written to the spool.
+     *
+     * @return The spooled batch count
+     */
+    public long getSpooledBatches() {
+        return spooledBatches.sum();
+    }
+
+    /**
+     * Returns the number of messages dropped because the in-memory buffer was full.
+     *
+     * @return The dropped message count
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    /**
+     * Returns the number of batches dropped because the spool was full or could not be written.
+     *
+     * @return The dropped batch count
+     */
+    public long getDroppedBatches() {
+        return droppedBatches.sum();
+    }
+
+    /**
+     * Returns the number of spool reads and writes that failed.
+     *
+     * @return The spool error count
+     */
+    public long getSpoolErrors() {
+        return spoolErrors.sum();
+    }
+
+    /**
+     * Stops accepting messages and waits for the sender to hand the remaining
+     * batch to the collector or the spool. Batches still spooled are forwarded
+     * on the next start.
+     *
+     * @throws IOException if the spool cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            sender.join(ioTimeoutMillis * 2L + 1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spool.close();
+    }
+}
@@ -0,0 +1,230 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of compressed batches that could not be forwarded, read
+ * back in the order they were written.
+ *
+ * Batches are stored as frames, exactly as they are sent. The position of the
+ * first batch not yet forwarded is kept in a small offset file, so a restart
+ * resumes the replay where it stopped. Once every batch has been replayed the
+ * spool is truncated to empty. The size limit applies to the batches still
+ * waiting, not to those already replayed. While the replay keeps up with new
+ * batches without ever emptying the spool, the replayed prefix is compacted
+ * away once it outweighs the rest, so the file stays below twice the limit.
+ * A frame torn by a crash while it was appended is cut off when the spool is
+ * opened.
+ *
+ * Not thread-safe: a spool is used only by its logger's sender thread.
+ */
+class ForwardingSpool implements Closeable {
+    /** The frames */
+    private final FileChannel data;
+
+    /** The read position, persisted */
+    private final FileChannel offset;
+
+    /** Largest size of the frames waiting to be forwarded */
+    private final long maxBytes;
+
+    /** Position of the first frame not yet forwarded */
+    private long readPosition;
+
+    /**
+     * Constructs a new ForwardingSpool, opening or recovering the spool in the directory.
+     *
+     * @param directory The directory holding the spool files
+     * @param maxBytes Largest size of the frames waiting to be forwarded
+     * @throws IOException if the spool cannot be opened
+     */
+    ForwardingSpool(Path directory, long maxBytes) throws IOException {
+        Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.data = FileChannel.open(directory.resolve("forward.spool"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.offset = FileChannel.open(directory.resolve("forward.offset"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer stored = ByteBuffer.allocate(Long.BYTES);
+        if (offset.read(stored, 0) == Long.BYTES) {
+            readPosition = stored.flip().getLong();
+        }
+        if (readPosition < 0 || readPosition > data.size()) {
+            readPosition = 0;
+        }
+        cutTornFrame();
+    }
+
+    /**
+     * Appends a frame and forces it to disk.
+     *
+     * @param frame The compressed batch
+     * @return false if the spool is full and the frame was not stored
+     * @throws IOException if writing fails
+     */
+    boolean append(byte[] frame) throws IOException {
+        if (pendingBytes() + Integer.BYTES + frame.length > maxBytes) {
+            return false;
+        }
+        long end = data.size();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + frame.length).putInt(frame.length).put(frame).flip();
+        while (buffer.hasRemaining()) {
+            end += data.write(buffer, end);
+        }
+        data.force(false);
+        return true;
+    }
+
+    /**
+     * Reads the first frame not yet forwarded, without removing it.
+     *
+     * @return The compressed batch, or null if the spool is empty
+     * @throws IOException if reading fails
+     */
+    byte[] peek() throws IOException {
+        if (isEmpty()) {
+            return null;
+        }
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(length, readPosition);
+        ByteBuffer frame = ByteBuffer.allocate(length.flip().getInt());
+        readFully(frame, readPosition + Integer.BYTES);
+        return frame.array();
+    }
+
+    /**
+     * Removes the first frame, after it has been forwarded. Truncates the
+     * spool once it has been replayed completely.
+     *
+     * @param frame The frame returned by {@link #peek()}
+     * @throws IOException if the position cannot be stored
+     */
+    void remove(byte[] frame) throws IOException {
+        readPosition += Integer.BYTES + frame.length;
+        if (readPosition >= data.size()) {
+            data.truncate(0);
+            readPosition = 0;
+        } else if (readPosition >= maxBytes / 2 && readPosition > pendingBytes()) {
+            compact();
+            return;
+        }
+        storeReadPosition();
+    }
+
+    /**
+     * Moves the frames still waiting to the start of the file and drops the
+     * replayed prefix. Only done while the prefix is longer than the rest, so
+     * the copy never overwrites a frame that is still waiting. A crash before
+     * the truncation leaves the old file and read position intact. A crash
+     * after it leaves a stored read position beyond the end of the file,
+     * which the constructor resets to the start, where the moved frames are.
+     *
+     * @throws IOException if the spool cannot be rewritten
+     */
+    private void compact() throws IOException {
+        long pending = pendingBytes();
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        long copied = 0;
+        while (copied < pending) {
+            chunk.clear().limit((int) Math.min(chunk.capacity(), pending - copied));
+            readFully(chunk, readPosition + copied);
+            chunk.flip();
+            while (chunk.hasRemaining()) {
+                copied += data.write(chunk, copied);
+            }
+        }
+        data.force(false);
+        data.truncate(pending);
+        data.force(false);
+        readPosition = 0;
+        storeReadPosition();
+    }
+
+    /**
+     * Persists the read position.
+     *
+     * @throws IOException if the offset file cannot be written
+     */
+    private void storeReadPosition() throws IOException {
+        offset.write(ByteBuffer.allocate(Long.BYTES).putLong(readPosition).flip(), 0);
+        offset.force(false);
+    }
+
+    /**
+     * Checks whether every spooled frame has been forwarded.
+     *
+     * @return true if nothing is waiting
+     * @throws IOException if the spool's size cannot be read
+     */
+    boolean isEmpty() throws IOException {
+        return readPosition >= data.size();
+    }
+
+    /**
+     * Returns the number of bytes waiting to be forwarded.
+     *
+     * @return The pending size
+     * @throws IOException if the spool's size cannot be read
+     */
+    long pendingBytes() throws IOException {
+        return data.size() - readPosition;
+    }
+
+    /**
+     * Truncates the spool after the last complete frame.
+     *
+     * @throws IOException if the spool cannot be read or truncated
+     */
+    private void cutTornFrame() throws IOException {
+        long size = data.size();
+        long position = readPosition;
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        while (position + Integer.BYTES <= size) {
+            length.clear();
+            readFully(length, position);
+            int frameLength = length.flip().getInt();
+            if (frameLength < 0 || position + Integer.BYTES + frameLength > size) {
+                break;
+            }
+            position += Integer.BYTES + frameLength;
+        }
+        if (position < size) {
+            data.truncate(position);
+        }
+    }
+
+    /**
+     * Fills a buffer from the spool.
+     *
+     * @param buffer The buffer to fill
+     * @param position Where to start reading
+     * @throws IOException if the spool ends before the buffer is full
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = data.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Spool ended inside a frame");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Closes the spool files.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try (offset) {
+            data.close();
+        }
+    }
+}
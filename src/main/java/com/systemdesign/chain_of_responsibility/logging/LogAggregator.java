@@ -0,0 +1,312 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.metrics.CountMinSketch;
+import com.systemdesign.chain_of_responsibility.metrics.RateRollup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pass-through node that aggregates the messages entering the chain, for
+ * capacity planning, in constant memory.
+ *
+ * It keeps per-level message counts for each of the last 60 seconds and the
+ * last 60 minutes, and finds the heavy hitters: the message shapes that make
+ * up most of the volume. A message's shape is its template for a structured
+ * event, or its text with every run of digits treated alike, so
+ * {@code "took 12 ms"} and {@code "took 345 ms"} count together. Shapes are
+ * counted in a {@link CountMinSketch}. The top K shapes are kept in a small
+ * array that is only locked when a shape's estimate overtakes the smallest
+ * member, which is rare once the ranking has settled. Every other update is a
+ * few atomic increments.
+ */
+public class LogAggregator extends ChainFilter {
+    /** Longest sample text kept for a heavy hitter */
+    private static final int MAX_SAMPLE_LENGTH = 256;
+
+    /** Counts over the last 60 seconds */
+    private final RateRollup perSecond = new RateRollup(60, 1_000);
+
+    /** Counts over the last 60 minutes */
+    private final RateRollup perMinute = new RateRollup(60, 60_000);
+
+    /** Approximate counts by message shape */
+    private final CountMinSketch sketch;
+
+    /** Number of heavy hitters tracked */
+    private final int topK;
+
+    /** The current heavy hitters; replaced, never modified, under the lock */
+    private volatile HeavyHitter[] top = new HeavyHitter[0];
+
+    /** Estimate a shape must exceed to be considered for the top K; 0 while there is room */
+    private volatile long admissionThreshold;
+
+    /**
+     * Constructs a new LogAggregator.
+     *
+     * @param depth Number of rows of the sketch
+     * @param width Number of cells per row of the sketch
+     * @param topK Number of heavy hitters tracked
+     */
+    public LogAggregator(int depth, int width, int topK) {
+        this.sketch = new CountMinSketch(depth, width);
+        this.topK = Math.max(1, topK);
+    }
+
+    /**
+     * Counts the message and passes it on.
+     *
+     * @param level The log level of the message
+     * @param message The message
+     * @return always true
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        record(level, message);
+        return true;
+    }
+
+    /**
+     * Counts the event by its template and passes it on, without formatting it.
+     *
+     * @param level The log level of the event
+     * @param event The event
+     * @return always true
+     */
+    @Override
+    protected boolean handle(LogLevel level, LogEvent event) {
+        record(level, event.getTemplate().getPattern());
+        return true;
+    }
+
+    /**
+     * Updates the rollups, the sketch and, if needed, the heavy hitters.
+     *
+     * @param level The level of the message
+     * @param shape The message text or template
+     */
+    private void record(LogLevel level, String shape) {
+        long now = System.currentTimeMillis();
+        perSecond.record(level, now);
+        perMinute.record(level, now);
+
+        long fingerprint = fingerprint(level, shape);
+        long estimate = sketch.add(fingerprint);
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+        for (HeavyHitter member : top) {
+            if (member.fingerprint == fingerprint) {
+                return;
+            }
+        }
+        admit(level, shape, fingerprint, estimate);
+    }
+
+    /**
+     * Adds a shape to the heavy hitters, evicting the smallest member if
+     * they are full and the new shape's estimate is larger.
+     *
+     * @param level The level of the message
+     * @param shape The message text or template
+     * @param fingerprint The shape's fingerprint
+     * @param estimate The shape's estimated count
+     */
+    private synchronized void admit(LogLevel level, String shape, long fingerprint, long estimate) {
+        HeavyHitter[] current = top;
+        for (HeavyHitter member : current) {
+            if (member.fingerprint == fingerprint) {
+                return;
+            }
+        }
+        String sample = shape.length() > MAX_SAMPLE_LENGTH ? shape.substring(0, MAX_SAMPLE_LENGTH) : shape;
+        HeavyHitter candidate = new HeavyHitter(fingerprint, level, sample, estimate);
+        HeavyHitter[] updated;
+        if (current.length < topK) {
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = candidate;
+        } else {
+            int smallest = 0;
+            long smallestEstimate = Long.MAX_VALUE;
+            for (int i = 0; i < current.length; i++) {
+                long memberEstimate = sketch.estimate(current[i].fingerprint);
+                if (memberEstimate < smallestEstimate) {
+                    smallest = i;
+                    smallestEstimate = memberEstimate;
+                }
+            }
+            if (estimate <= smallestEstimate) {
+                admissionThreshold = smallestEstimate;
+                return;
+            }
+            updated = current.clone();
+            updated[smallest] = candidate;
+        }
+        top = updated;
+        if (updated.length == topK) {
+            long threshold = Long.MAX_VALUE;
+            for (HeavyHitter member : updated) {
+                threshold = Math.min(threshold, sketch.estimate(member.fingerprint));
+            }
+            admissionThreshold = threshold;
+        }
+    }
+
+    /**
+     * Returns the per-second counts of a level over the last 60 seconds, oldest first.
+     *
+     * @param level The level
+     * @param nowMillis The current time in epoch milliseconds
+     * @return 60 counts, the last for the current second
+     */
+    public long[] getPerSecond(LogLevel level, long nowMillis) {
+        return perSecond.counts(level, nowMillis);
+    }
+
+    /**
+     * Returns the per-minute counts of a level over the last 60 minutes, oldest first.
+     *
+     * @param level The level
+     * @param nowMillis The current time in epoch milliseconds
+     * @return 60 counts, the last for the current minute
+     */
+    public long[] getPerMinute(LogLevel level, long nowMillis) {
+        return perMinute.counts(level, nowMillis);
+    }
+
+    /**
+     * Returns the heavy hitters with their current estimates, largest first.
+     *
+     * @return The heavy hitters
+     */
+    public List<HeavyHitter> getHeavyHitters() {
+        return Arrays.stream(top)
+                .map(member -> new HeavyHitter(member.fingerprint, member.level, member.sample,
+                        sketch.estimate(member.fingerprint)))
+                .sorted(Comparator.comparingLong(HeavyHitter::getEstimatedCount).reversed())
+                .toList();
+    }
+
+    /**
+     * Returns the number of messages counted since startup or the last reset.
+     *
+     * @return The total count
+     */
+    public long getTotal() {
+        return sketch.getTotal();
+    }
+
+    /**
+     * Returns how far a heavy hitter's estimate may exceed its true count.
+     *
+     * @return The sketch's error bound for the current total
+     */
+    public long getErrorBound() {
+        return sketch.getErrorBound();
+    }
+
+    /**
+     * Forgets the heavy hitters and their counts. The rate rollups age out on their own and are kept.
+     */
+    public synchronized void resetHeavyHitters() {
+        top = new HeavyHitter[0];
+        admissionThreshold = 0;
+        sketch.clear();
+    }
+
+    /**
+     * Computes a message shape's 64-bit fingerprint: FNV-1a over its characters,
+     * with each run of digits hashed as a single {@code '#'}, mixed with the level.
+     *
+     * @param level The level of the message
+     * @param shape The message text or template
+     * @return The fingerprint
+     */
+    static long fingerprint(LogLevel level, String shape) {
+        long hash = 0xcbf29ce484222325L ^ level.ordinal();
+        boolean inDigits = false;
+        for (int i = 0; i < shape.length(); i++) {
+            char c = shape.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            if (digit && inDigits) {
+                continue;
+            }
+            inDigits = digit;
+            hash = (hash ^ (digit ? '#' : c)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * One heavy hitter: a message shape and its estimated count.
+     */
+    public static final class HeavyHitter {
+        /** The shape's fingerprint */
+        private final long fingerprint;
+
+        /** Level of the shape's messages */
+        private final LogLevel level;
+
+        /** The first message seen with this shape, or its template */
+        private final String sample;
+
+        /** Estimated number of messages with this shape */
+        private final long estimatedCount;
+
+        /**
+         * Constructs a new HeavyHitter.
+         *
+         * @param fingerprint The shape's fingerprint
+         * @param level Level of the shape's messages
+         * @param sample The first message seen with this shape, or its template
+         * @param estimatedCount Estimated number of messages with this shape
+         */
+        HeavyHitter(long fingerprint, LogLevel level, String sample, long estimatedCount) {
+            this.fingerprint = fingerprint;
+            this.level = level;
+            this.sample = sample;
+            this.estimatedCount = estimatedCount;
+        }
+
+        /**
+         * Gets the shape's fingerprint.
+         *
+         * @return The fingerprint
+         */
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Gets the level of the shape's messages.
+         *
+         * @return The level
+         */
+        public LogLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets a message with this shape.
+         *
+         * @return The first message seen with this shape, or its template
+         */
+        public String getSample() {
+            return sample;
+        }
+
+        /**
+         * Gets the estimated number of messages with this shape.
+         *
+         * @return The estimate, never below the true count
+         */
+        public long getEstimatedCount() {
+            return estimatedCount;
+        }
+    }
+}
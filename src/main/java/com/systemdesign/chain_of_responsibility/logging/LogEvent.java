@@ -0,0 +1,167 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A structured log event: an interned {@link LogTemplate}, the arguments for
+ * its placeholders, key/value fields and a timestamp.
+ *
+ * The message is not formatted when the event is created. The first sink that
+ * writes the event formats it and caches the result, so an event that no sink
+ * accepts is never formatted, and one that several sinks accept is formatted
+ * once. Events are immutable apart from that cache, which is safe to race on.
+ */
+public final class LogEvent {
+    /** The shared template */
+    private final LogTemplate template;
+
+    /** The arguments for the template's placeholders */
+    private final Object[] arguments;
+
+    /** The key/value fields, in insertion order */
+    private final Map<String, Object> fields;
+
+    /** When the event happened, in epoch milliseconds */
+    private final long timestamp;
+
+    /** The chain node that generated the event, or null for events from callers */
+    private final Object origin;
+
+    /** The formatted message, once computed */
+    private String message;
+
+    /** The formatted message followed by the fields, once computed */
+    private String rendered;
+
+    /**
+     * Constructs a new LogEvent.
+     *
+     * @param template The template text; interned
+     * @param arguments The arguments for the template's placeholders, or null for none
+     * @param fields The key/value fields, or null for none
+     * @param timestamp When the event happened, in epoch milliseconds
+     */
+    public LogEvent(String template, List<?> arguments, Map<String, ?> fields, long timestamp) {
+        this(template, arguments, fields, timestamp, null);
+    }
+
+    /**
+     * Constructs a new LogEvent generated by a node of the chain itself.
+     *
+     * @param template The template text; interned
+     * @param arguments The arguments for the template's placeholders, or null for none
+     * @param fields The key/value fields, or null for none
+     * @param timestamp When the event happened, in epoch milliseconds
+     * @param origin The chain node that generated the event, or null
+     */
+    LogEvent(String template, List<?> arguments, Map<String, ?> fields, long timestamp, Object origin) {
+        this.origin = origin;
+        this.template = LogTemplate.intern(template);
+        this.arguments = arguments == null ? new Object[0] : arguments.toArray();
+        this.fields = fields == null || fields.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Creates an event without fields, timestamped now.
+     *
+     * @param template The template text
+     * @param arguments The arguments for the template's placeholders
+     * @return The event
+     */
+    public static LogEvent of(String template, Object... arguments) {
+        return new LogEvent(template, Arrays.asList(arguments), null, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the event's template.
+     *
+     * @return The shared template
+     */
+    public LogTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the arguments for the template's placeholders.
+     *
+     * @return An unmodifiable view of the arguments
+     */
+    public List<Object> getArguments() {
+        return Collections.unmodifiableList(Arrays.asList(arguments));
+    }
+
+    /**
+     * Returns the event's key/value fields.
+     *
+     * @return An unmodifiable map of the fields, in insertion order
+     */
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns when the event happened.
+     *
+     * @return The timestamp in epoch milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the chain node that generated the event. Only code in this
+     * package can set it, so callers cannot pass an event off as a node's own.
+     *
+     * @return The originating node, or null for events from callers
+     */
+    Object getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns the template with the arguments substituted, formatting it on first use.
+     *
+     * @return The formatted message
+     */
+    public String getMessage() {
+        String formatted = message;
+        if (formatted == null) {
+            formatted = template.format(arguments);
+            message = formatted;
+        }
+        return formatted;
+    }
+
+    /**
+     * Returns the line sinks write for this event: the formatted message
+     * followed by the fields as {@code key=value} pairs.
+     *
+     * @return The rendered event
+     */
+    public String render() {
+        String line = rendered;
+        if (line == null) {
+            if (fields.isEmpty()) {
+                line = getMessage();
+            } else {
+                StringBuilder builder = new StringBuilder(getMessage());
+                fields.forEach((key, value) -> builder.append(' ').append(key).append('=').append(value));
+                line = builder.toString();
+            }
+            rendered = line;
+        }
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+}
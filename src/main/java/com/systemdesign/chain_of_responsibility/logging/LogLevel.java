@@ -1,5 +1,7 @@
 package com.systemdesign.chain_of_responsibility.logging;
 
+import java.util.Locale;
+
 /**
  * Enum representing different log levels in the logging system.
  * The levels are ordered by severity, with ERROR being the most severe
@@ -18,5 +20,23 @@ public enum LogLevel {
     DEBUG,
     
     /** Error messages for serious issues that need attention */
-    ERROR
-} 
\ No newline at end of file
+    ERROR;
+
+    /**
+     * Converts a level name from a client to a LogLevel, ignoring case and
+     * surrounding whitespace.
+     *
+     * @param name The level name
+     * @return The matching LogLevel, or null if the name is missing or unknown
+     */
+    public static LogLevel parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Pass-through node at the end of the chain that copies messages to live
+ * {@link TailSubscription}s.
+ *
+ * The tap never stops or delays a message. Each subscriber has its own bounded
+ * queue: when a subscriber falls behind, messages for it are dropped and
+ * counted rather than pushed back into the chain. With no subscribers, the tap
+ * costs one volatile read per message. A structured event is rendered at most
+ * once, and only if some subscriber takes its level.
+ *
+ * The tap is a {@link ChainFilter}, so it does not count as a writer when the
+ * chain decides whether a level is enabled. It sees the messages the chain's
+ * sinks are offered.
+ */
+public class LogTap extends ChainFilter {
+    /** The current subscribers; replaced, never modified, on subscribe and unsubscribe */
+    private volatile TailSubscription[] subscribers = new TailSubscription[0];
+
+    /** Largest number of concurrent subscribers */
+    private final int maxSubscribers;
+
+    /** Number of messages each subscriber may have waiting */
+    private final int bufferSize;
+
+    /**
+     * Constructs a new LogTap.
+     *
+     * @param maxSubscribers Largest number of concurrent subscribers
+     * @param bufferSize Number of messages each subscriber may have waiting
+     */
+    public LogTap(int maxSubscribers, int bufferSize) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Copies the message to every subscriber whose filters it matches.
+     *
+     * @param level The log level of the message
+     * @param message The message
+     * @return always true
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        TailSubscription[] current = subscribers;
+        if (current.length > 0) {
+            long now = System.currentTimeMillis();
+            for (TailSubscription subscription : current) {
+                if (subscription.accepts(level)) {
+                    subscription.offer(level, message, now);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the event to every subscriber whose filters it matches, rendering
+     * it only if some subscriber takes its level.
+     *
+     * @param level The log level of the event
+     * @param event The event
+     * @return always true
+     */
+    @Override
+    protected boolean handle(LogLevel level, LogEvent event) {
+        TailSubscription[] current = subscribers;
+        for (TailSubscription subscription : current) {
+            if (subscription.accepts(level)) {
+                subscription.offer(level, event.render(), event.getTimestamp());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers a new subscriber.
+     *
+     * @param levels Levels to receive, or null or empty for all levels
+     * @param contains Text the message must contain, or null for any message
+     * @return The subscription, or null if the subscriber limit has been reached
+     */
+    public synchronized TailSubscription subscribe(Set<LogLevel> levels, String contains) {
+        if (subscribers.length >= maxSubscribers) {
+            return null;
+        }
+        TailSubscription subscription = new TailSubscription(this, levels, contains, bufferSize);
+        TailSubscription[] grown = Arrays.copyOf(subscribers, subscribers.length + 1);
+        grown[grown.length - 1] = subscription;
+        subscribers = grown;
+        return subscription;
+    }
+
+    /**
+     * Removes a subscriber; called when its subscription is closed.
+     *
+     * @param subscription The subscription to remove
+     */
+    synchronized void unsubscribe(TailSubscription subscription) {
+        subscribers = Arrays.stream(subscribers)
+                .filter(current -> current != subscription)
+                .toArray(TailSubscription[]::new);
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     *
+     * @return The subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.length;
+    }
+}
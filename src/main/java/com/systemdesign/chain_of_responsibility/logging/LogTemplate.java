@@ -0,0 +1,122 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A message template with {@code {}} placeholders, such as
+ * {@code "User {} logged in from {}"}.
+ *
+ * Templates are parsed once, into the literal fragments between the
+ * placeholders, and interned: {@link #intern(String)} usually returns the same
+ * instance for the same pattern, so repeated events share one parse. Patterns
+ * may come from clients, so the intern table is a fixed-size cache rather
+ * than a map that grows with every new pattern: each pattern has one slot,
+ * chosen by its hash, and a pattern that lands on an occupied slot evicts its
+ * occupant. A template in frequent use is back in its slot after its next
+ * event, while a flood of one-off patterns costs no more than the table's
+ * fixed size. Long patterns are never cached.
+ */
+public final class LogTemplate {
+    /** Placeholder marking where an argument goes */
+    private static final String PLACEHOLDER = "{}";
+
+    /** Number of slots of the intern table; a power of two */
+    private static final int INTERNED_SLOTS = 4096;
+
+    /** Longest pattern kept in the intern table, in chars */
+    private static final int MAX_INTERNED_LENGTH = 1024;
+
+    /** Interned templates, each in the slot its pattern's hash selects */
+    private static final AtomicReferenceArray<LogTemplate> INTERNED = new AtomicReferenceArray<>(INTERNED_SLOTS);
+
+    /** The template text */
+    private final String pattern;
+
+    /** The literal text around the placeholders; one more than the placeholder count */
+    private final String[] fragments;
+
+    /**
+     * Constructs a new LogTemplate. Use {@link #intern(String)} instead.
+     *
+     * @param pattern The template text
+     */
+    private LogTemplate(String pattern) {
+        this.pattern = pattern;
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int placeholder;
+        while ((placeholder = pattern.indexOf(PLACEHOLDER, start)) >= 0) {
+            parts.add(pattern.substring(start, placeholder));
+            start = placeholder + PLACEHOLDER.length();
+        }
+        parts.add(pattern.substring(start));
+        this.fragments = parts.toArray(String[]::new);
+    }
+
+    /**
+     * Returns the shared template for a pattern, parsing it if it is not in
+     * the intern table, and caching it in place of whatever held its slot.
+     *
+     * @param pattern The template text
+     * @return The interned template, or a fresh one for a pattern too long to cache
+     */
+    public static LogTemplate intern(String pattern) {
+        if (pattern.length() > MAX_INTERNED_LENGTH) {
+            return new LogTemplate(pattern);
+        }
+        int hash = pattern.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (INTERNED_SLOTS - 1);
+        LogTemplate cached = INTERNED.getAcquire(slot);
+        if (cached != null && cached.pattern.equals(pattern)) {
+            return cached;
+        }
+        LogTemplate template = new LogTemplate(pattern);
+        INTERNED.setRelease(slot, template);
+        return template;
+    }
+
+    /**
+     * Substitutes the arguments for the placeholders, in order. Missing
+     * arguments leave their placeholder in place; extra arguments are ignored.
+     *
+     * @param args The arguments
+     * @return The formatted message
+     */
+    public String format(Object[] args) {
+        if (fragments.length == 1) {
+            return pattern;
+        }
+        StringBuilder message = new StringBuilder(pattern.length() + 16 * args.length);
+        message.append(fragments[0]);
+        for (int i = 1; i < fragments.length; i++) {
+            message.append(i <= args.length ? String.valueOf(args[i - 1]) : PLACEHOLDER);
+            message.append(fragments[i]);
+        }
+        return message.toString();
+    }
+
+    /**
+     * Returns the template text.
+     *
+     * @return The pattern
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the number of placeholders in the template.
+     *
+     * @return The placeholder count
+     */
+    public int getPlaceholderCount() {
+        return fragments.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
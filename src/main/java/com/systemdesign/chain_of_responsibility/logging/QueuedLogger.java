@@ -0,0 +1,178 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.dispatch.AsyncLogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.LogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.OverflowPolicy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chain node that gives one sink its own bounded queue and worker thread.
+ *
+ * The node takes the wrapped sink's place in the chain and accepts the same
+ * levels. Accepting a message only queues it, so a sink that blocks, such as
+ * a stalled stderr, delays nothing but its own queue. A single worker drains
+ * the queue, so the sink still writes messages in the order the chain handed
+ * them over. When the queue is full, the sink's {@link OverflowPolicy} applies.
+ *
+ * A sink marked degraded drops its messages before they are queued, until the
+ * mark is cleared.
+ */
+public class QueuedLogger extends AbstractLogger implements AutoCloseable {
+    /** The sink that writes the messages */
+    private final AbstractLogger sink;
+
+    /** The sink's queue and worker */
+    private final AsyncLogDispatcher queue;
+
+    /** Messages dropped while the sink was degraded */
+    private final LongAdder degradedDrops = new LongAdder();
+
+    /** Whether the sink is degraded */
+    private volatile boolean degraded;
+
+    /**
+     * Constructs a new QueuedLogger and starts the sink's worker.
+     *
+     * @param sink The sink that writes the messages
+     * @param capacity The minimum number of queued messages
+     * @param overflowPolicy What to do when the queue is full
+     * @param dropBelowLevel The level below which {@link OverflowPolicy#DROP_BELOW_LEVEL} drops messages
+     */
+    public QueuedLogger(AbstractLogger sink, int capacity, OverflowPolicy overflowPolicy, LogLevel dropBelowLevel) {
+        this.sink = sink;
+        this.level = sink.level;
+        LogDispatcher writer = new LogDispatcher() {
+            @Override
+            public void dispatch(LogLevel level, String message) {
+                sink.handle(level, message);
+            }
+
+            @Override
+            public void dispatch(LogLevel level, LogEvent event) {
+                sink.handle(level, event);
+            }
+        };
+        this.queue = new AsyncLogDispatcher(writer, capacity, 1, overflowPolicy, dropBelowLevel,
+                "log-sink-" + sink.getName() + "-");
+    }
+
+    /**
+     * Queues the message for the sink, or drops it if the sink is degraded.
+     *
+     * @param level The log level of the message
+     * @param message The message to be queued
+     * @return always true; the message continues down the chain at once
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        if (degraded) {
+            degradedDrops.increment();
+        } else {
+            queue.dispatch(level, message);
+        }
+        return true;
+    }
+
+    /**
+     * Queues the event for the sink unformatted, or drops it if the sink is degraded.
+     *
+     * @param level The log level of the event
+     * @param event The event to be queued
+     * @return always true; the event continues down the chain at once
+     */
+    @Override
+    protected boolean handle(LogLevel level, LogEvent event) {
+        if (degraded) {
+            degradedDrops.increment();
+        } else {
+            queue.dispatch(level, event);
+        }
+        return true;
+    }
+
+    /**
+     * Queues the message at this node's level.
+     *
+     * @param message The message to be queued
+     */
+    @Override
+    protected void write(String message) {
+        handle(level, message);
+    }
+
+    /**
+     * Returns the wrapped sink's name.
+     *
+     * @return The sink's display name
+     */
+    @Override
+    public String getName() {
+        return sink.getName();
+    }
+
+    /**
+     * Changes the minimum level of this node and of the wrapped sink.
+     *
+     * @param level The new minimum level
+     */
+    @Override
+    public void setLevel(LogLevel level) {
+        super.setLevel(level);
+        sink.setLevel(level);
+    }
+
+    /**
+     * Returns the wrapped sink.
+     *
+     * @return The sink
+     */
+    public AbstractLogger getSink() {
+        return sink;
+    }
+
+    /**
+     * Returns the sink's queue, for its depth and drop counters.
+     *
+     * @return The queue
+     */
+    public AsyncLogDispatcher getQueue() {
+        return queue;
+    }
+
+    /**
+     * Checks whether the sink is degraded.
+     *
+     * @return true if messages for the sink are being dropped
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Marks the sink as degraded, or clears the mark. Messages already queued
+     * are still written.
+     *
+     * @param degraded Whether to drop messages for the sink
+     */
+    public void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
+
+    /**
+     * Returns the number of messages dropped while the sink was degraded.
+     *
+     * @return The drop count
+     */
+    public long getDegradedDrops() {
+        return degradedDrops.sum();
+    }
+
+    /**
+     * Writes out the queued messages and stops the worker.
+     */
+    @Override
+    public void close() {
+        queue.close();
+    }
+}
@@ -0,0 +1,224 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter that samples and rate-limits messages per level before they reach the
+ * concrete loggers.
+ *
+ * Each level is first sampled, keeping a configured fraction of its messages,
+ * and then rate-limited by a token bucket. The bucket is implemented as the
+ * generic cell rate algorithm: a single {@link AtomicLong} holds the time at
+ * which the bucket will be full again, and admitting a message is one
+ * compare-and-set on it. Nothing on the dispatch path takes a lock.
+ *
+ * Suppressed messages are counted, and at the end of every report interval
+ * the filter sends one summary line per level to the rest of the chain, e.g.
+ * {@code "RateLimitingFilter suppressed 1200 ERROR messages in the last 1000 ms
+ * (1150 over rate limit, 50 sampled out)"}.
+ */
+public class RateLimitingFilter extends ChainFilter implements Closeable {
+    /** Limits of each level; levels without an entry pass unfiltered */
+    private final Map<LogLevel, LevelLimiter> limiters = new EnumMap<>(LogLevel.class);
+
+    /** Length of a report interval in milliseconds */
+    private final long reportIntervalMillis;
+
+    /** Timer that emits the per-interval summaries */
+    private final ScheduledExecutorService reporter;
+
+    /**
+     * Constructs a new RateLimitingFilter and starts its reporting timer.
+     *
+     * @param limits The limits of each level; levels not in the map pass unfiltered
+     * @param reportInterval How often to report suppressed messages
+     */
+    public RateLimitingFilter(Map<LogLevel, Limit> limits, Duration reportInterval) {
+        limits.forEach((level, limit) -> limiters.put(level, new LevelLimiter(limit)));
+        this.reportIntervalMillis = Math.max(1, reportInterval.toMillis());
+        this.reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-rate-limit-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::report, reportIntervalMillis, reportIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Samples the message, then takes a token for it from its level's bucket.
+     *
+     * @param level The log level of the message
+     * @param message The message to be filtered
+     * @return true if the message was kept and within the rate limit
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        return admit(level);
+    }
+
+    /**
+     * Samples and rate-limits a structured event without formatting it. The
+     * filter's own summary lines always pass.
+     *
+     * @param level The log level of the event
+     * @param event The event to be filtered
+     * @return true if the event is a summary, or was kept and within the rate limit
+     */
+    @Override
+    protected boolean handle(LogLevel level, LogEvent event) {
+        return isOwnLine(event) || admit(level);
+    }
+
+    /**
+     * Applies the level's sampling and rate limit to one message arriving now.
+     *
+     * @param level The log level of the message
+     * @return true if the message is kept
+     */
+    private boolean admit(LogLevel level) {
+        LevelLimiter limiter = limiters.get(level);
+        return limiter == null || limiter.admit(System.nanoTime());
+    }
+
+    /**
+     * Returns how many messages of a level have been suppressed since startup.
+     *
+     * @param level The level
+     * @return The number of messages sampled out or over the rate limit
+     */
+    public long getSuppressedCount(LogLevel level) {
+        LevelLimiter limiter = limiters.get(level);
+        return limiter == null ? 0 : limiter.suppressedTotal.sum();
+    }
+
+    /**
+     * Emits one summary line for every level that suppressed messages in the
+     * interval that just ended.
+     */
+    void report() {
+        limiters.forEach((level, limiter) -> {
+            long overLimit = limiter.rateLimited.sumThenReset();
+            long sampledOut = limiter.sampledOut.sumThenReset();
+            if (overLimit + sampledOut > 0) {
+                emit(level, "{} suppressed {} {} messages in the last {} ms ({} over rate limit, {} sampled out)",
+                        getName(), overLimit + sampledOut, level, reportIntervalMillis, overLimit, sampledOut);
+            }
+        });
+    }
+
+    /**
+     * Stops the reporting timer after emitting the summaries of the current interval.
+     */
+    @Override
+    public void close() {
+        reporter.shutdown();
+        report();
+    }
+
+    /**
+     * Configured limits of one level.
+     */
+    public static final class Limit {
+        /** Sustained rate in messages per second; zero or less means unlimited */
+        private final double ratePerSecond;
+
+        /** Number of messages admitted back to back when the bucket is full */
+        private final int burst;
+
+        /** Fraction of messages kept before rate limiting, between 0 and 1 */
+        private final double sampleRate;
+
+        /**
+         * Constructs a new Limit.
+         *
+         * @param ratePerSecond Sustained rate in messages per second; zero or less means unlimited
+         * @param burst Number of messages admitted back to back when the bucket is full
+         * @param sampleRate Fraction of messages kept before rate limiting, between 0 and 1
+         */
+        public Limit(double ratePerSecond, int burst, double sampleRate) {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("Sample rate must be between 0 and 1, got " + sampleRate);
+            }
+            this.ratePerSecond = ratePerSecond;
+            this.burst = Math.max(1, burst);
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    /**
+     * Sampling and token-bucket state of one level.
+     */
+    private static final class LevelLimiter {
+        /** Nanoseconds per token, or 0 if the rate is unlimited */
+        private final long emissionIntervalNanos;
+
+        /** How far ahead of now the bucket may be drawn down, in nanoseconds */
+        private final long burstToleranceNanos;
+
+        /** Fraction of messages kept */
+        private final double sampleRate;
+
+        /** Theoretical arrival time: when the bucket will be full again */
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+        /** Messages over the rate limit in the current interval */
+        private final LongAdder rateLimited = new LongAdder();
+
+        /** Messages sampled out in the current interval */
+        private final LongAdder sampledOut = new LongAdder();
+
+        /** Messages suppressed since startup */
+        private final LongAdder suppressedTotal = new LongAdder();
+
+        /**
+         * Constructs a new LevelLimiter with a full bucket.
+         *
+         * @param limit The level's configured limits
+         */
+        private LevelLimiter(Limit limit) {
+            this.emissionIntervalNanos = limit.ratePerSecond > 0
+                    ? Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / limit.ratePerSecond))
+                    : 0;
+            this.burstToleranceNanos = emissionIntervalNanos * (limit.burst - 1);
+            this.sampleRate = limit.sampleRate;
+        }
+
+        /**
+         * Decides whether a message arriving now is kept.
+         *
+         * @param now The current {@link System#nanoTime()}
+         * @return true if the message is kept
+         */
+        private boolean admit(long now) {
+            if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                sampledOut.increment();
+                suppressedTotal.increment();
+                return false;
+            }
+            if (emissionIntervalNanos == 0) {
+                return true;
+            }
+            while (true) {
+                long current = fullAt.get();
+                long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                if (start - now > burstToleranceNanos) {
+                    rateLimited.increment();
+                    suppressedTotal.increment();
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, start + emissionIntervalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
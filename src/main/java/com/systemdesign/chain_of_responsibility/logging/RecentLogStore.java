@@ -0,0 +1,678 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Chain sink that keeps the most recent messages in memory and indexes them for search.
+ *
+ * Messages are stored UTF-8 encoded in a circular byte arena. Their timestamp,
+ * level and position are kept in fixed arrays indexed by sequence number. The
+ * store holds at most {@code maxEntries} messages, and their text together with
+ * the estimated size of their index entries stays within {@code maxBytes};
+ * appending past either limit evicts the oldest messages first.
+ *
+ * Each message is split into lowercase alphanumeric tokens. Every token maps to
+ * a posting list of the sequence numbers of the messages that contain it, in
+ * ascending order. Appending a message adds its sequence number to the end of
+ * its tokens' lists. Evicting it removes the number from the front of the same
+ * lists, and a token whose list becomes empty is dropped. The index therefore
+ * never refers to an evicted message. Its heap use is estimated per token and
+ * per posting slot and counted against the same byte budget as the text, so a
+ * store of many short, varied messages holds fewer of them rather than growing.
+ *
+ * Searches share a read lock; appends take the write lock. A message that
+ * arrives while a search holds the lock is queued instead of waiting, and is
+ * stored by whichever thread releases the lock last, so a long search never
+ * holds up the threads that are logging. Only when {@code maxEntries} messages
+ * are queued does a logging thread wait for the lock.
+ */
+public class RecentLogStore extends AbstractLogger {
+    /**
+     * Estimated heap bytes of one index entry besides its token's characters and
+     * posting slots: the map node and table slot, the String and its array
+     * header, and the posting list object and its array header.
+     */
+    private static final int TOKEN_OVERHEAD = 32 + 8 + 24 + 16 + 24 + 16;
+
+    /** Maximum number of messages held */
+    private final int maxEntries;
+
+    /** Circular buffer holding the encoded messages */
+    private final byte[] arena;
+
+    /** Absolute arena position of each message's first byte, by slot */
+    private final long[] starts;
+
+    /** Encoded length of each message, by slot */
+    private final int[] lengths;
+
+    /** Time each message was stored, in epoch milliseconds, by slot */
+    private final long[] timestamps;
+
+    /** Level of each message, by slot */
+    private final LogLevel[] levels;
+
+    /** Posting lists of the stored messages, by token */
+    private final Map<String, Postings> index = new HashMap<>();
+
+    /** Shared by searches, held exclusively while messages are stored */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Messages that arrived while the lock was held, oldest first */
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+
+    /** Number of messages in {@link #pending} */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /** Estimated heap bytes of the index */
+    private long indexBytes;
+
+    /** Sequence number of the oldest message held */
+    private long oldest;
+
+    /** Sequence number the next message will get */
+    private long next;
+
+    /** Absolute arena position the next message will be written at */
+    private long writePosition;
+
+    /** Timestamp of the newest message; timestamps never go backwards */
+    private long lastTimestamp;
+
+    /**
+     * Constructs a new RecentLogStore.
+     *
+     * @param level The minimum level stored
+     * @param maxEntries Maximum number of messages held
+     * @param maxBytes Maximum bytes of encoded message text and estimated index held
+     */
+    public RecentLogStore(LogLevel level, int maxEntries, int maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Store limits must be positive");
+        }
+        this.level = level;
+        this.maxEntries = maxEntries;
+        this.arena = new byte[maxBytes];
+        this.starts = new long[maxEntries];
+        this.lengths = new int[maxEntries];
+        this.timestamps = new long[maxEntries];
+        this.levels = new LogLevel[maxEntries];
+    }
+
+    /**
+     * Stores the message with its own level.
+     *
+     * @param level The log level of the message
+     * @param message The message to be stored
+     * @return always true; the message continues down the chain
+     */
+    @Override
+    protected boolean handle(LogLevel level, String message) {
+        append(level, message, System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Stores the message at this store's level.
+     *
+     * @param message The message to be stored
+     */
+    @Override
+    protected void write(String message) {
+        append(level, message, System.currentTimeMillis());
+    }
+
+    /**
+     * Stores a message, or queues it if a search holds the lock.
+     *
+     * @param level The level of the message
+     * @param message The message
+     * @param timestamp When the message was logged, in epoch milliseconds
+     */
+    void append(LogLevel level, String message, long timestamp) {
+        Lock writeLock = lock.writeLock();
+        if (writeLock.tryLock()) {
+            try {
+                storePending();
+                store(level, message, timestamp);
+            } finally {
+                writeLock.unlock();
+            }
+        } else if (pendingCount.get() >= maxEntries) {
+            writeLock.lock();
+            try {
+                storePending();
+                store(level, message, timestamp);
+            } finally {
+                writeLock.unlock();
+            }
+        } else {
+            pending.add(new Pending(level, message, timestamp));
+            pendingCount.incrementAndGet();
+        }
+        drainPending();
+    }
+
+    /**
+     * Stores queued messages if the lock is free. Called after releasing the
+     * lock, so a message queued while it was held is stored by the last
+     * thread to release it.
+     */
+    private void drainPending() {
+        Lock writeLock = lock.writeLock();
+        while (!pending.isEmpty() && writeLock.tryLock()) {
+            try {
+                storePending();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Stores every queued message, oldest first. Called with the write lock held.
+     */
+    private void storePending() {
+        Pending queued;
+        while ((queued = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            store(queued.level, queued.message, queued.timestamp);
+        }
+    }
+
+    /**
+     * Stores a message, evicting the oldest messages as needed. A message longer
+     * than the whole arena is truncated to fit, on a code point boundary.
+     * Called with the write lock held.
+     *
+     * @param level The level of the message
+     * @param message The message
+     * @param timestamp When the message was logged, in epoch milliseconds
+     */
+    private void store(LogLevel level, String message, long timestamp) {
+        String text = message;
+        if (Utf8.encodedLength(text) > arena.length) {
+            text = text.substring(0, Utf8.prefixLength(text, arena.length));
+        }
+        byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+        while (next - oldest == maxEntries
+                || (next > oldest && writePosition + encoded.length - starts[slot(oldest)] > arena.length)) {
+            evictOldest();
+        }
+
+        long sequence = next++;
+        int slot = slot(sequence);
+        starts[slot] = writePosition;
+        lengths[slot] = encoded.length;
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        timestamps[slot] = lastTimestamp;
+        levels[slot] = level;
+        int offset = (int) (writePosition % arena.length);
+        int firstPart = Math.min(encoded.length, arena.length - offset);
+        System.arraycopy(encoded, 0, arena, offset, firstPart);
+        System.arraycopy(encoded, firstPart, arena, 0, encoded.length - firstPart);
+        writePosition += encoded.length;
+
+        for (String token : tokenize(text)) {
+            Postings postings = index.get(token);
+            if (postings == null) {
+                postings = new Postings();
+                index.put(token, postings);
+                indexBytes += TOKEN_OVERHEAD + token.length() + Long.BYTES * postings.capacity();
+            }
+            int capacity = postings.capacity();
+            postings.addLast(sequence);
+            indexBytes += (long) Long.BYTES * (postings.capacity() - capacity);
+        }
+
+        // The newest message stays even if it alone exceeds the budget
+        while (next - oldest > 1 && writePosition - starts[slot(oldest)] + indexBytes > arena.length) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Removes the oldest message and its index entries.
+     */
+    private void evictOldest() {
+        long sequence = oldest++;
+        for (String token : tokenize(readText(sequence))) {
+            Postings postings = index.get(token);
+            postings.removeFirst();
+            if (postings.isEmpty()) {
+                index.remove(token);
+                indexBytes -= TOKEN_OVERHEAD + token.length() + Long.BYTES * postings.capacity();
+            }
+        }
+        levels[slot(sequence)] = null;
+    }
+
+    /**
+     * Finds the newest messages that match every criterion.
+     *
+     * @param query Terms that must all occur in the message, or null or blank for any message
+     * @param acceptedLevels Levels to include, or null or empty for all levels
+     * @param fromMillis Earliest timestamp included, in epoch milliseconds, or null
+     * @param toMillis Timestamp before which messages are included, in epoch milliseconds, or null
+     * @param limit Maximum number of messages returned
+     * @return The matching messages, newest first, and whether more matched than were returned
+     */
+    public SearchResult search(String query, Collection<LogLevel> acceptedLevels,
+                               Long fromMillis, Long toMillis, int limit) {
+        lock.readLock().lock();
+        try {
+            return searchLocked(query, acceptedLevels, fromMillis, toMillis, limit);
+        } finally {
+            lock.readLock().unlock();
+            drainPending();
+        }
+    }
+
+    /**
+     * Runs a search. Called with the read lock held.
+     *
+     * @param query Terms that must all occur in the message, or null or blank for any message
+     * @param acceptedLevels Levels to include, or null or empty for all levels
+     * @param fromMillis Earliest timestamp included, in epoch milliseconds, or null
+     * @param toMillis Timestamp before which messages are included, in epoch milliseconds, or null
+     * @param limit Maximum number of messages returned
+     * @return The matching messages, newest first, and whether more matched than were returned
+     */
+    private SearchResult searchLocked(String query, Collection<LogLevel> acceptedLevels,
+                                      Long fromMillis, Long toMillis, int limit) {
+        Set<String> terms = query == null ? Set.of() : tokenize(query);
+        List<Postings> postingLists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Postings postings = index.get(term);
+            if (postings == null) {
+                return new SearchResult(List.of(), false);
+            }
+            postingLists.add(postings);
+        }
+        postingLists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        List<StoredMessage> hits = new ArrayList<>();
+        Postings driver = postingLists.isEmpty() ? null : postingLists.get(0);
+        int candidates = driver == null ? (int) (next - oldest) : driver.size();
+        for (int i = candidates - 1; i >= 0; i--) {
+            long sequence = driver == null ? oldest + i : driver.get(i);
+            long timestamp = timestamps[slot(sequence)];
+            if (fromMillis != null && timestamp < fromMillis) {
+                // Timestamps never decrease, so no older message can match
+                break;
+            }
+            if ((toMillis != null && timestamp >= toMillis)
+                    || (acceptedLevels != null && !acceptedLevels.isEmpty()
+                        && !acceptedLevels.contains(levels[slot(sequence)]))
+                    || !containsAll(postingLists, sequence)) {
+                continue;
+            }
+            if (hits.size() == limit) {
+                return new SearchResult(hits, true);
+            }
+            hits.add(new StoredMessage(sequence, timestamp, levels[slot(sequence)], readText(sequence)));
+        }
+        return new SearchResult(hits, false);
+    }
+
+    /**
+     * Returns the number of messages currently held.
+     *
+     * @return The message count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (int) (next - oldest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct tokens currently indexed.
+     *
+     * @return The token count
+     */
+    public int indexedTokens() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the bytes counted against the budget: the text held plus the
+     * estimated size of the index.
+     *
+     * @return The retained bytes
+     */
+    long retainedBytes() {
+        lock.readLock().lock();
+        try {
+            return (next == oldest ? 0 : writePosition - starts[slot(oldest)]) + indexBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether every posting list other than the first contains a sequence number.
+     *
+     * @param postingLists The posting lists, the driving list first
+     * @param sequence The sequence number
+     * @return true if the message contains every term
+     */
+    private static boolean containsAll(List<Postings> postingLists, long sequence) {
+        for (int i = 1; i < postingLists.size(); i++) {
+            if (!postingLists.get(i).contains(sequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a stored message.
+     *
+     * @param sequence The message's sequence number
+     * @return The message text
+     */
+    private String readText(long sequence) {
+        int slot = slot(sequence);
+        int length = lengths[slot];
+        int offset = (int) (starts[slot] % arena.length);
+        if (offset + length <= arena.length) {
+            return new String(arena, offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] joined = new byte[length];
+        int firstPart = arena.length - offset;
+        System.arraycopy(arena, offset, joined, 0, firstPart);
+        System.arraycopy(arena, 0, joined, firstPart, length - firstPart);
+        return new String(joined, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Maps a sequence number to its slot in the metadata arrays.
+     *
+     * @param sequence The sequence number
+     * @return The slot
+     */
+    private int slot(long sequence) {
+        return (int) (sequence % maxEntries);
+    }
+
+    /**
+     * Splits text into its distinct lowercase alphanumeric tokens. Case is
+     * folded independently of the default locale, so messages and queries
+     * match the same way everywhere.
+     *
+     * @param text The text
+     * @return The tokens, in order of first occurrence
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * A message held by the store.
+     */
+    public static final class StoredMessage {
+        /** The message's sequence number */
+        private final long sequence;
+
+        /** When the message was stored, in epoch milliseconds */
+        private final long timestamp;
+
+        /** The message's level */
+        private final LogLevel level;
+
+        /** The message text */
+        private final String message;
+
+        /**
+         * Constructs a new StoredMessage.
+         *
+         * @param sequence The message's sequence number
+         * @param timestamp When the message was stored, in epoch milliseconds
+         * @param level The message's level
+         * @param message The message text
+         */
+        StoredMessage(long sequence, long timestamp, LogLevel level, String message) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.level = level;
+            this.message = message;
+        }
+
+        /**
+         * Gets the message's sequence number.
+         *
+         * @return The sequence number
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Gets when the message was stored.
+         *
+         * @return The timestamp in epoch milliseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the message's level.
+         *
+         * @return The level
+         */
+        public LogLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets the message text.
+         *
+         * @return The message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * The messages returned by a search.
+     */
+    public static final class SearchResult {
+        /** The matching messages, newest first */
+        private final List<StoredMessage> messages;
+
+        /** Whether more messages matched than were returned */
+        private final boolean truncated;
+
+        /**
+         * Constructs a new SearchResult.
+         *
+         * @param messages The matching messages, newest first
+         * @param truncated Whether more messages matched than were returned
+         */
+        SearchResult(List<StoredMessage> messages, boolean truncated) {
+            this.messages = messages;
+            this.truncated = truncated;
+        }
+
+        /**
+         * Gets the matching messages.
+         *
+         * @return The messages, newest first
+         */
+        public List<StoredMessage> getMessages() {
+            return messages;
+        }
+
+        /**
+         * Gets whether more messages matched than were returned.
+         *
+         * @return true if the result was cut off at the limit
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    /**
+     * A message waiting to be stored because the lock was held when it arrived.
+     */
+    private static final class Pending {
+        /** The level of the message */
+        private final LogLevel level;
+
+        /** The message */
+        private final String message;
+
+        /** When the message was logged, in epoch milliseconds */
+        private final long timestamp;
+
+        /**
+         * Constructs a new Pending.
+         *
+         * @param level The level of the message
+         * @param message The message
+         * @param timestamp When the message was logged, in epoch milliseconds
+         */
+        private Pending(LogLevel level, String message, long timestamp) {
+            this.level = level;
+            this.message = message;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Ascending sequence numbers of the messages containing one token, held in
+     * a growable circular array so that appending and evicting are both O(1).
+     */
+    private static final class Postings {
+        /** The sequence numbers, starting at {@link #head} */
+        private long[] values = new long[4];
+
+        /** Index of the oldest sequence number */
+        private int head;
+
+        /** Number of sequence numbers held */
+        private int size;
+
+        /**
+         * Appends the sequence number of a newly stored message.
+         *
+         * @param sequence The sequence number
+         */
+        void addLast(long sequence) {
+            if (size == values.length) {
+                long[] grown = new long[values.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = get(i);
+                }
+                values = grown;
+                head = 0;
+            }
+            values[(head + size) % values.length] = sequence;
+            size++;
+        }
+
+        /**
+         * Removes the oldest sequence number.
+         */
+        void removeFirst() {
+            head = (head + 1) % values.length;
+            size--;
+        }
+
+        /**
+         * Returns the sequence number at a position, oldest first.
+         *
+         * @param i The position
+         * @return The sequence number
+         */
+        long get(int i) {
+            return values[(head + i) % values.length];
+        }
+
+        /**
+         * Returns the number of sequence numbers the list can hold before growing.
+         *
+         * @return The capacity
+         */
+        int capacity() {
+            return values.length;
+        }
+
+        /**
+         * Returns the number of sequence numbers held.
+         *
+         * @return The size
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Checks whether the list is empty.
+         *
+         * @return true if no sequence numbers are held
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Checks whether a sequence number is in the list, by binary search.
+         *
+         * @param sequence The sequence number
+         * @return true if present
+         */
+        boolean contains(long sequence) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long value = get(mid);
+                if (value < sequence) {
+                    low = mid + 1;
+                } else if (value > sequence) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Concrete logger that appends messages to memory-mapped segment files.
+ * Each segment is preallocated to a fixed size and mapped once, and lines are
+ * encoded straight into the mapping, so writing a line is neither a system call
+ * nor an allocation. A new segment is started
+ * when the current one is full or has been open longer than the roll interval.
+ * Data is forced to disk after a configurable number of writes or time interval
+ * instead of after every line.
+ *
+ * Segments are zero-filled when created, so after a crash the write position is
+ * recovered by scanning back to the last complete line. Segments closed cleanly
+ * are truncated to their written length.
+ */
+public class RollingFileLogger extends ByteSinkLogger implements Closeable {
+    /** Format of segment file names: base name and zero-padded index */
+    private static final String SEGMENT_NAME_FORMAT = "%s-%06d.log";
+
+    /** Directory holding the segment files */
+    private final Path directory;
+
+    /** Common prefix of the segment file names */
+    private final String baseName;
+
+    /** Size each segment is preallocated to */
+    private final int segmentSize;
+
+    /** Maximum time a segment stays open, in milliseconds */
+    private final long rollIntervalMillis;
+
+    /** Number of writes after which the segment is forced to disk */
+    private final int syncEveryWrites;
+
+    /** Forces unsynced writes to disk once the sync interval has passed */
+    private final ScheduledExecutorService syncScheduler;
+
+    /** Channel of the current segment */
+    private FileChannel channel;
+
+    /** Mapping of the current segment; its position is the write position */
+    private MappedByteBuffer segment;
+
+    /** Index of the current segment */
+    private int segmentIndex;
+
+    /** When the current segment was opened */
+    private long segmentOpenedAt;
+
+    /** Writes since the last sync */
+    private int unsyncedWrites;
+
+    /** Set once the logger has been closed */
+    private boolean closed;
+
+    /**
+     * Constructs a new RollingFileLogger and opens or recovers its current segment.
+     *
+     * @param level The minimum level this logger writes
+     * @param directory The directory holding the segment files
+     * @param baseName The common prefix of the segment file names
+     * @param segmentSize The size of each segment in bytes
+     * @param rollInterval The maximum time a segment stays open
+     * @param syncEveryWrites The number of writes after which data is forced to disk
+     * @param syncInterval The maximum time written data stays unsynced
+     * @throws IOException if the directory or segment cannot be opened
+     */
+    public RollingFileLogger(LogLevel level, Path directory, String baseName, int segmentSize,
+                             Duration rollInterval, int syncEveryWrites, Duration syncInterval) throws IOException {
+        super(level);
+        if (segmentSize < 64) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.segmentSize = segmentSize;
+        this.rollIntervalMillis = rollInterval.toMillis();
+        this.syncEveryWrites = Math.max(1, syncEveryWrites);
+
+        Files.createDirectories(directory);
+        openLatestSegment();
+
+        this.syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-file-sync-" + baseName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long syncMillis = Math.max(1, syncInterval.toMillis());
+        syncScheduler.scheduleWithFixedDelay(this::syncIfDirty, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Encodes the line directly into the current segment.
+     * Rolls to a new segment first if the line does not fit or the current
+     * segment has been open longer than the roll interval. A line longer than a
+     * whole segment is truncated to fill one, at a code point boundary.
+     *
+     * @param message The message to be written
+     * @param lineLength The number of bytes the encoded line occupies
+     */
+    @Override
+    protected synchronized void writeLine(String message, int lineLength) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (segment.remaining() < Math.min(lineLength, segmentSize)
+                    || System.currentTimeMillis() - segmentOpenedAt >= rollIntervalMillis) {
+                roll();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll log segment in " + directory, e);
+        }
+        if (lineLength <= segmentSize) {
+            encodeLine(message, segment);
+        } else {
+            byte[] prefix = prefix();
+            int prefixBytes = Math.min(prefix.length, segmentSize - 1);
+            int messageChars = Utf8.prefixLength(message, segmentSize - prefixBytes - 1);
+            segment.put(prefix, 0, prefixBytes);
+            Utf8.encode(message, 0, messageChars, segment);
+            segment.put(LINE_FEED);
+        }
+        if (++unsyncedWrites >= syncEveryWrites) {
+            sync();
+        }
+    }
+
+    /**
+     * Forces the current segment to disk if anything was written since the last sync.
+     */
+    private synchronized void syncIfDirty() {
+        if (!closed && unsyncedWrites > 0) {
+            sync();
+        }
+    }
+
+    /**
+     * Forces the current segment to disk.
+     */
+    private void sync() {
+        segment.force();
+        unsyncedWrites = 0;
+    }
+
+    /**
+     * Opens the next segment and then seals the current one. If the next
+     * segment cannot be created, the current one stays in place, so the next
+     * write tries to roll again.
+     *
+     * @throws IOException if a segment cannot be created or sealed
+     */
+    private void roll() throws IOException {
+        FileChannel previousChannel = channel;
+        MappedByteBuffer previousSegment = segment;
+        openSegment(segmentIndex + 1);
+        sealSegment(previousChannel, previousSegment);
+    }
+
+    /**
+     * Opens the segment with the highest index. A segment that still has its
+     * full preallocated size was not closed cleanly and is recovered; otherwise
+     * a new segment is started after it.
+     *
+     * @throws IOException if the segment cannot be opened
+     */
+    private void openLatestSegment() throws IOException {
+        Pattern pattern = Pattern.compile(Pattern.quote(baseName) + "-(\\d+)\\.log");
+        int latest = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    latest = Math.max(latest, Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        if (latest >= 0 && Files.size(segmentPath(latest)) == segmentSize) {
+            openSegment(latest);
+            recoverPosition();
+        } else {
+            openSegment(latest + 1);
+        }
+    }
+
+    /**
+     * Opens and maps the segment with the given index, preallocating it if new,
+     * and makes it the current segment. The current segment is only replaced
+     * once the new one is mapped.
+     *
+     * @param index The segment index
+     * @throws IOException if the segment cannot be opened or mapped
+     */
+    private void openSegment(int index) throws IOException {
+        FileChannel newChannel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer newSegment;
+        try {
+            newSegment = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            newChannel.close();
+            throw e;
+        }
+        channel = newChannel;
+        segment = newSegment;
+        segmentIndex = index;
+        segmentOpenedAt = System.currentTimeMillis();
+        unsyncedWrites = 0;
+    }
+
+    /**
+     * Finds the end of the last complete line in a segment that was not closed
+     * cleanly, clears any torn line after it and positions the segment there.
+     */
+    private void recoverPosition() {
+        int end = segmentSize;
+        while (end > 0 && segment.get(end - 1) == 0) {
+            end--;
+        }
+        int position = end;
+        while (position > 0 && segment.get(position - 1) != LINE_FEED) {
+            position--;
+        }
+        for (int i = position; i < end; i++) {
+            segment.put(i, (byte) 0);
+        }
+        segment.position(position);
+    }
+
+    /**
+     * Forces a segment to disk, truncates it to its written length and closes it.
+     *
+     * @param segmentChannel The segment's channel
+     * @param mapping The segment's mapping
+     * @throws IOException if the segment cannot be truncated or closed
+     */
+    private static void sealSegment(FileChannel segmentChannel, MappedByteBuffer mapping) throws IOException {
+        try (segmentChannel) {
+            mapping.force();
+            segmentChannel.truncate(mapping.position());
+        }
+    }
+
+    /**
+     * Returns the path of the segment with the given index.
+     *
+     * @param index The segment index
+     * @return The segment file path
+     */
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format(SEGMENT_NAME_FORMAT, baseName, index));
+    }
+
+    /**
+     * Stops the sync timer and seals the current segment.
+     *
+     * @throws IOException if the segment cannot be sealed
+     */
+    @Override
+    public void close() throws IOException {
+        syncScheduler.shutdown();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            sealSegment(channel, segment);
+        }
+    }
+}
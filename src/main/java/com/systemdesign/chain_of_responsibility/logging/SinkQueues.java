@@ -0,0 +1,84 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.dispatch.OverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Puts every sink of a chain behind its own {@link QueuedLogger} and owns the
+ * resulting queues, so they can be found by name and closed together.
+ * Filters are left in place: they must decide synchronously whether a message
+ * continues, so they cannot be queued.
+ */
+public class SinkQueues implements AutoCloseable {
+    /** The minimum number of messages each sink queues */
+    private final int capacity;
+
+    /** Overflow policy of each sink, by sink name */
+    private final Function<String, OverflowPolicy> overflowPolicies;
+
+    /** The level below which {@link OverflowPolicy#DROP_BELOW_LEVEL} drops messages */
+    private final LogLevel dropBelowLevel;
+
+    /** Every queue created so far */
+    private final List<QueuedLogger> queues = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new SinkQueues.
+     *
+     * @param capacity The minimum number of messages each sink queues
+     * @param overflowPolicies Overflow policy of each sink, by sink name
+     * @param dropBelowLevel The level below which {@link OverflowPolicy#DROP_BELOW_LEVEL} drops messages
+     */
+    public SinkQueues(int capacity, Function<String, OverflowPolicy> overflowPolicies, LogLevel dropBelowLevel) {
+        this.capacity = capacity;
+        this.overflowPolicies = overflowPolicies;
+        this.dropBelowLevel = dropBelowLevel;
+    }
+
+    /**
+     * Rebuilds the chain with every sink replaced by a queued wrapper.
+     *
+     * @param head The first logger of the chain
+     * @return The first logger of the rebuilt chain
+     */
+    public AbstractLogger wrap(AbstractLogger head) {
+        List<AbstractLogger> nodes = new ArrayList<>();
+        for (AbstractLogger node = head; node != null; node = node.nextLogger) {
+            if (node instanceof ChainFilter || node instanceof QueuedLogger) {
+                nodes.add(node);
+            } else {
+                QueuedLogger queued = new QueuedLogger(node, capacity,
+                        overflowPolicies.apply(node.getName()), dropBelowLevel);
+                queues.add(queued);
+                nodes.add(queued);
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).setNextLogger(i + 1 < nodes.size() ? nodes.get(i + 1) : null);
+        }
+        return nodes.isEmpty() ? null : nodes.get(0);
+    }
+
+    /**
+     * Returns every queue created so far.
+     *
+     * @return The queued sinks
+     */
+    public List<QueuedLogger> getQueues() {
+        return List.copyOf(queues);
+    }
+
+    /**
+     * Writes out every queue and stops the workers.
+     */
+    @Override
+    public void close() {
+        for (QueuedLogger queue : queues) {
+            queue.close();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One live subscriber of a {@link LogTap}: its filters, its bounded queue of
+ * waiting messages and the number of messages it lost because the queue was full.
+ */
+public class TailSubscription implements AutoCloseable {
+    /** The tap this subscription is registered with */
+    private final LogTap tap;
+
+    /** Levels the subscriber receives */
+    private final Set<LogLevel> levels;
+
+    /** Text a message must contain, or null */
+    private final String contains;
+
+    /** Messages waiting to be sent */
+    private final BlockingQueue<Entry> queue;
+
+    /** Messages dropped since the count was last taken */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Set once the subscription has been closed */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new TailSubscription. Use {@link LogTap#subscribe(Set, String)} instead.
+     *
+     * @param tap The tap this subscription is registered with
+     * @param levels Levels to receive, or null or empty for all levels
+     * @param contains Text the message must contain, or null or empty for any message
+     * @param bufferSize Number of messages that may be waiting
+     */
+    TailSubscription(LogTap tap, Set<LogLevel> levels, String contains, int bufferSize) {
+        this.tap = tap;
+        this.levels = levels == null || levels.isEmpty() ? EnumSet.allOf(LogLevel.class) : EnumSet.copyOf(levels);
+        this.contains = contains == null || contains.isEmpty() ? null : contains;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+    }
+
+    /**
+     * Checks whether the subscriber receives messages of a level.
+     *
+     * @param level The level
+     * @return true if the level passes the subscriber's level filter
+     */
+    boolean accepts(LogLevel level) {
+        return levels.contains(level);
+    }
+
+    /**
+     * Queues a message if it passes the text filter, or counts it as dropped
+     * if the queue is full. Never blocks.
+     *
+     * @param level The level of the message
+     * @param message The message
+     * @param timestamp When the message was logged, in epoch milliseconds
+     */
+    void offer(LogLevel level, String message, long timestamp) {
+        if (contains != null && !message.contains(contains)) {
+            return;
+        }
+        if (!queue.offer(new Entry(level, timestamp, message))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for the next message.
+     *
+     * @param timeout How long to wait
+     * @param unit The unit of the timeout
+     * @return The next message, or null if none arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Entry poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    /**
+     * Checks whether no messages are waiting.
+     *
+     * @return true if the queue is empty
+     */
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Returns the number of messages dropped since the last call and resets it.
+     *
+     * @return The dropped count
+     */
+    public long takeDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    /**
+     * Checks whether the subscription has been closed.
+     *
+     * @return true once closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Unregisters the subscription from its tap. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            tap.unsubscribe(this);
+        }
+    }
+
+    /**
+     * A message waiting to be sent to the subscriber.
+     */
+    public static final class Entry {
+        /** The message's level */
+        private final LogLevel level;
+
+        /** When the message was logged, in epoch milliseconds */
+        private final long timestamp;
+
+        /** The message text */
+        private final String message;
+
+        /**
+         * Constructs a new Entry.
+         *
+         * @param level The message's level
+         * @param timestamp When the message was logged, in epoch milliseconds
+         * @param message The message text
+         */
+        Entry(LogLevel level, long timestamp, String message) {
+            this.level = level;
+            this.timestamp = timestamp;
+            this.message = message;
+        }
+
+        /**
+         * Gets the message's level.
+         *
+         * @return The level
+         */
+        public LogLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets when the message was logged.
+         *
+         * @return The timestamp in epoch milliseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the message text.
+         *
+         * @return The message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+}
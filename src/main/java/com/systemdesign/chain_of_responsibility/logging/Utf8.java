@@ -0,0 +1,129 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation-free UTF-8 encoding of character sequences into byte buffers.
+ * Unlike {@link String#getBytes(java.nio.charset.Charset)} this never creates a
+ * temporary array, so it can be used on the logging hot path. Unpaired
+ * surrogates are encoded as '?', matching the JDK's replacement behaviour.
+ */
+public final class Utf8 {
+    /** Replacement byte for unpaired surrogates */
+    private static final byte REPLACEMENT = '?';
+
+    private Utf8() {
+    }
+
+    /**
+     * Returns the number of bytes the sequence occupies in UTF-8.
+     *
+     * @param text The characters to measure
+     * @return The encoded length in bytes
+     */
+    public static int encodedLength(CharSequence text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced by a single byte
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns how many leading characters of the sequence fit in a number of
+     * UTF-8 bytes without splitting a code point.
+     *
+     * @param text The characters to measure
+     * @param maxBytes The most bytes the prefix may occupy
+     * @return The length in characters of the longest prefix that fits
+     */
+    public static int prefixLength(CharSequence text, int maxBytes) {
+        int length = text.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int width;
+            int chars = 1;
+            if (c < 0x80) {
+                width = 1;
+            } else if (c < 0x800) {
+                width = 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                width = 4;
+                chars = 2;
+            } else if (Character.isSurrogate(c)) {
+                width = 1;
+            } else {
+                width = 3;
+            }
+            if (bytes + width > maxBytes) {
+                return i;
+            }
+            bytes += width;
+            i += chars - 1;
+        }
+        return length;
+    }
+
+    /**
+     * Encodes the sequence into the buffer at its current position.
+     * The caller must make sure the buffer has at least
+     * {@link #encodedLength(CharSequence)} bytes remaining.
+     *
+     * @param text The characters to encode
+     * @param target The buffer receiving the bytes
+     */
+    public static void encode(CharSequence text, ByteBuffer target) {
+        encode(text, 0, text.length(), target);
+    }
+
+    /**
+     * Encodes the characters in {@code [start, end)} into the buffer at its
+     * current position. A surrogate pair cut by {@code end} is encoded as a
+     * replacement byte, so callers should end the range at a boundary from
+     * {@link #prefixLength(CharSequence, int)}.
+     *
+     * @param text The characters to encode
+     * @param start Index of the first character to encode
+     * @param end Index after the last character to encode
+     * @param target The buffer receiving the bytes
+     */
+    public static void encode(CharSequence text, int start, int end, ByteBuffer target) {
+        int length = end;
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xC0 | (c >> 6)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                target.put((byte) (0xF0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                target.put(REPLACEMENT);
+            } else {
+                target.put((byte) (0xE0 | (c >> 12)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.systemdesign.chain_of_responsibility.metrics;
+
+import com.systemdesign.chain_of_responsibility.logging.AbstractLogger;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of {@link NodeMetrics} for the nodes of the logger chain.
+ * Metrics are keyed by node identity, so a node keeps its counters when the
+ * chain is recompiled around it.
+ */
+public class ChainMetrics {
+    /** Metrics of every node seen so far, by node identity */
+    private final Map<AbstractLogger, NodeMetrics> nodes = new IdentityHashMap<>();
+
+    /** Nodes of the current chain, in chain order */
+    private volatile List<NodeMetrics> current = List.of();
+
+    /**
+     * Returns the metrics for a node, creating them on first use.
+     *
+     * @param node The chain node
+     * @return The node's metrics
+     */
+    public synchronized NodeMetrics forNode(AbstractLogger node) {
+        return nodes.computeIfAbsent(node, n -> new NodeMetrics(n.getName()));
+    }
+
+    /**
+     * Records which nodes make up the current chain; called when the chain is compiled.
+     *
+     * @param chainNodes The nodes of the chain, in chain order
+     */
+    public synchronized void setChain(List<AbstractLogger> chainNodes) {
+        List<NodeMetrics> metrics = new ArrayList<>(chainNodes.size());
+        for (AbstractLogger node : chainNodes) {
+            metrics.add(forNode(node));
+        }
+        nodes.keySet().retainAll(chainNodes);
+        current = List.copyOf(metrics);
+    }
+
+    /**
+     * Returns the metrics of the current chain's nodes, in chain order.
+     *
+     * @return The node metrics
+     */
+    public List<NodeMetrics> getNodes() {
+        return current;
+    }
+}
@@ -0,0 +1,112 @@
+package com.systemdesign.chain_of_responsibility.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-min sketch over 64-bit keys: approximate counts of any number of
+ * distinct keys in fixed memory.
+ *
+ * A key is counted in one cell of each of {@code depth} rows. Its estimate is
+ * the smallest of those cells, which is never below the true count and, with
+ * probability at least {@code 1 - e^-depth}, exceeds it by at most
+ * {@code e / width} times the total count. Cells are atomic longs, so
+ * concurrent adds need no lock.
+ */
+public class CountMinSketch {
+    /** Number of rows */
+    private final int depth;
+
+    /** Number of cells per row, a power of two */
+    private final int width;
+
+    /** The cells, row by row */
+    private final AtomicLongArray cells;
+
+    /** Number of keys added */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Constructs a new CountMinSketch.
+     *
+     * @param depth Number of rows
+     * @param width Number of cells per row; rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        this.depth = Math.max(1, depth);
+        this.width = Integer.highestOneBit(Math.max(2, width) * 2 - 1);
+        this.cells = new AtomicLongArray(this.depth * this.width);
+    }
+
+    /**
+     * Counts one occurrence of a key.
+     *
+     * @param key The key's 64-bit hash
+     * @return The key's estimated count, including this occurrence
+     */
+    public long add(long key) {
+        total.increment();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.incrementAndGet(cell(row, key)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates how often a key was added.
+     *
+     * @param key The key's 64-bit hash
+     * @return The estimated count, never below the true count
+     */
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.get(cell(row, key)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the number of keys added.
+     *
+     * @return The total count
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the bound by which an estimate usually exceeds the true count,
+     * given the current total.
+     *
+     * @return The error bound, {@code e / width} times the total
+     */
+    public long getErrorBound() {
+        return (long) Math.ceil(Math.E / width * getTotal());
+    }
+
+    /**
+     * Clears every cell. Adds racing with the clear may survive it.
+     */
+    public void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+        total.reset();
+    }
+
+    /**
+     * Returns the cell a key maps to in a row, using the two halves of the key
+     * as independent hashes.
+     *
+     * @param row The row
+     * @param key The key's 64-bit hash
+     * @return The index into {@link #cells}
+     */
+    private int cell(int row, long key) {
+        int hash = (int) key + row * (int) (key >>> 32);
+        hash ^= hash >>> 16;
+        return row * width + (hash & (width - 1));
+    }
+}
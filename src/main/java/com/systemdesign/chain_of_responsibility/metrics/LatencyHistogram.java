@@ -0,0 +1,192 @@
+package com.systemdesign.chain_of_responsibility.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-memory, lock-free histogram of non-negative values such as latencies in
+ * nanoseconds. Values are counted in log-linear buckets: each power of two is
+ * split into 16 equal sub-buckets, so any reported percentile is within about
+ * 6% of the true value. Values up to 2^44 (about 4.9 hours in nanoseconds) are
+ * tracked; larger values are counted in the last bucket.
+ */
+public class LatencyHistogram {
+    /** Number of bits of precision below the leading bit */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** Number of sub-buckets per power of two */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Highest exponent tracked before values are clamped */
+    private static final int MAX_EXPONENT = 44;
+
+    /** Total number of buckets */
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /** Counts per bucket */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records one value.
+     *
+     * @param value The value to record; negative values are recorded as zero
+     */
+    public void record(long value) {
+        counts.getAndIncrement(bucketIndex(Math.max(0, value)));
+    }
+
+    /**
+     * Records a value a number of times.
+     *
+     * @param value The value to record; negative values are recorded as zero
+     * @param count How many times to record it
+     */
+    public void record(long value, long count) {
+        counts.getAndAdd(bucketIndex(Math.max(0, value)), count);
+    }
+
+    /**
+     * Returns a point-in-time copy of the histogram.
+     *
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    /**
+     * Returns a copy of the histogram and clears it. Each bucket is read and
+     * cleared atomically, so no value is lost or counted twice across intervals.
+     *
+     * @return The snapshot taken before clearing
+     */
+    public Snapshot snapshotAndReset() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.getAndSet(i, 0);
+        }
+        return new Snapshot(copy);
+    }
+
+    /**
+     * Maps a value to its bucket.
+     *
+     * @param value The non-negative value
+     * @return The bucket index
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the highest value that maps to the given bucket.
+     *
+     * @param index The bucket index
+     * @return The bucket's upper bound
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Immutable copy of a histogram's buckets.
+     */
+    public static final class Snapshot {
+        /** Counts per bucket */
+        private final long[] counts;
+
+        /** Total number of recorded values */
+        private final long totalCount;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        /**
+         * Returns the number of recorded values.
+         *
+         * @return The total count
+         */
+        public long getCount() {
+            return totalCount;
+        }
+
+        /**
+         * Returns the value at the given percentile, as the upper bound of the
+         * bucket holding it.
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The value at that percentile, or 0 if nothing was recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return bucketUpperBound(counts.length - 1);
+        }
+
+        /**
+         * Returns the largest recorded value, as the upper bound of its bucket.
+         *
+         * @return The maximum, or 0 if nothing was recorded
+         */
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the mean of the recorded values, using each bucket's midpoint.
+         *
+         * @return The approximate mean, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            if (totalCount == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    long upper = bucketUpperBound(i);
+                    long lower = i == 0 ? 0 : bucketUpperBound(i - 1) + 1;
+                    sum += counts[i] * ((lower + upper) / 2.0);
+                }
+            }
+            return sum / totalCount;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.systemdesign.chain_of_responsibility.metrics;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and write-latency histograms for one node of the logger chain,
+ * kept separately for each {@link LogLevel}. Counters are {@link LongAdder}s,
+ * which stripe updates across cells so concurrent writers do not contend.
+ */
+public class NodeMetrics {
+    /** The node's display name */
+    private final String name;
+
+    /** Messages the node wrote, by level ordinal */
+    private final LongAdder[] accepted = newAdders();
+
+    /** Messages that passed the node without being written, by level ordinal */
+    private final LongAdder[] skipped = newAdders();
+
+    /** Messages a filter stopped, by level ordinal */
+    private final LongAdder[] filtered = newAdders();
+
+    /** Writes that threw, by level ordinal */
+    private final LongAdder[] failed = newAdders();
+
+    /** Write latencies in nanoseconds, by level ordinal */
+    private final LatencyHistogram[] latencies = new LatencyHistogram[LogLevel.values().length];
+
+    /**
+     * Constructs a new NodeMetrics.
+     *
+     * @param name The node's display name
+     */
+    public NodeMetrics(String name) {
+        this.name = name;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Creates one counter per level.
+     *
+     * @return The counters, indexed by level ordinal
+     */
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[LogLevel.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Records a successful write.
+     *
+     * @param level The level of the message
+     * @param nanos How long the write took
+     */
+    public void recordAccepted(LogLevel level, long nanos) {
+        accepted[level.ordinal()].increment();
+        latencies[level.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records a message the node handled and stopped from going further down the chain.
+     *
+     * @param level The level of the message
+     * @param nanos How long the node took to decide
+     */
+    public void recordFiltered(LogLevel level, long nanos) {
+        filtered[level.ordinal()].increment();
+        latencies[level.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records a write that threw.
+     *
+     * @param level The level of the message
+     * @param nanos How long the write took before failing
+     */
+    public void recordFailed(LogLevel level, long nanos) {
+        failed[level.ordinal()].increment();
+        latencies[level.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records a message that passed this node without being written.
+     *
+     * @param level The level of the message
+     */
+    public void recordSkipped(LogLevel level) {
+        skipped[level.ordinal()].increment();
+    }
+
+    /**
+     * Returns the node's display name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the accepted count for a level.
+     *
+     * @param level The level
+     * @return The count
+     */
+    public long getAccepted(LogLevel level) {
+        return accepted[level.ordinal()].sum();
+    }
+
+    /**
+     * Returns the skipped count for a level.
+     *
+     * @param level The level
+     * @return The count
+     */
+    public long getSkipped(LogLevel level) {
+        return skipped[level.ordinal()].sum();
+    }
+
+    /**
+     * Returns the filtered count for a level.
+     *
+     * @param level The level
+     * @return The count
+     */
+    public long getFiltered(LogLevel level) {
+        return filtered[level.ordinal()].sum();
+    }
+
+    /**
+     * Returns the failed count for a level.
+     *
+     * @param level The level
+     * @return The count
+     */
+    public long getFailed(LogLevel level) {
+        return failed[level.ordinal()].sum();
+    }
+
+    /**
+     * Returns the write-latency histogram for a level.
+     *
+     * @param level The level
+     * @return The histogram
+     */
+    public LatencyHistogram getLatency(LogLevel level) {
+        return latencies[level.ordinal()];
+    }
+
+    /**
+     * Clears the counters for a level and returns their values before clearing.
+     * The values are cleared one after the other, so a write racing with the
+     * reset may be counted in either interval, but never in both.
+     *
+     * @param level The level
+     * @return The accepted, skipped, filtered and failed counts, in that order
+     */
+    public long[] resetCounts(LogLevel level) {
+        int i = level.ordinal();
+        return new long[] {accepted[i].sumThenReset(), skipped[i].sumThenReset(), filtered[i].sumThenReset(),
+                failed[i].sumThenReset()};
+    }
+}
@@ -0,0 +1,113 @@
+package com.systemdesign.chain_of_responsibility.metrics;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Message counts per level over the most recent fixed-length buckets, such as
+ * the last 60 seconds or the last 60 minutes.
+ *
+ * Each level has a circular array of buckets. A bucket holds one long that
+ * packs the bucket's number in its high 32 bits and its count in its low 32
+ * bits, so a writer that finds a stale bucket restarts it and counts itself in
+ * a single compare-and-set. Memory is fixed, and there is no lock and no
+ * background thread.
+ */
+public class RateRollup {
+    /** Mask of the count half of a bucket */
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    /** Number of buckets kept per level */
+    private final int buckets;
+
+    /** Length of a bucket in milliseconds */
+    private final long bucketMillis;
+
+    /** Packed buckets, level by level */
+    private final AtomicLongArray counts;
+
+    /**
+     * Constructs a new RateRollup.
+     *
+     * @param buckets Number of buckets kept per level
+     * @param bucketMillis Length of a bucket in milliseconds
+     */
+    public RateRollup(int buckets, long bucketMillis) {
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.counts = new AtomicLongArray(buckets * LogLevel.values().length);
+    }
+
+    /**
+     * Counts one message.
+     *
+     * @param level The level of the message
+     * @param nowMillis The current time in epoch milliseconds
+     */
+    public void record(LogLevel level, long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        long stamp = bucket << 32;
+        int index = index(level, bucket);
+        long current;
+        long updated;
+        do {
+            current = counts.get(index);
+            if ((current & ~COUNT_MASK) != stamp) {
+                updated = stamp | 1;
+            } else if ((current & COUNT_MASK) == COUNT_MASK) {
+                return;
+            } else {
+                updated = current + 1;
+            }
+        } while (!counts.compareAndSet(index, current, updated));
+    }
+
+    /**
+     * Returns the counts of the most recent buckets, oldest first. The last
+     * value is the bucket still being filled.
+     *
+     * @param level The level
+     * @param nowMillis The current time in epoch milliseconds
+     * @return One count per bucket
+     */
+    public long[] counts(LogLevel level, long nowMillis) {
+        long newest = nowMillis / bucketMillis;
+        long[] result = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            long bucket = newest - buckets + 1 + i;
+            long value = counts.get(index(level, bucket));
+            result[i] = (value & ~COUNT_MASK) == bucket << 32 ? value & COUNT_MASK : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of buckets kept per level.
+     *
+     * @return The bucket count
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Returns the length of a bucket.
+     *
+     * @return The bucket length in milliseconds
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Returns the array index of a bucket.
+     *
+     * @param level The level
+     * @param bucket The bucket's number
+     * @return The index into {@link #counts}
+     */
+    private int index(LogLevel level, long bucket) {
+        return level.ordinal() * buckets + (int) Math.floorMod(bucket, (long) buckets);
+    }
+}
@@ -0,0 +1,106 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response model for the state of admission control.
+ */
+@Schema(description = "Current concurrency limit, latencies and per-level shedding")
+public class AdmissionStatsResponse {
+    @Schema(description = "Requests that may currently be in flight", example = "48")
+    private final int limit;
+
+    @Schema(description = "Requests currently in flight", example = "12")
+    private final int inFlight;
+
+    @Schema(description = "Messages handed to the chain but not yet written, counted against the limit",
+            example = "20")
+    private final int backlog;
+
+    @Schema(description = "Average time messages took to reach the sinks in the last sampling window, "
+            + "in milliseconds", example = "0.82")
+    private final double recentLatencyMillis;
+
+    @Schema(description = "Long-term average latency the recent latency is compared against, in milliseconds",
+            example = "0.64")
+    private final double baselineLatencyMillis;
+
+    @Schema(description = "Admitted and shed requests of each level")
+    private final List<LevelAdmission> levels;
+
+    /**
+     * Constructs a new AdmissionStatsResponse.
+     *
+     * @param limit Requests that may currently be in flight
+     * @param inFlight Requests currently in flight
+     * @param backlog Messages handed to the chain but not yet written
+     * @param recentLatencyMillis Average latency of the last sampling window, in milliseconds
+     * @param baselineLatencyMillis Long-term average latency, in milliseconds
+     * @param levels Admitted and shed requests of each level
+     */
+    public AdmissionStatsResponse(int limit, int inFlight, int backlog, double recentLatencyMillis,
+                                  double baselineLatencyMillis, List<LevelAdmission> levels) {
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.backlog = backlog;
+        this.recentLatencyMillis = recentLatencyMillis;
+        this.baselineLatencyMillis = baselineLatencyMillis;
+        this.levels = levels;
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return Requests that may currently be in flight
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return Requests currently in flight
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of messages handed to the chain but not yet written.
+     *
+     * @return The backlog
+     */
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Returns the average latency of the last sampling window.
+     *
+     * @return The latency in milliseconds
+     */
+    public double getRecentLatencyMillis() {
+        return recentLatencyMillis;
+    }
+
+    /**
+     * Returns the long-term average latency.
+     *
+     * @return The latency in milliseconds
+     */
+    public double getBaselineLatencyMillis() {
+        return baselineLatencyMillis;
+    }
+
+    /**
+     * Returns the admitted and shed requests of each level.
+     *
+     * @return The per-level counts
+     */
+    public List<LevelAdmission> getLevels() {
+        return levels;
+    }
+}
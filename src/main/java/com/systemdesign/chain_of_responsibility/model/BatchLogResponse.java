@@ -0,0 +1,98 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Response model for batch logging.
+ * Reports how many entries of the batch were passed to the chain and how many
+ * were rejected, along with the reason parsing stopped early, if it did.
+ */
+@Schema(description = "Result of a batch logging request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchLogResponse {
+    /** Number of entries passed to the logger chain */
+    @Schema(description = "Number of entries passed to the logger chain", example = "998")
+    private long accepted;
+
+    /** Number of entries that were malformed or had an unknown level */
+    @Schema(description = "Number of entries that were malformed or had an unknown level", example = "2")
+    private long rejected;
+
+    /** Why parsing stopped before the end of the body, or null if the whole body was read */
+    @Schema(description = "Why parsing stopped before the end of the body; absent if the whole body was read")
+    private String error;
+
+    /**
+     * Default constructor required for JSON serialization.
+     */
+    public BatchLogResponse() {
+    }
+
+    /**
+     * Constructs a new BatchLogResponse.
+     *
+     * @param accepted Number of entries passed to the logger chain
+     * @param rejected Number of entries that were rejected
+     * @param error Why parsing stopped early, or null
+     */
+    public BatchLogResponse(long accepted, long rejected, String error) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.error = error;
+    }
+
+    /**
+     * Gets the number of accepted entries.
+     *
+     * @return The accepted count
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Sets the number of accepted entries.
+     *
+     * @param accepted The accepted count to set
+     */
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+
+    /**
+     * Gets the number of rejected entries.
+     *
+     * @return The rejected count
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Sets the number of rejected entries.
+     *
+     * @param rejected The rejected count to set
+     */
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * Gets the reason parsing stopped early.
+     *
+     * @return The error description, or null if the whole body was read
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Sets the reason parsing stopped early.
+     *
+     * @param error The error description to set
+     */
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,80 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response model for the logger chain statistics.
+ * Holds per-node statistics and, in asynchronous mode, the ring buffer's
+ * drop counters or, in striped capture mode, the merger's statistics.
+ */
+@Schema(description = "Statistics of the logger chain")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChainStatsResponse {
+    @Schema(description = "Whether per-node instrumentation is enabled")
+    private final boolean instrumented;
+
+    @Schema(description = "Statistics of each chain node, in chain order")
+    private final List<NodeStats> nodes;
+
+    @Schema(description = "Events dropped by each overflow policy; present in asynchronous mode")
+    private final Map<String, Long> droppedByPolicy;
+
+    @Schema(description = "Lag and ordering of the merger; present in striped capture mode")
+    private final MergerStats merger;
+
+    /**
+     * Constructs a new ChainStatsResponse.
+     *
+     * @param instrumented Whether per-node instrumentation is enabled
+     * @param nodes Statistics of each chain node
+     * @param droppedByPolicy Events dropped by each overflow policy, or null
+     * @param merger Statistics of the striped capture merger, or null
+     */
+    public ChainStatsResponse(boolean instrumented, List<NodeStats> nodes, Map<String, Long> droppedByPolicy,
+                              MergerStats merger) {
+        this.instrumented = instrumented;
+        this.nodes = nodes;
+        this.droppedByPolicy = droppedByPolicy;
+        this.merger = merger;
+    }
+
+    /**
+     * Returns whether per-node instrumentation is enabled.
+     *
+     * @return Whether per-node instrumentation is enabled
+     */
+    public boolean isInstrumented() {
+        return instrumented;
+    }
+
+    /**
+     * Returns statistics of each chain node, in chain order.
+     *
+     * @return Statistics of each chain node, in chain order
+     */
+    public List<NodeStats> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns events dropped by each overflow policy; present in asynchronous mode.
+     *
+     * @return Events dropped by each overflow policy; present in asynchronous mode
+     */
+    public Map<String, Long> getDroppedByPolicy() {
+        return droppedByPolicy;
+    }
+
+    /**
+     * Returns lag and ordering of the merger; present in striped capture mode.
+     *
+     * @return Lag and ordering of the merger; present in striped capture mode
+     */
+    public MergerStats getMerger() {
+        return merger;
+    }
+}
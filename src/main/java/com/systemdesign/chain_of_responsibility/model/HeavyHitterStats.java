@@ -0,0 +1,63 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A message shape that makes up a large share of the volume.
+ */
+@Schema(description = "A message shape among the most frequent")
+public class HeavyHitterStats {
+    /** Level of the shape's messages */
+    @Schema(description = "Level of the messages", example = "INFO")
+    private final LogLevel level;
+
+    /** A message with this shape */
+    @Schema(description = "First message seen with this shape, or its template; digits vary between messages",
+            example = "Request 1842 took 12 ms")
+    private final String sample;
+
+    /** Estimated number of messages with this shape */
+    @Schema(description = "Estimated number of messages; never below the true count", example = "48210")
+    private final long estimatedCount;
+
+    /**
+     * Constructs a new HeavyHitterStats.
+     *
+     * @param level Level of the shape's messages
+     * @param sample A message with this shape
+     * @param estimatedCount Estimated number of messages with this shape
+     */
+    public HeavyHitterStats(LogLevel level, String sample, long estimatedCount) {
+        this.level = level;
+        this.sample = sample;
+        this.estimatedCount = estimatedCount;
+    }
+
+    /**
+     * Gets the level of the shape's messages.
+     *
+     * @return The level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets a message with this shape.
+     *
+     * @return The sample message or template
+     */
+    public String getSample() {
+        return sample;
+    }
+
+    /**
+     * Gets the estimated number of messages with this shape.
+     *
+     * @return The estimate
+     */
+    public long getEstimatedCount() {
+        return estimatedCount;
+    }
+}
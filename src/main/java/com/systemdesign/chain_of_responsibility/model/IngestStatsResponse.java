@@ -0,0 +1,174 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response model for the throughput and errors of the socket listener.
+ */
+@Schema(description = "Connections, throughput and errors of the raw TCP and UDP listener")
+public class IngestStatsResponse {
+    @Schema(description = "Port TCP connections are accepted on, or -1 if TCP is disabled", example = "5171")
+    private final int tcpPort;
+
+    @Schema(description = "Port datagrams are received on, or -1 if UDP is disabled", example = "5172")
+    private final int udpPort;
+
+    @Schema(description = "TCP connections currently open", example = "3")
+    private final int openConnections;
+
+    @Schema(description = "TCP connections accepted since startup", example = "17")
+    private final long acceptedConnections;
+
+    @Schema(description = "TCP connections closed because of a malformed frame or an I/O error", example = "1")
+    private final long droppedConnections;
+
+    @Schema(description = "Datagrams received", example = "5400")
+    private final long datagrams;
+
+    @Schema(description = "Bytes received over both protocols", example = "73400320")
+    private final long bytes;
+
+    @Schema(description = "Frames decoded, of every level", example = "1048576")
+    private final long frames;
+
+    @Schema(description = "Frames with an impossible length or unknown level, and truncated frames", example = "2")
+    private final long malformedFrames;
+
+    @Schema(description = "Messages whose logging threw", example = "0")
+    private final long failedMessages;
+
+    @Schema(description = "Frames of each level per second and per minute")
+    private final List<LevelRates> rates;
+
+    /**
+     * Constructs a new IngestStatsResponse.
+     *
+     * @param tcpPort Port TCP connections are accepted on, or -1 if TCP is disabled
+     * @param udpPort Port datagrams are received on, or -1 if UDP is disabled
+     * @param openConnections TCP connections currently open
+     * @param acceptedConnections TCP connections accepted since startup
+     * @param droppedConnections TCP connections closed because of a malformed frame or an I/O error
+     * @param datagrams Datagrams received
+     * @param bytes Bytes received over both protocols
+     * @param frames Frames decoded, of every level
+     * @param malformedFrames Frames with an impossible length or unknown level, and truncated frames
+     * @param failedMessages Messages whose logging threw
+     * @param rates Frames of each level per second and per minute
+     */
+    public IngestStatsResponse(int tcpPort, int udpPort, int openConnections, long acceptedConnections,
+                               long droppedConnections, long datagrams, long bytes, long frames,
+                               long malformedFrames, long failedMessages, List<LevelRates> rates) {
+        this.tcpPort = tcpPort;
+        this.udpPort = udpPort;
+        this.openConnections = openConnections;
+        this.acceptedConnections = acceptedConnections;
+        this.droppedConnections = droppedConnections;
+        this.datagrams = datagrams;
+        this.bytes = bytes;
+        this.frames = frames;
+        this.malformedFrames = malformedFrames;
+        this.failedMessages = failedMessages;
+        this.rates = rates;
+    }
+
+    /**
+     * Returns the TCP port.
+     *
+     * @return The port, or -1 if TCP is disabled
+     */
+    public int getTcpPort() {
+        return tcpPort;
+    }
+
+    /**
+     * Returns the UDP port.
+     *
+     * @return The port, or -1 if UDP is disabled
+     */
+    public int getUdpPort() {
+        return udpPort;
+    }
+
+    /**
+     * Returns the number of open TCP connections.
+     *
+     * @return TCP connections currently open
+     */
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    /**
+     * Returns the number of accepted TCP connections.
+     *
+     * @return TCP connections accepted since startup
+     */
+    public long getAcceptedConnections() {
+        return acceptedConnections;
+    }
+
+    /**
+     * Returns the number of dropped TCP connections.
+     *
+     * @return TCP connections closed because of a malformed frame or an I/O error
+     */
+    public long getDroppedConnections() {
+        return droppedConnections;
+    }
+
+    /**
+     * Returns the number of datagrams received.
+     *
+     * @return Datagrams received
+     */
+    public long getDatagrams() {
+        return datagrams;
+    }
+
+    /**
+     * Returns the number of bytes received.
+     *
+     * @return Bytes received over both protocols
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of frames decoded.
+     *
+     * @return Frames decoded, of every level
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the number of malformed frames.
+     *
+     * @return Malformed and truncated frames
+     */
+    public long getMalformedFrames() {
+        return malformedFrames;
+    }
+
+    /**
+     * Returns the number of messages whose logging threw.
+     *
+     * @return Messages whose logging threw
+     */
+    public long getFailedMessages() {
+        return failedMessages;
+    }
+
+    /**
+     * Returns the frame rates of each level.
+     *
+     * @return Frames of each level per second and per minute
+     */
+    public List<LevelRates> getRates() {
+        return rates;
+    }
+}
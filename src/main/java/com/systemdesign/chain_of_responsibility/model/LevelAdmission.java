@@ -0,0 +1,62 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Admitted and shed request counts of one level.
+ */
+@Schema(description = "Requests of one level admitted and shed by admission control")
+public class LevelAdmission {
+    /** The level */
+    @Schema(description = "The level", example = "INFO")
+    private final LogLevel level;
+
+    /** Requests admitted */
+    @Schema(description = "Requests admitted since startup", example = "120431")
+    private final long admitted;
+
+    /** Requests shed */
+    @Schema(description = "Requests answered with 429 since startup", example = "352")
+    private final long shed;
+
+    /**
+     * Constructs a new LevelAdmission.
+     *
+     * @param level The level
+     * @param admitted Requests admitted
+     * @param shed Requests shed
+     */
+    public LevelAdmission(LogLevel level, long admitted, long shed) {
+        this.level = level;
+        this.admitted = admitted;
+        this.shed = shed;
+    }
+
+    /**
+     * Gets the level.
+     *
+     * @return The level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the number of requests admitted.
+     *
+     * @return The admitted count
+     */
+    public long getAdmitted() {
+        return admitted;
+    }
+
+    /**
+     * Gets the number of requests shed.
+     *
+     * @return The shed count
+     */
+    public long getShed() {
+        return shed;
+    }
+}
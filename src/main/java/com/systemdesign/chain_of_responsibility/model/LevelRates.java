@@ -0,0 +1,62 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Message rates of one level over the last hour.
+ */
+@Schema(description = "Message counts of one level per second and per minute")
+public class LevelRates {
+    /** The level */
+    @Schema(description = "The level", example = "ERROR")
+    private final LogLevel level;
+
+    /** Counts of the last 60 seconds, oldest first */
+    @Schema(description = "Messages in each of the last 60 seconds, oldest first; the last is the current second")
+    private final long[] perSecond;
+
+    /** Counts of the last 60 minutes, oldest first */
+    @Schema(description = "Messages in each of the last 60 minutes, oldest first; the last is the current minute")
+    private final long[] perMinute;
+
+    /**
+     * Constructs a new LevelRates.
+     *
+     * @param level The level
+     * @param perSecond Counts of the last 60 seconds, oldest first
+     * @param perMinute Counts of the last 60 minutes, oldest first
+     */
+    public LevelRates(LogLevel level, long[] perSecond, long[] perMinute) {
+        this.level = level;
+        this.perSecond = perSecond;
+        this.perMinute = perMinute;
+    }
+
+    /**
+     * Gets the level.
+     *
+     * @return The level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the counts of the last 60 seconds.
+     *
+     * @return The counts, oldest first
+     */
+    public long[] getPerSecond() {
+        return perSecond;
+    }
+
+    /**
+     * Gets the counts of the last 60 minutes.
+     *
+     * @return The counts, oldest first
+     */
+    public long[] getPerMinute() {
+        return perMinute;
+    }
+}
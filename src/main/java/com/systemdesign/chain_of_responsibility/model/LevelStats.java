@@ -0,0 +1,145 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Response model for one chain node's statistics at one log level.
+ * Latencies are write times in nanoseconds, reported as bucket upper bounds
+ * accurate to about 6%.
+ */
+@Schema(description = "Statistics of one chain node at one log level")
+public class LevelStats {
+    @Schema(description = "Messages the node wrote")
+    private final long accepted;
+
+    @Schema(description = "Messages that passed the node without being written")
+    private final long skipped;
+
+    @Schema(description = "Messages a filter stopped from going further down the chain")
+    private final long filtered;
+
+    @Schema(description = "Writes that threw an exception")
+    private final long failed;
+
+    @Schema(description = "Mean write time in nanoseconds")
+    private final double meanNanos;
+
+    @Schema(description = "Median write time in nanoseconds")
+    private final long p50Nanos;
+
+    @Schema(description = "99th percentile write time in nanoseconds")
+    private final long p99Nanos;
+
+    @Schema(description = "99.9th percentile write time in nanoseconds")
+    private final long p999Nanos;
+
+    @Schema(description = "Longest write time in nanoseconds")
+    private final long maxNanos;
+
+    /**
+     * Constructs a new LevelStats.
+     *
+     * @param accepted Messages the node wrote
+     * @param skipped Messages that passed the node without being written
+     * @param filtered Messages a filter stopped
+     * @param failed Writes that threw an exception
+     * @param meanNanos Mean write time
+     * @param p50Nanos Median write time
+     * @param p99Nanos 99th percentile write time
+     * @param p999Nanos 99.9th percentile write time
+     * @param maxNanos Longest write time
+     */
+    public LevelStats(long accepted, long skipped, long filtered, long failed, double meanNanos,
+                      long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.accepted = accepted;
+        this.skipped = skipped;
+        this.filtered = filtered;
+        this.failed = failed;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Returns messages the node wrote.
+     *
+     * @return Messages the node wrote
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Returns messages that passed the node without being written.
+     *
+     * @return Messages that passed the node without being written
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Returns messages a filter stopped from going further down the chain.
+     *
+     * @return Messages a filter stopped from going further down the chain
+     */
+    public long getFiltered() {
+        return filtered;
+    }
+
+    /**
+     * Returns writes that threw an exception.
+     *
+     * @return Writes that threw an exception
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns mean write time in nanoseconds.
+     *
+     * @return Mean write time in nanoseconds
+     */
+    public double getMeanNanos() {
+        return meanNanos;
+    }
+
+    /**
+     * Returns median write time in nanoseconds.
+     *
+     * @return Median write time in nanoseconds
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * Returns 99th percentile write time in nanoseconds.
+     *
+     * @return 99th percentile write time in nanoseconds
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Returns 99.9th percentile write time in nanoseconds.
+     *
+     * @return 99.9th percentile write time in nanoseconds
+     */
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    /**
+     * Returns longest write time in nanoseconds.
+     *
+     * @return Longest write time in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+}
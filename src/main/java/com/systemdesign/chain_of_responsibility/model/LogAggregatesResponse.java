@@ -0,0 +1,75 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response model for the streaming aggregates of the chain's traffic.
+ */
+@Schema(description = "Message rates by level and the most frequent message shapes")
+public class LogAggregatesResponse {
+    @Schema(description = "Message rates of each level")
+    private final List<LevelRates> rates;
+
+    @Schema(description = "The most frequent message shapes, largest first")
+    private final List<HeavyHitterStats> heavyHitters;
+
+    @Schema(description = "Messages counted since startup or the last reset", example = "1250000")
+    private final long total;
+
+    @Schema(description = "Amount by which an estimated count usually exceeds the true count", example = "1660")
+    private final long errorBound;
+
+    /**
+     * Constructs a new LogAggregatesResponse.
+     *
+     * @param rates Message rates of each level
+     * @param heavyHitters The most frequent message shapes, largest first
+     * @param total Messages counted since startup or the last reset
+     * @param errorBound Amount by which an estimated count usually exceeds the true count
+     */
+    public LogAggregatesResponse(List<LevelRates> rates, List<HeavyHitterStats> heavyHitters,
+                                 long total, long errorBound) {
+        this.rates = rates;
+        this.heavyHitters = heavyHitters;
+        this.total = total;
+        this.errorBound = errorBound;
+    }
+
+    /**
+     * Returns the message rates of each level.
+     *
+     * @return The rates
+     */
+    public List<LevelRates> getRates() {
+        return rates;
+    }
+
+    /**
+     * Returns the most frequent message shapes.
+     *
+     * @return The heavy hitters, largest first
+     */
+    public List<HeavyHitterStats> getHeavyHitters() {
+        return heavyHitters;
+    }
+
+    /**
+     * Returns the number of messages counted since startup or the last reset.
+     *
+     * @return The total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the amount by which an estimated count usually exceeds the true count.
+     *
+     * @return The error bound
+     */
+    public long getErrorBound() {
+        return errorBound;
+    }
+}
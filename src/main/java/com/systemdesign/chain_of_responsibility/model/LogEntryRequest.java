@@ -0,0 +1,54 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Request model for a single entry of a batch.
+ * Unlike the single-message endpoints, where the level is part of the path,
+ * every batch entry carries its own level.
+ */
+@Schema(description = "Log entry inside a batch request")
+public class LogEntryRequest extends LogMessageRequest {
+    /**
+     * The log level of the entry (INFO, DEBUG or ERROR).
+     */
+    @Schema(description = "The log level of the entry",
+            example = "ERROR",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private String level;
+
+    /**
+     * Default constructor required for JSON deserialization.
+     */
+    public LogEntryRequest() {
+    }
+
+    /**
+     * Constructs a new LogEntryRequest with the specified level and message.
+     *
+     * @param level The log level of the entry
+     * @param message The message to be logged
+     */
+    public LogEntryRequest(String level, String message) {
+        super(message);
+        this.level = level;
+    }
+
+    /**
+     * Gets the log level of the entry.
+     *
+     * @return The log level name
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the log level of the entry.
+     *
+     * @param level The log level name to set
+     */
+    public void setLevel(String level) {
+        this.level = level;
+    }
+}
@@ -0,0 +1,62 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One message read back from the block log files.
+ */
+@Schema(description = "A stored message in the queried time range")
+public class LogHistoryEntry {
+    /** When the message was logged, in epoch milliseconds */
+    @Schema(description = "When the message was logged, in epoch milliseconds", example = "1760659200000")
+    private final long timestamp;
+
+    /** The message's level */
+    @Schema(description = "Level the message was logged at", example = "ERROR")
+    private final LogLevel level;
+
+    /** The message text */
+    @Schema(description = "The message text", example = "Database connection failed")
+    private final String message;
+
+    /**
+     * Constructs a new LogHistoryEntry.
+     *
+     * @param timestamp When the message was logged, in epoch milliseconds
+     * @param level The message's level
+     * @param message The message text
+     */
+    public LogHistoryEntry(long timestamp, LogLevel level, String message) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.message = message;
+    }
+
+    /**
+     * Gets when the message was logged.
+     *
+     * @return The timestamp in epoch milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the message's level.
+     *
+     * @return The level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the message text.
+     *
+     * @return The message
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,94 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response model for time-range queries of the block log files.
+ */
+@Schema(description = "Result of a query of the stored log history")
+public class LogHistoryResponse {
+    /** The matching messages, oldest first */
+    @Schema(description = "Matching messages, oldest first")
+    private final List<LogHistoryEntry> entries;
+
+    /** Whether more messages matched than were returned */
+    @Schema(description = "Whether more messages matched than the limit allowed", example = "false")
+    private final boolean truncated;
+
+    /** Blocks read and decompressed */
+    @Schema(description = "Blocks read and decompressed to answer the query", example = "3")
+    private final int blocksRead;
+
+    /** Blocks skipped using the time index */
+    @Schema(description = "Blocks skipped because the time index ruled them out", example = "1021")
+    private final int blocksSkipped;
+
+    /** Blocks that failed their checksum or could not be decompressed */
+    @Schema(description = "Corrupt blocks left out of the result", example = "0")
+    private final int blocksCorrupt;
+
+    /**
+     * Constructs a new LogHistoryResponse.
+     *
+     * @param entries The matching messages, oldest first
+     * @param truncated Whether more messages matched than were returned
+     * @param blocksRead Blocks read and decompressed
+     * @param blocksSkipped Blocks skipped using the time index
+     * @param blocksCorrupt Corrupt blocks left out of the result
+     */
+    public LogHistoryResponse(List<LogHistoryEntry> entries, boolean truncated, int blocksRead, int blocksSkipped,
+                              int blocksCorrupt) {
+        this.entries = entries;
+        this.truncated = truncated;
+        this.blocksRead = blocksRead;
+        this.blocksSkipped = blocksSkipped;
+        this.blocksCorrupt = blocksCorrupt;
+    }
+
+    /**
+     * Gets the matching messages.
+     *
+     * @return The messages, oldest first
+     */
+    public List<LogHistoryEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets whether more messages matched than were returned.
+     *
+     * @return true if the result was cut at the limit
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Gets the number of blocks read.
+     *
+     * @return The blocks read and decompressed
+     */
+    public int getBlocksRead() {
+        return blocksRead;
+    }
+
+    /**
+     * Gets the number of blocks skipped.
+     *
+     * @return The blocks skipped using the time index
+     */
+    public int getBlocksSkipped() {
+        return blocksSkipped;
+    }
+
+    /**
+     * Gets the number of corrupt blocks.
+     *
+     * @return The blocks left out because they are corrupt
+     */
+    public int getBlocksCorrupt() {
+        return blocksCorrupt;
+    }
+}
@@ -1,22 +1,58 @@
 package com.systemdesign.chain_of_responsibility.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Request model for logging messages.
  * This class represents the structure of the request body for logging endpoints.
+ * A request carries either a preformatted message or a structured event made of
+ * a template, its arguments, key/value fields and an optional timestamp.
  */
 @Schema(description = "Request model for logging messages")
 public class LogMessageRequest {
     /**
      * The message to be logged.
-     * This field is required and should contain the actual message content.
+     * This field is required unless a template is given, and should contain the actual message content.
      */
-    @Schema(description = "The message to be logged", 
-            example = "This is a sample log message", 
-            required = true)
+    @Schema(description = "The message to be logged; required unless template is set",
+            example = "This is a sample log message")
     private String message;
 
+    /**
+     * Template of a structured event, with {} placeholders for the arguments.
+     * When set, the event is built from the template, arguments and fields, and
+     * {@link #message} is ignored.
+     */
+    @Schema(description = "Template of a structured event, with {} placeholders; replaces message when set",
+            example = "User {} logged in from {}")
+    private String template;
+
+    /**
+     * Arguments substituted for the template's placeholders, in order.
+     */
+    @Schema(description = "Arguments substituted for the template's placeholders, in order",
+            example = "[\"alice\", \"10.0.0.7\"]")
+    private List<Object> args;
+
+    /**
+     * Key/value fields attached to a structured event.
+     */
+    @Schema(description = "Key/value fields attached to a structured event",
+            example = "{\"region\": \"eu-west-1\"}")
+    private Map<String, Object> fields;
+
+    /**
+     * When the event happened, in epoch milliseconds; defaults to the time of receipt.
+     */
+    @Schema(description = "When the event happened, in epoch milliseconds; defaults to the time of receipt",
+            example = "1760659200000")
+    private Long timestamp;
+
     /**
      * Default constructor required for JSON deserialization.
      */
@@ -49,4 +85,96 @@ public class LogMessageRequest {
     public void setMessage(String message) {
         this.message = message;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Gets the message template.
+     *
+     * @return The template, or null for a plain message
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Sets the message template.
+     *
+     * @param template The template to set
+     */
+    public void setTemplate(String template) {
+        this.template = template;
+    }
+
+    /**
+     * Gets the arguments for the template's placeholders.
+     *
+     * @return The arguments, or null
+     */
+    public List<Object> getArgs() {
+        return args;
+    }
+
+    /**
+     * Sets the arguments for the template's placeholders.
+     *
+     * @param args The arguments to set
+     */
+    public void setArgs(List<Object> args) {
+        this.args = args;
+    }
+
+    /**
+     * Gets the key/value fields of the event.
+     *
+     * @return The fields, or null
+     */
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+
+    /**
+     * Sets the key/value fields of the event.
+     *
+     * @param fields The fields to set
+     */
+    public void setFields(Map<String, Object> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Gets when the event happened.
+     *
+     * @return The timestamp in epoch milliseconds, or null to use the time of receipt
+     */
+    public Long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Sets when the event happened.
+     *
+     * @param timestamp The timestamp in epoch milliseconds
+     */
+    public void setTimestamp(Long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Checks whether the request describes a structured event rather than a plain message.
+     *
+     * @return true if a template is set
+     */
+    @JsonIgnore
+    public boolean isStructured() {
+        return template != null;
+    }
+
+    /**
+     * Converts the request to a structured event, timestamped now unless the
+     * request carries its own timestamp.
+     *
+     * @return The event
+     */
+    public LogEvent toEvent() {
+        return new LogEvent(template, args, fields, timestamp != null ? timestamp : System.currentTimeMillis());
+    }
+}
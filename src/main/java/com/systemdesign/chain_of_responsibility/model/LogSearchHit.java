@@ -0,0 +1,77 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One stored message matched by a search.
+ */
+@Schema(description = "A stored message matching the search")
+public class LogSearchHit {
+    /** The message's sequence number in the store */
+    @Schema(description = "Sequence number of the message in the store", example = "10452")
+    private final long sequence;
+
+    /** When the message was stored, in epoch milliseconds */
+    @Schema(description = "When the message was stored, in epoch milliseconds", example = "1760659200000")
+    private final long timestamp;
+
+    /** The message's level */
+    @Schema(description = "Level the message was logged at", example = "ERROR")
+    private final LogLevel level;
+
+    /** The message text */
+    @Schema(description = "The message text", example = "Database connection failed")
+    private final String message;
+
+    /**
+     * Constructs a new LogSearchHit.
+     *
+     * @param sequence The message's sequence number in the store
+     * @param timestamp When the message was stored, in epoch milliseconds
+     * @param level The message's level
+     * @param message The message text
+     */
+    public LogSearchHit(long sequence, long timestamp, LogLevel level, String message) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.level = level;
+        this.message = message;
+    }
+
+    /**
+     * Gets the message's sequence number.
+     *
+     * @return The sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets when the message was stored.
+     *
+     * @return The timestamp in epoch milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the message's level.
+     *
+     * @return The level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the message text.
+     *
+     * @return The message
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,48 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response model for searches of the recent-log store.
+ */
+@Schema(description = "Result of a search of recent messages")
+public class LogSearchResponse {
+    /** The matching messages, newest first */
+    @Schema(description = "Matching messages, newest first")
+    private final List<LogSearchHit> hits;
+
+    /** Whether more messages matched than were returned */
+    @Schema(description = "Whether more messages matched than the limit allowed", example = "false")
+    private final boolean truncated;
+
+    /**
+     * Constructs a new LogSearchResponse.
+     *
+     * @param hits The matching messages, newest first
+     * @param truncated Whether more messages matched than were returned
+     */
+    public LogSearchResponse(List<LogSearchHit> hits, boolean truncated) {
+        this.hits = hits;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Gets the matching messages.
+     *
+     * @return The messages, newest first
+     */
+    public List<LogSearchHit> getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets whether more messages matched than were returned.
+     *
+     * @return true if the result was cut off at the limit
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
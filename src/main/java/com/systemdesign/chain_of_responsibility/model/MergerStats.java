@@ -0,0 +1,145 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Response model for the merger of the striped capture mode.
+ * Lag is the time from an event's capture to its delivery to the chain, in
+ * nanoseconds, reported as bucket upper bounds accurate to about 6%.
+ */
+@Schema(description = "Statistics of the striped capture merger")
+public class MergerStats {
+    @Schema(description = "Producer stripes, including the shared one")
+    private final int stripes;
+
+    @Schema(description = "Events waiting in the stripes")
+    private final long pending;
+
+    @Schema(description = "Events delivered to the chain")
+    private final long merged;
+
+    @Schema(description = "Events that reached their stripe later than the reordering window and were delivered after a younger event")
+    private final long outOfOrder;
+
+    @Schema(description = "Events whose producer found its stripe full and had to wait")
+    private final long stalls;
+
+    @Schema(description = "Reordering window in nanoseconds")
+    private final long windowNanos;
+
+    @Schema(description = "Median lag in nanoseconds")
+    private final long lagP50Nanos;
+
+    @Schema(description = "99th percentile lag in nanoseconds")
+    private final long lagP99Nanos;
+
+    @Schema(description = "Longest lag in nanoseconds")
+    private final long lagMaxNanos;
+
+    /**
+     * Constructs a new MergerStats.
+     *
+     * @param stripes Producer stripes, including the shared one
+     * @param pending Events waiting in the stripes
+     * @param merged Events delivered to the chain
+     * @param outOfOrder Events delivered after a younger event
+     * @param stalls Events whose producer found its stripe full
+     * @param windowNanos Reordering window
+     * @param lagP50Nanos Median lag
+     * @param lagP99Nanos 99th percentile lag
+     * @param lagMaxNanos Longest lag
+     */
+    public MergerStats(int stripes, long pending, long merged, long outOfOrder, long stalls, long windowNanos,
+                       long lagP50Nanos, long lagP99Nanos, long lagMaxNanos) {
+        this.stripes = stripes;
+        this.pending = pending;
+        this.merged = merged;
+        this.outOfOrder = outOfOrder;
+        this.stalls = stalls;
+        this.windowNanos = windowNanos;
+        this.lagP50Nanos = lagP50Nanos;
+        this.lagP99Nanos = lagP99Nanos;
+        this.lagMaxNanos = lagMaxNanos;
+    }
+
+    /**
+     * Returns the number of producer stripes, including the shared one.
+     *
+     * @return The stripe count
+     */
+    public int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Returns the number of events waiting in the stripes.
+     *
+     * @return The pending event count
+     */
+    public long getPending() {
+        return pending;
+    }
+
+    /**
+     * Returns the number of events delivered to the chain.
+     *
+     * @return The merged count
+     */
+    public long getMerged() {
+        return merged;
+    }
+
+    /**
+     * Returns the number of events delivered after a younger event.
+     *
+     * @return The out-of-order count
+     */
+    public long getOutOfOrder() {
+        return outOfOrder;
+    }
+
+    /**
+     * Returns the number of events whose producer found its stripe full.
+     *
+     * @return The stall count
+     */
+    public long getStalls() {
+        return stalls;
+    }
+
+    /**
+     * Returns the reordering window in nanoseconds.
+     *
+     * @return The reordering window
+     */
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    /**
+     * Returns the median lag in nanoseconds.
+     *
+     * @return The median lag
+     */
+    public long getLagP50Nanos() {
+        return lagP50Nanos;
+    }
+
+    /**
+     * Returns the 99th percentile lag in nanoseconds.
+     *
+     * @return The 99th percentile lag
+     */
+    public long getLagP99Nanos() {
+        return lagP99Nanos;
+    }
+
+    /**
+     * Returns the longest lag in nanoseconds.
+     *
+     * @return The longest lag
+     */
+    public long getLagMaxNanos() {
+        return lagMaxNanos;
+    }
+}
@@ -0,0 +1,61 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * Response model for the statistics of one node of the logger chain.
+ */
+@Schema(description = "Statistics of one chain node")
+public class NodeStats {
+    @Schema(description = "The node's name", example = "ErrorLogger")
+    private final String name;
+
+    @Schema(description = "Position of the node in the chain, starting at 0")
+    private final int position;
+
+    @Schema(description = "Statistics per log level")
+    private final Map<LogLevel, LevelStats> levels;
+
+    /**
+     * Constructs a new NodeStats.
+     *
+     * @param name The node's name
+     * @param position Position of the node in the chain
+     * @param levels Statistics per log level
+     */
+    public NodeStats(String name, int position, Map<LogLevel, LevelStats> levels) {
+        this.name = name;
+        this.position = position;
+        this.levels = levels;
+    }
+
+    /**
+     * Returns the node's name.
+     *
+     * @return The node's name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns position of the node in the chain, starting at 0.
+     *
+     * @return Position of the node in the chain, starting at 0
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns statistics per log level.
+     *
+     * @return Statistics per log level
+     */
+    public Map<LogLevel, LevelStats> getLevels() {
+        return levels;
+    }
+}
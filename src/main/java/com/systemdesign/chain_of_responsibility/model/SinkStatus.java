@@ -0,0 +1,139 @@
+package com.systemdesign.chain_of_responsibility.model;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Status of one sink of the logger chain.
+ * Queue counters are zero for sinks that are not queued.
+ */
+@Schema(description = "Status of one sink of the logger chain")
+public class SinkStatus {
+    /** The sink's display name */
+    @Schema(description = "Display name of the sink", example = "ErrorLogger")
+    private final String name;
+
+    /** The minimum level the sink writes */
+    @Schema(description = "Minimum level the sink writes", example = "ERROR")
+    private final LogLevel level;
+
+    /** Whether the sink has its own queue */
+    @Schema(description = "Whether the sink has its own queue and worker (fan-out mode)", example = "true")
+    private final boolean queued;
+
+    /** Whether the sink is marked degraded */
+    @Schema(description = "Whether messages for the sink are being dropped", example = "false")
+    private final boolean degraded;
+
+    /** Messages waiting in the sink's queue */
+    @Schema(description = "Messages waiting in the sink's queue", example = "0")
+    private final int queueDepth;
+
+    /** Messages dropped because the sink's queue was full */
+    @Schema(description = "Messages dropped because the queue was full", example = "0")
+    private final long overflowDrops;
+
+    /** Messages dropped while the sink was degraded */
+    @Schema(description = "Messages dropped while the sink was degraded", example = "0")
+    private final long degradedDrops;
+
+    /** Writes that threw on the sink's worker */
+    @Schema(description = "Writes that threw on the sink's worker", example = "0")
+    private final long failed;
+
+    /**
+     * Constructs a new SinkStatus.
+     *
+     * @param name The sink's display name
+     * @param level The minimum level the sink writes
+     * @param queued Whether the sink has its own queue
+     * @param degraded Whether the sink is marked degraded
+     * @param queueDepth Messages waiting in the sink's queue
+     * @param overflowDrops Messages dropped because the sink's queue was full
+     * @param degradedDrops Messages dropped while the sink was degraded
+     * @param failed Writes that threw on the sink's worker
+     */
+    public SinkStatus(String name, LogLevel level, boolean queued, boolean degraded,
+                      int queueDepth, long overflowDrops, long degradedDrops, long failed) {
+        this.name = name;
+        this.level = level;
+        this.queued = queued;
+        this.degraded = degraded;
+        this.queueDepth = queueDepth;
+        this.overflowDrops = overflowDrops;
+        this.degradedDrops = degradedDrops;
+        this.failed = failed;
+    }
+
+    /**
+     * Gets the sink's display name.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the minimum level the sink writes.
+     *
+     * @return The level
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets whether the sink has its own queue.
+     *
+     * @return true in fan-out mode
+     */
+    public boolean isQueued() {
+        return queued;
+    }
+
+    /**
+     * Gets whether the sink is marked degraded.
+     *
+     * @return true if messages for the sink are being dropped
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Gets the number of messages waiting in the sink's queue.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Gets the number of messages dropped because the queue was full.
+     *
+     * @return The drop count
+     */
+    public long getOverflowDrops() {
+        return overflowDrops;
+    }
+
+    /**
+     * Gets the number of messages dropped while the sink was degraded.
+     *
+     * @return The drop count
+     */
+    public long getDegradedDrops() {
+        return degradedDrops;
+    }
+
+    /**
+     * Gets the number of writes that threw on the sink's worker.
+     *
+     * @return The failure count
+     */
+    public long getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,34 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.dispatch.AdaptiveConcurrencyLimiter;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.AdmissionStatsResponse;
+
+import java.util.Optional;
+
+/**
+ * Service interface for admitting logging requests under load.
+ */
+public interface AdmissionService {
+    /**
+     * Admits a request of the given level, or sheds it if the chain is behind.
+     *
+     * @param level The level of the request
+     * @return A permit to close once the request has been handled, or null if the request is shed
+     */
+    AdaptiveConcurrencyLimiter.Permit tryAcquire(LogLevel level);
+
+    /**
+     * Returns how long a shed client should wait before retrying.
+     *
+     * @return The delay in whole seconds, for the Retry-After header
+     */
+    long getRetryAfterSeconds();
+
+    /**
+     * Returns the current limit and the admitted and shed counts.
+     *
+     * @return The statistics, or empty if admission control is not enabled
+     */
+    Optional<AdmissionStatsResponse> stats();
+}
@@ -0,0 +1,62 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.dispatch.AdaptiveConcurrencyLimiter;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.AdmissionStatsResponse;
+import com.systemdesign.chain_of_responsibility.model.LevelAdmission;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the AdmissionService interface.
+ * Uses the {@link AdaptiveConcurrencyLimiter}, if one is configured, and
+ * admits everything otherwise.
+ */
+@Service
+public class AdmissionServiceImpl implements AdmissionService {
+    /** The limiter, or null if admission control is not enabled */
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /** Delay suggested to shed clients, in seconds */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new AdmissionServiceImpl.
+     *
+     * @param limiter The limiter, if {@code logger.chain.admission.enabled} is true
+     * @param retryAfter Delay suggested to shed clients
+     */
+    public AdmissionServiceImpl(ObjectProvider<AdaptiveConcurrencyLimiter> limiter,
+                                @Value("${logger.chain.admission.retry-after:1s}") Duration retryAfter) {
+        this.limiter = limiter.getIfAvailable();
+        this.retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    @Override
+    public AdaptiveConcurrencyLimiter.Permit tryAcquire(LogLevel level) {
+        return limiter == null ? AdaptiveConcurrencyLimiter.Permit.UNLIMITED : limiter.tryAcquire(level);
+    }
+
+    @Override
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public Optional<AdmissionStatsResponse> stats() {
+        if (limiter == null) {
+            return Optional.empty();
+        }
+        List<LevelAdmission> levels = Arrays.stream(LogLevel.values())
+                .map(level -> new LevelAdmission(level, limiter.getAdmitted(level), limiter.getShed(level)))
+                .toList();
+        return Optional.of(new AdmissionStatsResponse(limiter.getLimit(), limiter.getInFlight(),
+                limiter.getBacklog(), limiter.getRecentLatencyNanos() / 1e6, limiter.getBaselineLatencyNanos() / 1e6, levels));
+    }
+}
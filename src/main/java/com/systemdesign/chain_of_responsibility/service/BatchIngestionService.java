@@ -0,0 +1,25 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.model.BatchLogResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for ingesting batches of log entries.
+ * A batch holds entries of mixed levels, either as newline-delimited JSON
+ * objects or as a single JSON array of objects.
+ */
+public interface BatchIngestionService {
+    /**
+     * Reads a batch from the given stream and logs each entry as soon as it has
+     * been parsed. Entries with a missing message or an unknown level are
+     * counted as rejected; parsing continues with the next entry. Malformed JSON
+     * stops parsing, and the entries read before it stay logged.
+     *
+     * @param body The stream holding the batch
+     * @return The number of accepted and rejected entries
+     * @throws IOException if the stream cannot be read
+     */
+    BatchLogResponse ingest(InputStream body) throws IOException;
+}
@@ -0,0 +1,154 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.BatchLogResponse;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the BatchIngestionService interface.
+ * The body is read token by token with a Jackson streaming parser, and each
+ * entry is handed to the {@link LoggingService} as soon as its closing brace
+ * has been read, so memory use does not grow with the size of the batch.
+ */
+@Service
+public class BatchIngestionServiceImpl implements BatchIngestionService {
+    /** Type of the "args" array of a structured entry */
+    private static final TypeReference<List<Object>> ARGS_TYPE = new TypeReference<>() { };
+
+    /** Type of the "fields" object of a structured entry */
+    private static final TypeReference<Map<String, Object>> FIELDS_TYPE = new TypeReference<>() { };
+
+    /** The service that runs each parsed entry through the chain */
+    private final LoggingService loggingService;
+
+    /** Factory for the streaming parsers, shared with Spring's ObjectMapper */
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Constructs a new BatchIngestionServiceImpl.
+     *
+     * @param loggingService The service that logs each entry
+     * @param objectMapper The application's ObjectMapper, whose parser factory is reused
+     */
+    public BatchIngestionServiceImpl(LoggingService loggingService, ObjectMapper objectMapper) {
+        this.loggingService = loggingService;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * {@inheritDoc}
+     * A body starting with '[' is read as a JSON array; anything else is read as
+     * a sequence of root-level objects, which covers newline-delimited JSON.
+     */
+    @Override
+    public BatchLogResponse ingest(InputStream body) throws IOException {
+        Counts counts = new Counts();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        return counts.toResponse("Unexpected end of input inside array");
+                    }
+                    readEntry(parser, token, counts);
+                }
+            } else {
+                while (token != null) {
+                    readEntry(parser, token, counts);
+                    token = parser.nextToken();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            return counts.toResponse(e.getOriginalMessage());
+        }
+        return counts.toResponse(null);
+    }
+
+    /**
+     * Reads one entry starting at the current token and logs it if it is valid.
+     * An entry with a template is logged as a structured event; only its
+     * arguments and fields are materialized. Unknown fields, and values of the
+     * wrong shape, are skipped without being materialized.
+     *
+     * @param parser The parser positioned at the first token of the entry
+     * @param token The first token of the entry
+     * @param counts The running accepted and rejected counts
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    private void readEntry(JsonParser parser, JsonToken token, Counts counts) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            counts.rejected++;
+            return;
+        }
+        String level = null;
+        String message = null;
+        String template = null;
+        List<Object> args = null;
+        Map<String, Object> fields = null;
+        Long timestamp = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY && field.equals("args")) {
+                args = parser.readValueAs(ARGS_TYPE);
+                continue;
+            }
+            if (value == JsonToken.START_OBJECT && field.equals("fields")) {
+                fields = parser.readValueAs(FIELDS_TYPE);
+                continue;
+            }
+            if (value.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "level" -> level = parser.getText();
+                case "message" -> message = parser.getText();
+                case "template" -> template = parser.getText();
+                case "timestamp" -> timestamp = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                default -> { }
+            }
+        }
+
+        LogLevel logLevel = LogLevel.parse(level);
+        if (logLevel == null || (message == null && template == null)) {
+            counts.rejected++;
+            return;
+        }
+        if (template != null) {
+            loggingService.logEvent(logLevel, new LogEvent(template, args, fields,
+                    timestamp != null ? timestamp : System.currentTimeMillis()));
+        } else {
+            loggingService.logMessage(logLevel, message);
+        }
+        counts.accepted++;
+    }
+
+    /**
+     * Mutable accepted and rejected counters for a single batch.
+     */
+    private static final class Counts {
+        private long accepted;
+        private long rejected;
+
+        private BatchLogResponse toResponse(String error) {
+            return new BatchLogResponse(accepted, rejected, error);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.model.ChainStatsResponse;
+
+/**
+ * Service interface for reading the logger chain's statistics.
+ */
+public interface ChainStatsService {
+    /**
+     * Returns the statistics accumulated since startup or the last reset.
+     *
+     * @return The current statistics
+     */
+    ChainStatsResponse snapshot();
+
+    /**
+     * Returns the statistics accumulated since startup or the last reset, and
+     * starts a new interval. Every recorded event is reported by exactly one
+     * call, so successive calls give non-overlapping intervals.
+     *
+     * @return The statistics of the interval that just ended
+     */
+    ChainStatsResponse snapshotAndReset();
+}
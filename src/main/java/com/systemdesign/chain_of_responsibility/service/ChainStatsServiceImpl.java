@@ -0,0 +1,144 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.dispatch.AsyncLogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.LogDispatcher;
+import com.systemdesign.chain_of_responsibility.dispatch.StripedLogDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.ChainDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.metrics.ChainMetrics;
+import com.systemdesign.chain_of_responsibility.metrics.LatencyHistogram;
+import com.systemdesign.chain_of_responsibility.metrics.NodeMetrics;
+import com.systemdesign.chain_of_responsibility.model.ChainStatsResponse;
+import com.systemdesign.chain_of_responsibility.model.LevelStats;
+import com.systemdesign.chain_of_responsibility.model.MergerStats;
+import com.systemdesign.chain_of_responsibility.model.NodeStats;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the ChainStatsService interface.
+ * Reads the per-node metrics recorded by the compiled dispatch table and, in
+ * asynchronous mode, the ring buffer's drop counters or, in striped capture
+ * mode, the merger's lag and ordering.
+ */
+@Service
+public class ChainStatsServiceImpl implements ChainStatsService {
+    /** The compiled chain whose metrics are reported */
+    private final ChainDispatcher chainDispatcher;
+
+    /** The dispatcher in front of the chain, for drop counters and merger statistics */
+    private final LogDispatcher logDispatcher;
+
+    /**
+     * Constructs a new ChainStatsServiceImpl.
+     *
+     * @param chainDispatcher The compiled chain whose metrics are reported
+     * @param logDispatcher The dispatcher in front of the chain
+     */
+    public ChainStatsServiceImpl(ChainDispatcher chainDispatcher, LogDispatcher logDispatcher) {
+        this.chainDispatcher = chainDispatcher;
+        this.logDispatcher = logDispatcher;
+    }
+
+    @Override
+    public ChainStatsResponse snapshot() {
+        return collect(false);
+    }
+
+    @Override
+    public synchronized ChainStatsResponse snapshotAndReset() {
+        return collect(true);
+    }
+
+    /**
+     * Builds the response, optionally clearing each counter and histogram as it is read.
+     *
+     * @param reset Whether to clear the metrics
+     * @return The statistics
+     */
+    private ChainStatsResponse collect(boolean reset) {
+        ChainMetrics metrics = chainDispatcher.getMetrics();
+        List<NodeStats> nodes = new ArrayList<>();
+        if (metrics != null) {
+            List<NodeMetrics> nodeMetrics = metrics.getNodes();
+            for (int position = 0; position < nodeMetrics.size(); position++) {
+                NodeMetrics node = nodeMetrics.get(position);
+                Map<LogLevel, LevelStats> levels = new EnumMap<>(LogLevel.class);
+                for (LogLevel level : LogLevel.values()) {
+                    levels.put(level, levelStats(node, level, reset));
+                }
+                nodes.add(new NodeStats(node.getName(), position, levels));
+            }
+        }
+        return new ChainStatsResponse(metrics != null, nodes, droppedByPolicy(), mergerStats(reset));
+    }
+
+    /**
+     * Reads one node's statistics at one level.
+     *
+     * @param node The node's metrics
+     * @param level The level
+     * @param reset Whether to clear the metrics as they are read
+     * @return The statistics
+     */
+    private static LevelStats levelStats(NodeMetrics node, LogLevel level, boolean reset) {
+        long accepted;
+        long skipped;
+        long filtered;
+        long failed;
+        LatencyHistogram.Snapshot latency;
+        if (reset) {
+            long[] counts = node.resetCounts(level);
+            accepted = counts[0];
+            skipped = counts[1];
+            filtered = counts[2];
+            failed = counts[3];
+            latency = node.getLatency(level).snapshotAndReset();
+        } else {
+            accepted = node.getAccepted(level);
+            skipped = node.getSkipped(level);
+            filtered = node.getFiltered(level);
+            failed = node.getFailed(level);
+            latency = node.getLatency(level).snapshot();
+        }
+        return new LevelStats(accepted, skipped, filtered, failed, latency.getMean(),
+                latency.getValueAtPercentile(50), latency.getValueAtPercentile(99),
+                latency.getValueAtPercentile(99.9), latency.getMax());
+    }
+
+    /**
+     * Reads the ring buffer's drop counters, if the chain runs asynchronously.
+     *
+     * @return Drops by policy name, or null in synchronous mode
+     */
+    private Map<String, Long> droppedByPolicy() {
+        if (!(logDispatcher instanceof AsyncLogDispatcher async)) {
+            return null;
+        }
+        Map<String, Long> dropped = new LinkedHashMap<>();
+        async.getDroppedCounts().forEach((policy, count) -> dropped.put(policy.name(), count));
+        return dropped;
+    }
+
+    /**
+     * Reads the merger's statistics, if the chain runs in striped capture mode.
+     * Only the lag histogram is cleared on reset; the counters are cumulative.
+     *
+     * @param reset Whether to clear the lag histogram
+     * @return The merger's statistics, or null in other modes
+     */
+    private MergerStats mergerStats(boolean reset) {
+        if (!(logDispatcher instanceof StripedLogDispatcher striped)) {
+            return null;
+        }
+        LatencyHistogram.Snapshot lag = reset ? striped.getLag().snapshotAndReset() : striped.getLag().snapshot();
+        return new MergerStats(striped.getStripeCount(), striped.getPendingCount(), striped.getMergedCount(),
+                striped.getOutOfOrderCount(), striped.getStallCount(), striped.getWindowNanos(),
+                lag.getValueAtPercentile(50), lag.getValueAtPercentile(99), lag.getMax());
+    }
+}
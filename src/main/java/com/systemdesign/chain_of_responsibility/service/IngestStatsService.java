@@ -0,0 +1,17 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.model.IngestStatsResponse;
+
+import java.util.Optional;
+
+/**
+ * Service interface for reading the metrics of the raw socket listener.
+ */
+public interface IngestStatsService {
+    /**
+     * Returns the listener's connections, throughput and error counts.
+     *
+     * @return The statistics, or empty if the socket listener is not enabled
+     */
+    Optional<IngestStatsResponse> stats();
+}
@@ -0,0 +1,48 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.IngestStatsResponse;
+import com.systemdesign.chain_of_responsibility.model.LevelRates;
+import com.systemdesign.chain_of_responsibility.stream.SocketIngestListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the IngestStatsService interface.
+ * Reads the {@link SocketIngestListener}, if one is configured.
+ */
+@Service
+public class IngestStatsServiceImpl implements IngestStatsService {
+    /** The listener being read, or null if it is not enabled */
+    private final SocketIngestListener listener;
+
+    /**
+     * Constructs a new IngestStatsServiceImpl.
+     *
+     * @param listener The socket listener, if {@code logger.chain.ingest.enabled} is true
+     */
+    public IngestStatsServiceImpl(ObjectProvider<SocketIngestListener> listener) {
+        this.listener = listener.getIfAvailable();
+    }
+
+    @Override
+    public Optional<IngestStatsResponse> stats() {
+        if (listener == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        List<LevelRates> rates = Arrays.stream(LogLevel.values())
+                .map(level -> new LevelRates(level, listener.getPerSecond(level, now),
+                        listener.getPerMinute(level, now)))
+                .toList();
+        long frames = Arrays.stream(LogLevel.values()).mapToLong(listener::getFrames).sum();
+        return Optional.of(new IngestStatsResponse(listener.getTcpPort(), listener.getUdpPort(),
+                listener.getOpenConnections(), listener.getAcceptedConnections(), listener.getDroppedConnections(),
+                listener.getDatagrams(), listener.getBytes(), frames, listener.getMalformedFrames(),
+                listener.getFailedMessages(), rates));
+    }
+}
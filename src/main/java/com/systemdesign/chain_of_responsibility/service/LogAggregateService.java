@@ -0,0 +1,26 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.model.LogAggregatesResponse;
+
+import java.util.Optional;
+
+/**
+ * Service interface for reading message rates and heavy hitters.
+ */
+public interface LogAggregateService {
+    /**
+     * Returns the current rates and heavy hitters.
+     *
+     * @param limit Maximum number of heavy hitters returned
+     * @return The aggregates, or empty if aggregation is not enabled
+     */
+    Optional<LogAggregatesResponse> snapshot(int limit);
+
+    /**
+     * Returns the current rates and heavy hitters, then forgets the heavy hitters.
+     *
+     * @param limit Maximum number of heavy hitters returned
+     * @return The aggregates before the reset, or empty if aggregation is not enabled
+     */
+    Optional<LogAggregatesResponse> snapshotAndReset(int limit);
+}
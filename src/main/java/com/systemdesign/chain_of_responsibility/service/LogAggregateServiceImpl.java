@@ -0,0 +1,59 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogAggregator;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.HeavyHitterStats;
+import com.systemdesign.chain_of_responsibility.model.LevelRates;
+import com.systemdesign.chain_of_responsibility.model.LogAggregatesResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the LogAggregateService interface.
+ * Reads the {@link LogAggregator} at the head of the chain, if one is configured.
+ */
+@Service
+public class LogAggregateServiceImpl implements LogAggregateService {
+    /** The aggregator being read, or null if it is not enabled */
+    private final LogAggregator aggregator;
+
+    /**
+     * Constructs a new LogAggregateServiceImpl.
+     *
+     * @param aggregator The aggregator, if {@code logger.chain.aggregate.enabled} is true
+     */
+    public LogAggregateServiceImpl(ObjectProvider<LogAggregator> aggregator) {
+        this.aggregator = aggregator.getIfAvailable();
+    }
+
+    @Override
+    public Optional<LogAggregatesResponse> snapshot(int limit) {
+        if (aggregator == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        List<LevelRates> rates = Arrays.stream(LogLevel.values())
+                .map(level -> new LevelRates(level, aggregator.getPerSecond(level, now),
+                        aggregator.getPerMinute(level, now)))
+                .toList();
+        List<HeavyHitterStats> heavyHitters = aggregator.getHeavyHitters().stream()
+                .limit(limit)
+                .map(h -> new HeavyHitterStats(h.getLevel(), h.getSample(), h.getEstimatedCount()))
+                .toList();
+        return Optional.of(new LogAggregatesResponse(rates, heavyHitters,
+                aggregator.getTotal(), aggregator.getErrorBound()));
+    }
+
+    @Override
+    public synchronized Optional<LogAggregatesResponse> snapshotAndReset(int limit) {
+        Optional<LogAggregatesResponse> snapshot = snapshot(limit);
+        if (aggregator != null) {
+            aggregator.resetHeavyHitters();
+        }
+        return snapshot;
+    }
+}
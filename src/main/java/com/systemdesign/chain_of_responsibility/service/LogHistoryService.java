@@ -0,0 +1,25 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.LogHistoryResponse;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Service interface for querying the block log files by time range.
+ */
+public interface LogHistoryService {
+    /**
+     * Returns the earliest stored messages in a time range.
+     *
+     * @param fromMillis Earliest timestamp included, in epoch milliseconds
+     * @param toMillis Timestamp before which messages are included, in epoch milliseconds
+     * @param levels Levels to include, or null for all levels
+     * @param query Terms that must all occur in the message, case-insensitive, or null
+     * @param limit Maximum number of messages returned
+     * @return The matching messages, or empty if the block log is not enabled
+     */
+    Optional<LogHistoryResponse> query(long fromMillis, long toMillis, Collection<LogLevel> levels,
+                                       String query, int limit);
+}
@@ -0,0 +1,54 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.BlockFileLogger;
+import com.systemdesign.chain_of_responsibility.logging.BlockLogReader;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.LogHistoryEntry;
+import com.systemdesign.chain_of_responsibility.model.LogHistoryResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the LogHistoryService interface.
+ * Reads the files of the {@link BlockFileLogger} in the chain, if one is configured.
+ */
+@Service
+public class LogHistoryServiceImpl implements LogHistoryService {
+    /** Reader of the block logger's files, or null if it is not enabled */
+    private final BlockLogReader reader;
+
+    /**
+     * Constructs a new LogHistoryServiceImpl.
+     *
+     * @param blockFileLogger The block logger, if {@code logger.chain.block.enabled} is true
+     */
+    public LogHistoryServiceImpl(ObjectProvider<BlockFileLogger> blockFileLogger) {
+        BlockFileLogger logger = blockFileLogger.getIfAvailable();
+        this.reader = logger == null ? null : new BlockLogReader(logger.getDirectory(), logger.getBaseName());
+    }
+
+    @Override
+    public Optional<LogHistoryResponse> query(long fromMillis, long toMillis, Collection<LogLevel> levels,
+                                              String query, int limit) {
+        if (reader == null) {
+            return Optional.empty();
+        }
+        BlockLogReader.QueryResult result;
+        try {
+            result = reader.query(fromMillis, toMillis, levels, query, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the block log", e);
+        }
+        List<LogHistoryEntry> entries = result.getEntries().stream()
+                .map(e -> new LogHistoryEntry(e.getTimestamp(), e.getLevel(), e.getMessage()))
+                .toList();
+        return Optional.of(new LogHistoryResponse(entries, result.isTruncated(), result.getBlocksRead(),
+                result.getBlocksSkipped(), result.getBlocksCorrupt()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.LogSearchResponse;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Service interface for searching recently logged messages.
+ */
+public interface LogSearchService {
+    /**
+     * Finds the newest stored messages that match every criterion.
+     *
+     * @param query Terms that must all occur in the message, or null for any message
+     * @param levels Levels to include, or null or empty for all levels
+     * @param fromMillis Earliest timestamp included, in epoch milliseconds, or null
+     * @param toMillis Timestamp before which messages are included, in epoch milliseconds, or null
+     * @param limit Maximum number of messages returned
+     * @return The matching messages, or empty if the recent-log store is not enabled
+     */
+    Optional<LogSearchResponse> search(String query, Collection<LogLevel> levels,
+                                       Long fromMillis, Long toMillis, int limit);
+}
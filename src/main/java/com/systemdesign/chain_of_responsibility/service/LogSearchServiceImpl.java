@@ -0,0 +1,44 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.logging.RecentLogStore;
+import com.systemdesign.chain_of_responsibility.model.LogSearchHit;
+import com.systemdesign.chain_of_responsibility.model.LogSearchResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the LogSearchService interface.
+ * Searches the {@link RecentLogStore} at the end of the chain, if one is configured.
+ */
+@Service
+public class LogSearchServiceImpl implements LogSearchService {
+    /** The store being searched, or null if it is not enabled */
+    private final RecentLogStore store;
+
+    /**
+     * Constructs a new LogSearchServiceImpl.
+     *
+     * @param store The recent-log store, if {@code logger.chain.store.enabled} is true
+     */
+    public LogSearchServiceImpl(ObjectProvider<RecentLogStore> store) {
+        this.store = store.getIfAvailable();
+    }
+
+    @Override
+    public Optional<LogSearchResponse> search(String query, Collection<LogLevel> levels,
+                                              Long fromMillis, Long toMillis, int limit) {
+        if (store == null) {
+            return Optional.empty();
+        }
+        RecentLogStore.SearchResult result = store.search(query, levels, fromMillis, toMillis, limit);
+        List<LogSearchHit> hits = result.getMessages().stream()
+                .map(m -> new LogSearchHit(m.getSequence(), m.getTimestamp(), m.getLevel(), m.getMessage()))
+                .toList();
+        return Optional.of(new LogSearchResponse(hits, result.isTruncated()));
+    }
+}
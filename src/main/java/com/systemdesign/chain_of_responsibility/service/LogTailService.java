@@ -0,0 +1,21 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.logging.TailSubscription;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Service interface for following messages live as they pass through the chain.
+ */
+public interface LogTailService {
+    /**
+     * Starts following the chain. The caller must close the subscription when done.
+     *
+     * @param levels Levels to receive, or null or empty for all levels
+     * @param contains Text the message must contain, or null for any message
+     * @return The subscription, or empty if tailing is disabled or the subscriber limit has been reached
+     */
+    Optional<TailSubscription> subscribe(Collection<LogLevel> levels, String contains);
+}
@@ -0,0 +1,40 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.logging.LogTap;
+import com.systemdesign.chain_of_responsibility.logging.TailSubscription;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Optional;
+
+/**
+ * Implementation of the LogTailService interface.
+ * Subscribes to the {@link LogTap} at the end of the chain, if one is configured.
+ */
+@Service
+public class LogTailServiceImpl implements LogTailService {
+    /** The tap being followed, or null if tailing is not enabled */
+    private final LogTap tap;
+
+    /**
+     * Constructs a new LogTailServiceImpl.
+     *
+     * @param tap The live-tail tap, if {@code logger.chain.tail.enabled} is true
+     */
+    public LogTailServiceImpl(ObjectProvider<LogTap> tap) {
+        this.tap = tap.getIfAvailable();
+    }
+
+    @Override
+    public Optional<TailSubscription> subscribe(Collection<LogLevel> levels, String contains) {
+        if (tap == null) {
+            return Optional.empty();
+        }
+        EnumSet<LogLevel> levelSet = levels == null || levels.isEmpty()
+                ? EnumSet.allOf(LogLevel.class) : EnumSet.copyOf(levels);
+        return Optional.ofNullable(tap.subscribe(levelSet, contains));
+    }
+}
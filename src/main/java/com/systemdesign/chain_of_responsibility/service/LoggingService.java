@@ -1,7 +1,10 @@
 package com.systemdesign.chain_of_responsibility.service;
 
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
 import com.systemdesign.chain_of_responsibility.logging.LogLevel;
 
+import java.util.function.Supplier;
+
 /**
  * Service interface for logging operations.
  * This interface defines the contract for logging messages at different levels
@@ -44,4 +47,52 @@ public interface LoggingService {
      * @param message The error message to be logged
      */
     void logError(String message);
-} 
\ No newline at end of file
+
+    /**
+     * Logs a structured event with the specified log level. The event's template
+     * is formatted only by loggers that write it.
+     *
+     * @param level The log level of the event
+     * @param event The event to be logged
+     */
+    void logEvent(LogLevel level, LogEvent event);
+
+    /**
+     * Checks whether a message at the given level would be written by any logger.
+     * Callers can use this to skip expensive work that only feeds a log message.
+     *
+     * @param level The log level to check
+     * @return true if a message at this level would be written
+     */
+    boolean isEnabled(LogLevel level);
+
+    /**
+     * Logs a message with the specified log level, building it only if some
+     * logger would write it.
+     *
+     * @param level The log level of the message
+     * @param messageSupplier Builds the message to be logged
+     */
+    void logMessage(LogLevel level, Supplier<String> messageSupplier);
+
+    /**
+     * Logs a lazily built message with INFO level.
+     *
+     * @param messageSupplier Builds the informational message to be logged
+     */
+    void logInfo(Supplier<String> messageSupplier);
+
+    /**
+     * Logs a lazily built message with DEBUG level.
+     *
+     * @param messageSupplier Builds the debug message to be logged
+     */
+    void logDebug(Supplier<String> messageSupplier);
+
+    /**
+     * Logs a lazily built message with ERROR level.
+     *
+     * @param messageSupplier Builds the error message to be logged
+     */
+    void logError(Supplier<String> messageSupplier);
+}
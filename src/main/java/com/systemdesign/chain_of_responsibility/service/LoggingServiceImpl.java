@@ -1,9 +1,13 @@
 package com.systemdesign.chain_of_responsibility.service;
 
-import com.systemdesign.chain_of_responsibility.logging.AbstractLogger;
+import com.systemdesign.chain_of_responsibility.dispatch.LogDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.ChainDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
 import com.systemdesign.chain_of_responsibility.logging.LogLevel;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Supplier;
+
 /**
  * Implementation of the LoggingService interface.
  * This service uses the chain of responsibility pattern to process log messages
@@ -11,17 +15,23 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class LoggingServiceImpl implements LoggingService {
-    /** The chain of loggers that will process the messages */
-    private final AbstractLogger loggerChain;
+    /** The dispatcher that hands messages to the chain of loggers */
+    private final LogDispatcher logDispatcher;
+
+    /** The compiled chain, consulted for which levels are written at all */
+    private final ChainDispatcher chainDispatcher;
 
     /**
-     * Constructs a new LoggingServiceImpl with the provided logger chain.
-     * The logger chain is injected by Spring's dependency injection.
+     * Constructs a new LoggingServiceImpl with the provided dispatchers.
+     * The dispatchers are injected by Spring's dependency injection; the first
+     * decides whether the chain runs synchronously or on background threads.
      *
-     * @param loggerChain The chain of loggers to process messages
+     * @param logDispatcher The dispatcher that feeds the chain of loggers
+     * @param chainDispatcher The compiled chain, used to check whether a level is enabled
      */
-    public LoggingServiceImpl(AbstractLogger loggerChain) {
-        this.loggerChain = loggerChain;
+    public LoggingServiceImpl(LogDispatcher logDispatcher, ChainDispatcher chainDispatcher) {
+        this.logDispatcher = logDispatcher;
+        this.chainDispatcher = chainDispatcher;
     }
 
     /**
@@ -31,7 +41,7 @@ public class LoggingServiceImpl implements LoggingService {
      */
     @Override
     public void logMessage(LogLevel level, String message) {
-        loggerChain.logMessage(level, message);
+        logDispatcher.dispatch(level, message);
     }
 
     /**
@@ -60,4 +70,61 @@ public class LoggingServiceImpl implements LoggingService {
     public void logError(String message) {
         logMessage(LogLevel.ERROR, message);
     }
-} 
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     * The event is dispatched unformatted; in asynchronous mode it is formatted
+     * on a drainer thread.
+     */
+    @Override
+    public void logEvent(LogLevel level, LogEvent event) {
+        logDispatcher.dispatch(level, event);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reads the precomputed flag of the chain's current compiled snapshot.
+     */
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return chainDispatcher.isEnabled(level);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The supplier is not called when no logger would write the message.
+     */
+    @Override
+    public void logMessage(LogLevel level, Supplier<String> messageSupplier) {
+        if (isEnabled(level)) {
+            logDispatcher.dispatch(level, messageSupplier.get());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Calls logMessage with LogLevel.INFO.
+     */
+    @Override
+    public void logInfo(Supplier<String> messageSupplier) {
+        logMessage(LogLevel.INFO, messageSupplier);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Calls logMessage with LogLevel.DEBUG.
+     */
+    @Override
+    public void logDebug(Supplier<String> messageSupplier) {
+        logMessage(LogLevel.DEBUG, messageSupplier);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Calls logMessage with LogLevel.ERROR.
+     */
+    @Override
+    public void logError(Supplier<String> messageSupplier) {
+        logMessage(LogLevel.ERROR, messageSupplier);
+    }
+}
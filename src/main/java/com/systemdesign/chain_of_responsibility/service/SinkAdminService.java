@@ -0,0 +1,37 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.SinkStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for inspecting and managing the sinks of the logger chain.
+ */
+public interface SinkAdminService {
+    /**
+     * Lists the sinks of the current chain, in chain order.
+     *
+     * @return The status of every sink
+     */
+    List<SinkStatus> listSinks();
+
+    /**
+     * Marks a queued sink as degraded, or clears the mark.
+     *
+     * @param name The sink's name
+     * @param degraded Whether messages for the sink should be dropped
+     * @return The sink's new status, or empty if no queued sink has that name
+     */
+    Optional<SinkStatus> setDegraded(String name, boolean degraded);
+
+    /**
+     * Changes a sink's minimum level and publishes the recompiled chain.
+     *
+     * @param name The sink's name
+     * @param level The new minimum level
+     * @return The sink's new status, or empty if no sink has that name
+     */
+    Optional<SinkStatus> setLevel(String name, LogLevel level);
+}
@@ -0,0 +1,78 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.dispatch.AsyncLogDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.AbstractLogger;
+import com.systemdesign.chain_of_responsibility.logging.ChainDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.ChainFilter;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.logging.QueuedLogger;
+import com.systemdesign.chain_of_responsibility.model.SinkStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the SinkAdminService interface.
+ * Reads the sinks from the chain's current compiled snapshot.
+ */
+@Service
+public class SinkAdminServiceImpl implements SinkAdminService {
+    /** The compiled logger chain */
+    private final ChainDispatcher chainDispatcher;
+
+    /**
+     * Constructs a new SinkAdminServiceImpl.
+     *
+     * @param chainDispatcher The compiled logger chain
+     */
+    public SinkAdminServiceImpl(ChainDispatcher chainDispatcher) {
+        this.chainDispatcher = chainDispatcher;
+    }
+
+    @Override
+    public List<SinkStatus> listSinks() {
+        return chainDispatcher.getTable().getNodes().stream()
+                .filter(node -> !(node instanceof ChainFilter))
+                .map(SinkAdminServiceImpl::status)
+                .toList();
+    }
+
+    @Override
+    public Optional<SinkStatus> setDegraded(String name, boolean degraded) {
+        return chainDispatcher.getTable().getNodes().stream()
+                .filter(node -> node instanceof QueuedLogger && node.getName().equals(name))
+                .map(QueuedLogger.class::cast)
+                .findFirst()
+                .map(queued -> {
+                    queued.setDegraded(degraded);
+                    return status(queued);
+                });
+    }
+
+    @Override
+    public Optional<SinkStatus> setLevel(String name, LogLevel level) {
+        boolean isSink = chainDispatcher.getTable().getNodes().stream()
+                .anyMatch(node -> !(node instanceof ChainFilter) && node.getName().equals(name));
+        if (!isSink || !chainDispatcher.setLevel(name, level)) {
+            return Optional.empty();
+        }
+        return listSinks().stream().filter(sink -> sink.getName().equals(name)).findFirst();
+    }
+
+    /**
+     * Builds the status of one sink.
+     *
+     * @param node The sink, queued or not
+     * @return Its status
+     */
+    private static SinkStatus status(AbstractLogger node) {
+        if (!(node instanceof QueuedLogger queued)) {
+            return new SinkStatus(node.getName(), node.getLevel(), false, false, 0, 0, 0, 0);
+        }
+        AsyncLogDispatcher queue = queued.getQueue();
+        long overflowDrops = queue.getDroppedCounts().values().stream().mapToLong(Long::longValue).sum();
+        return new SinkStatus(queued.getName(), queued.getLevel(), true, queued.isDegraded(),
+                queue.getQueueDepth(), overflowDrops, queued.getDegradedDrops(), queue.getFailedCount());
+    }
+}
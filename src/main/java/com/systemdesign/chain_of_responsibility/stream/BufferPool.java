@@ -0,0 +1,63 @@
+package com.systemdesign.chain_of_responsibility.stream;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Pool of equally sized heap buffers for {@link SocketIngestListener}.
+ * A connection only holds a buffer while it has part of a frame waiting for
+ * the rest, so idle connections cost no buffer memory and busy ones reuse the
+ * same few buffers. The pool is used by the selector thread alone and is not
+ * thread-safe.
+ */
+class BufferPool {
+    /** Capacity of every buffer */
+    private final int bufferSize;
+
+    /** Largest number of idle buffers kept */
+    private final int maxPooled;
+
+    /** Idle buffers, cleared */
+    private final ArrayDeque<ByteBuffer> idle = new ArrayDeque<>();
+
+    /**
+     * Constructs a new BufferPool.
+     *
+     * @param bufferSize Capacity of every buffer
+     * @param maxPooled Largest number of idle buffers kept; buffers returned beyond it are left to the garbage collector
+     */
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = Math.max(0, maxPooled);
+    }
+
+    /**
+     * Takes an idle buffer, or allocates one if none is left.
+     *
+     * @return A cleared buffer
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = idle.pollFirst();
+        return buffer != null ? buffer : ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Returns a buffer to the pool.
+     *
+     * @param buffer A buffer taken from {@link #acquire()}
+     */
+    void release(ByteBuffer buffer) {
+        if (idle.size() < maxPooled) {
+            idle.addFirst(buffer.clear());
+        }
+    }
+
+    /**
+     * Returns the number of idle buffers.
+     *
+     * @return The idle count
+     */
+    int idleCount() {
+        return idle.size();
+    }
+}
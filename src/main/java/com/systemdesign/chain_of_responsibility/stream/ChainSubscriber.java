@@ -0,0 +1,165 @@
+package com.systemdesign.chain_of_responsibility.stream;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.model.BatchLogResponse;
+import com.systemdesign.chain_of_responsibility.model.LogEntryRequest;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber that runs each received entry through the {@link LoggingService}.
+ *
+ * At most {@code window} entries are requested ahead of the chain. Entries are
+ * processed on the given executor, and one more entry is requested only after
+ * one has been logged, so the rate at which the chain drains entries is the
+ * rate at which the publisher is allowed to read.
+ */
+public class ChainSubscriber implements Flow.Subscriber<LogEntryRequest> {
+    /** The service that runs each entry through the chain */
+    private final LoggingService loggingService;
+
+    /** Runs the processing loop off the publisher's thread */
+    private final Executor executor;
+
+    /** Maximum number of entries requested but not yet logged */
+    private final int window;
+
+    /** Receives the final counts once the stream ends */
+    private final Consumer<BatchLogResponse> onFinish;
+
+    /** Entries received and waiting to be logged; never holds more than {@link #window} */
+    private final Queue<LogEntryRequest> pending = new ConcurrentLinkedQueue<>();
+
+    /** Serializes the processing loop */
+    private final AtomicInteger workInProgress = new AtomicInteger();
+
+    /** The publisher's subscription */
+    private volatile Flow.Subscription subscription;
+
+    /** Terminal signal from the publisher: null while running, then "" or an error message */
+    private volatile String terminal;
+
+    /** Entries passed to the chain; only touched by the processing loop */
+    private long accepted;
+
+    /** Entries rejected; only touched by the processing loop */
+    private long rejected;
+
+    /** Set once {@link #onFinish} has been called */
+    private boolean finished;
+
+    /**
+     * Constructs a new ChainSubscriber.
+     *
+     * @param loggingService The service that logs each entry
+     * @param executor Runs the processing loop
+     * @param window The maximum number of entries requested ahead of the chain
+     * @param onFinish Receives the accepted and rejected counts when the stream ends
+     */
+    public ChainSubscriber(LoggingService loggingService, Executor executor, int window,
+                           Consumer<BatchLogResponse> onFinish) {
+        this.loggingService = loggingService;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+        this.onFinish = onFinish;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(window);
+    }
+
+    @Override
+    public void onNext(LogEntryRequest item) {
+        pending.add(item);
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        terminal = throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getSimpleName();
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        terminal = "";
+        schedule();
+    }
+
+    /**
+     * Stops the stream early, for example when the request times out. Entries
+     * already received are still logged before the counts are reported.
+     *
+     * @param reason Why the stream was stopped
+     */
+    public void abort(String reason) {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        onError(new IllegalStateException(reason));
+    }
+
+    /**
+     * Starts the processing loop on the executor unless it is already running.
+     */
+    private void schedule() {
+        if (workInProgress.getAndIncrement() == 0) {
+            executor.execute(this::process);
+        }
+    }
+
+    /**
+     * Logs pending entries, requesting one replacement for each, and reports the
+     * counts once the publisher has signalled the end of the stream.
+     */
+    private void process() {
+        int missed = 1;
+        do {
+            LogEntryRequest entry;
+            while ((entry = pending.poll()) != null) {
+                log(entry);
+                if (terminal == null) {
+                    subscription.request(1);
+                }
+            }
+            String end = terminal;
+            if (end != null && pending.isEmpty() && !finished) {
+                finished = true;
+                onFinish.accept(new BatchLogResponse(accepted, rejected, end.isEmpty() ? null : end));
+            }
+            missed = workInProgress.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Validates one entry and logs it.
+     *
+     * @param entry The entry to log
+     */
+    private void log(LogEntryRequest entry) {
+        LogLevel level = LogLevel.parse(entry.getLevel());
+        if (level == null || (entry.getMessage() == null && !entry.isStructured())) {
+            rejected++;
+            return;
+        }
+        try {
+            if (entry.isStructured()) {
+                loggingService.logEvent(level, entry.toEvent());
+            } else {
+                loggingService.logMessage(level, entry.getMessage());
+            }
+            accepted++;
+        } catch (RuntimeException e) {
+            rejected++;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.systemdesign.chain_of_responsibility.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.systemdesign.chain_of_responsibility.model.LogEntryRequest;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the lines of a newline-delimited JSON request body as
+ * {@link LogEntryRequest} items, reading the body with Servlet non-blocking I/O.
+ *
+ * The body is only read while the subscriber has outstanding demand. Once demand
+ * reaches zero the publisher stops reading without arming the container's
+ * read callback, so unread bytes stay in the socket buffer and TCP flow control
+ * slows the client down. Reading resumes on the thread that requests more items.
+ *
+ * A line that is not valid JSON, or is longer than the configured limit, is
+ * published as an empty entry so the subscriber counts it as rejected.
+ */
+public class NdjsonRequestPublisher implements Flow.Publisher<LogEntryRequest>, Flow.Subscription, ReadListener {
+    /** Size of the buffer each read fills */
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    /** The request body */
+    private final ServletInputStream input;
+
+    /** Binds each line to a LogEntryRequest */
+    private final ObjectMapper objectMapper;
+
+    /** Longest accepted line, in bytes */
+    private final int maxLineLength;
+
+    /** Bytes most recently read from the body */
+    private final byte[] chunk = new byte[READ_CHUNK_SIZE];
+
+    /** Bytes of the current, incomplete line */
+    private byte[] line = new byte[READ_CHUNK_SIZE];
+
+    /** Next unconsumed byte in {@link #chunk} */
+    private int chunkPosition;
+
+    /** Number of valid bytes in {@link #chunk} */
+    private int chunkLength;
+
+    /** Number of bytes in {@link #line} */
+    private int lineLength;
+
+    /** Set while the current line has exceeded the limit and is being skipped */
+    private boolean lineTooLong;
+
+    /** Set once the whole body has been read */
+    private boolean endOfInput;
+
+    /** The single subscriber */
+    private Flow.Subscriber<? super LogEntryRequest> subscriber;
+
+    /** Items requested but not yet published */
+    private final AtomicLong demand = new AtomicLong();
+
+    /** Serializes {@link #drain()} across the container and subscriber threads */
+    private final AtomicInteger workInProgress = new AtomicInteger();
+
+    /** Set by {@link #cancel()} or after a terminal signal */
+    private volatile boolean done;
+
+    /** Failure reported by the container, delivered from the drain loop */
+    private volatile Throwable failure;
+
+    /**
+     * Constructs a new NdjsonRequestPublisher.
+     *
+     * @param input The request body; the request must be in asynchronous mode
+     * @param objectMapper Binds each line to a LogEntryRequest
+     * @param maxLineLength The longest accepted line, in bytes
+     */
+    public NdjsonRequestPublisher(ServletInputStream input, ObjectMapper objectMapper, int maxLineLength) {
+        this.input = input;
+        this.objectMapper = objectMapper;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only one subscriber is supported. Registering it also registers this
+     * publisher as the body's read listener.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super LogEntryRequest> subscriber) {
+        if (this.subscriber != null) {
+            subscriber.onSubscribe(this);
+            subscriber.onError(new IllegalStateException("Only one subscriber is supported"));
+            return;
+        }
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(this);
+        input.setReadListener(this);
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            failure = new IllegalArgumentException("Demand must be positive: " + n);
+        } else {
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        done = true;
+    }
+
+    @Override
+    public void onDataAvailable() {
+        drain();
+    }
+
+    @Override
+    public void onAllDataRead() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        failure = t;
+        drain();
+    }
+
+    /**
+     * Publishes as many lines as there is demand for, reading more of the body
+     * only while demand remains. Only one thread runs the loop at a time; a call
+     * made while another thread is in the loop makes that thread go round again.
+     */
+    private void drain() {
+        if (workInProgress.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            try {
+                drainLoop();
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+                signalFailure();
+            }
+            missed = workInProgress.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * The body of the drain loop; runs on one thread at a time.
+     *
+     * @throws IOException if the body cannot be read
+     */
+    private void drainLoop() throws IOException {
+        while (!done) {
+            if (failure != null) {
+                signalFailure();
+                return;
+            }
+            if (demand.get() == 0) {
+                return;
+            }
+            if (publishNextLine()) {
+                continue;
+            }
+            if (endOfInput || input.isFinished()) {
+                endOfInput = true;
+                if (lineTooLong || !isBlank()) {
+                    publishLine();
+                    continue;
+                }
+                done = true;
+                subscriber.onComplete();
+                return;
+            }
+            if (!input.isReady()) {
+                // The container calls onDataAvailable once more bytes arrive
+                return;
+            }
+            int read = input.read(chunk);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                chunkPosition = 0;
+                chunkLength = read;
+            }
+        }
+    }
+
+    /**
+     * Delivers the pending failure to the subscriber, once.
+     */
+    private void signalFailure() {
+        if (!done) {
+            done = true;
+            subscriber.onError(failure);
+        }
+    }
+
+    /**
+     * Moves bytes from the read chunk into the current line until a line feed is
+     * found, then publishes the line.
+     *
+     * @return true if a line was published, false if the chunk ran out first
+     */
+    private boolean publishNextLine() {
+        while (chunkPosition < chunkLength) {
+            byte b = chunk[chunkPosition++];
+            if (b == '\n') {
+                if (!lineTooLong && isBlank()) {
+                    lineLength = 0;
+                    continue;
+                }
+                publishLine();
+                return true;
+            }
+            if (lineTooLong) {
+                continue;
+            }
+            if (lineLength == maxLineLength) {
+                lineTooLong = true;
+                continue;
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, Math.min(maxLineLength, line.length * 2));
+            }
+            line[lineLength++] = b;
+        }
+        return false;
+    }
+
+    /**
+     * Binds the current line and hands it to the subscriber.
+     */
+    private void publishLine() {
+        LogEntryRequest entry;
+        if (lineTooLong) {
+            entry = new LogEntryRequest();
+        } else {
+            try {
+                entry = objectMapper.readValue(line, 0, lineLength, LogEntryRequest.class);
+            } catch (IOException e) {
+                entry = new LogEntryRequest();
+            }
+        }
+        lineLength = 0;
+        lineTooLong = false;
+        demand.decrementAndGet();
+        subscriber.onNext(entry);
+    }
+
+    /**
+     * Checks whether the current line holds only whitespace, such as the carriage
+     * return of an empty CRLF-terminated line.
+     *
+     * @return true if the line has no content
+     */
+    private boolean isBlank() {
+        for (int i = 0; i < lineLength; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
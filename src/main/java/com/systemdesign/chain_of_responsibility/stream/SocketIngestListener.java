@@ -0,0 +1,529 @@
+package com.systemdesign.chain_of_responsibility.stream;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.metrics.RateRollup;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Takes log messages from local agents over raw TCP and UDP sockets, without
+ * HTTP or JSON, and runs them through the {@link LoggingService}.
+ *
+ * A message is sent as a frame: a 4-byte big-endian length, then that many
+ * bytes holding a level ordinal byte and the UTF-8 message. A TCP connection
+ * carries any number of frames back to back; a UDP datagram carries one or
+ * more whole frames. {@link #encodeFrame(LogLevel, String)} builds a frame.
+ *
+ * One selector thread serves every socket. Bytes are read into a shared
+ * buffer and frames are decoded straight from it. Only when a read ends
+ * inside a frame does the connection take a buffer from a small pool to keep
+ * the partial frame until the rest arrives. Messages at levels no logger
+ * writes are counted but never decoded into strings.
+ *
+ * The selector thread runs the service itself. When the chain falls behind,
+ * TCP senders are slowed by flow control, while datagrams beyond the socket's
+ * receive buffer are dropped by the kernel. A frame with an impossible length
+ * closes its TCP connection, since the stream cannot be realigned.
+ */
+public class SocketIngestListener implements Closeable {
+    /** Size of the length prefix of a frame */
+    public static final int HEADER_LENGTH = 4;
+
+    /** Size of the shared read buffer, enough for the largest datagram */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** Largest number of reads from one socket per wakeup, so a busy socket does not starve the rest */
+    private static final int MAX_READS_PER_WAKEUP = 16;
+
+    /** Log levels by ordinal */
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    /** The service that runs each message through the chain */
+    private final LoggingService loggingService;
+
+    /** Largest frame length accepted, excluding the length prefix */
+    private final int maxFrameLength;
+
+    /** Selector serving every socket */
+    private final Selector selector;
+
+    /** The TCP listening socket, or null if TCP is disabled */
+    private final ServerSocketChannel server;
+
+    /** The UDP socket, or null if UDP is disabled */
+    private final DatagramChannel datagramChannel;
+
+    /** Port the TCP socket is bound to, or -1 */
+    private final int tcpPort;
+
+    /** Port the UDP socket is bound to, or -1 */
+    private final int udpPort;
+
+    /** Buffer every read lands in first; only used by the selector thread */
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    /** Buffers holding partial frames, sized for the largest frame */
+    private final BufferPool pool;
+
+    /** The thread running the selector */
+    private final Thread selectorThread;
+
+    /** Set once {@link #close()} has been called */
+    private volatile boolean closed;
+
+    /** TCP connections currently open */
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    /** TCP connections accepted */
+    private final LongAdder acceptedConnections = new LongAdder();
+
+    /** TCP connections closed because of a malformed frame or an I/O error */
+    private final LongAdder droppedConnections = new LongAdder();
+
+    /** Datagrams received */
+    private final LongAdder datagrams = new LongAdder();
+
+    /** Bytes received over both protocols */
+    private final LongAdder bytes = new LongAdder();
+
+    /** Frames decoded, by level ordinal */
+    private final LongAdder[] frames = new LongAdder[LEVELS.length];
+
+    /** Frames with an impossible length or unknown level, and truncated frames */
+    private final LongAdder malformedFrames = new LongAdder();
+
+    /** Messages whose logging threw */
+    private final LongAdder failedMessages = new LongAdder();
+
+    /** Frames per level over the last 60 seconds */
+    private final RateRollup perSecond = new RateRollup(60, 1_000);
+
+    /** Frames per level over the last 60 minutes */
+    private final RateRollup perMinute = new RateRollup(60, 60_000);
+
+    /**
+     * Constructs a new SocketIngestListener, binds its sockets and starts the selector thread.
+     *
+     * @param loggingService The service that logs each message
+     * @param tcpAddress Address to accept TCP connections on, or null to disable TCP; port 0 picks a free port
+     * @param udpAddress Address to receive datagrams on, or null to disable UDP; port 0 picks a free port
+     * @param maxFrameLength Largest frame length accepted, excluding the length prefix
+     * @param pooledBuffers Largest number of idle partial-frame buffers kept
+     * @throws IOException if a socket cannot be bound
+     */
+    public SocketIngestListener(LoggingService loggingService, InetSocketAddress tcpAddress,
+                                InetSocketAddress udpAddress, int maxFrameLength, int pooledBuffers)
+            throws IOException {
+        this.loggingService = loggingService;
+        this.maxFrameLength = Math.max(1, maxFrameLength);
+        this.pool = new BufferPool(HEADER_LENGTH + this.maxFrameLength, pooledBuffers);
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new LongAdder();
+        }
+        this.selector = Selector.open();
+        ServerSocketChannel tcp = null;
+        DatagramChannel udp = null;
+        try {
+            if (tcpAddress != null) {
+                tcp = ServerSocketChannel.open();
+                tcp.bind(tcpAddress);
+                tcp.configureBlocking(false);
+                tcp.register(selector, SelectionKey.OP_ACCEPT);
+            }
+            if (udpAddress != null) {
+                udp = DatagramChannel.open();
+                udp.bind(udpAddress);
+                udp.configureBlocking(false);
+                udp.register(selector, SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            closeQuietly(tcp);
+            closeQuietly(udp);
+            closeQuietly(selector);
+            throw e;
+        }
+        this.server = tcp;
+        this.datagramChannel = udp;
+        this.tcpPort = tcp == null ? -1 : ((InetSocketAddress) tcp.getLocalAddress()).getPort();
+        this.udpPort = udp == null ? -1 : ((InetSocketAddress) udp.getLocalAddress()).getPort();
+        this.selectorThread = new Thread(this::selectLoop, "log-ingest-selector");
+        this.selectorThread.setDaemon(true);
+        this.selectorThread.start();
+    }
+
+    /**
+     * Builds the frame carrying one message.
+     *
+     * @param level The message's level
+     * @param message The message text
+     * @return The length prefix, level byte and UTF-8 message
+     */
+    public static byte[] encodeFrame(LogLevel level, String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(HEADER_LENGTH + 1 + text.length)
+                .putInt(1 + text.length)
+                .put((byte) level.ordinal())
+                .put(text)
+                .array();
+    }
+
+    /**
+     * Serves the sockets until the listener is closed, then closes them.
+     */
+    private void selectLoop() {
+        try {
+            while (!closed) {
+                selector.select(this::handle);
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // The listener is shutting down or the selector broke; either way no more messages arrive
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    /**
+     * Handles one ready socket.
+     *
+     * @param key The socket's selection key
+     */
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+        } else if (key.channel() == datagramChannel) {
+            receiveDatagrams();
+        } else {
+            readStream(key);
+        }
+    }
+
+    /**
+     * Accepts every pending TCP connection.
+     */
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ);
+                acceptedConnections.increment();
+                openConnections.incrementAndGet();
+            }
+        } catch (IOException e) {
+            // The connection was reset before it could be registered
+        }
+    }
+
+    /**
+     * Reads what a TCP connection has sent and logs every complete frame.
+     * The connection's partial frame, if any, is its key's attachment.
+     *
+     * @param key The connection's selection key
+     */
+    private void readStream(SelectionKey key) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        try {
+            for (int i = 0; i < MAX_READS_PER_WAKEUP; i++) {
+                ByteBuffer pending = (ByteBuffer) key.attachment();
+                ByteBuffer buffer = pending != null ? pending : readBuffer;
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    if (pending != null) {
+                        malformedFrames.increment();
+                    }
+                    closeConnection(key, false);
+                    return;
+                }
+                if (read == 0) {
+                    return;
+                }
+                bytes.add(read);
+                buffer.flip();
+                if (!decode(buffer)) {
+                    readBuffer.clear();
+                    closeConnection(key, true);
+                    return;
+                }
+                keepRemainder(key, buffer);
+            }
+        } catch (IOException e) {
+            readBuffer.clear();
+            closeConnection(key, true);
+        }
+    }
+
+    /**
+     * Keeps the partial frame left in a buffer after decoding, moving it out of
+     * the shared buffer into a pooled one, or returns the pooled buffer once it
+     * is empty.
+     *
+     * @param key The connection's selection key
+     * @param buffer The buffer just decoded, in read mode
+     */
+    private void keepRemainder(SelectionKey key, ByteBuffer buffer) {
+        if (buffer == readBuffer) {
+            if (buffer.hasRemaining()) {
+                key.attach(pool.acquire().put(buffer));
+            }
+            readBuffer.clear();
+        } else if (buffer.hasRemaining()) {
+            buffer.compact();
+        } else {
+            pool.release(buffer);
+            key.attach(null);
+        }
+    }
+
+    /**
+     * Receives every pending datagram and logs its frames.
+     */
+    private void receiveDatagrams() {
+        try {
+            for (int i = 0; i < MAX_READS_PER_WAKEUP; i++) {
+                if (datagramChannel.receive(readBuffer) == null) {
+                    return;
+                }
+                datagrams.increment();
+                bytes.add(readBuffer.position());
+                readBuffer.flip();
+                if (decode(readBuffer) && readBuffer.hasRemaining()) {
+                    malformedFrames.increment();
+                }
+                readBuffer.clear();
+            }
+        } catch (IOException e) {
+            // A failed receive loses at most the datagram being received
+            readBuffer.clear();
+        }
+    }
+
+    /**
+     * Logs every complete frame in the buffer, leaving its position at the
+     * first incomplete one. The message text is decoded from the buffer's
+     * array without copying, and only if its level is written at all.
+     *
+     * @param buffer The received bytes, in read mode
+     * @return false if a frame has an impossible length, so the remaining bytes cannot be framed
+     */
+    private boolean decode(ByteBuffer buffer) {
+        long now = System.currentTimeMillis();
+        byte[] array = buffer.array();
+        while (buffer.remaining() >= HEADER_LENGTH) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length < 1 || length > maxFrameLength) {
+                malformedFrames.increment();
+                return false;
+            }
+            if (buffer.remaining() < HEADER_LENGTH + length) {
+                return true;
+            }
+            int body = buffer.arrayOffset() + start + HEADER_LENGTH;
+            buffer.position(start + HEADER_LENGTH + length);
+            int ordinal = array[body] & 0xFF;
+            if (ordinal >= LEVELS.length) {
+                malformedFrames.increment();
+                continue;
+            }
+            LogLevel level = LEVELS[ordinal];
+            frames[ordinal].increment();
+            perSecond.record(level, now);
+            perMinute.record(level, now);
+            if (!loggingService.isEnabled(level)) {
+                continue;
+            }
+            try {
+                loggingService.logMessage(level, new String(array, body + 1, length - 1, StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                failedMessages.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes a TCP connection and returns its partial-frame buffer to the pool.
+     *
+     * @param key The connection's selection key
+     * @param dropped Whether the connection is closed because of an error rather than by the peer
+     */
+    private void closeConnection(SelectionKey key, boolean dropped) {
+        if (key.attachment() instanceof ByteBuffer pending) {
+            pool.release(pending);
+            key.attach(null);
+        }
+        key.cancel();
+        // Counted before closing, so the counts are current once the peer sees the close
+        openConnections.decrementAndGet();
+        if (dropped) {
+            droppedConnections.increment();
+        }
+        closeQuietly(key.channel());
+    }
+
+    /**
+     * Closes a resource, ignoring failures.
+     *
+     * @param resource The resource, or null
+     */
+    private static void closeQuietly(Closeable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (IOException e) {
+            // Nothing left to do with it
+        }
+    }
+
+    /**
+     * Returns the port TCP connections are accepted on.
+     *
+     * @return The port, or -1 if TCP is disabled
+     */
+    public int getTcpPort() {
+        return tcpPort;
+    }
+
+    /**
+     * Returns the port datagrams are received on.
+     *
+     * @return The port, or -1 if UDP is disabled
+     */
+    public int getUdpPort() {
+        return udpPort;
+    }
+
+    /**
+     * Returns the number of TCP connections currently open.
+     *
+     * @return The open connection count
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Returns the number of TCP connections accepted.
+     *
+     * @return The accepted connection count
+     */
+    public long getAcceptedConnections() {
+        return acceptedConnections.sum();
+    }
+
+    /**
+     * Returns the number of TCP connections closed because of a malformed frame or an I/O error.
+     *
+     * @return The dropped connection count
+     */
+    public long getDroppedConnections() {
+        return droppedConnections.sum();
+    }
+
+    /**
+     * Returns the number of datagrams received.
+     *
+     * @return The datagram count
+     */
+    public long getDatagrams() {
+        return datagrams.sum();
+    }
+
+    /**
+     * Returns the number of bytes received over both protocols.
+     *
+     * @return The byte count
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * Returns the number of frames decoded at a level.
+     *
+     * @param level The level
+     * @return The frame count
+     */
+    public long getFrames(LogLevel level) {
+        return frames[level.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of malformed and truncated frames.
+     *
+     * @return The malformed frame count
+     */
+    public long getMalformedFrames() {
+        return malformedFrames.sum();
+    }
+
+    /**
+     * Returns the number of messages whose logging threw.
+     *
+     * @return The failed message count
+     */
+    public long getFailedMessages() {
+        return failedMessages.sum();
+    }
+
+    /**
+     * Returns the frames of a level received in each of the last 60 seconds, oldest first.
+     *
+     * @param level The level
+     * @param nowMillis The current time in epoch milliseconds
+     * @return One count per second
+     */
+    public long[] getPerSecond(LogLevel level, long nowMillis) {
+        return perSecond.counts(level, nowMillis);
+    }
+
+    /**
+     * Returns the frames of a level received in each of the last 60 minutes, oldest first.
+     *
+     * @param level The level
+     * @param nowMillis The current time in epoch milliseconds
+     * @return One count per minute
+     */
+    public long[] getPerMinute(LogLevel level, long nowMillis) {
+        return perMinute.counts(level, nowMillis);
+    }
+
+    /**
+     * Stops the selector thread and closes every socket. Frames already
+     * received are logged; partial frames are discarded.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        selector.wakeup();
+        try {
+            selectorThread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
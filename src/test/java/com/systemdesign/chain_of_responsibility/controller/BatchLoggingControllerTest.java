@@ -0,0 +1,113 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.systemdesign.chain_of_responsibility.logging.LogEvent;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchLoggingControllerTest {
+
+	private static final List<String> ENTRIES = List.of(
+			"{\"level\":\"info\",\"message\":\"first\"}",
+			"{\"level\":\"ERROR\",\"template\":\"user {} failed\",\"args\":[\"alice\"],\"timestamp\":42}",
+			"{\"level\":\"TRACE\",\"message\":\"unknown level\"}",
+			"{\"level\":\"DEBUG\"}",
+			"[\"not\",\"an\",\"object\"]",
+			"{\"level\":\" debug \",\"message\":\"last\",\"extra\":{\"ignored\":true}}");
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@LocalServerPort
+	int port;
+
+	@MockitoBean
+	LoggingService loggingService;
+
+	private HttpResponse<String> post(String contentType, String body) throws Exception {
+		return HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/logs/batch"))
+						.header("Content-Type", contentType)
+						.POST(HttpRequest.BodyPublishers.ofString(body))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+
+	private void verifyValidEntriesLogged() {
+		verify(loggingService).logMessage(LogLevel.INFO, "first");
+		verify(loggingService).logMessage(LogLevel.DEBUG, "last");
+		ArgumentCaptor<LogEvent> event = ArgumentCaptor.forClass(LogEvent.class);
+		verify(loggingService).logEvent(eq(LogLevel.ERROR), event.capture());
+		assertEquals("user alice failed", event.getValue().render());
+		assertEquals(42, event.getValue().getTimestamp());
+	}
+
+	@Test
+	void logsNdjsonEntriesAndCountsRejected() throws Exception {
+		HttpResponse<String> response = post("application/x-ndjson", String.join("\n", ENTRIES) + "\n");
+
+		assertEquals(200, response.statusCode());
+		assertEquals("{\"accepted\":3,\"rejected\":3}", response.body());
+		verifyValidEntriesLogged();
+	}
+
+	@Test
+	void logsArrayEntriesAndCountsRejected() throws Exception {
+		HttpResponse<String> response = post("application/json", "[" + String.join(",", ENTRIES) + "]");
+
+		assertEquals(200, response.statusCode());
+		assertEquals("{\"accepted\":3,\"rejected\":3}", response.body());
+		verifyValidEntriesLogged();
+	}
+
+	@Test
+	void malformedJsonMidBodyAnswers400WithPartialCounts() throws Exception {
+		String body = "{\"level\":\"INFO\",\"message\":\"before\"}\n"
+				+ "{\"level\":\"TRACE\",\"message\":\"rejected\"}\n"
+				+ "{\"level\":\"INFO\",\"message\": oops}\n"
+				+ "{\"level\":\"INFO\",\"message\":\"after\"}\n";
+
+		HttpResponse<String> response = post("application/x-ndjson", body);
+
+		assertEquals(400, response.statusCode());
+		JsonNode counts = objectMapper.readTree(response.body());
+		assertEquals(1, counts.get("accepted").asLong());
+		assertEquals(1, counts.get("rejected").asLong());
+		assertTrue(counts.hasNonNull("error"), response.body());
+		verify(loggingService).logMessage(LogLevel.INFO, "before");
+		verify(loggingService, never()).logMessage(LogLevel.INFO, "after");
+		verify(loggingService, never()).logEvent(any(), any());
+	}
+
+	@Test
+	void unterminatedArrayAnswers400WithPartialCounts() throws Exception {
+		HttpResponse<String> response = post("application/json", "[" + ENTRIES.get(0) + ",");
+
+		assertEquals(400, response.statusCode());
+		JsonNode counts = objectMapper.readTree(response.body());
+		assertEquals(1, counts.get("accepted").asLong());
+		assertEquals(0, counts.get("rejected").asLong());
+		assertTrue(counts.hasNonNull("error"), response.body());
+		verify(loggingService, never()).logMessage(eq(LogLevel.DEBUG), anyString());
+	}
+}
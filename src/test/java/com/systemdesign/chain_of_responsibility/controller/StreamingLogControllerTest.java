@@ -0,0 +1,54 @@
+package com.systemdesign.chain_of_responsibility.controller;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StreamingLogControllerTest {
+
+	@LocalServerPort
+	int port;
+
+	@MockitoBean
+	LoggingService loggingService;
+
+	@Test
+	void streamsEntriesIntoTheChainAndReportsCounts() throws Exception {
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < 20_000; i++) {
+			body.append("{\"level\":\"").append(i % 2 == 0 ? "INFO" : "error")
+					.append("\",\"message\":\"entry ").append(i).append("\"}\r\n");
+		}
+		body.append("\n{\"level\":\"TRACE\",\"message\":\"unknown level\"}\n");
+		body.append("not json\n");
+		body.append("{\"level\":\"DEBUG\",\"message\":\"last line without newline\"}");
+
+		HttpResponse<String> response = HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/logs/stream"))
+						.header("Content-Type", "application/x-ndjson")
+						.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+
+		assertEquals(200, response.statusCode());
+		assertEquals("{\"accepted\":20001,\"rejected\":2}", response.body());
+		verify(loggingService, times(10_000)).logMessage(eq(LogLevel.INFO), anyString());
+		verify(loggingService, times(10_000)).logMessage(eq(LogLevel.ERROR), anyString());
+		verify(loggingService).logMessage(LogLevel.DEBUG, "last line without newline");
+	}
+}
@@ -0,0 +1,123 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static void round(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyMillis)
+			throws InterruptedException {
+		List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			permits.add(limiter.tryAcquire(LogLevel.ERROR));
+		}
+		Thread.sleep(2);
+		for (int i = 0; i < concurrency; i++) {
+			limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+		}
+		permits.forEach(AdaptiveConcurrencyLimiter.Permit::close);
+	}
+
+	@Test
+	void shedsInfoThenDebugButNeverError() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 8, 8, 2.0, 0.5,
+				TimeUnit.SECONDS.toNanos(1));
+		List<AdaptiveConcurrencyLimiter.Permit> held = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			held.add(limiter.tryAcquire(LogLevel.INFO));
+		}
+		assertNull(limiter.tryAcquire(LogLevel.INFO));
+		for (int i = 0; i < 4; i++) {
+			held.add(limiter.tryAcquire(LogLevel.DEBUG));
+		}
+		assertNull(limiter.tryAcquire(LogLevel.DEBUG));
+		assertNotNull(limiter.tryAcquire(LogLevel.ERROR));
+		assertEquals(9, limiter.getInFlight());
+
+		assertEquals(1, limiter.getShed(LogLevel.INFO));
+		assertEquals(1, limiter.getShed(LogLevel.DEBUG));
+		assertEquals(0, limiter.getShed(LogLevel.ERROR));
+		assertEquals(4, limiter.getAdmitted(LogLevel.INFO));
+
+		held.get(0).close();
+		held.get(0).close();
+		assertEquals(8, limiter.getInFlight());
+		assertNull(limiter.tryAcquire(LogLevel.DEBUG));
+		held.get(1).close();
+		assertNotNull(limiter.tryAcquire(LogLevel.DEBUG));
+	}
+
+	@Test
+	void limitShrinksWhenLatencyClimbsAndRecoversAfterwards() throws InterruptedException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(64, 8, 256, 2.0, 0.75,
+				TimeUnit.MILLISECONDS.toNanos(1));
+		for (int i = 0; i < 5; i++) {
+			round(limiter, 48, 1);
+		}
+		int beforeOverload = limiter.getLimit();
+
+		for (int i = 0; i < 5; i++) {
+			round(limiter, 48, 50);
+		}
+		int overloaded = limiter.getLimit();
+		assertTrue(overloaded < beforeOverload, overloaded + " should be below " + beforeOverload);
+
+		for (int i = 0; i < 5; i++) {
+			round(limiter, 48, 1);
+		}
+		assertTrue(limiter.getLimit() > overloaded, limiter.getLimit() + " should be above " + overloaded);
+	}
+
+	@Test
+	void followsDeliveryLatencyAndBacklogWhileRequestsOnlyEnqueue() throws InterruptedException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(64, 8, 256, 2.0, 0.5,
+				TimeUnit.MILLISECONDS.toNanos(1));
+		AtomicLong queued = new AtomicLong();
+		limiter.setBacklog(queued::get);
+		for (int i = 0; i < 5; i++) {
+			limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+			Thread.sleep(2);
+		}
+		assertNotNull(limiter.tryAcquire(LogLevel.INFO));
+
+		for (int i = 0; i < 10; i++) {
+			queued.set(30);
+			limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(50));
+			Thread.sleep(2);
+		}
+		limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(50));
+		assertTrue(limiter.getLimit() < 64, limiter.getLimit() + " should be below 64");
+		assertEquals(30, limiter.getBacklog());
+		assertNull(limiter.tryAcquire(LogLevel.INFO));
+		assertNotNull(limiter.tryAcquire(LogLevel.ERROR));
+	}
+
+	@Test
+	void readmitsOnceDrainedBacklogIsReadWithoutReleasesOrLatency() throws InterruptedException {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(64, 8, 256, 2.0, 0.5,
+				TimeUnit.MILLISECONDS.toNanos(5));
+		AtomicLong queued = new AtomicLong(1000);
+		limiter.setBacklog(queued::get);
+		Thread.sleep(6);
+		limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+		assertEquals(1000, limiter.getBacklog());
+		assertNull(limiter.tryAcquire(LogLevel.INFO));
+		assertNull(limiter.tryAcquire(LogLevel.DEBUG));
+
+		queued.set(0);
+		Thread.sleep(6);
+		assertNotNull(limiter.tryAcquire(LogLevel.INFO));
+		assertEquals(0, limiter.getBacklog());
+		assertNotNull(limiter.tryAcquire(LogLevel.DEBUG));
+	}
+}
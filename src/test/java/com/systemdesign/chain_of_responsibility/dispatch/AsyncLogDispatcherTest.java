@@ -0,0 +1,65 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogDispatcherTest {
+
+	@Test
+	void deliversEveryMessageFromConcurrentProducers() throws InterruptedException {
+		AtomicInteger delivered = new AtomicInteger();
+		AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(
+				(level, message) -> delivered.incrementAndGet(), 16, 2, OverflowPolicy.BLOCK, LogLevel.ERROR);
+
+		Thread[] producers = new Thread[4];
+		for (int i = 0; i < producers.length; i++) {
+			producers[i] = new Thread(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					dispatcher.dispatch(LogLevel.INFO, "message");
+				}
+			});
+			producers[i].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		dispatcher.close();
+
+		assertEquals(40_000, delivered.get());
+	}
+
+	@Test
+	void countsDropsPerPolicyWhenFull() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		ConcurrentLinkedQueue<String> delivered = new ConcurrentLinkedQueue<>();
+		AsyncLogDispatcher dispatcher = new AsyncLogDispatcher((level, message) -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			delivered.add(message);
+		}, 4, 1, OverflowPolicy.DROP_BELOW_LEVEL, LogLevel.ERROR);
+
+		dispatcher.dispatch(LogLevel.INFO, "held by drainer");
+		while (dispatcher.getQueueDepth() > 0) {
+			Thread.onSpinWait();
+		}
+		for (int i = 0; i < 10; i++) {
+			dispatcher.dispatch(LogLevel.DEBUG, "debug " + i);
+		}
+		release.countDown();
+		dispatcher.close();
+
+		assertEquals(6, dispatcher.getDroppedCount(OverflowPolicy.DROP_BELOW_LEVEL));
+		assertEquals(0, dispatcher.getDroppedCount(OverflowPolicy.DROP_NEWEST));
+		assertTrue(delivered.contains("debug 3"));
+	}
+}
@@ -0,0 +1,88 @@
+package com.systemdesign.chain_of_responsibility.dispatch;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedLogDispatcherTest {
+
+	@Test
+	void deliversEveryMessageInCaptureOrderPerThread() throws InterruptedException {
+		List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+		StripedLogDispatcher dispatcher = new StripedLogDispatcher(
+				(level, message) -> delivered.add(message), 64, Duration.ofMillis(1), 256);
+
+		Thread[] producers = new Thread[4];
+		for (int i = 0; i < producers.length; i++) {
+			int producer = i;
+			producers[i] = new Thread(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					dispatcher.dispatch(LogLevel.INFO, producer + ":" + j);
+				}
+			});
+			producers[i].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		dispatcher.close();
+
+		assertEquals(40_000, delivered.size());
+		assertEquals(40_000, dispatcher.getMergedCount());
+		int[] next = new int[producers.length];
+		for (String message : delivered) {
+			int producer = message.charAt(0) - '0';
+			assertEquals(next[producer]++, Integer.parseInt(message.substring(2)));
+		}
+	}
+
+	@Test
+	void mergesThreadsInTimestampOrder() throws InterruptedException {
+		List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+		StripedLogDispatcher dispatcher = new StripedLogDispatcher(
+				(level, message) -> delivered.add(message), 16, Duration.ofMillis(50), 256);
+
+		for (int i = 0; i < 3; i++) {
+			int round = i;
+			Thread other = new Thread(() -> dispatcher.dispatch(LogLevel.INFO, "other " + round));
+			other.start();
+			other.join();
+			dispatcher.dispatch(LogLevel.INFO, "main " + round);
+		}
+		Thread.ofVirtual().start(() -> dispatcher.dispatch(LogLevel.ERROR, "virtual")).join();
+		dispatcher.close();
+
+		assertEquals(List.of("other 0", "main 0", "other 1", "main 1", "other 2", "main 2", "virtual"), delivered);
+		assertEquals(0, dispatcher.getOutOfOrderCount());
+	}
+
+	@Test
+	void holdsEventsForTheWindowAndReportsLag() throws InterruptedException {
+		List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+		StripedLogDispatcher dispatcher = new StripedLogDispatcher(
+				(level, message) -> delivered.add(message), 2, Duration.ofMillis(100), 256);
+
+		for (int i = 0; i < 4; i++) {
+			dispatcher.dispatch(LogLevel.INFO, "message " + i);
+		}
+		assertEquals(2, dispatcher.getStripeCount());
+		assertTrue(dispatcher.getStallCount() >= 1);
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (delivered.size() < 4 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		dispatcher.close();
+
+		assertEquals(4, delivered.size());
+		assertEquals(0, dispatcher.getPendingCount());
+		assertTrue(dispatcher.getLag().snapshot().getMax() >= TimeUnit.MILLISECONDS.toNanos(90));
+	}
+}
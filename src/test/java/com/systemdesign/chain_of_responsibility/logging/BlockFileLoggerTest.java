@@ -0,0 +1,147 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockFileLoggerTest {
+
+	private static final long START = 1_760_000_000_000L;
+
+	@TempDir
+	Path directory;
+
+	private BlockFileLogger open(long fileSize) throws IOException {
+		return new BlockFileLogger(LogLevel.INFO, directory, "test", 4096, fileSize, 6, Duration.ofHours(1));
+	}
+
+	private long totalSize() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.mapToLong(file -> file.toFile().length()).sum();
+		}
+	}
+
+	@Test
+	void readsOnlyTheBlocksOfTheRequestedRange() throws IOException {
+		BlockFileLogger logger = open(64 * 1024);
+		long textBytes = 0;
+		for (int i = 0; i < 20_000; i++) {
+			LogLevel level = i % 100 == 0 ? LogLevel.ERROR : LogLevel.INFO;
+			String message = "request " + i + " served in " + (i % 37) + " ms by worker-" + (i % 8);
+			logger.append(level, START + i, message);
+			textBytes += message.length() + 8;
+		}
+		logger.close();
+		assertTrue(BlockLogFormat.listFiles(directory, "test").size() > 1);
+		assertTrue(totalSize() * 5 < textBytes, totalSize() + " bytes on disk for " + textBytes + " of text");
+
+		BlockLogReader reader = new BlockLogReader(directory, "test");
+		BlockLogReader.QueryResult range = reader.query(START + 10_000, START + 10_050, null, null, 1000);
+		assertEquals(50, range.getEntries().size());
+		assertEquals("request 10000 served in 10 ms by worker-0", range.getEntries().get(0).getMessage());
+		assertEquals(START + 10_049, range.getEntries().get(49).getTimestamp());
+		assertFalse(range.isTruncated());
+		assertTrue(range.getBlocksRead() <= 2, range.getBlocksRead() + " blocks read");
+		assertTrue(range.getBlocksSkipped() > 50);
+
+		BlockLogReader.QueryResult errors = reader.query(START, START + 20_000, List.of(LogLevel.ERROR), null, 150);
+		assertEquals(150, errors.getEntries().size());
+		assertTrue(errors.isTruncated());
+		assertEquals(LogLevel.ERROR, errors.getEntries().get(149).getLevel());
+		assertEquals(START + 14_900, errors.getEntries().get(149).getTimestamp());
+
+		BlockLogReader.QueryResult matching = reader.query(START, START + 20_000, List.of(LogLevel.ERROR),
+				"WORKER-4 served", 1000);
+		assertEquals(100, matching.getEntries().size());
+		assertEquals("request 100 served in 26 ms by worker-4", matching.getEntries().get(0).getMessage());
+	}
+
+	@Test
+	void readsUnsealedFilesAndStopsAtATornBlock() throws IOException {
+		BlockFileLogger logger = open(64 * 1024 * 1024);
+		for (int i = 0; i < 100; i++) {
+			logger.append(LogLevel.INFO, START + i, "before flush " + i);
+		}
+		logger.flush();
+		logger.append(LogLevel.INFO, START + 100, "still in memory");
+
+		Path file = directory.resolve("test-000000.blk");
+		long flushed = Files.size(file);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.allocate(BlockLogFormat.BLOCK_HEADER_LENGTH).putInt(1 << 20).putInt(0)
+					.putInt(1).putLong(START).putLong(START).put((byte) 1).putInt(0).flip());
+		}
+
+		BlockLogReader reader = new BlockLogReader(directory, "test");
+		BlockLogReader.QueryResult result = reader.query(0, Long.MAX_VALUE, null, null, 1000);
+		assertEquals(100, result.getEntries().size());
+		assertEquals("before flush 99", result.getEntries().get(99).getMessage());
+		assertTrue(flushed > BlockLogFormat.FILE_HEADER_LENGTH);
+
+		BlockFileLogger restarted = open(64 * 1024 * 1024);
+		restarted.append(LogLevel.ERROR, START + 200, "after restart");
+		restarted.close();
+		List<BlockLogReader.Entry> entries = reader.query(START + 99, Long.MAX_VALUE, null, null, 10).getEntries();
+		assertEquals(List.of("before flush 99", "after restart"),
+				entries.stream().map(BlockLogReader.Entry::getMessage).toList());
+	}
+
+	private Path writeThreeBlocks() throws IOException {
+		BlockFileLogger logger = open(64 * 1024 * 1024);
+		for (int batch = 0; batch < 3; batch++) {
+			for (int i = 0; i < 10; i++) {
+				logger.append(LogLevel.INFO, START + batch * 10 + i, "batch " + batch + " message " + i);
+			}
+			logger.flush();
+		}
+		logger.close();
+		return directory.resolve("test-000000.blk");
+	}
+
+	private BlockLogReader.QueryResult queryAll() throws IOException {
+		return new BlockLogReader(directory, "test").query(0, Long.MAX_VALUE, null, null, 1000);
+	}
+
+	@Test
+	void skipsAndCountsACorruptBlock() throws IOException {
+		Path file = writeThreeBlocks();
+		long payload = BlockLogFormat.FILE_HEADER_LENGTH + BlockLogFormat.BLOCK_HEADER_LENGTH + 4;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer corrupted = ByteBuffer.allocate(1);
+			channel.read(corrupted, payload);
+			channel.write(ByteBuffer.wrap(new byte[] {(byte) ~corrupted.get(0)}), payload);
+		}
+
+		BlockLogReader.QueryResult result = queryAll();
+		assertEquals(1, result.getBlocksCorrupt());
+		assertEquals(20, result.getEntries().size());
+		assertEquals("batch 1 message 0", result.getEntries().get(0).getMessage());
+	}
+
+	@Test
+	void skipsABlockClaimingAnImpossibleUncompressedLength() throws IOException {
+		Path file = writeThreeBlocks();
+		// The uncompressed length follows the compressed length and is not covered by the checksum
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE), BlockLogFormat.FILE_HEADER_LENGTH + 4);
+		}
+
+		BlockLogReader.QueryResult result = queryAll();
+		assertEquals(1, result.getBlocksCorrupt());
+		assertEquals(20, result.getEntries().size());
+		assertEquals("batch 1 message 0", result.getEntries().get(0).getMessage());
+	}
+}
@@ -0,0 +1,64 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ConsoleLoggerAllocationTest {
+
+	private static final int MESSAGES = 200_000;
+
+	private static class TestConsoleLogger extends ConsoleLogger {
+		TestConsoleLogger(LogLevel level, OutputStream out) {
+			super(level, out);
+		}
+	}
+
+	private static AbstractLogger chain(OutputStream out) {
+		AbstractLogger error = new TestConsoleLogger(LogLevel.ERROR, out);
+		AbstractLogger debug = new TestConsoleLogger(LogLevel.DEBUG, out);
+		AbstractLogger info = new TestConsoleLogger(LogLevel.INFO, out);
+		error.setNextLogger(debug);
+		debug.setNextLogger(info);
+		return error;
+	}
+
+	@Test
+	void encodesPrefixMessageAndLineFeed() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DispatchTable.compile(chain(out)).dispatch(LogLevel.DEBUG, "héllo 😀");
+
+		assertEquals("DEBUG: héllo 😀\nINFO: héllo 😀\n", out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void steadyStateDispatchDoesNotAllocate() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		DispatchTable table = DispatchTable.compile(chain(OutputStream.nullOutputStream()));
+		String message = "Processing request ID: 123 for customer ünïcödé";
+		for (int i = 0; i < MESSAGES; i++) {
+			table.dispatch(LogLevel.ERROR, message);
+		}
+
+		long threadId = Thread.currentThread().threadId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MESSAGES; i++) {
+			table.dispatch(LogLevel.ERROR, message);
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		// Three writes per message; allow a few KB for the measurement itself
+		assertTrue(allocated < 16 * 1024, "Allocated " + allocated + " bytes for " + MESSAGES + " messages");
+	}
+}
@@ -0,0 +1,64 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeduplicatingFilterTest {
+
+	@Test
+	void collapsesRepeatsUntilWindowEnds() throws InterruptedException {
+		RecordingLogger sink = new RecordingLogger();
+		try (DeduplicatingFilter filter = new DeduplicatingFilter(Duration.ofHours(1), 16)) {
+			filter.setNextLogger(sink);
+			ChainDispatcher table = new ChainDispatcher(filter);
+			filter.setEmitTarget(table.asLogDispatcher());
+
+			for (int i = 0; i < 99; i++) {
+				table.dispatch(LogLevel.ERROR, "disk full");
+			}
+			Thread.sleep(20);
+			table.dispatch(LogLevel.ERROR, "disk full");
+			table.dispatch(LogLevel.DEBUG, "disk full");
+			assertEquals(List.of("disk full", "disk full"), sink.output);
+
+			filter.flushExpired(System.nanoTime() + Duration.ofHours(2).toNanos());
+			String summary = sink.output.get(2);
+			assertTrue(summary.matches("Repeated 99 times in \\d+ ms: disk full"), summary);
+			long spanMillis = Long.parseLong(summary.split(" ")[4]);
+			assertTrue(spanMillis >= 20 && spanMillis < 1000, summary);
+			assertEquals(3, sink.output.size());
+
+			table.dispatch(LogLevel.ERROR, "disk full");
+			assertEquals(4, sink.output.size());
+		}
+	}
+
+	@Test
+	void memoryStaysBoundedWithManyDistinctMessages() {
+		RecordingLogger sink = new RecordingLogger();
+		try (DeduplicatingFilter filter = new DeduplicatingFilter(Duration.ofHours(1), 4)) {
+			filter.setNextLogger(sink);
+			ChainDispatcher dispatcher = new ChainDispatcher(filter);
+			filter.setEmitTarget(dispatcher.asLogDispatcher());
+
+			for (int i = 0; i < 1000; i++) {
+				dispatcher.dispatch(LogLevel.INFO, "message " + i);
+				dispatcher.dispatch(LogLevel.INFO, "message " + i);
+			}
+
+			// Every message passed once; counts of evicted messages wait for the timer
+			assertEquals(1000, sink.output.size());
+		}
+		// Closing the filter reports every count it still holds
+		long repeats = sink.output.stream()
+				.filter(line -> line.startsWith("Repeated "))
+				.mapToLong(line -> Long.parseLong(line.split(" ")[1]))
+				.sum();
+		assertEquals(1000, repeats);
+	}
+}
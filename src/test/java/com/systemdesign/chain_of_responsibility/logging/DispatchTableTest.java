@@ -0,0 +1,117 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.metrics.ChainMetrics;
+import com.systemdesign.chain_of_responsibility.metrics.NodeMetrics;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+import com.systemdesign.chain_of_responsibility.service.LoggingServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DispatchTableTest {
+
+	private static AbstractLogger chain(List<String> output) {
+		AbstractLogger error = new RecordingLogger(LogLevel.ERROR, output);
+		AbstractLogger debug = new RecordingLogger(LogLevel.DEBUG, output);
+		AbstractLogger info = new RecordingLogger(LogLevel.INFO, output);
+		error.setNextLogger(debug);
+		debug.setNextLogger(info);
+		return error;
+	}
+
+	@Test
+	void compiledDispatchMatchesChainWalk() {
+		for (LogLevel level : LogLevel.values()) {
+			List<String> walked = new ArrayList<>();
+			chain(walked).logMessage(level, "m");
+
+			List<String> compiled = new ArrayList<>();
+			DispatchTable.compile(chain(compiled)).dispatch(level, "m");
+
+			assertEquals(walked, compiled);
+		}
+	}
+
+	@Test
+	void editPublishesNewSnapshot() {
+		List<String> output = new ArrayList<>();
+		ChainDispatcher dispatcher = new ChainDispatcher(chain(output));
+
+		dispatcher.edit(head -> head.nextLogger);
+		dispatcher.dispatch(LogLevel.ERROR, "m");
+
+		assertEquals(List.of("DEBUG:m", "INFO:m"), output);
+	}
+
+	@Test
+	void instrumentedTableCountsPerNode() {
+		List<String> output = new ArrayList<>();
+		ChainMetrics metrics = new ChainMetrics();
+		ChainDispatcher dispatcher = new ChainDispatcher(chain(output), metrics);
+
+		dispatcher.dispatch(LogLevel.DEBUG, "m");
+		dispatcher.dispatch(LogLevel.DEBUG, "m");
+
+		List<NodeMetrics> nodes = metrics.getNodes();
+		assertEquals(List.of("DEBUG:m", "INFO:m", "DEBUG:m", "INFO:m"), output);
+		assertEquals(2, nodes.get(0).getSkipped(LogLevel.DEBUG));
+		assertEquals(2, nodes.get(1).getAccepted(LogLevel.DEBUG));
+		assertEquals(2, nodes.get(2).getLatency(LogLevel.DEBUG).snapshot().getCount());
+		assertEquals(2, nodes.get(1).resetCounts(LogLevel.DEBUG)[0]);
+		assertEquals(0, nodes.get(1).getAccepted(LogLevel.DEBUG));
+	}
+
+	@Test
+	void setLevelRepublishesThresholds() {
+		List<String> output = new ArrayList<>();
+		ChainDispatcher dispatcher = new ChainDispatcher(chain(output));
+		assertTrue(dispatcher.isEnabled(LogLevel.INFO));
+
+		assertTrue(dispatcher.setLevel("RecordingINFO", LogLevel.ERROR));
+		assertTrue(dispatcher.setLevel("RecordingDEBUG", LogLevel.ERROR));
+
+		assertFalse(dispatcher.isEnabled(LogLevel.INFO));
+		assertFalse(dispatcher.isEnabled(LogLevel.DEBUG));
+		dispatcher.dispatch(LogLevel.DEBUG, "m");
+		dispatcher.dispatch(LogLevel.ERROR, "m");
+		assertEquals(List.of("ERROR:m", "ERROR:m", "ERROR:m"), output);
+		assertFalse(dispatcher.setLevel("NoSuchLogger", LogLevel.INFO));
+	}
+
+	@Test
+	void supplierOverloadsSkipDisabledLevels() {
+		List<String> output = new ArrayList<>();
+		ChainDispatcher dispatcher = new ChainDispatcher(chain(output));
+		LoggingService service = new LoggingServiceImpl(dispatcher.asLogDispatcher(), dispatcher);
+		dispatcher.setLevel("RecordingINFO", LogLevel.ERROR);
+		dispatcher.setLevel("RecordingDEBUG", LogLevel.ERROR);
+		AtomicInteger calls = new AtomicInteger();
+
+		service.logMessage(LogLevel.INFO, () -> "info " + calls.incrementAndGet());
+		service.logInfo(() -> "info " + calls.incrementAndGet());
+		service.logMessage(LogLevel.DEBUG, () -> "debug " + calls.incrementAndGet());
+		service.logDebug(() -> "debug " + calls.incrementAndGet());
+		assertEquals(0, calls.get());
+		assertEquals(List.of(), output);
+
+		service.logError(() -> "error " + calls.incrementAndGet());
+		assertEquals(1, calls.get());
+		assertEquals(List.of("ERROR:error 1", "ERROR:error 1", "ERROR:error 1"), output);
+	}
+
+	@Test
+	void rejectsCycles() {
+		List<String> output = new ArrayList<>();
+		AbstractLogger head = chain(output);
+		head.nextLogger.nextLogger.setNextLogger(head);
+
+		assertThrows(IllegalStateException.class, () -> DispatchTable.compile(head));
+	}
+}
@@ -0,0 +1,189 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForwardingLoggerTest {
+
+	@TempDir
+	Path spoolDirectory;
+
+	/** Stand-in collector: acknowledges every frame and keeps the decoded records */
+	private static class TestCollector implements Closeable {
+		private final ServerSocket server;
+		private final List<ForwardingCodec.Record> records = new CopyOnWriteArrayList<>();
+		private final List<Socket> connections = new CopyOnWriteArrayList<>();
+
+		TestCollector(int port) throws IOException {
+			server = new ServerSocket();
+			server.setReuseAddress(true);
+			server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+			Thread acceptor = new Thread(this::accept, "test-collector");
+			acceptor.setDaemon(true);
+			acceptor.start();
+		}
+
+		private void accept() {
+			try {
+				while (true) {
+					Socket socket = server.accept();
+					connections.add(socket);
+					Thread reader = new Thread(() -> read(socket), "test-collector-connection");
+					reader.setDaemon(true);
+					reader.start();
+				}
+			} catch (IOException e) {
+				// Collector closed
+			}
+		}
+
+		private void read(Socket socket) {
+			try (DataInputStream in = new DataInputStream(socket.getInputStream())) {
+				byte[] frame;
+				while ((frame = ForwardingCodec.readFrame(in)) != null) {
+					records.addAll(ForwardingCodec.decode(frame));
+					socket.getOutputStream().write(ForwardingCodec.ACK);
+				}
+			} catch (IOException e) {
+				// Connection closed
+			}
+		}
+
+		List<String> messages() {
+			return records.stream().map(ForwardingCodec.Record::getMessage).toList();
+		}
+
+		int port() {
+			return server.getLocalPort();
+		}
+
+		@Override
+		public void close() throws IOException {
+			server.close();
+			for (Socket socket : connections) {
+				socket.close();
+			}
+		}
+	}
+
+	private ForwardingLogger newLogger(int port) throws IOException {
+		return new ForwardingLogger(LogLevel.INFO, new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+				1024, Duration.ofMillis(20), 1024 * 1024, Duration.ofMillis(20), Duration.ofMillis(100),
+				Duration.ofSeconds(2), spoolDirectory, 16 * 1024 * 1024);
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Timed out waiting");
+			Thread.sleep(10);
+		}
+	}
+
+	private static List<String> messages(int from, int to) {
+		return IntStream.range(from, to).mapToObj(i -> "message " + i).toList();
+	}
+
+	@Test
+	void forwardsCompressedBatchesInOrder() throws Exception {
+		try (TestCollector collector = new TestCollector(0);
+			 ForwardingLogger logger = newLogger(collector.port())) {
+			DispatchTable table = DispatchTable.compile(logger);
+			messages(0, 1000).forEach(message -> table.dispatch(LogLevel.ERROR, message));
+			table.dispatch(LogLevel.INFO, LogEvent.of("user {} logged in", "alice"));
+
+			await(() -> collector.records.size() == 1001);
+			List<String> expected = new ArrayList<>(messages(0, 1000));
+			expected.add("user alice logged in");
+			assertEquals(expected, collector.messages());
+			assertEquals(LogLevel.ERROR, collector.records.get(0).getLevel());
+			assertEquals(LogLevel.INFO, collector.records.get(1000).getLevel());
+			assertTrue(logger.getForwardedBatches() > 1);
+			assertEquals(0, logger.getSpooledBatches());
+		}
+	}
+
+	@Test
+	void spoolsWhileCollectorIsDownAndReplaysInOrder() throws Exception {
+		int port = freePort();
+		try (ForwardingLogger logger = newLogger(port)) {
+			messages(0, 500).forEach(message -> logger.logMessage(LogLevel.INFO, message));
+			await(() -> logger.getSpooledBatches() > 0);
+
+			try (TestCollector collector = new TestCollector(port)) {
+				messages(500, 1000).forEach(message -> logger.logMessage(LogLevel.INFO, message));
+				await(() -> collector.records.size() == 1000);
+				assertEquals(messages(0, 1000), collector.messages());
+			}
+			assertEquals(0, logger.getDroppedMessages());
+		}
+	}
+
+	@Test
+	void spoolSurvivesRestart() throws Exception {
+		int port = freePort();
+		try (ForwardingLogger logger = newLogger(port)) {
+			messages(0, 300).forEach(message -> logger.logMessage(LogLevel.INFO, message));
+		}
+
+		try (TestCollector collector = new TestCollector(port);
+			 ForwardingLogger logger = newLogger(port)) {
+			await(() -> collector.records.size() == 300);
+			assertEquals(messages(0, 300), collector.messages());
+			logger.logMessage(LogLevel.INFO, "after restart");
+			await(() -> collector.records.size() == 301);
+		}
+	}
+
+	@Test
+	void spoolLimitCountsOnlyPendingFramesAndCompactsReplayedOnes() throws Exception {
+		byte[] frame = new byte[96];
+		try (ForwardingSpool spool = new ForwardingSpool(spoolDirectory, 1024)) {
+			for (int i = 0; i < 1000; i++) {
+				frame[0] = (byte) i;
+				assertTrue(spool.append(frame.clone()), "frame " + i + " rejected");
+				if (i >= 4) {
+					byte[] head = spool.peek();
+					assertEquals((byte) (i - 4), head[0]);
+					spool.remove(head);
+				}
+				assertTrue(Files.size(spoolDirectory.resolve("forward.spool")) <= 2048);
+			}
+			assertEquals(4 * (Integer.BYTES + frame.length), spool.pendingBytes());
+		}
+
+		try (ForwardingSpool reopened = new ForwardingSpool(spoolDirectory, 1024)) {
+			for (int i = 996; i < 1000; i++) {
+				byte[] head = reopened.peek();
+				assertEquals((byte) i, head[0]);
+				reopened.remove(head);
+			}
+			assertTrue(reopened.isEmpty());
+		}
+	}
+}
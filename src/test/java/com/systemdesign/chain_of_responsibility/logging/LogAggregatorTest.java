@@ -0,0 +1,63 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogAggregatorTest {
+
+	@Test
+	void findsHeavyHittersAmongManyDistinctMessages() throws InterruptedException {
+		LogAggregator aggregator = new LogAggregator(4, 2048, 3);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			int thread = t;
+			executor.execute(() -> {
+				for (int i = 0; i < 5_000; i++) {
+					aggregator.handle(LogLevel.INFO, "request " + i + " took " + (i % 97) + " ms");
+					aggregator.handle(LogLevel.ERROR, LogEvent.of("cache miss for {}", i));
+					aggregator.handle(LogLevel.DEBUG, "unique " + thread + "-" + i + (char) ('a' + i % 26));
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+		List<LogAggregator.HeavyHitter> top = aggregator.getHeavyHitters();
+		assertEquals(60_000, aggregator.getTotal());
+		assertEquals(3, top.size());
+		assertTrue(top.stream().anyMatch(h -> h.getLevel() == LogLevel.ERROR
+				&& h.getSample().equals("cache miss for {}") && h.getEstimatedCount() >= 20_000));
+		assertTrue(top.stream().anyMatch(h -> h.getLevel() == LogLevel.INFO
+				&& h.getSample().startsWith("request ") && h.getEstimatedCount() >= 20_000));
+		assertEquals(LogLevel.DEBUG, top.get(2).getLevel());
+		assertTrue(top.get(2).getEstimatedCount() <= 20_000 / 26 + 1 + aggregator.getErrorBound());
+
+		long now = System.currentTimeMillis();
+		long errors = 0;
+		for (long count : aggregator.getPerMinute(LogLevel.ERROR, now)) {
+			errors += count;
+		}
+		assertEquals(20_000, errors);
+
+		aggregator.resetHeavyHitters();
+		assertEquals(0, aggregator.getTotal());
+		assertTrue(aggregator.getHeavyHitters().isEmpty());
+	}
+
+	@Test
+	void fingerprintIgnoresDigitsButNotLevelOrText() {
+		assertEquals(LogAggregator.fingerprint(LogLevel.INFO, "took 12 ms"),
+				LogAggregator.fingerprint(LogLevel.INFO, "took 3456 ms"));
+		assertTrue(LogAggregator.fingerprint(LogLevel.INFO, "took 12 ms")
+				!= LogAggregator.fingerprint(LogLevel.ERROR, "took 12 ms"));
+		assertTrue(LogAggregator.fingerprint(LogLevel.INFO, "took 12 ms")
+				!= LogAggregator.fingerprint(LogLevel.INFO, "took 12 s"));
+	}
+}
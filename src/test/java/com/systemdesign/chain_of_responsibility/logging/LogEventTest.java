@@ -0,0 +1,62 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LogEventTest {
+
+	@Test
+	void formatsTemplateAndFields() {
+		LogEvent event = new LogEvent("User {} logged in from {}", List.of("alice", "10.0.0.7"),
+				Map.of("region", "eu"), 1000L);
+
+		assertEquals("User alice logged in from 10.0.0.7", event.getMessage());
+		assertEquals("User alice logged in from 10.0.0.7 region=eu", event.render());
+		assertEquals("Missing {} and {}", LogEvent.of("Missing {} and {}").getMessage());
+		assertSame(event.getTemplate(), LogEvent.of("User {} logged in from {}", "bob", "10.0.0.8").getTemplate());
+	}
+
+	@Test
+	void formatsOnlyWhenWrittenAndOnlyOnce() {
+		AtomicInteger formatted = new AtomicInteger();
+		Object argument = new Object() {
+			@Override
+			public String toString() {
+				formatted.incrementAndGet();
+				return "x";
+			}
+		};
+		RecordingLogger error = new RecordingLogger(LogLevel.ERROR);
+		RecordingLogger debug = new RecordingLogger(LogLevel.DEBUG);
+		error.setNextLogger(debug);
+		DispatchTable table = DispatchTable.compile(error);
+
+		table.dispatch(LogLevel.INFO, LogEvent.of("value {}", argument));
+		assertEquals(0, formatted.get());
+
+		table.dispatch(LogLevel.ERROR, LogEvent.of("value {}", argument));
+		assertEquals(1, formatted.get());
+		assertEquals(List.of("value x"), error.output);
+		assertEquals(List.of("value x"), debug.output);
+	}
+
+	@Test
+	void internTableEvictsInsteadOfGrowing() {
+		for (int i = 0; i < 100_000; i++) {
+			LogTemplate.intern("client pattern " + i + " {}");
+		}
+		LogTemplate hot = LogTemplate.intern("Order {} shipped");
+		assertSame(hot, LogTemplate.intern("Order {} shipped"));
+		assertEquals("Order 7 shipped", hot.format(new Object[] {7}));
+
+		String longPattern = "x".repeat(2000) + " {}";
+		assertNotSame(LogTemplate.intern(longPattern), LogTemplate.intern(longPattern));
+	}
+}
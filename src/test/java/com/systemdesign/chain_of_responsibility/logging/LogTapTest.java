@@ -0,0 +1,68 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogTapTest {
+
+	@Test
+	void filtersByLevelAndText() throws InterruptedException {
+		LogTap tap = new LogTap(10, 16);
+		ErrorLogger errorLogger = new ErrorLogger();
+		errorLogger.setNextLogger(tap);
+		DispatchTable table = DispatchTable.compile(errorLogger);
+
+		try (TailSubscription errors = tap.subscribe(EnumSet.of(LogLevel.ERROR), "disk")) {
+			table.dispatch(LogLevel.ERROR, "disk full");
+			table.dispatch(LogLevel.ERROR, "network down");
+			table.dispatch(LogLevel.ERROR, LogEvent.of("disk {} missing", "sda"));
+
+			assertEquals("disk full", errors.poll(1, TimeUnit.SECONDS).getMessage());
+			assertEquals("disk sda missing", errors.poll(1, TimeUnit.SECONDS).getMessage());
+			assertTrue(errors.isEmpty());
+		}
+		assertEquals(0, tap.getSubscriberCount());
+	}
+
+	@Test
+	void slowSubscriberDropsAndCountsWithoutAffectingOthers() throws InterruptedException {
+		LogTap tap = new LogTap(10, 4);
+		DispatchTable table = DispatchTable.compile(tap);
+		TailSubscription slow = tap.subscribe(null, null);
+		TailSubscription other = tap.subscribe(EnumSet.of(LogLevel.DEBUG), null);
+
+		for (int i = 0; i < 10; i++) {
+			tap.handle(LogLevel.INFO, "message " + i);
+		}
+		assertFalse(table.hasHandlers(LogLevel.INFO));
+
+		for (String expected : List.of("message 0", "message 1", "message 2", "message 3")) {
+			assertEquals(expected, slow.poll(1, TimeUnit.SECONDS).getMessage());
+		}
+		assertEquals(6, slow.takeDropped());
+		assertEquals(0, slow.takeDropped());
+		assertTrue(other.isEmpty());
+		assertEquals(0, other.takeDropped());
+	}
+
+	@Test
+	void refusesSubscribersOverTheLimit() {
+		LogTap tap = new LogTap(1, 4);
+		TailSubscription first = tap.subscribe(null, null);
+		assertNull(tap.subscribe(null, null));
+
+		first.close();
+		first.close();
+		assertEquals(0, tap.getSubscriberCount());
+		assertNotNull(tap.subscribe(null, null));
+	}
+}
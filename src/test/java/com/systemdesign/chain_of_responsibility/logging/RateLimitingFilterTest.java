@@ -0,0 +1,57 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.metrics.ChainMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitingFilterTest {
+
+	@Test
+	void admitsBurstThenSuppressesAndReports() {
+		RecordingLogger sink = new RecordingLogger();
+		try (RateLimitingFilter filter = new RateLimitingFilter(
+				Map.of(LogLevel.ERROR, new RateLimitingFilter.Limit(0.001, 5, 1.0)), Duration.ofHours(1))) {
+			filter.setNextLogger(sink);
+			ChainMetrics metrics = new ChainMetrics();
+			ChainDispatcher table = new ChainDispatcher(filter, metrics);
+			filter.setEmitTarget(table.asLogDispatcher());
+
+			for (int i = 0; i < 20; i++) {
+				table.dispatch(LogLevel.ERROR, "e" + i);
+				table.dispatch(LogLevel.INFO, "i" + i);
+			}
+
+			assertEquals(25, sink.output.size());
+			assertEquals(15, filter.getSuppressedCount(LogLevel.ERROR));
+			assertEquals(0, filter.getSuppressedCount(LogLevel.INFO));
+			assertEquals(15, metrics.getNodes().get(0).getFiltered(LogLevel.ERROR));
+			assertEquals(5, metrics.getNodes().get(0).getAccepted(LogLevel.ERROR));
+
+			// The summary passes its own filter although the ERROR bucket is empty
+			filter.report();
+			assertEquals("RateLimitingFilter suppressed 15 ERROR messages in the last 3600000 ms"
+					+ " (15 over rate limit, 0 sampled out)", sink.output.get(25));
+		}
+	}
+
+	@Test
+	void sampleRateZeroDropsEverything() {
+		RecordingLogger sink = new RecordingLogger();
+		try (RateLimitingFilter filter = new RateLimitingFilter(
+				Map.of(LogLevel.DEBUG, new RateLimitingFilter.Limit(0, 1, 0.0)), Duration.ofHours(1))) {
+			filter.setNextLogger(sink);
+
+			for (int i = 0; i < 10; i++) {
+				filter.logMessage(LogLevel.DEBUG, "d" + i);
+			}
+
+			assertEquals(List.of(), sink.output);
+			assertEquals(10, filter.getSuppressedCount(LogLevel.DEBUG));
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentLogStoreTest {
+
+	private static List<String> messages(RecentLogStore.SearchResult result) {
+		return result.getMessages().stream().map(RecentLogStore.StoredMessage::getMessage).toList();
+	}
+
+	@Test
+	void searchesByTermsLevelAndTime() {
+		RecentLogStore store = new RecentLogStore(LogLevel.INFO, 100, 4096);
+		store.append(LogLevel.ERROR, "Database connection failed", 1000);
+		store.append(LogLevel.INFO, "Database connection opened", 2000);
+		store.append(LogLevel.ERROR, "Cache miss for user 42", 3000);
+		store.append(LogLevel.DEBUG, "database POOL resized", 4000);
+
+		assertEquals(List.of("database POOL resized", "Database connection opened", "Database connection failed"),
+				messages(store.search("database", null, null, null, 10)));
+		assertEquals(List.of("Database connection failed"),
+				messages(store.search("connection database", List.of(LogLevel.ERROR), null, null, 10)));
+		assertEquals(List.of("Database connection opened"),
+				messages(store.search("connection", null, 1500L, 3000L, 10)));
+		assertEquals(List.of(), messages(store.search("missing", null, null, null, 10)));
+
+		RecentLogStore.SearchResult limited = store.search(null, null, null, null, 2);
+		assertEquals(List.of("database POOL resized", "Cache miss for user 42"), messages(limited));
+		assertTrue(limited.isTruncated());
+	}
+
+	@Test
+	void foldsCaseIndependentlyOfDefaultLocale() {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(Locale.forLanguageTag("tr"));
+		try {
+			RecentLogStore store = new RecentLogStore(LogLevel.INFO, 10, 4096);
+			store.append(LogLevel.INFO, "INFO level raised for ISTANBUL", 1);
+
+			assertEquals(List.of("INFO level raised for ISTANBUL"),
+					messages(store.search("info istanbul", null, null, null, 10)));
+			assertEquals(List.of("INFO level raised for ISTANBUL"),
+					messages(store.search("Info", null, null, null, 10)));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	void evictsIndexEntriesWithTheRing() {
+		RecentLogStore store = new RecentLogStore(LogLevel.INFO, 1000, 4096);
+		for (int i = 0; i < 500; i++) {
+			store.append(LogLevel.INFO, "event number " + i, i);
+		}
+
+		// Every message brings a new token, so the index takes most of the budget
+		assertTrue(store.retainedBytes() <= 4096);
+		assertTrue(store.size() > 1 && store.size() < 50);
+		assertEquals(store.size() + 2, store.indexedTokens());
+		assertEquals("event number 499", store.search("event", null, null, null, 10).getMessages().get(0).getMessage());
+		assertEquals(List.of(), messages(store.search("0", null, null, null, 10)));
+		assertFalse(store.search("number", null, null, null, 100).isTruncated());
+	}
+
+	@Test
+	void truncatesOversizedMessagesOnCodePointBoundary() {
+		RecentLogStore store = new RecentLogStore(LogLevel.INFO, 10, 8);
+		store.append(LogLevel.INFO, "abcdefg\u00e9tail", 1);
+		store.append(LogLevel.INFO, "abcdef\ud83d\ude00", 2);
+
+		assertEquals(List.of("abcdef"), messages(store.search(null, null, null, null, 10)));
+		assertEquals(1, store.size());
+		assertEquals(List.of(), messages(store.search("abcdefg", null, null, null, 10)));
+	}
+}
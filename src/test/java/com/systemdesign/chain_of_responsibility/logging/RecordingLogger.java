@@ -0,0 +1,59 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test logger that records the messages it writes, reported as "Recording"
+ * followed by its level. A logger sharing its list with others prefixes each
+ * line with its current level, so the list shows which logger wrote it.
+ */
+class RecordingLogger extends AbstractLogger {
+	final List<String> output;
+	private final boolean prefixLevel;
+	private final CountDownLatch gate;
+	private final String name;
+
+	RecordingLogger() {
+		this(LogLevel.INFO);
+	}
+
+	RecordingLogger(LogLevel level) {
+		this(level, new CountDownLatch(0));
+	}
+
+	RecordingLogger(LogLevel level, CountDownLatch gate) {
+		this(level, new CopyOnWriteArrayList<>(), false, gate);
+	}
+
+	RecordingLogger(LogLevel level, List<String> sharedOutput) {
+		this(level, sharedOutput, true, new CountDownLatch(0));
+	}
+
+	private RecordingLogger(LogLevel level, List<String> output, boolean prefixLevel, CountDownLatch gate) {
+		this.level = level;
+		this.output = output;
+		this.prefixLevel = prefixLevel;
+		this.gate = gate;
+		this.name = "Recording" + level;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Waits for the gate to open, then records the message.
+	 */
+	@Override
+	protected void write(String message) {
+		try {
+			gate.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		output.add(prefixLevel ? level + ":" + message : message);
+	}
+}
@@ -0,0 +1,95 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RollingFileLoggerTest {
+
+	@TempDir
+	Path directory;
+
+	private RollingFileLogger open(int segmentSize) throws IOException {
+		return new RollingFileLogger(LogLevel.INFO, directory, "test", segmentSize,
+				Duration.ofHours(1), 1000, Duration.ofSeconds(1));
+	}
+
+	@Test
+	void rollsWhenSegmentIsFullAndTruncatesOnClose() throws IOException {
+		RollingFileLogger logger = open(64);
+		for (int i = 0; i < 10; i++) {
+			logger.write("message " + i);
+		}
+		logger.close();
+
+		List<String> lines = Files.readAllLines(directory.resolve("test-000000.log"));
+		assertEquals(List.of("INFO: message 0", "INFO: message 1", "INFO: message 2", "INFO: message 3"), lines);
+		assertEquals(64, Files.size(directory.resolve("test-000000.log")));
+		assertEquals(32, Files.size(directory.resolve("test-000002.log")));
+	}
+
+	@Test
+	void recoversWritePositionAfterCrash() throws IOException {
+		RollingFileLogger crashed = open(4096);
+		crashed.write("before crash");
+		// Simulate a torn write after the last complete line; the file keeps its
+		// preallocated size, as it would after a crash
+		Path segment = directory.resolve("test-000000.log");
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap("INFO: torn".getBytes(StandardCharsets.UTF_8)), "INFO: before crash\n".length());
+		}
+
+		RollingFileLogger recovered = open(4096);
+		recovered.write("after crash");
+		recovered.close();
+
+		assertEquals(List.of("INFO: before crash", "INFO: after crash"), Files.readAllLines(segment));
+	}
+
+	@Test
+	void keepsCurrentSegmentWhenRollFails() throws IOException {
+		RollingFileLogger logger = open(64);
+		for (int i = 0; i < 4; i++) {
+			logger.write("message " + i);
+		}
+		// A directory in place of the next segment makes opening it fail
+		Path next = Files.createDirectory(directory.resolve("test-000001.log"));
+
+		assertThrows(UncheckedIOException.class, () -> logger.write("message 4"));
+		assertThrows(UncheckedIOException.class, () -> logger.write("message 5"));
+
+		Files.delete(next);
+		logger.write("message 6");
+		logger.close();
+
+		assertEquals(List.of("INFO: message 0", "INFO: message 1", "INFO: message 2", "INFO: message 3"),
+				Files.readAllLines(directory.resolve("test-000000.log")));
+		assertEquals(List.of("INFO: message 6"), Files.readAllLines(next));
+	}
+
+	@Test
+	void truncatesOversizedLineOnCodePointBoundary() throws IOException {
+		RollingFileLogger logger = open(64);
+		logger.write("\u00e9".repeat(100));
+		logger.write("\ud83d\ude00".repeat(30));
+		logger.close();
+
+		byte[] first = Files.readAllBytes(directory.resolve("test-000000.log"));
+		assertEquals("INFO: " + "\u00e9".repeat(28) + "\n", new String(first, StandardCharsets.UTF_8));
+		byte[] second = Files.readAllBytes(directory.resolve("test-000001.log"));
+		assertEquals("INFO: " + "\ud83d\ude00".repeat(14) + "\n", new String(second, StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,57 @@
+package com.systemdesign.chain_of_responsibility.logging;
+
+import com.systemdesign.chain_of_responsibility.dispatch.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SinkQueuesTest {
+
+	@Test
+	void blockedSinkDoesNotStallTheOthers() throws InterruptedException {
+		CountDownLatch stalled = new CountDownLatch(1);
+		RecordingLogger slow = new RecordingLogger(LogLevel.ERROR, stalled);
+		RecordingLogger fast = new RecordingLogger(LogLevel.INFO, new CountDownLatch(0));
+		slow.setNextLogger(fast);
+
+		try (SinkQueues queues = new SinkQueues(64, name -> OverflowPolicy.BLOCK, LogLevel.ERROR)) {
+			DispatchTable table = DispatchTable.compile(queues.wrap(slow));
+			for (int i = 0; i < 10; i++) {
+				table.dispatch(LogLevel.ERROR, "m" + i);
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (fast.output.size() < 10 && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+			assertEquals(10, fast.output.size());
+			assertTrue(slow.output.isEmpty());
+
+			stalled.countDown();
+		}
+		assertEquals(fast.output, slow.output);
+	}
+
+	@Test
+	void degradedSinkDropsItsMessages() {
+		RecordingLogger sink = new RecordingLogger(LogLevel.INFO, new CountDownLatch(0));
+		try (SinkQueues queues = new SinkQueues(64, name -> OverflowPolicy.BLOCK, LogLevel.ERROR)) {
+			DispatchTable table = DispatchTable.compile(queues.wrap(sink));
+			QueuedLogger queued = queues.getQueues().get(0);
+
+			queued.setDegraded(true);
+			table.dispatch(LogLevel.INFO, "dropped");
+			queued.setDegraded(false);
+			table.dispatch(LogLevel.INFO, "kept");
+			queued.close();
+
+			assertEquals(List.of("kept"), sink.output);
+			assertEquals(1, queued.getDegradedDrops());
+		}
+	}
+}
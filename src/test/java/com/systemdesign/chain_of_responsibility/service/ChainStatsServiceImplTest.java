@@ -0,0 +1,96 @@
+package com.systemdesign.chain_of_responsibility.service;
+
+import com.systemdesign.chain_of_responsibility.logging.AbstractLogger;
+import com.systemdesign.chain_of_responsibility.logging.ChainDispatcher;
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.metrics.ChainMetrics;
+import com.systemdesign.chain_of_responsibility.model.ChainStatsResponse;
+import com.systemdesign.chain_of_responsibility.model.LevelStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChainStatsServiceImplTest {
+
+	private static AbstractLogger recording(LogLevel level, List<String> output) {
+		AbstractLogger logger = new AbstractLogger() {
+			@Override
+			public String getName() {
+				return "Recording" + getLevel();
+			}
+
+			@Override
+			protected void write(String message) {
+				output.add(getLevel() + ":" + message);
+			}
+		};
+		logger.setLevel(level);
+		return logger;
+	}
+
+	private static ChainDispatcher chain(List<String> output, ChainMetrics metrics) {
+		AbstractLogger error = recording(LogLevel.ERROR, output);
+		error.setNextLogger(recording(LogLevel.INFO, output));
+		return new ChainDispatcher(error, metrics);
+	}
+
+	private static LevelStats stats(ChainStatsResponse response, int node, LogLevel level) {
+		return response.getNodes().get(node).getLevels().get(level);
+	}
+
+	@Test
+	void snapshotKeepsCountsAndResetClearsThem() {
+		List<String> output = new ArrayList<>();
+		ChainDispatcher chainDispatcher = chain(output, new ChainMetrics());
+		ChainStatsService service = new ChainStatsServiceImpl(chainDispatcher, chainDispatcher.asLogDispatcher());
+
+		chainDispatcher.dispatch(LogLevel.INFO, "a");
+		chainDispatcher.dispatch(LogLevel.INFO, "b");
+		chainDispatcher.dispatch(LogLevel.ERROR, "c");
+
+		ChainStatsResponse first = service.snapshot();
+		assertTrue(first.isInstrumented());
+		assertEquals(List.of("RecordingERROR", "RecordingINFO"),
+				first.getNodes().stream().map(node -> node.getName()).toList());
+		assertEquals(2, stats(first, 0, LogLevel.INFO).getSkipped());
+		assertEquals(1, stats(first, 0, LogLevel.ERROR).getAccepted());
+		assertEquals(2, stats(first, 1, LogLevel.INFO).getAccepted());
+		assertTrue(stats(first, 1, LogLevel.INFO).getMaxNanos() > 0);
+		assertNull(first.getDroppedByPolicy());
+		assertNull(first.getMerger());
+
+		ChainStatsResponse second = service.snapshot();
+		assertEquals(2, stats(second, 1, LogLevel.INFO).getAccepted());
+
+		ChainStatsResponse reset = service.snapshotAndReset();
+		assertEquals(2, stats(reset, 1, LogLevel.INFO).getAccepted());
+		assertEquals(1, stats(reset, 1, LogLevel.ERROR).getAccepted());
+
+		ChainStatsResponse afterReset = service.snapshot();
+		assertEquals(0, stats(afterReset, 0, LogLevel.INFO).getSkipped());
+		assertEquals(0, stats(afterReset, 1, LogLevel.INFO).getAccepted());
+		assertEquals(0, stats(afterReset, 1, LogLevel.INFO).getMaxNanos());
+
+		chainDispatcher.dispatch(LogLevel.INFO, "d");
+		assertEquals(1, stats(service.snapshot(), 1, LogLevel.INFO).getAccepted());
+		assertEquals(List.of("INFO:a", "INFO:b", "ERROR:c", "INFO:c", "INFO:d"), output);
+	}
+
+	@Test
+	void reportsUninstrumentedChainWithoutNodes() {
+		ChainDispatcher chainDispatcher = chain(new ArrayList<>(), null);
+		ChainStatsService service = new ChainStatsServiceImpl(chainDispatcher, chainDispatcher.asLogDispatcher());
+		chainDispatcher.dispatch(LogLevel.INFO, "a");
+
+		ChainStatsResponse response = service.snapshotAndReset();
+
+		assertFalse(response.isInstrumented());
+		assertTrue(response.getNodes().isEmpty());
+	}
+}
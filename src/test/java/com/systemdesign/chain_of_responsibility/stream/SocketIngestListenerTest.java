@@ -0,0 +1,106 @@
+package com.systemdesign.chain_of_responsibility.stream;
+
+import com.systemdesign.chain_of_responsibility.logging.LogLevel;
+import com.systemdesign.chain_of_responsibility.service.LoggingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SocketIngestListenerTest {
+
+	private static LoggingService service() {
+		LoggingService service = mock(LoggingService.class);
+		when(service.isEnabled(LogLevel.INFO)).thenReturn(true);
+		when(service.isEnabled(LogLevel.ERROR)).thenReturn(true);
+		return service;
+	}
+
+	private static InetSocketAddress anyPort() {
+		return new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+	}
+
+	@Test
+	void decodesFramesSplitAcrossReads() throws Exception {
+		LoggingService service = service();
+		try (SocketIngestListener listener = new SocketIngestListener(service, anyPort(), null, 64 * 1024, 4);
+			 Socket socket = new Socket(InetAddress.getLoopbackAddress(), listener.getTcpPort())) {
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			for (int i = 0; i < 10_000; i++) {
+				stream.write(SocketIngestListener.encodeFrame(i % 2 == 0 ? LogLevel.INFO : LogLevel.DEBUG,
+						"message " + i));
+			}
+			stream.write(SocketIngestListener.encodeFrame(LogLevel.ERROR, "x".repeat(50_000) + " ünïcode"));
+			byte[] bytes = stream.toByteArray();
+
+			OutputStream out = socket.getOutputStream();
+			int split = 1000;
+			for (int i = 0; i < split; i++) {
+				out.write(bytes[i]);
+				out.flush();
+			}
+			out.write(bytes, split, bytes.length - split);
+			out.flush();
+
+			verify(service, timeout(5_000)).logMessage(LogLevel.ERROR, "x".repeat(50_000) + " ünïcode");
+			verify(service, timeout(5_000).times(5_000)).logMessage(eq(LogLevel.INFO), anyString());
+			verify(service).logMessage(LogLevel.INFO, "message 9998");
+			verify(service, never()).logMessage(eq(LogLevel.DEBUG), anyString());
+			assertEquals(5_000, listener.getFrames(LogLevel.DEBUG));
+			assertEquals(bytes.length, listener.getBytes());
+			assertEquals(0, listener.getMalformedFrames());
+		}
+	}
+
+	@Test
+	void closesConnectionOnImpossibleLengthAndSkipsBadDatagrams() throws Exception {
+		LoggingService service = service();
+		try (SocketIngestListener listener = new SocketIngestListener(service, anyPort(), anyPort(), 1024, 4);
+			 Socket socket = new Socket(InetAddress.getLoopbackAddress(), listener.getTcpPort());
+			 DatagramSocket datagrams = new DatagramSocket()) {
+			OutputStream out = socket.getOutputStream();
+			out.write(SocketIngestListener.encodeFrame(LogLevel.INFO, "before"));
+			out.write(ByteBuffer.allocate(8).putInt(4096).putInt(0).array());
+			out.flush();
+			InputStream in = socket.getInputStream();
+			assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertEquals(-1, in.read()));
+			verify(service, timeout(5_000)).logMessage(LogLevel.INFO, "before");
+			assertEquals(1, listener.getDroppedConnections());
+			assertEquals(0, listener.getOpenConnections());
+
+			byte[] first = SocketIngestListener.encodeFrame(LogLevel.ERROR, "first");
+			byte[] second = SocketIngestListener.encodeFrame(LogLevel.ERROR, "second");
+			byte[] unknownLevel = ByteBuffer.allocate(6).putInt(2).put((byte) 9).put((byte) 'x').array();
+			ByteArrayOutputStream packet = new ByteArrayOutputStream();
+			packet.write(first);
+			packet.write(unknownLevel);
+			packet.write(second);
+			packet.write(second, 0, second.length - 2);
+			InetSocketAddress target = new InetSocketAddress(InetAddress.getLoopbackAddress(), listener.getUdpPort());
+			datagrams.send(new DatagramPacket(packet.toByteArray(), packet.size(), target));
+
+			verify(service, timeout(5_000)).logMessage(LogLevel.ERROR, "second");
+			verify(service).logMessage(LogLevel.ERROR, "first");
+			assertEquals(1, listener.getDatagrams());
+			assertEquals(3, listener.getMalformedFrames());
+		}
+	}
+}